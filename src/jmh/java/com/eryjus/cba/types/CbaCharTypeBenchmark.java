@@ -0,0 +1,244 @@
+//===================================================================================================================
+// CbaCharTypeBenchmark.java -- JMH benchmarks for the character types
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+// These benchmarks measure the hot path for the character types: assign from a String (both fitting and truncated),
+// toString() and equals(), with the value held as a String or as UTF-8 bytes.  For the byte mode, the assignment of
+// already encoded bytes and the zero-copy hand-off to a writer are measured too, as is streaming the value in and
+// out through openWriter()/openReader(), building it up with append() and hashing it.  MEDIUMTEXT_LZ4 holds the longest value compressed.  Run with `-prof gc`
+// to get the bytes allocated per operation.
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+//    Date     Programmer    Version    Comment
+// ----------  ----------  -----------  ----------------------------------------------------------------------------
+// 2026-10-16     adcl       v0.1.0     Initial version
+// 2026-10-16     adcl       v0.1.0     Measure the encoded (byte[]) storage mode
+// 2026-10-16     adcl       v0.1.0     Measure the dictionary-encoded VARCHAR
+// 2026-10-16     adcl       v0.1.0     Measure the streaming Reader and Writer
+// 2026-10-16     adcl       v0.1.0     Measure the compressed MEDIUMTEXT
+// 2026-10-16     adcl       v0.1.0     Measure append()
+// 2026-10-16     adcl       v0.1.0     Measure hash64()
+//
+//===================================================================================================================
+
+
+package com.eryjus.cba.types;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+//-------------------------------------------------------------------------------------------------------------------
+
+/**
+ * Throughput and latency benchmarks for every concrete {@link CbaCharType}.
+ *
+ * @author Adam Clark
+ * @since v0.1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CbaCharTypeBenchmark {
+    /**
+     * The type under test.
+     */
+    @Param({"CHAR", "VARCHAR", "VARCHAR_DICT", "TINYTEXT", "SMALLTEXT", "MEDIUMTEXT", "MEDIUMTEXT_LZ4"})
+    String type;
+
+
+    /**
+     * The length of the value assigned.  The CHAR and VARCHAR fields are 64 characters wide, so the longer values
+     * exercise truncation for them.
+     */
+    @Param({"10", "120", "4000"})
+    int length;
+
+
+    /**
+     * The charset in which the value is held, or empty to hold it as a String.
+     */
+    @Param({"", "UTF-8"})
+    String charset;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    private CbaCharType field;
+    private CbaCharType other;
+    private String value;
+    private String value2;
+    private byte[] bytes;
+    private char[] buf = new char[1024];
+    private boolean flip;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Build the field under test and a second instance holding the same value for {@link #equalsSame()}.  Two
+     * distinct (but equal) values are alternated so that assignment cannot short-circuit on identity.
+     */
+    @Setup
+    public void setup() {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i ++) sb.append((char)('a' + (i % 26)));
+
+        value = sb.toString();
+        value2 = new String(value);
+        bytes = value.getBytes(StandardCharsets.UTF_8);
+
+        field = build();
+        other = build();
+        field.assign(value);
+        other.assign(value2);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Build an instance of the type under test.
+     */
+    private CbaCharType build() {
+        Charset cs = (charset.isEmpty() ? null : Charset.forName(charset));
+
+        switch (type) {
+            case "CHAR":        return new CbaChar.Builder().setSize(64).setCharset(cs).build();
+            case "VARCHAR":     return new CbaVarchar.Builder().setSize(64).setCharset(cs).build();
+            case "VARCHAR_DICT":
+                return new CbaVarchar.Builder().setSize(64).setCharset(cs).setDictionaryEncoded(true).build();
+            case "TINYTEXT":    return new CbaTinyText.Builder().setCharset(cs).build();
+            case "SMALLTEXT":   return new CbaSmallText.Builder().setCharset(cs).build();
+            case "MEDIUMTEXT":  return new CbaMediumText.Builder().setCharset(cs).build();
+            case "MEDIUMTEXT_LZ4":
+                return new CbaMediumText.Builder().setCharset(cs).setCompressThreshold(1024).build();
+            default:            throw new IllegalArgumentException("Unknown character type " + type);
+        }
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    @Benchmark
+    public String assignString() {
+        flip = !flip;
+        field.assign(flip ? value : value2);
+        return field.getValue();
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    @Benchmark
+    public String toStringValue() {
+        return field.toString();
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    @Benchmark
+    public boolean equalsSame() {
+        return field.equals(other);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    @Benchmark
+    public CbaType.ParseStatus assignBytes() {
+        return field.assign(bytes, 0, bytes.length);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    @Benchmark
+    public ByteBuffer asByteBuffer() {
+        return field.asByteBuffer();
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Write the value through a Writer in pieces of up to 1024 characters.
+     */
+    @Benchmark
+    public boolean writeStreamed() throws IOException {
+        CbaCharType.ValueWriter out = field.openWriter();
+
+        for (int i = 0; i < length; i += buf.length) out.write(value, i, Math.min(buf.length, length - i));
+
+        out.close();
+        return out.isTruncated();
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Read the value back through a Reader.
+     */
+    @Benchmark
+    public int readStreamed() throws IOException {
+        Reader in = field.openReader();
+        int total = 0;
+        int n;
+
+        while ((n = in.read(buf, 0, buf.length)) > 0) total += n;
+
+        return total;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Build the value up from empty with append(), 16 characters at a time.
+     */
+    @Benchmark
+    public CbaType.ParseStatus appendPieces() {
+        CbaType.ParseStatus status = CbaType.ParseStatus.OK;
+
+        field.assign("");
+        for (int i = 0; i < length; i += 16) status = field.append(value, i, Math.min(length, i + 16));
+
+        return status;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Hash a freshly assigned value, so that the hash is computed rather than taken from the cache.
+     */
+    @Benchmark
+    public long assignAndHash() {
+        flip = !flip;
+        field.assign(flip ? value : value2);
+        return field.hash64();
+    }
+}
@@ -0,0 +1,116 @@
+//===================================================================================================================
+// CbaCollationBenchmark.java -- JMH benchmarks for ordering the character types
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+// These benchmarks sort a list of VARCHAR fields by each collation, with and without the cached sort key.  A sort
+// compares each value about log2(n) times, so deriving the key once per value (rather than once per comparison) is
+// what the cache buys.  Run with `-prof gc` to get the bytes allocated per operation.
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+//    Date     Programmer    Version    Comment
+// ----------  ----------  -----------  ----------------------------------------------------------------------------
+// 2026-10-16     adcl       v0.1.0     Initial version
+//
+//===================================================================================================================
+
+
+package com.eryjus.cba.types;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+//-------------------------------------------------------------------------------------------------------------------
+
+/**
+ * Sort benchmarks for {@link CbaCharType#compareTo(CbaCharType)}.
+ *
+ * @author Adam Clark
+ * @since v0.1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CbaCollationBenchmark {
+    /**
+     * The collation by which to sort.
+     */
+    @Param({"BINARY", "ASCII_CI", "GENERAL"})
+    String collation;
+
+
+    /**
+     * Whether the fields keep their sort keys.
+     */
+    @Param({"false", "true"})
+    boolean cache;
+
+
+    /**
+     * The number of fields sorted.
+     */
+    @Param({"100000"})
+    int rows;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    private List<CbaVarchar> fields;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Build the fields with mixed-case values.  They are reassigned before each sort so that a kept sort key is
+     * derived again, as it would be for freshly read rows.
+     */
+    @Setup(Level.Invocation)
+    public void setup() {
+        Random rnd = new Random(1);
+        CbaType.Collation coll = CbaType.Collation.valueOf(collation);
+
+        fields = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i ++) {
+            CbaVarchar fld = new CbaVarchar.Builder().setSize(32).setCollation(coll).setCacheSortKey(cache).build();
+            StringBuilder sb = new StringBuilder();
+
+            for (int j = 8 + rnd.nextInt(16); j > 0; j --) {
+                char c = (char)('a' + rnd.nextInt(26));
+                sb.append(rnd.nextBoolean() ? Character.toUpperCase(c) : c);
+            }
+
+            fld.assign(sb.toString());
+            fields.add(fld);
+        }
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    @Benchmark
+    public List<CbaVarchar> sort() {
+        Collections.sort(fields);
+        return fields;
+    }
+}
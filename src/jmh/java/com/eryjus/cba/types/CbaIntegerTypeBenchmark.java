@@ -0,0 +1,253 @@
+//===================================================================================================================
+// CbaIntegerTypeBenchmark.java -- JMH benchmarks for the integer types
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+// These benchmarks measure the hot path for the integer types: assign from a String, assign from a long, in-place
+// arithmetic, toString(), appendTo(), writeTo(), equals() and clearField().  Each is run for every concrete integer
+// type, including CbaBoolean.  Run with `-prof gc` to get the bytes allocated per operation.
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+//    Date     Programmer    Version    Comment
+// ----------  ----------  -----------  ----------------------------------------------------------------------------
+// 2026-10-16     adcl       v0.1.0     Initial version
+// 2026-10-16     adcl       v0.1.0     Add clearField()
+// 2026-10-16     adcl       v0.1.0     Add assign(CbaType)
+// 2026-10-16     adcl       v0.1.0     Add the binary form round trip
+//
+//===================================================================================================================
+
+
+package com.eryjus.cba.types;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+//-------------------------------------------------------------------------------------------------------------------
+
+/**
+ * Throughput and latency benchmarks for every concrete {@link CbaIntegerType}.
+ *
+ * @author Adam Clark
+ * @since v0.1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CbaIntegerTypeBenchmark {
+    /**
+     * The type under test.
+     */
+    @Param({"TINYINT", "SMALLINT", "MEDIUMINT", "INT", "BIGINT", "BOOLEAN"})
+    String type;
+
+
+    /**
+     * Is the type under test zero filled?
+     */
+    @Param({"false", "true"})
+    boolean zeroFill;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The String values assigned in rotation; they are a mix of in-range, out-of-range and negative values.
+     */
+    private static final String[] STRINGS = { "0", "1", "-1", "42", "-100", "1234", "-32769", "8388608",
+            "2147483647", "-9223372036854775807", };
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The long values assigned in rotation, matching {@link #STRINGS}.
+     */
+    private static final long[] LONGS = { 0, 1, -1, 42, -100, 1234, -32769, 8388608, 2147483647L,
+            -9223372036854775807L, };
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    private CbaIntegerType field;
+    private CbaIntegerType other;
+    private int index;
+    private final StringBuilder sb = new StringBuilder(64);
+    private final char[] buf = new char[64];
+    private final ByteBuffer bin = ByteBuffer.allocate(64);
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Build the field under test and a second instance holding the same value for {@link #equalsSame()}.
+     */
+    @Setup
+    public void setup() {
+        field = build();
+        other = build();
+        field.assign(1234L);
+        other.assign(1234L);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Build an instance of the type under test.
+     */
+    private CbaIntegerType build() {
+        switch (type) {
+            case "TINYINT":     return new CbaTinyInt.Builder().setSize(4).setZeroFill(zeroFill)
+                                        .setDefaultValue("42").build();
+            case "SMALLINT":    return new CbaSmallInt.Builder().setSize(6).setZeroFill(zeroFill)
+                                        .setDefaultValue("42").build();
+            case "MEDIUMINT":   return new CbaMediumInt.Builder().setSize(8).setZeroFill(zeroFill)
+                                        .setDefaultValue("42").build();
+            case "INT":         return new CbaInt.Builder().setSize(11).setZeroFill(zeroFill)
+                                        .setDefaultValue("42").build();
+            case "BIGINT":      return new CbaBigInt.Builder().setSize(20).setZeroFill(zeroFill)
+                                        .setDefaultValue("42").build();
+            case "BOOLEAN":     return new CbaBoolean.Builder().setDefaultValue("1").build();
+            default:            throw new IllegalArgumentException("Unknown integer type " + type);
+        }
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    private int next() {
+        index = (index + 1) % STRINGS.length;
+        return index;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    @Benchmark
+    public long assignString() {
+        field.assign(STRINGS[next()]);
+        return field.getValue();
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    @Benchmark
+    public CbaType.ParseStatus assignCharSequence() {
+        String str = STRINGS[next()];
+        return field.assign(str, 0, str.length());
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    @Benchmark
+    public CbaType.ParseStatus assignInvalid() {
+        return field.assign("12x4", 0, 4);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    @Benchmark
+    public long assignLong() {
+        field.assign(LONGS[next()]);
+        return field.getValue();
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    @Benchmark
+    public CbaType.ParseStatus assignCbaType() {
+        return field.assign(other);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    @Benchmark
+    public boolean increment() {
+        return field.increment();
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    @Benchmark
+    public boolean addLong() {
+        return field.add(LONGS[next()]);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    @Benchmark
+    public String toStringValue() {
+        return field.toString();
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    @Benchmark
+    public StringBuilder appendTo() {
+        sb.setLength(0);
+        return field.appendTo(sb);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    @Benchmark
+    public int writeTo() {
+        return field.writeTo(buf, 0);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    @Benchmark
+    public long writeReadBinary() {
+        bin.clear();
+        field.writeTo(bin);
+        bin.flip();
+        other.readFrom(bin);
+        return other.getValue();
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    @Benchmark
+    public boolean equalsSame() {
+        return field.equals(other);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    @Benchmark
+    public long clearField() {
+        field.clearField();
+        return field.getValue();
+    }
+}
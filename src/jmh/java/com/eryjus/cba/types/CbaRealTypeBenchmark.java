@@ -0,0 +1,286 @@
+//===================================================================================================================
+// CbaRealTypeBenchmark.java -- JMH benchmarks for the real number types
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+// These benchmarks measure the hot path for CbaFloat, CbaDouble and CbaDecimal: assign from a String, assign from
+// a primitive, toString() and equals().  Run with `-prof gc` to get the bytes allocated per operation.
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+//    Date     Programmer    Version    Comment
+// ----------  ----------  -----------  ----------------------------------------------------------------------------
+// 2026-10-16     adcl       v0.1.0     Initial version
+// 2026-10-16     adcl       v0.1.0     Add the CbaDecimal parse, appendTo, writeTo and compareTo benchmarks
+// 2026-10-16     adcl       v0.1.0     Add the DecimalAccumulator SUM benchmark
+// 2026-10-16     adcl       v0.1.0     Add the float and double parse, appendTo and writeTo benchmarks
+// 2026-10-16     adcl       v0.1.0     Add the assign(CbaType) benchmarks
+//
+//===================================================================================================================
+
+
+package com.eryjus.cba.types;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+//-------------------------------------------------------------------------------------------------------------------
+
+/**
+ * Throughput and latency benchmarks for every concrete {@link CbaRealType}.  The fields are all the default
+ * {@code (15,5)} size, which is what our monetary and sensor columns use.
+ *
+ * @author Adam Clark
+ * @since v0.1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CbaRealTypeBenchmark {
+    /**
+     * The String values assigned in rotation.
+     */
+    private static final String[] STRINGS = { "0", "1.5", "-3.14159", "12345.6789", "0.00001", "-99999.99999",
+            "1234567890.12345", "91234567890.123456789", };
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The double values assigned in rotation, matching {@link #STRINGS}.
+     */
+    private static final double[] DOUBLES = { 0, 1.5, -3.14159, 12345.6789, 0.00001, -99999.99999,
+            1234567890.12345, 91234567890.123456789, };
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The boxed values assigned to {@link CbaDecimal}, which has no primitive assignment.
+     */
+    private static final Double[] BOXED = new Double[DOUBLES.length];
+
+    static {
+        for (int i = 0; i < DOUBLES.length; i ++) BOXED[i] = DOUBLES[i];
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    private CbaFloat flt;
+    private CbaFloat fltOther;
+    private CbaDouble dbl;
+    private CbaDouble dblOther;
+    private CbaDecimal dec;
+    private CbaDecimal decOther;
+    private DecimalAccumulator acc;
+    private int index;
+    private final StringBuilder sb = new StringBuilder(64);
+    private final char[] buf = new char[64];
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Build the fields under test and a second instance of each holding the same value for the equals benchmarks.
+     */
+    @Setup
+    public void setup() {
+        flt = new CbaFloat.Builder().build();
+        fltOther = new CbaFloat.Builder().build();
+        dbl = new CbaDouble.Builder().build();
+        dblOther = new CbaDouble.Builder().build();
+        dec = new CbaDecimal.Builder().build();
+        decOther = new CbaDecimal.Builder().build();
+
+        dec.assign("12345.6789");
+        decOther.assign("12345.6789");
+
+        acc = new DecimalAccumulator(dec);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    private int next() {
+        index = (index + 1) % STRINGS.length;
+        return index;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    @Benchmark
+    public float floatAssignString() {
+        flt.assign(STRINGS[next()]);
+        return flt.getValue();
+    }
+
+
+    @Benchmark
+    public float floatAssignFloat() {
+        flt.assign((float)DOUBLES[next()]);
+        return flt.getValue();
+    }
+
+
+    @Benchmark
+    public String floatToString() {
+        return flt.toString();
+    }
+
+
+    @Benchmark
+    public boolean floatEquals() {
+        return flt.equals(fltOther);
+    }
+
+
+    @Benchmark
+    public CbaType.ParseStatus floatAssignCharSequence() {
+        String str = STRINGS[next()];
+        return flt.assign(str, 0, str.length());
+    }
+
+
+    @Benchmark
+    public StringBuilder floatAppendTo() {
+        sb.setLength(0);
+        return flt.appendTo(sb);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    @Benchmark
+    public double doubleAssignString() {
+        dbl.assign(STRINGS[next()]);
+        return dbl.getValue();
+    }
+
+
+    @Benchmark
+    public double doubleAssignDouble() {
+        dbl.assign(DOUBLES[next()]);
+        return dbl.getValue();
+    }
+
+
+    @Benchmark
+    public String doubleToString() {
+        return dbl.toString();
+    }
+
+
+    @Benchmark
+    public boolean doubleEquals() {
+        return dbl.equals(dblOther);
+    }
+
+
+    @Benchmark
+    public CbaType.ParseStatus doubleAssignCharSequence() {
+        String str = STRINGS[next()];
+        return dbl.assign(str, 0, str.length());
+    }
+
+
+    @Benchmark
+    public StringBuilder doubleAppendTo() {
+        sb.setLength(0);
+        return dbl.appendTo(sb);
+    }
+
+
+    @Benchmark
+    public int doubleWriteTo() {
+        return dbl.writeTo(buf, 0);
+    }
+
+
+    @Benchmark
+    public CbaType.ParseStatus doubleAssignDecimal() {
+        return dbl.assign(dec);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    @Benchmark
+    public CbaDecimal decimalAssignString() {
+        dec.assign(STRINGS[next()]);
+        return dec;
+    }
+
+
+    @Benchmark
+    public CbaDecimal decimalAssignDouble() {
+        dec.assign(BOXED[next()]);
+        return dec;
+    }
+
+
+    @Benchmark
+    public String decimalToString() {
+        return dec.toString();
+    }
+
+
+    @Benchmark
+    public boolean decimalEquals() {
+        return dec.equals(decOther);
+    }
+
+
+    @Benchmark
+    public CbaType.ParseStatus decimalAssignCharSequence() {
+        String str = STRINGS[next()];
+        return dec.assign(str, 0, str.length());
+    }
+
+
+    @Benchmark
+    public StringBuilder decimalAppendTo() {
+        sb.setLength(0);
+        return dec.appendTo(sb);
+    }
+
+
+    @Benchmark
+    public int decimalWriteTo() {
+        return dec.writeTo(buf, 0);
+    }
+
+
+    @Benchmark
+    public int decimalCompareTo() {
+        return dec.compareTo(decOther);
+    }
+
+
+    @Benchmark
+    public CbaType.ParseStatus decimalAssignDecimal() {
+        return dec.assign(decOther);
+    }
+
+
+    @Benchmark
+    public long decimalAccumulate() {
+        acc.add(dec);
+        return acc.getCount();
+    }
+}
@@ -0,0 +1,183 @@
+//===================================================================================================================
+// CbaTemporalTypeBenchmark.java -- JMH benchmarks for the date and time types
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+// These benchmarks measure the hot path for the temporal types: assign from a String, toString(), equals() and
+// isZero().  Run with `-prof gc` to get the bytes allocated per operation.
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+//    Date     Programmer    Version    Comment
+// ----------  ----------  -----------  ----------------------------------------------------------------------------
+// 2026-10-16     adcl       v0.1.0     Initial version
+// 2026-10-16     adcl       v0.1.0     Add the range, byte[] and appendTo() paths
+//
+//===================================================================================================================
+
+
+package com.eryjus.cba.types;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+//-------------------------------------------------------------------------------------------------------------------
+
+/**
+ * Throughput and latency benchmarks for every concrete {@link CbaTemporalType}.
+ *
+ * @author Adam Clark
+ * @since v0.1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CbaTemporalTypeBenchmark {
+    /**
+     * The type under test.
+     */
+    @Param({"DATE", "DATETIME", "TIME", "TIMESTAMP"})
+    String type;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    private CbaTemporalType field;
+    private CbaTemporalType other;
+    private String[] values;
+    private byte[][] bytes;
+    private StringBuilder sb;
+    private int index;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Build the field under test, a second instance holding the same value for {@link #equalsSame()} and the set
+     * of values in the format accepted by the type under test.
+     */
+    @Setup
+    public void setup() {
+        switch (type) {
+            case "DATE":
+                values = new String[] { "2018-03-29", "2018-04-01", "1999-12-31", "2026-10-16", };
+                field = new CbaDate.Builder().build();
+                other = new CbaDate.Builder().build();
+                break;
+
+            case "DATETIME":
+                values = new String[] { "2018-03-29T10:15:30", "2018-04-01T00:00:00", "1999-12-31T23:59:59",
+                        "2026-10-16T08:01:02", };
+                field = new CbaDateTime.Builder().build();
+                other = new CbaDateTime.Builder().build();
+                break;
+
+            case "TIME":
+                values = new String[] { "10:15:30", "00:00:00", "23:59:59", "08:01:02", };
+                field = new CbaTime.Builder().build();
+                other = new CbaTime.Builder().build();
+                break;
+
+            case "TIMESTAMP":
+                values = new String[] { "2018-03-29T10:15:30.123456Z", "2018-04-01T00:00:00.000000Z",
+                        "1999-12-31T23:59:59.999999Z", "2026-10-16T08:01:02.000100Z", };
+                field = new CbaTimestamp.Builder().build();
+                other = new CbaTimestamp.Builder().build();
+                break;
+
+            default:
+                throw new IllegalArgumentException("Unknown temporal type " + type);
+        }
+
+        bytes = new byte[values.length][];
+        for (int i = 0; i < values.length; i ++) bytes[i] = values[i].getBytes(StandardCharsets.US_ASCII);
+
+        sb = new StringBuilder();
+        field.assign(values[0]);
+        other.assign(values[0]);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    private int next() {
+        index = (index + 1) % values.length;
+        return index;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    @Benchmark
+    public CbaTemporalType assignString() {
+        field.assign(values[next()]);
+        return field;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    @Benchmark
+    public CbaType.ParseStatus assignCharSequence() {
+        String val = values[next()];
+        return field.assign(val, 0, val.length());
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    @Benchmark
+    public CbaType.ParseStatus assignBytes() {
+        byte[] val = bytes[next()];
+        return field.assign(val, 0, val.length);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    @Benchmark
+    public int appendTo() {
+        sb.setLength(0);
+        return field.appendTo(sb).length();
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    @Benchmark
+    public String toStringValue() {
+        return field.toString();
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    @Benchmark
+    public boolean equalsSame() {
+        return field.equals(other);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    @Benchmark
+    public boolean isZero() {
+        return field.isZero();
+    }
+}
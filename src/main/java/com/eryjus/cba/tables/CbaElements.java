@@ -14,17 +14,21 @@ import com.eryjus.cba.types.CbaBoolean;
 
 public class CbaElements extends CbaTable {
     private static final String ELEMENTS = "elements";
+
+    /**
+     * The columns of the table.  Each table gets its own elements for these columns, sharing their descriptors.
+     */
     private static final CbaType[] FIELDS = {
         new CbaVarchar.Builder().setField(ELEMENTS, "element_name").setSize(64).build(),
-        new CbaVarchar.Builder().setField(ELEMENTS, "element_type").setSize(10).build(),
+        new CbaVarchar.Builder().setField(ELEMENTS, "element_type").setSize(10).setDictionaryEncoded(true).build(),
         new CbaTinyText.Builder().setField(ELEMENTS, "element_description").build(),
         new CbaInt.Builder().setField(ELEMENTS, "element_size").setSize(10).build(),
         new CbaTinyInt.Builder().setField(ELEMENTS, "element_decimals").setSize(3).build(),
         new CbaBoolean.Builder().setField(ELEMENTS, "element_unsigned").build(),
         new CbaBoolean.Builder().setField(ELEMENTS, "element_zero_fill").build(),
         new CbaBoolean.Builder().setField(ELEMENTS, "element_auto_increment").build(),
-        new CbaVarchar.Builder().setField(ELEMENTS, "element_char_set").setSize(25).build(),
-        new CbaVarchar.Builder().setField(ELEMENTS, "element_collate_name").setSize(25).build(),
+        new CbaVarchar.Builder().setField(ELEMENTS, "element_char_set").setSize(25).setDictionaryEncoded(true).build(),
+        new CbaVarchar.Builder().setField(ELEMENTS, "element_collate_name").setSize(25).setDictionaryEncoded(true).build(),
         new CbaBoolean.Builder().setField(ELEMENTS, "element_not_null").build(),
         new CbaVarchar.Builder().setField(ELEMENTS, "element_short_description").setSize(120).build(),
         new CbaVarchar.Builder().setField(ELEMENTS, "element_default_value").setSize(1000).build(),
@@ -38,7 +42,7 @@ public class CbaElements extends CbaTable {
 
 
     public CbaElements() {
-        super("cba_metadata", ELEMENTS, FIELDS);
+        super("cba_metadata", ELEMENTS, newRow(FIELDS));
     }
 
     public void selectAll() {
@@ -58,7 +62,7 @@ public class CbaElements extends CbaTable {
     }
 
     public void insert() {
-
+        stampInsert();
     }
 
     public void delete() {
@@ -66,7 +70,7 @@ public class CbaElements extends CbaTable {
     }
 
     public void update() {
-        
+        stampUpdate();
     }
     
 }
\ No newline at end of file
@@ -1,16 +1,52 @@
 
 package com.eryjus.cba.tables;
 
+import java.nio.ByteBuffer;
 import java.sql.SQLException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
 
+import com.eryjus.cba.sql.SqlField;
 import com.eryjus.cba.sql.SqlTable;
+import com.eryjus.cba.types.CbaClock;
+import com.eryjus.cba.types.CbaRowCodec;
+import com.eryjus.cba.types.CbaRowStore;
+import com.eryjus.cba.types.CbaRowState;
+import com.eryjus.cba.types.CbaTemporalType;
+import com.eryjus.cba.types.CbaTimestamp;
 import com.eryjus.cba.types.CbaType;
+import com.eryjus.cba.types.CoarseClock;
 
 public class CbaTable implements SqlTable {
     private final String schema;
     private final String table;
     private final CbaType[] fields;
 
+    /**
+     * The dirty state of the buffer, one bit for each field.
+     */
+    private final CbaRowState state;
+
+    /**
+     * The system-managed temporal fields, stamped on insert and on update.
+     */
+    private final CbaTemporalType[] insertStamped;
+    private final CbaTemporalType[] updateStamped;
+
+    /**
+     * The clock from which the system-managed temporal fields are stamped.  Until one is set or needed this is null,
+     * so a table with nothing to stamp never starts the thread of the {@link CoarseClock#getDefault()} clock.
+     */
+    private CbaClock clock;
+
+    /**
+     * The local time zone offset for the last time stamped, so a batch stamped with one time looks it up once.
+     */
+    private long offsetMicros = Long.MIN_VALUE;
+    private int offsetSeconds;
+
     public String getSchema() { return schema; }
     public String getTable() { return table; }
 
@@ -18,12 +54,18 @@ public class CbaTable implements SqlTable {
         schema = sch;
         table = tbl;
         fields = readTableStructure();
+        state = new CbaRowState(null == fields ? new CbaType[0] : fields);
+        insertStamped = stampedFields(SqlField.UpdateStyle.INSERT);
+        updateStamped = stampedFields(SqlField.UpdateStyle.UPDATE);
     }
 
     protected CbaTable(String sch, String tbl, CbaType[] flds) {
         schema = sch;
         table = tbl;
         fields = flds;
+        state = new CbaRowState(null == flds ? new CbaType[0] : flds);
+        insertStamped = stampedFields(SqlField.UpdateStyle.INSERT);
+        updateStamped = stampedFields(SqlField.UpdateStyle.UPDATE);
     }
 
 
@@ -32,6 +74,102 @@ public class CbaTable implements SqlTable {
     }
 
 
+    /**
+     * Collect the temporal fields the table maintains for an operation: those with the update style given or 
+     * {@link SqlField.UpdateStyle#BOTH}.
+     */
+    private CbaTemporalType[] stampedFields(SqlField.UpdateStyle style) {
+        List<CbaTemporalType> rv = new ArrayList<>();
+
+        if (null != fields) {
+            for (CbaType fld : fields) {
+                if (fld instanceof CbaTemporalType && 
+                        (fld.getUpdateStyle() == style || fld.getUpdateStyle() == SqlField.UpdateStyle.BOTH)) {
+                    rv.add((CbaTemporalType)fld);
+                }
+            }
+        }
+
+        return rv.toArray(new CbaTemporalType[rv.size()]);
+    }
+
+
+    /**
+     * Get the clock from which the system-managed temporal fields are stamped, the shared 
+     * {@link CoarseClock#getDefault()} clock unless another has been set.
+     */
+    public CbaClock getClock() {
+        if (null == clock) clock = CoarseClock.getDefault();
+        return clock;
+    }
+
+    public void setClock(CbaClock clk) { clock = clk; }
+
+
+    /**
+     * Stamp the system-managed temporal fields for an insert with a single read of the clock.
+     * 
+     * @return The time stamped, which may be passed to {@link #stampInsert(long)} for the other rows of a batch; or 0
+     * without reading the clock when the table has no fields to stamp on an insert.
+     */
+    public long stampInsert() {
+        if (0 == insertStamped.length) return 0;
+
+        long now = getClock().currentTimeMicros();
+        stamp(insertStamped, now);
+        return now;
+    }
+
+
+    /**
+     * Stamp the system-managed temporal fields for an insert with a time already read from the clock.
+     */
+    public void stampInsert(long epochMicros) {
+        stamp(insertStamped, epochMicros);
+    }
+
+
+    /**
+     * Stamp the system-managed temporal fields for an update with a single read of the clock.
+     * 
+     * @return The time stamped, which may be passed to {@link #stampUpdate(long)} for the other rows of a batch; or 0
+     * without reading the clock when the table has no fields to stamp on an update.
+     */
+    public long stampUpdate() {
+        if (0 == updateStamped.length) return 0;
+
+        long now = getClock().currentTimeMicros();
+        stamp(updateStamped, now);
+        return now;
+    }
+
+
+    /**
+     * Stamp the system-managed temporal fields for an update with a time already read from the clock.
+     */
+    public void stampUpdate(long epochMicros) {
+        stamp(updateStamped, epochMicros);
+    }
+
+
+    private void stamp(CbaTemporalType[] flds, long epochMicros) {
+        for (CbaTemporalType fld : flds) {
+            fld.stamp(epochMicros, (fld instanceof CbaTimestamp ? 0 : localOffset(epochMicros)));
+        }
+    }
+
+
+    private int localOffset(long epochMicros) {
+        if (epochMicros != offsetMicros) {
+            Instant at = Instant.ofEpochSecond(Math.floorDiv(epochMicros, 1000000L));
+            offsetSeconds = ZoneId.systemDefault().getRules().getOffset(at).getTotalSeconds();
+            offsetMicros = epochMicros;
+        }
+
+        return offsetSeconds;
+    }
+
+
     public String toCreateSpec() throws SQLException {
         String rv = "CREATE TABLE " + getSchema() + "." + getTable() + " (";
         for (int i = 0; i < fields.length; i ++) {
@@ -44,6 +182,107 @@ public class CbaTable implements SqlTable {
     }
 
 
+    /**
+     * Make a new row of elements for the table.  Each element shares the descriptor of its column with the buffer 
+     * of the table, so a row held in a cache costs only its values.  The elements hold their own dirty flags until 
+     * they are attached to a {@link CbaRowState}.
+     * 
+     * @return The new elements, in the order of the columns.
+     */
+    public CbaType[] newRow() {
+        return newRow(fields);
+    }
+
+
+    /**
+     * Make a new row of elements from a row of prototypes, one for each column.
+     */
+    protected static CbaType[] newRow(CbaType[] columns) {
+        if (null == columns) return new CbaType[0];
+
+        CbaType[] rv = new CbaType[columns.length];
+
+        for (int i = 0; i < columns.length; i ++) {
+            rv[i] = columns[i].newInstance();
+        }
+
+        return rv;
+    }
+
+
+    /**
+     * Get a field of the buffer.
+     */
+    public CbaType getField(int index) { return fields[index]; }
+
+
+    /**
+     * Is any field of the buffer dirty?
+     */
+    public boolean isDirty() { return state.isDirty(); }
+
+
+    /**
+     * Find the first dirty field of the buffer at or after an index, or -1 when there are no more.  The dirty fields 
+     * are enumerated with {@code for (int i = t.nextDirty(0); i >= 0; i = t.nextDirty(i + 1))}.
+     */
+    public int nextDirty(int from) { return state.nextDirty(from); }
+
+
+    /**
+     * Mark every field of the buffer clean once it has been written, in constant time.
+     */
+    public void markClean() { state.markClean(); }
+
+
+    /**
+     * The number of times the buffer has been marked clean.
+     */
+    public long getGeneration() { return state.getGeneration(); }
+
+
+    /**
+     * Write the buffer to a ByteBuffer in the binary form of {@link CbaRowCodec}, to be read back into the buffer 
+     * of this table or a row from {@link #newRow()}.  When there is too little room the ByteBuffer is left as it was
+     * and a {@link java.nio.BufferOverflowException} is thrown.
+     */
+    public void writeRow(ByteBuffer buf) { CbaRowCodec.write(fields, buf); }
+
+
+    /**
+     * Read the buffer from a ByteBuffer in the binary form of {@link CbaRowCodec}.  The fields are then clean.
+     */
+    public void readRow(ByteBuffer buf) { CbaRowCodec.read(fields, buf); }
+
+
+    /**
+     * Make a store in which to hold rows of the table off the heap.  The buffer of the table (or a row from 
+     * {@link #newRow()}) is the cursor over it; see {@link #appendRow(CbaRowStore)} and 
+     * {@link #fetchRow(CbaRowStore, int)}.
+     */
+    public CbaRowStore newRowStore() { return new CbaRowStore(fields); }
+
+
+    /**
+     * Add the buffer to the end of a row store of this table.
+     * 
+     * @return The index of the row in the store.
+     */
+    public int appendRow(CbaRowStore store) { return store.append(fields); }
+
+
+    /**
+     * Position the buffer on a row of a row store of this table.  The fields are then clean.
+     */
+    public void fetchRow(CbaRowStore store, int index) { store.load(index, fields); }
+
+
+    /**
+     * Replace a row of a row store of this table with the buffer.
+     */
+    public void updateRow(CbaRowStore store, int index) { store.update(index, fields); }
+
+
     public void clearBuffer() {
         for (int i = 0; i < fields.length; i ++) {
             fields[i].clearField();
@@ -14,6 +14,8 @@
 //    Date     Programmer    Version    Comment
 // ----------  ----------  -----------  ----------------------------------------------------------------------------
 // 2018-03-30     adcl       v0.1.0     Initial version
+// 2026-10-16     adcl       v0.1.0     Build on a shared descriptor; add newInstance()
+// 2026-10-16     adcl       v0.1.0     Set the indicated type to CBA_BIG_INT
 //
 //===================================================================================================================
 
@@ -37,7 +39,7 @@ class CbaBigInt extends CbaIntegerType {
      */
     static class Builder extends CbaIntegerType.Builder<Builder> {
         Builder() {
-            setIndicatedType(CbaType.IndicatedType.CBA_SMALL_INT);
+            setIndicatedType(CbaType.IndicatedType.CBA_BIG_INT);
             setSize(DEFAULT_SIZE);
             setDefaultValue(DEFAULT_VALUE);
             setMinVal(MIN);
@@ -85,30 +87,32 @@ class CbaBigInt extends CbaIntegerType {
      * @param builder the builder class from which to initialize this instance
      */
     public CbaBigInt(Builder builder) {
-        super(builder);
-        setValue(0);
+        this(new Descriptor(builder));
     }
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * This is a trivial implementation to trim a 64-bit integer to 64-bits.  Obviously, there is nothing to do.
+     * Construct an element on the attributes of its column.
+     * 
+     * @param column The attributes of the column, which may be shared with other elements.
      */
-    void trim() {}
+    private CbaBigInt(Descriptor column) {
+        super(column);
+        setValue(0);
+    }
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * Assign a new String value to {@link #value}.  This is done by first converting the String to a {@code long}. 
-     * Then, set the field to be dirty.
+     * Make a new element for the same column, sharing this element's descriptor.
      * 
-     * @param v A String representation of the value to assign.
+     * @return The new element.
      */
-    public void assign(String v) {
-        assign(Long.valueOf(v));
-    }
+    @Override
+    public CbaBigInt newInstance() { return new CbaBigInt((Descriptor)getDescriptor()); }
 
 
     //---------------------------------------------------------------------------------------------------------------
@@ -10,6 +10,8 @@
 //    Date     Programmer    Version    Comment
 // ----------  ----------  -----------  ----------------------------------------------------------------------------
 // 2018-03-29     adcl       v0.1.0     Initial version
+// 2026-10-16     adcl       v0.1.0     Exception-free parsing from a CharSequence range
+// 2026-10-16     adcl       v0.1.0     Build on a shared descriptor; add newInstance()
 //
 //===================================================================================================================
 
@@ -94,19 +96,46 @@ public class CbaBoolean extends CbaIntegerType {
      * @param builder the builder class to initialize this instance
      */
     private CbaBoolean(Builder builder) {
-        super(builder);
+        this(new Descriptor(builder));
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Construct an element on the attributes of its column.
+     * 
+     * @param column The attributes of the column, which may be shared with other elements.
+     */
+    private CbaBoolean(Descriptor column) {
+        super(column);
         clearField();
     }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Make a new element for the same column, sharing this element's descriptor.
+     * 
+     * @return The new element.
+     */
+    @Override
+    public CbaBoolean newInstance() { return new CbaBoolean((Descriptor)getDescriptor()); }
     
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * Trim a long value to the boolean values of 0 or 1.
+     * Normalize a long value to the boolean values of 0 or 1 before it reaches the range checks, so that any 
+     * non-zero value is {@link #TRUE} regardless of the overflow policy.
+     * 
+     * @param val The candidate value.
+     * @return 0 if {@code val} is 0; 1 otherwise.
      */
-    void trim() {
-        if (getValue() == 0) setValue(0);
-        else setValue(1);
+    @Override
+    long normalize(long val) {
+        return (val == 0 ? 0 : 1);
     }
 
 
@@ -126,40 +155,168 @@ public class CbaBoolean extends CbaIntegerType {
      * Another problematic scenario is to convert the value {@code "Bob"} to a boolean value.  Anything that cannot
      * be properly converted to an integer or a real value will be treated as {@link #FALSE}.
      */
+    @Override
     public void assign(String v) {
         if (null == v) {
             super.assign(0);
             return;
         }
 
-        if (v.toLowerCase().equals("true")) {
+        ParseStatus status = assign(v, 0, v.length());
+
+        if (status == ParseStatus.TRUNCATED || status == ParseStatus.INVALID || status == ParseStatus.EMPTY) {
+            // -- Issue a warning in the log here because this is likely bad software design
+            LogManager.getLogger(this.getClass()).warn("Attempt to convert the value \"" + v + 
+                    "\" to a boolean value is problematic and results is loss of fidelity");
+        }
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Assign a boolean held in a range of characters without boxing and without throwing.  The same rules as
+     * {@link #assign(String)} apply: {@code "TRUE"} and {@code "FALSE"} in any case, an integer which is 
+     * {@link #TRUE} when non-zero, or a real number whose integer part decides the value.  The real number is never
+     * converted; only the position of its most significant digit relative to the decimal point is examined.  
+     * Anything else is treated as {@link #FALSE}.  Leading and trailing whitespace is ignored.
+     * 
+     * @param val The characters to parse.
+     * @param start The index of the first character to parse.
+     * @param end The index one past the last character to parse.
+     * @return {@link ParseStatus#OK} for a boolean or integer, {@link ParseStatus#TRUNCATED} for a real number, or
+     * the reason the characters could not be used (in which case the value is {@link #FALSE}).
+     */
+    @Override
+    public ParseStatus assign(CharSequence val, int start, int end) {
+        if (isReadOnly()) {
+            LogManager.getLogger(this.getClass()).warn("Unable to assign to a read-only field; ignoring assignment");
+            return ParseStatus.READ_ONLY;
+        }
+
+        if (null != val) {
+            while (start < end && val.charAt(start) <= ' ') start ++;
+            while (end > start && val.charAt(end - 1) <= ' ') end --;
+        }
+
+        if (null == val || start >= end) {
+            super.assign(0);
+            return ParseStatus.EMPTY;
+        }
+
+        if (matchesIgnoreCase(val, start, end, "true")) {
             super.assign(1);
-            return;
-        } 
-        
-        if (v.toLowerCase().equals("false")) {
+            return ParseStatus.OK;
+        }
+
+        if (matchesIgnoreCase(val, start, end, "false")) {
             super.assign(0);
-            return;
+            return ParseStatus.OK;
         }
 
-        Long val = new Long(0);
-        try { 
-            val = Long.valueOf(v); 
-        } catch (Exception ex) { 
-            // -- Issue a warning in the log here because this is likely bad software design
-            LogManager.getLogger(this.getClass()).warn("Attempt to convert the value \"" + v + 
-                    "\" to a boolean value is problematic and results is loss of fidelity", ex);
+        int pos = start;
+        char ch = val.charAt(pos);
+        if (ch == '-' || ch == '+') pos ++;
+
+        if (matchesIgnoreCase(val, pos, end, "infinity")) {
+            super.assign(1);
+            return ParseStatus.TRUNCATED;
+        }
+
+        if (matchesIgnoreCase(val, pos, end, "nan")) {
+            super.assign(0);
+            return ParseStatus.TRUNCATED;
+        }
+
+        // -- the integer part: count the significant digits
+        int intDigits = 0;
+        boolean anyDigits = false;
+        for ( ; pos < end && (ch = val.charAt(pos)) >= '0' && ch <= '9'; pos ++) {
+            anyDigits = true;
+            if (intDigits > 0 || ch != '0') intDigits ++;
+        }
 
-            try {
-                Double dbl = Double.valueOf(v);
-                val = dbl.longValue();
-            } catch (Exception ex2) {
-                val = new Long(0); 
+        boolean isReal = false;
+        int fracZeros = 0;
+        boolean fracNonZero = false;
+
+        // -- the fraction: count the zeros ahead of the first significant digit
+        if (pos < end && val.charAt(pos) == '.') {
+            isReal = true;
+            for (pos ++; pos < end && (ch = val.charAt(pos)) >= '0' && ch <= '9'; pos ++) {
+                anyDigits = true;
+                if (ch != '0') fracNonZero = true;
+                else if (!fracNonZero) fracZeros ++;
             }
         }
 
-        if (val == 0) super.assign(0);
-        else super.assign(1);
+        if (!anyDigits) {
+            super.assign(0);
+            return ParseStatus.INVALID;
+        }
+
+        // -- the exponent, held at a ceiling that no real number can get past
+        long exp = 0;
+        if (pos < end && ((ch = val.charAt(pos)) == 'e' || ch == 'E')) {
+            isReal = true;
+            boolean expNeg = false;
+
+            if (++ pos < end && ((ch = val.charAt(pos)) == '-' || ch == '+')) {
+                expNeg = (ch == '-');
+                pos ++;
+            }
+
+            if (pos == end) {
+                super.assign(0);
+                return ParseStatus.INVALID;
+            }
+
+            for ( ; pos < end && (ch = val.charAt(pos)) >= '0' && ch <= '9'; pos ++) {
+                if (exp < 100000) exp = exp * 10 + (ch - '0');
+            }
+
+            if (expNeg) exp = -exp;
+        }
+
+        if (pos != end) {
+            super.assign(0);
+            return ParseStatus.INVALID;
+        }
+
+        // -- the power of ten of the most significant digit decides if the integer part is non-zero
+        boolean nonZero;
+        if (intDigits > 0) {
+            nonZero = (intDigits - 1 + exp >= 0);
+        } else if (fracNonZero) {
+            nonZero = (exp - fracZeros - 1 >= 0);
+        } else {
+            nonZero = false;
+        }
+
+        super.assign(nonZero ? 1 : 0);
+        return (isReal ? ParseStatus.TRUNCATED : ParseStatus.OK);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Compare a range of characters to a lower case word, ignoring the case of the characters.
+     * 
+     * @param val The characters to compare.
+     * @param start The index of the first character to compare.
+     * @param end The index one past the last character to compare.
+     * @param word The lower case word to compare against.
+     * @return Whether the range holds exactly {@code word} in any case.
+     */
+    private static boolean matchesIgnoreCase(CharSequence val, int start, int end, String word) {
+        if (end - start != word.length()) return false;
+
+        for (int i = 0; i < word.length(); i ++) {
+            if (Character.toLowerCase(val.charAt(start + i)) != word.charAt(i)) return false;
+        }
+
+        return true;
     }
 
 
@@ -191,6 +348,50 @@ public class CbaBoolean extends CbaIntegerType {
     }
 
 
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The formatted length of a boolean is the length of {@code "FALSE"} or {@code "TRUE"}.
+     *
+     * @return The formatted length of this instance.
+     */
+    @Override
+    public int formattedLength() {
+        return toString().length();
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Render {@code "FALSE"} or {@code "TRUE"} into a caller-supplied buffer.
+     *
+     * @param buf The buffer into which to render the value.
+     * @param off The index in {@code buf} of the first character to write.
+     * @return The index one past the last character written.
+     */
+    @Override
+    public int writeTo(char[] buf, int off) {
+        String str = toString();
+        str.getChars(0, str.length(), buf, off);
+        return off + str.length();
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Append {@code "FALSE"} or {@code "TRUE"} to a StringBuilder.
+     *
+     * @param sb The StringBuilder to which to append the value.
+     * @return The StringBuilder {@code sb}, for chaining.
+     */
+    @Override
+    public StringBuilder appendTo(StringBuilder sb) {
+        return sb.append(toString());
+    }
+
+
     //---------------------------------------------------------------------------------------------------------------
     // toCreateSpec()
     /**
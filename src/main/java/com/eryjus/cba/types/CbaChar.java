@@ -10,6 +10,8 @@
 //    Date     Programmer    Version    Comment
 // ----------  ----------  -----------  ----------------------------------------------------------------------------
 // 2018-04-04     adcl       v0.1.0     Initial version
+// 2026-10-16     adcl       v0.1.0     Compare encoded values without decoding; drop the duplicate assign(String)
+// 2026-10-16     adcl       v0.1.0     Build on a shared descriptor; add newInstance()
 //
 //===================================================================================================================
 
@@ -18,8 +20,6 @@ package com.eryjus.cba.types;
 
 import java.sql.SQLException;
 
-import org.apache.logging.log4j.LogManager;
-
 
 //-------------------------------------------------------------------------------------------------------------------
 
@@ -80,33 +80,34 @@ class CbaChar extends CbaCharType {
      * @param builder the builder class to initialize this instance
      */
     public CbaChar(Builder builder) {
-        super(builder);
-        clearField();
+        this(new Descriptor(builder));
     }
-    
 
-    //---------------------------------------------------------------------------------------------------------------    
+
+    //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * Perform an assignment from a String value.
+     * Construct an element on the attributes of its column.
      * 
-     * @param val A String representation of the value to assign to the Cbe Type.
+     * @param column The attributes of the column, which may be shared with other elements.
      */
-    public void assign(String val) {
-        if (isReadOnly()) {
-            LogManager.getLogger(this.getClass()).warn("Unable to assign to a read-only field; ignoring assignment");
-            return;
-        }
-
-        if (val.length() > getSize()) {
-            setValue(val.substring(0, getSize()));
-        } else  {
-            setValue(val);
-        }
-        setDirty();
+    private CbaChar(Descriptor column) {
+        super(column);
+        clearField();
     }
 
 
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Make a new element for the same column, sharing this element's descriptor.
+     * 
+     * @return The new element.
+     */
+    @Override
+    public CbaChar newInstance() { return new CbaChar((Descriptor)getDescriptor()); }
+    
+
     //---------------------------------------------------------------------------------------------------------------
 
     /**
@@ -125,7 +126,7 @@ class CbaChar extends CbaCharType {
             return false;
         }
 
-        return (((CbaChar)obj).getValue().equals(getValue()));
+        return valueEquals((CbaChar)obj);
     }
 
 
@@ -5,17 +5,78 @@
 //
 // This class is an abstraction of a character field/variable.
 //
+// A field built with a charset holds its value as encoded bytes rather than as a String: a length and a byte[] 
+// that is reused from one assignment to the next while it is a reasonable fit.  In that mode the value is fitted to
+// the field the way MySQL does it: the TEXT types are limited in bytes and the CHAR and VARCHAR types in characters
+// (code points), and a character is never split.  For UTF-8 and the single-byte charsets the fit is worked out
+// from the characters and only what fits is encoded; other charsets go through the JDK's encoder.
+//
+// A field built with a dictionary (see CbaDictionary) holds an int code in place of its value whenever the
+// dictionary has or can take the value, and falls back to holding the value itself once the dictionary is full.
+// The value is fitted in characters before it is looked up, so the dictionary is meant for the CHAR and VARCHAR
+// types.
+//
+// The values are ordered by the field's collation.  A field may also keep the sort key of its value: a byte[] that
+// orders the same way when compared unsigned, derived once per value and dropped on the next assignment.  Sorting a
+// large list on a collator then derives each key once rather than on every comparison.
+//
+// A long value need not be handled as one String.  openWriter() takes the value a piece at a time and fits it to the
+// field as it goes, so that nothing past the limit is ever held: a field held as a String keeps the value in chunks
+// (see CbaChunkedText), and one held in UTF-8 or a single-byte charset encodes each piece straight into its bytes.
+// openReader() reads the value back from where it is held.  append() adds to the value the same way, so that a
+// value built up a piece at a time is neither copied nor fitted again on every piece.
+//
+// A TEXT field may also be built with a compress threshold.  A value that encodes to at least that many bytes is
+// then held LZ4-compressed (see CbaLz4) once it is assigned, if that saves at least an eighth of it.  The value is
+// decompressed only when it is read, and each thread keeps the last value it decompressed, so that reading the same
+// field again does not decompress it again.
+//
 // -----------------------------------------------------------------------------------------------------------------
 //
 //    Date     Programmer    Version    Comment
 // ----------  ----------  -----------  ----------------------------------------------------------------------------
 // 2018-04-04     adcl       v0.1.0     Initial version
+// 2026-10-16     adcl       v0.1.0     Add the encoded (byte[]) storage mode with byte-accurate limits
+// 2026-10-16     adcl       v0.1.0     Add the dictionary-encoded mode
+// 2026-10-16     adcl       v0.1.0     Add compareTo() by collation and the cached sort key
+// 2026-10-16     adcl       v0.1.0     Add openReader()/openWriter() and the chunked storage behind them
+// 2026-10-16     adcl       v0.1.0     Add the compressed mode for large values
+// 2026-10-16     adcl       v0.1.0     Add append()
+// 2026-10-16     adcl       v0.1.0     Add hash64(), cached until the next assignment
+// 2026-10-16     adcl       v0.1.0     Move the column attributes to a shared Descriptor
+// 2026-10-16     adcl       v0.1.0     Restore the default with copyValue()
+// 2026-10-16     adcl       v0.1.0     Add assign(CharSequence, int, int), appendTo(), asBytes() and copyChars()
+// 2026-10-16     adcl       v0.1.0     Add the binary form
+// 2026-10-16     adcl       v0.1.0     Intern a value as the charset carries it, so a lone surrogate reads as '?'
+// 2026-10-17     adcl       v0.1.0     Cut a value held as characters on a code point boundary
+// 2026-10-17     adcl       v0.1.0     Compare fields of different collations in BINARY, both ways alike
+// 2026-10-17     adcl       v0.1.0     Stage what is appended to a field with a dictionary or another charset, and 
+//                                      cut a value written in chunks on a code point boundary
+// 2026-10-17     adcl       v0.1.0     Hold the default as an immutable value rather than in an element
+// 2026-10-17     adcl       v0.1.0     Check both lengths of a value read in its binary form before using either
 //
 //===================================================================================================================
 
 
 package com.eryjus.cba.types;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.text.Collator;
+import java.util.Arrays;
+import java.util.Locale;
+
 import org.apache.logging.log4j.LogManager;
 
 //-------------------------------------------------------------------------------------------------------------------
@@ -26,27 +87,124 @@ import org.apache.logging.log4j.LogManager;
  * @author Adam Clark
  * @since v0.1.0
  */
-abstract class CbaCharType extends CbaType {
+abstract class CbaCharType extends CbaType implements Comparable<CbaCharType> {
     @SuppressWarnings("unchecked")
     public static abstract class Builder<T extends Builder<T>> extends CbaType.Builder<T> {
         int size;
+        Charset charset;
+        CbaDictionary dictionary;
+        Collation collation = Collation.BINARY;
+        boolean cacheSortKey;
+        int compressThreshold;
 
         public T setSize(int sz) { 
             size = sz;
             return (T)this;
         }
+
+
+        /**
+         * Hold the value as bytes encoded in a charset rather than as a String
+         */
+        public T setCharset(Charset cs) {
+            charset = cs;
+            return (T)this;
+        }
+
+
+        /**
+         * Order the values by a collation
+         */
+        public T setCollation(Collation coll) {
+            collation = coll;
+            return (T)this;
+        }
+
+
+        /**
+         * Keep the sort key of the value once it has been derived, until the next assignment
+         */
+        public T setCacheSortKey(boolean cache) {
+            cacheSortKey = cache;
+            return (T)this;
+        }
+    }
+
+    /**
+     * The attributes of a character column.
+     */
+    static final class Descriptor extends FieldDescriptor {
+        /**
+         * The width of the field, be that a fixed width or a variable width.
+         */
+        final int SIZE;
+
+        /**
+         * The charset in which the value is held as bytes, or null if it is held as a String.
+         */
+        final Charset CHARSET;
+
+        /**
+         * Is {@link #CHARSET} UTF-8?
+         */
+        final boolean UTF8;
+
+        /**
+         * The largest character that encodes as itself when {@link #CHARSET} is a single-byte charset that the 
+         * bytes are fitted by hand (ISO-8859-1 or US-ASCII); otherwise 0.
+         */
+        final char SINGLE_BYTE_MAX;
+
+        /**
+         * The dictionary in which the value is looked up, or null if the value is always held by the element.
+         */
+        final CbaDictionary DICTIONARY;
+
+        /**
+         * The fewest encoded bytes of a value that is held compressed, or 0 if values are never compressed.
+         */
+        final int COMPRESS_THRESHOLD;
+
+        /**
+         * The collation by which the values of the column are ordered.
+         */
+        final Collation COLLATION;
+
+        /**
+         * Whether the sort key of the value is kept once derived.
+         */
+        final boolean CACHE_SORT_KEY;
+
+
+        Descriptor(Builder<?> builder) {
+            super(builder);
+            SIZE = builder.size;
+            CHARSET = builder.charset;
+            DICTIONARY = builder.dictionary;
+            COLLATION = (null == builder.collation ? Collation.BINARY : builder.collation);
+            CACHE_SORT_KEY = builder.cacheSortKey;
+            COMPRESS_THRESHOLD = Math.max(0, builder.compressThreshold);
+            UTF8 = StandardCharsets.UTF_8.equals(CHARSET);
+
+            if (StandardCharsets.ISO_8859_1.equals(CHARSET)) SINGLE_BYTE_MAX = 0xff;
+            else if (StandardCharsets.US_ASCII.equals(CHARSET)) SINGLE_BYTE_MAX = 0x7f;
+            else SINGLE_BYTE_MAX = 0;
+        }
     }
 
+
+    //---------------------------------------------------------------------------------------------------------------
+
     /**
-     * The width of the field, be that a fixed width or a variable width.
+     * An empty value in bytes.
      */
-    private final int SIZE;
+    private static final byte[] NO_BYTES = new byte[0];
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * The actual value of this instance.
+     * The actual value of this instance, when held as a String.
      */
     private String value;
 
@@ -54,34 +212,235 @@ abstract class CbaCharType extends CbaType {
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * Construct a new CbaCharType with the indicated size.
+     * The actual value of this instance, when held as a String but written through {@link #openWriter()}; 
+     * otherwise null.
+     */
+    private CbaChunkedText chunks;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The writer that {@link #append(CharSequence, int, int)} adds to the value through, from the first append 
+     * after an assignment until the next assignment; otherwise null.  What it has staged is assigned by 
+     * {@link #settle()} before the value is read.
+     */
+    private ValueWriter appender;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The actual value of this instance, when held as bytes; only the first {@link #byteLength} are the value.
+     */
+    private byte[] bytes = NO_BYTES;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The number of bytes in {@link #bytes} that are the value.
+     */
+    private int byteLength;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The code of the value in {@link Descriptor#DICTIONARY}, or {@link CbaDictionary#NO_CODE} when the value is 
+     * held by this field.
+     */
+    private int code = CbaDictionary.NO_CODE;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The value compressed by {@link CbaLz4}, when it is held compressed; otherwise null.  The bytes compressed are
+     * the value encoded in {@link Descriptor#CHARSET}, or in UTF-8 when there is none.  The array is never changed 
+     * once made.
+     */
+    private byte[] packed;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The number of bytes {@link #packed} decompresses to.
+     */
+    private int packedLength;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The last value decompressed by a thread.
+     */
+    private static final class Unpacked {
+        /** The compressed value, by identity. */
+        byte[] packed;
+        /** The bytes it decompresses to. */
+        byte[] bytes;
+        /** The bytes decoded, once they have been; otherwise null. */
+        String value;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The last value decompressed by each thread.  Holding it per thread rather than per field keeps a cache full of
+     * compressed rows compressed, at the cost of one decompressed value per thread.
+     */
+    private static final ThreadLocal<Unpacked> UNPACKED = ThreadLocal.withInitial(Unpacked::new);
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The sort key of the value, when it is kept and has been derived since the last assignment; otherwise null.
+     */
+    private byte[] sortKey;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The hash of the value once it has been computed since the last assignment, or 0 until then.
+     */
+    private long hash;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The collator for {@link Collation#GENERAL}.  A Collator is not thread-safe, so each thread has its own.
+     */
+    private static final ThreadLocal<Collator> COLLATOR = ThreadLocal.withInitial(() -> {
+        Collator coll = Collator.getInstance(Locale.ROOT);
+        coll.setStrength(Collator.SECONDARY);
+        return coll;
+    });
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Construct a new CbaCharType on the attributes of its column.
      * 
-     * @param builder The builder class to initialize this class
+     * @param column The attributes of the column, which may be shared with other elements.
      */
-    CbaCharType(Builder<?> builder) {
-        super(builder);
-        SIZE = builder.size;
+    CbaCharType(Descriptor column) {
+        super(column);
     }
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * The access method for the {@link #SIZE} attribute.
+     * The attributes of the column, as the character types describe it.
      * 
-     * @return The minimum display size for this instance.  See also {@link #SIZE}.
+     * @return The descriptor of this element.
      */
-    final public int getSize() { return SIZE; }
+    private Descriptor column() { return (Descriptor)getDescriptor(); }
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * The access method for the {@link #value} attribute.
+     * The access method for the {@link Descriptor#SIZE} attribute.
+     * 
+     * @return The minimum display size for this instance.  See also {@link Descriptor#SIZE}.
+     */
+    final public int getSize() { return column().SIZE; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The access method for the {@link Descriptor#CHARSET} attribute.
+     * 
+     * @return The charset in which the value is held as bytes, or null if it is held as a String.
+     */
+    final public Charset getCharset() { return column().CHARSET; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Is the value held as encoded bytes?
+     * 
+     * @return Whether the field was built with a charset.
+     */
+    final public boolean isEncoded() { return (null != column().CHARSET); }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Is the {@link Descriptor#SIZE} of this type a number of bytes rather than a number of characters?  This is 
+     * the case for the TEXT types, and is only applied when the value is held as bytes.
+     * 
+     * @return Whether the size limits the encoded bytes.
+     */
+    boolean isByteLimited() { return false; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The access method for the {@link Descriptor#DICTIONARY} attribute.
+     * 
+     * @return The dictionary in which the value is looked up, or null if there is none.
+     */
+    final public CbaDictionary getDictionary() { return column().DICTIONARY; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The access method for the {@link #code} attribute.
+     * 
+     * @return The code of the value in the dictionary, or {@link CbaDictionary#NO_CODE} when the value is held by
+     * this field.
+     */
+    final public int getDictionaryCode() { 
+        settle();
+        return code; 
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The access method for the {@link Descriptor#COLLATION} attribute.
+     * 
+     * @return The collation by which the values of this field are ordered.
+     */
+    final public Collation getCollation() { return column().COLLATION; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The access method for the {@link Descriptor#COMPRESS_THRESHOLD} attribute.
      * 
-     * @return The minimum display size for this instance.  See also {@link #SIZE}.
+     * @return The fewest encoded bytes of a value that is held compressed, or 0 if values are never compressed.
      */
-    final public String getValue() { return value; }
+    final public int getCompressThreshold() { return column().COMPRESS_THRESHOLD; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Is the value held compressed?
+     * 
+     * @return Whether the value is held compressed.
+     */
+    final public boolean isCompressed() { 
+        settle();
+        return (null != packed); 
+    }
 
 
     //---------------------------------------------------------------------------------------------------------------
@@ -89,9 +448,40 @@ abstract class CbaCharType extends CbaType {
     /**
      * The access method for the {@link #value} attribute.
      * 
-     * @param val The minimum display size for this instance.  See also {@link #SIZE}.
+     * @return The minimum display size for this instance.  See also {@link Descriptor#SIZE}.
+     */
+    final public String getValue() { 
+        Descriptor col = column();
+
+        settle();
+        if (code != CbaDictionary.NO_CODE) return col.DICTIONARY.decode(code);
+        if (null != packed) return unpackedValue();
+        if (null != chunks) return chunks.toString();
+        return (null == col.CHARSET ? value : new String(bytes, 0, byteLength, col.CHARSET)); 
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The access method for the {@link #value} attribute.  The value is not fitted to the field; when held as bytes
+     * it is encoded in full.  When the field has a dictionary, the value is looked up in it first.
+     * 
+     * @param val The minimum display size for this instance.  See also {@link Descriptor#SIZE}.
      */
-    final public void setValue(String val) { value = val; }
+    final public void setValue(String val) { 
+        sortKey = null;
+        hash = 0;
+        chunks = null;
+        packed = null;
+        appender = null;
+        if (intern(val)) return;
+
+        if (!isEncoded()) value = val;
+        else encode(val, Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+        pack();
+    }
 
         
     //---------------------------------------------------------------------------------------------------------------    
@@ -101,27 +491,1695 @@ abstract class CbaCharType extends CbaType {
      * 
      * @return A trivial return of this value.  Fine value is immutable, this will not cause problems.
      */
-    final public String toString() { return value; }
+    final public String toString() { return getValue(); }
 
 
-    //---------------------------------------------------------------------------------------------------------------    
+    //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * Perform an assignment from a String value.
+     * Append the value to a StringBuilder.  A value held in chunks is appended without making a String of it.
      * 
-     * @param val A String representation of the value to assign to the Cbe Type.
+     * @param sb The StringBuilder to which to append the value.
+     * @return The StringBuilder {@code sb}, for chaining.
      */
-    public void assign(String val) {
+    @Override
+    final public StringBuilder appendTo(StringBuilder sb) { return sb.append(chars()); }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The length of the value in bytes.  A value held as a String is measured as UTF-8, without encoding it.
+     * 
+     * @return The number of bytes in the encoded value.
+     */
+    final public int getByteLength() {
+        Descriptor col = column();
+
+        settle();
+        if (null != packed) return packedLength;
+        if (code == CbaDictionary.NO_CODE && null != col.CHARSET) return byteLength;
+        if (null != col.CHARSET && !col.UTF8) return getValue().getBytes(col.CHARSET).length;
+
+        CharSequence val = chars();
+        return CbaUtf8.bytesOf(CbaUtf8.measure(val, 0, val.length(), Integer.MAX_VALUE, Integer.MAX_VALUE));
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get a read-only view of the encoded value.  When held as bytes no copy is made, so the view must be used 
+     * before the next assignment.  A value held as a String is encoded as UTF-8, and one held in a dictionary is
+     * encoded in the field's charset (or UTF-8).
+     * 
+     * @return A read-only buffer holding the encoded value between its position and its limit.
+     */
+    final public ByteBuffer asByteBuffer() {
+        settle();
+        if (null != packed) return ByteBuffer.wrap(unpack()).asReadOnlyBuffer();
+        if (code != CbaDictionary.NO_CODE || !isEncoded()) return ByteBuffer.wrap(encoded()).asReadOnlyBuffer();
+        return ByteBuffer.wrap(bytes, 0, byteLength).asReadOnlyBuffer();
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get a copy of the encoded value, encoded as {@link #asByteBuffer()} describes.
+     * 
+     * @return A new array holding the encoded value.
+     */
+    @Override
+    final public byte[] asBytes() {
+        settle();
+        if (null != packed) return unpack().clone();
+        if (code != CbaDictionary.NO_CODE || !isEncoded()) return encoded();
+        return Arrays.copyOf(bytes, byteLength);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Write the encoded value to a stream.  When held as bytes they are written directly; a value held as a String
+     * is encoded as UTF-8, and one held in a dictionary is encoded in the field's charset (or UTF-8).
+     * 
+     * @param out The stream to which to write the value.
+     * @throws IOException When the stream cannot be written.
+     */
+    final public void writeTo(OutputStream out) throws IOException {
+        settle();
+        if (null != packed) {
+            out.write(unpack());
+        } else if (null != chunks) {
+            // -- encode a piece at a time rather than making a String of the whole value
+            byte[] buf = new byte[3 * CbaChunkedText.CHUNK_SIZE];
+            int len = chunks.length();
+            int i = 0;
+
+            while (i < len) {
+                long measured = CbaUtf8.measure(chunks, i, len, Integer.MAX_VALUE, buf.length);
+                int end = CbaUtf8.endOf(measured);
+
+                out.write(buf, 0, CbaUtf8.encode(chunks, i, end, buf, 0));
+                i = end;
+            }
+        } else if (code != CbaDictionary.NO_CODE || !isEncoded()) {
+            out.write(encoded());
+        } else {
+            out.write(bytes, 0, byteLength);
+        }
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Open a Reader over the value, so that a long value can be read without making a String of it.  A value held
+     * in chunks or as bytes is read from where it is held (bytes are decoded as they are read), so the Reader must
+     * be used before the next assignment.
+     * 
+     * @return A new Reader over the value.
+     */
+    final public Reader openReader() {
+        Descriptor col = column();
+
+        settle();
+        if (null != chunks) return chunks.reader();
+        if (null != packed) return new InputStreamReader(new ByteArrayInputStream(unpack()), packedCharset());
+        if (code != CbaDictionary.NO_CODE || null == col.CHARSET) return new StringReader(getValue());
+        return new InputStreamReader(new ByteArrayInputStream(bytes, 0, byteLength), col.CHARSET);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Open a Writer that replaces the value with what is written to it.  The value is emptied and marked dirty when
+     * the Writer is opened, and is fitted to the field as it is written: once something does not fit, the rest is
+     * dropped and {@link ValueWriter#isTruncated()} reports it.  A field held as a String keeps the value in chunks,
+     * and one held in UTF-8 or a single-byte charset encodes it as it comes; any other field (including one with a
+     * dictionary) collects the value and assigns it when the Writer is closed.
+     * <p>
+     * Only one Writer may be open on a field, and the field must not be assigned by other means until it is closed.
+     * A read-only field returns a Writer that drops everything written to it.
+     * 
+     * @return A new Writer for the value.
+     */
+    final public ValueWriter openWriter() {
+        Descriptor col = column();
+
         if (isReadOnly()) {
             LogManager.getLogger(this.getClass()).warn("Unable to assign to a read-only field; ignoring assignment");
-            return;
+            return new ValueWriter(WriteMode.DROPPED);
         }
 
-        if (val.length() > getSize()) {
-            setValue(val.substring(0, getSize()));
-        } else  {
-            setValue(val);
+        WriteMode mode;
+
+        if (null != col.DICTIONARY || (null != col.CHARSET && !col.UTF8 && col.SINGLE_BYTE_MAX == 0)) {
+            mode = WriteMode.STAGED;
+            store("");
+        } else {
+            mode = (null == col.CHARSET ? WriteMode.CHUNKS : WriteMode.BYTES);
+            sortKey = null;
+            hash = 0;
+            value = null;
+            packed = null;
+            appender = null;
+            chunks = (null == col.CHARSET ? new CbaChunkedText() : null);
+            byteLength = 0;
         }
+
         setDirty();
+        return new ValueWriter(mode);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Add a character to the end of the value.  See {@link #append(CharSequence, int, int)}.
+     * 
+     * @param c The character to add.
+     * @return {@link ParseStatus#OK} if it fit, {@link ParseStatus#TRUNCATED} if it did not, or 
+     * {@link ParseStatus#READ_ONLY}.
+     */
+    final public ParseStatus append(char c) {
+        if (isReadOnly()) {
+            LogManager.getLogger(this.getClass()).warn("Unable to assign to a read-only field; ignoring assignment");
+            return ParseStatus.READ_ONLY;
+        }
+
+        if (null == appender) appender = startAppend();
+
+        sortKey = null;
+        hash = 0;
+        appender.putChar(c);
+        setDirty();
+        return (appender.truncated ? ParseStatus.TRUNCATED : ParseStatus.OK);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Add characters to the end of the value.  See {@link #append(CharSequence, int, int)}.
+     * 
+     * @param val The characters to add.
+     * @return {@link ParseStatus#OK} if they fit, {@link ParseStatus#TRUNCATED} if they were cut to fit, or the 
+     * reason they were not added.
+     */
+    final public ParseStatus append(CharSequence val) {
+        return append(val, 0, (null == val ? 0 : val.length()));
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Add a range of characters to the end of the value, fitting them to the field as {@link #assign(String)} would
+     * fit the whole.  Once something has not fit, nothing more is added until the next assignment.
+     * <p>
+     * A field held as a String moves its value into chunks on the first append, and one held in UTF-8 or a 
+     * single-byte charset encodes onto the end of its bytes, so neither copies what it already holds; the value is
+     * only made a String when it is read.  A value is not compressed while it is appended to.  A field with a 
+     * dictionary or any other charset stages what is appended after a copy of its value, and assigns the whole 
+     * once, when the value is next read.  Such a field in a charset limited in bytes learns only then whether the
+     * value is cut to fit in bytes, so the appends after that report it.
+     * 
+     * @param val The characters to add.
+     * @param start The index of the first character.
+     * @param end The index one past the last character.
+     * @return {@link ParseStatus#OK} if they fit, {@link ParseStatus#TRUNCATED} if they were cut to fit, or the 
+     * reason they were not added.
+     */
+    final public ParseStatus append(CharSequence val, int start, int end) {
+        if (isReadOnly()) {
+            LogManager.getLogger(this.getClass()).warn("Unable to assign to a read-only field; ignoring assignment");
+            return ParseStatus.READ_ONLY;
+        }
+
+        if (null == val) return ParseStatus.EMPTY;
+        if (start == end) return ParseStatus.OK;
+
+        if (null == appender) appender = startAppend();
+
+        sortKey = null;
+        hash = 0;
+        appender.putChars(val, start, end);
+        setDirty();
+        return (appender.truncated ? ParseStatus.TRUNCATED : ParseStatus.OK);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get the value ready to be appended to in place: out of its compressed form, and into chunks if it is held as 
+     * a String.  A field with a dictionary or another charset has its value copied into the writer's chunks.
+     * 
+     * @return A writer that adds to the value.
+     */
+    private ValueWriter startAppend() {
+        Descriptor col = column();
+
+        if (null != col.DICTIONARY || (null != col.CHARSET && !col.UTF8 && col.SINGLE_BYTE_MAX == 0)) {
+            String cur = getValue();
+            ValueWriter out = new ValueWriter(WriteMode.JOINED);
+
+            out.TARGET.append(cur, 0, cur.length());
+            if (null != col.CHARSET) out.codePoints = cur.codePointCount(0, cur.length());
+            return out;
+        }
+
+        if (null == col.CHARSET) {
+            if (null == chunks) {
+                String cur = getValue();
+
+                chunks = new CbaChunkedText();
+                chunks.append(cur, 0, cur.length());
+                value = null;
+                packed = null;
+            }
+
+            return new ValueWriter(WriteMode.CHUNKS);
+        }
+
+        if (null != packed) {
+            bytes = unpack().clone();
+            byteLength = packedLength;
+            packed = null;
+        }
+
+        ValueWriter out = new ValueWriter(WriteMode.BYTES);
+
+        if (!col.UTF8) {
+            out.codePoints = byteLength;
+        } else if (!isByteLimited()) {
+            for (int i = 0; i < byteLength; i ++) {
+                if ((bytes[i] & 0xc0) != 0x80) out.codePoints ++;
+            }
+        }
+
+        return out;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Assign what has been appended to a field with a dictionary or another charset since it was last assigned, so 
+     * that the value may be read.  The appender is kept, so that the next append carries on from what it staged.
+     */
+    private void settle() {
+        ValueWriter self = appender;
+
+        if (null == self || !self.staged) return;
+
+        self.staged = false;
+        self.truncated |= store(self.TARGET.toString());
+        appender = self;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Where a {@link ValueWriter} puts what is written to it.
+     */
+    private enum WriteMode {
+        /** Into the field's chunks, when it is held as a String. */
+        CHUNKS,
+        /** Encoded into the field's bytes, when it is held in UTF-8 or a single-byte charset. */
+        BYTES,
+        /** Into chunks of the Writer's own, assigned to the field on close. */
+        STAGED,
+        /** Into chunks of the Writer's own that start with the value, assigned when it is read; only for append(). */
+        JOINED,
+        /** Nowhere; the field is read-only. */
+        DROPPED,
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * A Writer that replaces the value of the field that opened it.  See {@link CbaCharType#openWriter()}.
+     */
+    public final class ValueWriter extends Writer {
+        /**
+         * Where the characters written are put.
+         */
+        private final WriteMode MODE;
+
+
+        /**
+         * The chunks being written, when the mode is {@link WriteMode#CHUNKS}, {@link WriteMode#STAGED} or 
+         * {@link WriteMode#JOINED}.
+         */
+        private final CbaChunkedText TARGET;
+
+
+        /**
+         * The most characters kept in {@link #TARGET}; code points when the mode is {@link WriteMode#JOINED} and 
+         * the field has a charset, as {@link CbaCharType#fit(String)} counts them.
+         */
+        private final int LIMIT;
+
+
+        /**
+         * A high surrogate that ended the last write and was encoded as an unmappable character, to be encoded again
+         * with its low surrogate if that starts the next write; otherwise 0.
+         */
+        private char pending;
+
+
+        /**
+         * The number of code points encoded into the field's bytes, when they are limited in code points, or put
+         * into {@link #TARGET} when the mode is {@link WriteMode#JOINED}.
+         */
+        private int codePoints;
+
+
+        /**
+         * Has something been put into {@link #TARGET} since it was last assigned?  Only for 
+         * {@link WriteMode#JOINED}.
+         */
+        private boolean staged;
+
+
+        /**
+         * Has something not fit?  Once it has, nothing more is kept.
+         */
+        private boolean truncated;
+
+
+        /**
+         * Has the Writer been closed?
+         */
+        private boolean closed;
+
+
+        /**
+         * A single character to write.
+         */
+        private final char[] ONE = new char[1];
+
+
+        /**
+         * A view of {@link #ONE} as a CharSequence.
+         */
+        private final CharBuffer ONE_VIEW = CharBuffer.wrap(ONE);
+
+
+        /**
+         * Construct a writer for the field.
+         * 
+         * @param mode Where the characters written are put.
+         */
+        private ValueWriter(WriteMode mode) {
+            MODE = mode;
+
+            if (mode == WriteMode.CHUNKS) {
+                TARGET = chunks;
+                LIMIT = column().SIZE;
+            } else if (mode == WriteMode.STAGED) {
+                // -- a generous bound; the value is fitted properly when it is assigned
+                TARGET = new CbaChunkedText();
+                LIMIT = (int)Math.min(Integer.MAX_VALUE - 8, 2L * column().SIZE);
+            } else if (mode == WriteMode.JOINED) {
+                // -- the limit the value is fitted to before it is looked up; no charset takes less than a byte for 
+                //    a code point, so a limit in bytes is fitted properly when the value is assigned
+                TARGET = new CbaChunkedText();
+                LIMIT = column().SIZE;
+            } else {
+                TARGET = null;
+                LIMIT = 0;
+            }
+        }
+
+
+        /**
+         * Did any of the value written not fit in the field?  For a field that collects the value, this is only 
+         * known once the Writer is closed.
+         * 
+         * @return Whether the value was cut to fit.
+         */
+        public boolean isTruncated() { return truncated; }
+
+
+        @Override
+        public void write(int c) throws IOException {
+            if (closed) throw new IOException("Writer is closed");
+            putChar((char)c);
+        }
+
+
+        @Override
+        public void write(char[] buf, int off, int len) throws IOException {
+            if (off < 0 || len < 0 || off + len > buf.length) throw new IndexOutOfBoundsException();
+            put(CharBuffer.wrap(buf, off, len), 0, len);
+        }
+
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            put(str, off, off + len);
+        }
+
+
+        @Override
+        public ValueWriter append(CharSequence csq) throws IOException {
+            if (null == csq) csq = "null";
+            put(csq, 0, csq.length());
+            return this;
+        }
+
+
+        @Override
+        public ValueWriter append(CharSequence csq, int start, int end) throws IOException {
+            if (null == csq) csq = "null";
+            put(csq, start, end);
+            return this;
+        }
+
+
+        @Override
+        public void flush() throws IOException {
+            if (closed) throw new IOException("Writer is closed");
+        }
+
+
+        /**
+         * Finish the value.  Closing a closed Writer has no effect.
+         */
+        @Override
+        public void close() {
+            if (closed) return;
+            closed = true;
+
+            if (MODE == WriteMode.STAGED) {
+                truncated |= store(TARGET.toString());
+            } else if (MODE == WriteMode.BYTES) {
+                if (bytes.length > 2 * byteLength + 16) bytes = Arrays.copyOf(bytes, byteLength);
+            }
+
+            if (MODE == WriteMode.CHUNKS || MODE == WriteMode.BYTES) pack();
+
+            pending = 0;
+        }
+
+
+        /**
+         * Put a range of characters into the value, keeping only what fits.
+         * 
+         * @param src The characters to put.
+         * @param start The index of the first character.
+         * @param end The index one past the last character.
+         * @throws IOException When the Writer is closed.
+         */
+        private void put(CharSequence src, int start, int end) throws IOException {
+            if (closed) throw new IOException("Writer is closed");
+            putChars(src, start, end);
+        }
+
+
+        /**
+         * Put a single character into the value, keeping it only if it fits.
+         * 
+         * @param c The character to put.
+         */
+        private void putChar(char c) {
+            if (MODE == WriteMode.CHUNKS || MODE == WriteMode.STAGED) {
+                if (truncated) return;
+
+                if (TARGET.length() < LIMIT) {
+                    TARGET.append(c);
+                } else {
+                    ONE[0] = c;
+                    putLimited(ONE_VIEW, 0, 1);
+                }
+            } else {
+                ONE[0] = c;
+                putChars(ONE_VIEW, 0, 1);
+            }
+        }
+
+
+        /**
+         * Put a range of characters into the value, keeping only what fits.
+         * 
+         * @param src The characters to put.
+         * @param start The index of the first character.
+         * @param end The index one past the last character.
+         */
+        private void putChars(CharSequence src, int start, int end) {
+            if (start == end || MODE == WriteMode.DROPPED) return;
+
+            if (truncated) return;
+
+            if (MODE == WriteMode.JOINED) {
+                staged = true;
+
+                if (null != column().CHARSET) {
+                    putCodePoints(src, start, end);
+                    return;
+                }
+            }
+
+            if (MODE != WriteMode.BYTES) {
+                putLimited(src, start, end);
+                return;
+            }
+
+            // -- a surrogate pair split across two writes is encoded as the one code point it is: the '?' that 
+            //    stood for the lone high surrogate is taken back (a single-byte charset keeps it for the pair)
+            if (pending != 0 && Character.isLowSurrogate(src.charAt(start))) {
+                char hi = pending;
+
+                pending = 0;
+                start ++;
+
+                if (column().UTF8) {
+                    byteLength --;
+                    if (!isByteLimited()) codePoints --;
+
+                    if (!encodeRange(new String(new char[] { hi, src.charAt(start - 1) }), 0, 2)) return;
+                }
+            }
+
+            pending = 0;
+
+            if (encodeRange(src, start, end) && start < end && Character.isHighSurrogate(src.charAt(end - 1))) {
+                pending = src.charAt(end - 1);
+            }
+        }
+
+
+        /**
+         * Put as much of a range of characters into {@link #TARGET} as fits in {@link #LIMIT} characters.  When the
+         * limit falls between the two halves of a surrogate pair, the whole pair is dropped, as 
+         * {@link CbaCharType#cut(String, int)} drops it.
+         * 
+         * @param src The characters to put.
+         * @param start The index of the first character.
+         * @param end The index one past the last character.
+         */
+        private void putLimited(CharSequence src, int start, int end) {
+            int len = TARGET.length();
+            int n = Math.min(end - start, LIMIT - len);
+
+            if (n < end - start) {
+                char last = (n > 0 ? src.charAt(start + n - 1) : (len > 0 ? TARGET.charAt(len - 1) : 0));
+
+                if (Character.isHighSurrogate(last) && Character.isLowSurrogate(src.charAt(start + n))) {
+                    if (n > 0) n --;
+                    else TARGET.truncate(len - 1);
+                }
+
+                truncated = true;
+            }
+
+            TARGET.append(src, start, start + n);
+        }
+
+
+        /**
+         * Put as much of a range of characters into {@link #TARGET} as fits in {@link #LIMIT} code points.  A low 
+         * surrogate that follows a high one completes the code point already counted, even across two puts.
+         * 
+         * @param src The characters to put.
+         * @param start The index of the first character.
+         * @param end The index one past the last character.
+         */
+        private void putCodePoints(CharSequence src, int start, int end) {
+            int len = TARGET.length();
+            char last = (len > 0 ? TARGET.charAt(len - 1) : 0);
+            int i = start;
+
+            while (i < end) {
+                char c = src.charAt(i);
+
+                if (!Character.isLowSurrogate(c) || !Character.isHighSurrogate(last)) {
+                    if (codePoints == LIMIT) break;
+                    codePoints ++;
+                }
+
+                last = c;
+                i ++;
+            }
+
+            TARGET.append(src, start, i);
+            truncated = (i < end);
+        }
+
+
+        /**
+         * Encode as much of a range of characters as fits onto the end of the field's bytes.
+         * 
+         * @param src The characters to encode.
+         * @param start The index of the first character.
+         * @param end The index one past the last character.
+         * @return Whether the whole range fit; if not, the Writer is marked truncated.
+         */
+        private boolean encodeRange(CharSequence src, int start, int end) {
+            int roomCp = maxCodePoints() - codePoints;
+            int roomBytes = maxBytes() - byteLength;
+            int fitEnd;
+
+            if (column().UTF8) {
+                long measured = CbaUtf8.measure(src, start, end, roomCp, roomBytes);
+
+                fitEnd = CbaUtf8.endOf(measured);
+                grow(byteLength + CbaUtf8.bytesOf(measured));
+                byteLength = CbaUtf8.encode(src, start, fitEnd, bytes, byteLength);
+                if (!isByteLimited()) codePoints += Character.codePointCount(src, start, fitEnd);
+            } else {
+                char max = column().SINGLE_BYTE_MAX;
+                int limit = Math.min(roomCp, roomBytes);
+                int i = start;
+                int n = byteLength;
+
+                grow(byteLength + Math.min(end - start, limit));
+
+                while (i < end && n - byteLength < limit) {
+                    char c = src.charAt(i ++);
+
+                    // -- a surrogate pair is a single unmappable character
+                    if (Character.isHighSurrogate(c) && i < end && Character.isLowSurrogate(src.charAt(i))) i ++;
+
+                    bytes[n ++] = (byte)(c <= max ? c : '?');
+                }
+
+                codePoints += n - byteLength;
+                byteLength = n;
+                fitEnd = i;
+            }
+
+            if (fitEnd < end) {
+                truncated = true;
+                pending = 0;
+            }
+
+            return !truncated;
+        }
+
+
+        /**
+         * Make sure the field's bytes can hold a number of bytes, keeping those already written.  The array at 
+         * least doubles when it grows, but never past the most bytes the field may hold.
+         * 
+         * @param n The number of bytes needed.
+         */
+        private void grow(int n) {
+            if (bytes.length >= n) return;
+            bytes = Arrays.copyOf(bytes, (int)Math.min(Math.min(maxBytes(), Integer.MAX_VALUE - 8), 
+                    Math.max(n, 2L * bytes.length)));
+        }
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Compare the values of two character fields.  When both hold a code in the same dictionary, the codes are
+     * compared; when both hold bytes in the same charset, the bytes are compared without decoding.
+     * 
+     * @param other The field to compare to this one.
+     * @return Whether the values are the same.
+     */
+    final boolean valueEquals(CbaCharType other) {
+        Descriptor col = column();
+        Descriptor otherCol = other.column();
+
+        settle();
+        other.settle();
+
+        if (code != CbaDictionary.NO_CODE && other.code != CbaDictionary.NO_CODE 
+                && col.DICTIONARY == otherCol.DICTIONARY) {
+            return (code == other.code);
+        }
+
+        if (null != packed && null != other.packed && packedCharset().equals(other.packedCharset())) {
+            // -- the compressed bytes depend on nothing but the value
+            return (packedLength == other.packedLength && Arrays.equals(packed, other.packed));
+        }
+
+        if (null != packed || null != other.packed) return getValue().equals(other.getValue());
+
+        if (null == col.CHARSET || !col.CHARSET.equals(otherCol.CHARSET) || code != CbaDictionary.NO_CODE 
+                || other.code != CbaDictionary.NO_CODE) {
+            if (null == chunks && null == other.chunks) return getValue().equals(other.getValue());
+            return sameChars(chars(), other.chars());
+        }
+        if (byteLength != other.byteLength) return false;
+
+        for (int i = 0; i < byteLength; i ++) {
+            if (bytes[i] != other.bytes[i]) return false;
+        }
+
+        return true;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Hash the value as its UTF-8 bytes, so that equal values hash alike whether they are held as a String, as 
+     * bytes in any charset, compressed or in a dictionary.  Well-formed UTF-8 held as bytes (or compressed) is 
+     * hashed as it is, without decoding; anything else is hashed from its characters.  The hash is kept until the
+     * next assignment.
+     * 
+     * @return The hash of the value.
+     */
+    public long hash64() {
+        Descriptor col = column();
+
+        settle();
+        if (0 != hash) return hash;
+
+        long h;
+
+        if (null != packed && (null == col.CHARSET || col.UTF8) && CbaUtf8.isValid(unpack(), 0, packedLength)) {
+            h = CbaHash.ofBytes(unpack(), 0, packedLength);
+        } else if (col.UTF8 && null == packed && code == CbaDictionary.NO_CODE 
+                && CbaUtf8.isValid(bytes, 0, byteLength)) {
+            h = CbaHash.ofBytes(bytes, 0, byteLength);
+        } else {
+            h = CbaHash.ofUtf8(chars());
+        }
+
+        hash = h;
+        return h;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * A value as the default of a column holds it: as the element held it, with its bytes copied.  It is never 
+     * changed once made, so the elements of the column may restore it at once on any thread.
+     */
+    private static final class Held {
+        /** The value, when held as a String (or in chunks); otherwise null. */
+        final String VALUE;
+        /** The code of the value in the dictionary, or {@link CbaDictionary#NO_CODE}. */
+        final int CODE;
+        /** The value, when held as bytes; otherwise empty. */
+        final byte[] BYTES;
+        /** The value compressed, when held compressed; otherwise null. */
+        final byte[] PACKED;
+        /** The number of bytes {@link #PACKED} decompresses to. */
+        final int PACKED_LENGTH;
+
+        Held(CbaCharType src) {
+            VALUE = (null != src.chunks ? src.chunks.toString() : src.value);
+            CODE = src.code;
+            BYTES = (0 == src.byteLength ? NO_BYTES : Arrays.copyOf(src.bytes, src.byteLength));
+            PACKED = src.packed;
+            PACKED_LENGTH = src.packedLength;
+        }
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The value as the default of the column holds it: a String, a dictionary code and a compressed value as they
+     * are held here, as none of them is ever changed, and encoded bytes as a copy.  A dictionary code stays good
+     * for as long as the column, which has the one dictionary.
+     * 
+     * @return The value, held immutably.
+     */
+    @Override
+    final Object heldValue() {
+        settle();
+        return new Held(this);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Restore a value held by {@link #heldValue()}, held as it was held there; encoded bytes are copied into this 
+     * element's own array.
+     * 
+     * @param held The value to restore.
+     */
+    @Override
+    final void restoreValue(Object held) {
+        Held src = (Held)held;
+
+        sortKey = null;
+        hash = 0;
+        chunks = null;
+        appender = null;
+        value = src.VALUE;
+        code = src.CODE;
+        packed = src.PACKED;
+        packedLength = src.PACKED_LENGTH;
+
+        reserve(src.BYTES.length);
+        System.arraycopy(src.BYTES, 0, bytes, 0, src.BYTES.length);
+        byteLength = src.BYTES.length;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Put the value in its binary form: a varint of its length in bytes (shifted left one bit) and then its bytes,
+     * in the field's charset or UTF-8 as {@link #asByteBuffer()} gives them.  A compressed value is put as it is 
+     * held, with the low bit of the length set and the length it decompresses to following, so that it is neither
+     * decompressed here nor compressed again when it is read.  A dictionary code is never put, as it means nothing
+     * to another dictionary.
+     * 
+     * @param buf The buffer into which to put the value.
+     */
+    @Override
+    final void writeValue(ByteBuffer buf) {
+        settle();
+        if (null != packed) {
+            CbaVarint.putUnsigned(buf, ((long)packed.length << 1) | 1);
+            CbaVarint.putUnsigned(buf, packedLength);
+            buf.put(packed);
+        } else if (code == CbaDictionary.NO_CODE && isEncoded()) {
+            CbaVarint.putUnsigned(buf, (long)byteLength << 1);
+            buf.put(bytes, 0, byteLength);
+        } else {
+            byte[] raw = encoded();
+
+            CbaVarint.putUnsigned(buf, (long)raw.length << 1);
+            buf.put(raw);
+        }
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get the value from its binary form; see {@link #writeValue(ByteBuffer)}.  The bytes are held as 
+     * {@link #assign(byte[], int, int)} holds them, and a field with a dictionary looks the value up in it.  A 
+     * compressed value is held compressed, unless the field has a dictionary.
+     * 
+     * @param buf The buffer from which to get the value.
+     * @throws IllegalArgumentException When a length is longer than what remains of the buffer, than the column 
+     * may hold, or than the compressed form of a value of the length it decompresses to.
+     */
+    @Override
+    final void readValue(ByteBuffer buf) {
+        long head = CbaVarint.getUnsigned(buf);
+        boolean compressed = (0 != (head & 1));
+        long len = head >>> 1;
+        long rawLen = (compressed ? CbaVarint.getUnsigned(buf) : len);
+
+        // -- both lengths are checked before either is trusted with an allocation
+        if (len > buf.remaining()) throw new IllegalArgumentException("Malformed length " + len);
+        if (rawLen < 0 || rawLen > maxEncodedBytes()) {
+            throw new IllegalArgumentException("Malformed length " + rawLen + " for a column of size " + getSize());
+        }
+        if (compressed && len > CbaLz4.maxCompressedLength((int)rawLen)) {
+            throw new IllegalArgumentException("Malformed compressed length " + len + " of " + rawLen + " bytes");
+        }
+
+        if (compressed) {
+            byte[] comp = new byte[(int)len];
+
+            buf.get(comp);
+
+            if (null == column().DICTIONARY) {
+                sortKey = null;
+                hash = 0;
+                chunks = null;
+                appender = null;
+                value = null;
+                code = CbaDictionary.NO_CODE;
+                bytes = NO_BYTES;
+                byteLength = 0;
+                packed = comp;
+                packedLength = (int)rawLen;
+            } else {
+                byte[] raw = new byte[(int)rawLen];
+
+                CbaLz4.decompress(comp, raw);
+                storeBytes(raw, 0, raw.length);
+            }
+        } else if (buf.hasArray()) {
+            int pos = buf.position();
+
+            storeBytes(buf.array(), buf.arrayOffset() + pos, buf.arrayOffset() + pos + (int)len);
+            buf.position(pos + (int)len);
+        } else {
+            byte[] raw = new byte[(int)len];
+
+            buf.get(raw);
+            storeBytes(raw, 0, raw.length);
+        }
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get the value as characters, without making a String of a value held in chunks.
+     * 
+     * @return The chunks holding the value, or the value as a String.
+     */
+    final CharSequence chars() { 
+        settle();
+        return (null != chunks ? chunks : getValue()); 
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Compare two sequences of characters for equality.
+     * 
+     * @param a The first sequence.
+     * @param b The second sequence.
+     * @return Whether they hold the same characters.
+     */
+    private static boolean sameChars(CharSequence a, CharSequence b) {
+        if (a instanceof String) return ((String)a).contentEquals(b);
+        if (b instanceof String) return ((String)b).contentEquals(a);
+        if (a.length() != b.length()) return false;
+
+        for (int i = 0; i < a.length(); i ++) {
+            if (a.charAt(i) != b.charAt(i)) return false;
+        }
+
+        return true;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get the sort key of the value in this field's collation: bytes that, compared unsigned, order the values the 
+     * way {@link #compareTo(CbaCharType)} does.  When the field keeps its sort key, the key is derived once per 
+     * value and the same array is returned until the next assignment; it must not be changed.
+     * 
+     * @return The sort key of the value.
+     */
+    final public byte[] getSortKey() {
+        Descriptor col = column();
+
+        settle();
+        if (null != sortKey) return sortKey;
+
+        byte[] key;
+
+        if (col.COLLATION == Collation.GENERAL) {
+            key = COLLATOR.get().getCollationKey(getValue()).toByteArray();
+        } else {
+            if (col.UTF8 && code == CbaDictionary.NO_CODE && null == packed) {
+                key = Arrays.copyOf(bytes, byteLength);
+            } else {
+                String val = getValue();
+                key = new byte[CbaUtf8.bytesOf(CbaUtf8.measure(val, 0, val.length(), Integer.MAX_VALUE, 
+                        Integer.MAX_VALUE))];
+                CbaUtf8.encode(val, 0, val.length(), key, 0);
+            }
+
+            if (col.COLLATION == Collation.ASCII_CI) {
+                for (int i = 0; i < key.length; i ++) key[i] = (byte)foldCase(key[i]);
+            }
+        }
+
+        if (col.CACHE_SORT_KEY) sortKey = key;
+        return key;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Compare the value of this field to another in the collation of both fields.  Two fields of different 
+     * collations are both compared in {@link Collation#BINARY}, so that {@code a.compareTo(b)} is always the negative 
+     * of {@code b.compareTo(a)}.  When both fields keep their sort keys and share the collation, the keys are 
+     * compared; otherwise UTF-8 values held as bytes are compared as bytes and the others by code point (or by the 
+     * collator).
+     * <p>
+     * NOTE: a case-insensitive collation orders values that {@link #equals(Object)} tells apart as the same.
+     * 
+     * @param other The field to which to compare.
+     * @return A negative number, zero, or a positive number as this value is less than, equal to, or greater than
+     * the value of {@code other}.
+     */
+    public int compareTo(CbaCharType other) {
+        Descriptor col = column();
+        Descriptor otherCol = other.column();
+
+        settle();
+        other.settle();
+
+        if (code != CbaDictionary.NO_CODE && code == other.code && col.DICTIONARY == otherCol.DICTIONARY) return 0;
+
+        Collation coll = (col.COLLATION == otherCol.COLLATION ? col.COLLATION : Collation.BINARY);
+
+        if (col.CACHE_SORT_KEY && otherCol.CACHE_SORT_KEY && col.COLLATION == otherCol.COLLATION) {
+            byte[] mine = getSortKey();
+            byte[] theirs = other.getSortKey();
+            return compareBytes(mine, mine.length, theirs, theirs.length, false);
+        }
+
+        if (coll == Collation.GENERAL) return COLLATOR.get().compare(getValue(), other.getValue());
+
+        boolean fold = (coll == Collation.ASCII_CI);
+
+        if (col.UTF8 && otherCol.UTF8 && code == CbaDictionary.NO_CODE && other.code == CbaDictionary.NO_CODE 
+                && null == packed && null == other.packed) {
+            return compareBytes(bytes, byteLength, other.bytes, other.byteLength, fold);
+        }
+
+        return compareCodePoints(getValue(), other.getValue(), fold);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Fold an ASCII lower case letter to upper case, leaving all else alone.
+     * 
+     * @param c A character or a byte.
+     * @return The folded character or byte.
+     */
+    private static int foldCase(int c) { return (c >= 'a' && c <= 'z' ? c - ('a' - 'A') : c); }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Compare two ranges of bytes unsigned, which orders UTF-8 by code point.
+     * 
+     * @param a The first bytes.
+     * @param alen The number of bytes in {@code a} to compare.
+     * @param b The second bytes.
+     * @param blen The number of bytes in {@code b} to compare.
+     * @param fold Whether to fold the ASCII letters to upper case.
+     * @return A negative number, zero, or a positive number as {@code a} orders before, with, or after {@code b}.
+     */
+    private static int compareBytes(byte[] a, int alen, byte[] b, int blen, boolean fold) {
+        int n = Math.min(alen, blen);
+
+        for (int i = 0; i < n; i ++) {
+            int x = a[i] & 0xff;
+            int y = b[i] & 0xff;
+
+            if (x != y && fold) {
+                x = foldCase(x);
+                y = foldCase(y);
+            }
+
+            if (x != y) return x - y;
+        }
+
+        return alen - blen;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Compare two Strings by code point rather than by UTF-16 char, as {@link String#compareTo(String)} does.
+     * 
+     * @param a The first String.
+     * @param b The second String.
+     * @param fold Whether to fold the ASCII letters to upper case.
+     * @return A negative number, zero, or a positive number as {@code a} orders before, with, or after {@code b}.
+     */
+    private static int compareCodePoints(String a, String b, boolean fold) {
+        int n = Math.min(a.length(), b.length());
+
+        for (int i = 0; i < n; i ++) {
+            int x = a.charAt(i);
+            int y = b.charAt(i);
+
+            if (x != y && fold) {
+                x = foldCase(x);
+                y = foldCase(y);
+            }
+
+            if (x != y) {
+                // -- a surrogate stands for a code point above U+FFFF, so it orders after U+E000..U+FFFF
+                if (x >= 0xd800 && y >= 0xd800) {
+                    x += (x >= 0xe000 ? -0x800 : 0x2000);
+                    y += (y >= 0xe000 ? -0x800 : 0x2000);
+                }
+
+                return x - y;
+            }
+        }
+
+        return a.length() - b.length();
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * Perform an assignment from a String value.
+     * 
+     * @param val A String representation of the value to assign to the Cbe Type.
+     */
+    public void assign(String val) {
+        if (isReadOnly()) {
+            LogManager.getLogger(this.getClass()).warn("Unable to assign to a read-only field; ignoring assignment");
+            return;
+        }
+
+        store(val);
+        setDirty();
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * Perform an assignment from a range of characters, fit to the field as {@link #assign(String)} does.  An empty
+     * range assigns an empty value.
+     * 
+     * @param val The characters to assign.
+     * @param start The index of the first character to assign.
+     * @param end The index one past the last character to assign.
+     * @return {@link ParseStatus#OK} if assigned in full, {@link ParseStatus#TRUNCATED} if the value was cut to fit,
+     * or the reason it was not assigned (in which case the value is unchanged).
+     */
+    public ParseStatus assign(CharSequence val, int start, int end) {
+        if (isReadOnly()) {
+            LogManager.getLogger(this.getClass()).warn("Unable to assign to a read-only field; ignoring assignment");
+            return ParseStatus.READ_ONLY;
+        }
+
+        if (null == val) return ParseStatus.EMPTY;
+
+        boolean whole = (val instanceof String && start == 0 && end == val.length());
+        boolean truncated = store(whole ? (String)val : val.subSequence(start, end).toString());
+
+        setDirty();
+        return (truncated ? ParseStatus.TRUNCATED : ParseStatus.OK);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * Fit a value to the field and hold it, without regard to whether the field is read-only.
+     * 
+     * @param val The value to hold.
+     * @return Whether the value was cut to fit.
+     */
+    private boolean store(String val) {
+        sortKey = null;
+        hash = 0;
+        chunks = null;
+        packed = null;
+        appender = null;
+
+        if (null != getCharset()) {
+            if (null != getDictionary()) {
+                String fitted = fit(val);
+                if (intern(fitted)) return (fitted != val);
+            }
+
+            boolean truncated = encode(val, maxCodePoints(), maxBytes());
+            pack();
+            return truncated;
+        } else if (val.length() > getSize()) {
+            setValue(cut(val, getSize()));
+            return true;
+        } else  {
+            setValue(val);
+            return false;
+        }
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * Assign a value that is already encoded, such as a cell of a file that has been read but not decoded.  When 
+     * the value is held as bytes in UTF-8 or a single-byte charset, the bytes are taken as already in that charset
+     * and copied without decoding; otherwise (or when the field has a dictionary) they are decoded as UTF-8 (or the
+     * field's charset) and assigned.
+     * 
+     * @param src The encoded value.
+     * @param start The index of the first byte of the value.
+     * @param end The index one past the last byte of the value.
+     * @return {@link ParseStatus#OK} if assigned in full, {@link ParseStatus#TRUNCATED} if the value was cut to fit,
+     * or the reason it was not assigned (in which case the value is unchanged).
+     */
+    public ParseStatus assign(byte[] src, int start, int end) {
+        Descriptor col = column();
+
+        if (isReadOnly()) {
+            LogManager.getLogger(this.getClass()).warn("Unable to assign to a read-only field; ignoring assignment");
+            return ParseStatus.READ_ONLY;
+        }
+
+        if (null == src) return ParseStatus.EMPTY;
+
+        boolean truncated = storeBytes(src, start, end);
+
+        pack();
+        setDirty();
+        return (truncated ? ParseStatus.TRUNCATED : ParseStatus.OK);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * Fit an encoded value to the field and hold it, as {@link #assign(byte[], int, int)} describes, without 
+     * regard to whether the field is read-only and without compressing it.
+     * 
+     * @param src The encoded value.
+     * @param start The index of the first byte of the value.
+     * @param end The index one past the last byte of the value.
+     * @return Whether the value was cut to fit.
+     */
+    private boolean storeBytes(byte[] src, int start, int end) {
+        Descriptor col = column();
+        boolean truncated;
+
+        sortKey = null;
+        hash = 0;
+        chunks = null;
+        packed = null;
+        appender = null;
+
+        if (null != col.DICTIONARY) {
+            String val = new String(src, start, end - start, packedCharset());
+            String fitted = fit(val);
+
+            setValue(fitted);
+            truncated = (fitted != val);
+        } else if (col.UTF8 || col.SINGLE_BYTE_MAX != 0) {
+            int fit = (col.UTF8 ? CbaUtf8.fit(src, start, end, maxCodePoints(), maxBytes()) : 
+                    start + Math.min(end - start, Math.min(maxCodePoints(), maxBytes())));
+
+            reserve(fit - start);
+            System.arraycopy(src, start, bytes, 0, fit - start);
+            byteLength = fit - start;
+            truncated = (fit < end);
+        } else if (null != col.CHARSET) {
+            truncated = encode(new String(src, start, end - start, col.CHARSET), maxCodePoints(), maxBytes());
+        } else {
+            String val = new String(src, start, end - start, StandardCharsets.UTF_8);
+            truncated = (val.length() > getSize());
+            value = (truncated ? cut(val, getSize()) : val);
+        }
+
+        return truncated;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * Assign the value of another character element.  When the other holds bytes (or compressed bytes) in the 
+     * charset this field holds them in, the bytes are copied as {@link #assign(byte[], int, int)} does without 
+     * being decoded; otherwise its characters are assigned.
+     * 
+     * @param src The element from which to assign.
+     * @return {@link ParseStatus#OK} if assigned in full, {@link ParseStatus#TRUNCATED} if the value was cut to fit,
+     * or the reason it was not assigned (in which case the value is unchanged).
+     */
+    final ParseStatus copyChars(CbaCharType src) {
+        Descriptor col = column();
+
+        src.settle();
+
+        if (null == col.DICTIONARY && src.code == CbaDictionary.NO_CODE && null == src.chunks && 
+                (null != src.packed || src.isEncoded())) {
+            Charset cs = src.packedCharset();
+
+            if (col.UTF8 ? cs.equals(StandardCharsets.UTF_8) : (col.SINGLE_BYTE_MAX != 0 && cs.equals(col.CHARSET))) {
+                if (null != src.packed) return assign(src.unpack(), 0, src.packedLength);
+                return assign(src.bytes, 0, src.byteLength);
+            }
+        }
+
+        CharSequence val = src.chars();
+        return assign(val, 0, val.length());
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * The most code points the value may hold when held as bytes.
+     * 
+     * @return The limit in code points.
+     */
+    private int maxCodePoints() { return (isByteLimited() ? Integer.MAX_VALUE : column().SIZE); }
+
+
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * The most bytes the value may hold when held as bytes.
+     * 
+     * @return The limit in bytes.
+     */
+    private int maxBytes() { return (isByteLimited() ? column().SIZE : Integer.MAX_VALUE); }
+
+
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * The most bytes a value of the field may encode to, which no value read in its binary form may exceed.  A field
+     * limited in code points is allowed 4 bytes for each, the most any charset takes, and a byte-order mark.
+     * 
+     * @return The limit in bytes.
+     */
+    private long maxEncodedBytes() { 
+        return Math.min(Integer.MAX_VALUE - 8, (isByteLimited() ? column().SIZE : 4L * column().SIZE + 4)); 
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * Fit a value to {@link Descriptor#SIZE} characters (code points when held as bytes) before it is looked up in the 
+     * dictionary.
+     * 
+     * @param val The value to fit.
+     * @return The value, or the part of it that fits.
+     */
+    private String fit(String val) {
+        Descriptor col = column();
+
+        if (val.length() <= col.SIZE) return val;
+        if (null == col.CHARSET) return cut(val, col.SIZE);
+        if (val.codePointCount(0, val.length()) <= col.SIZE) return val;
+        return val.substring(0, val.offsetByCodePoints(0, col.SIZE));
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * Cut a value held as characters to a number of characters without splitting a surrogate pair: when the cut 
+     * would fall between the two halves of a pair, the whole pair is dropped.
+     * 
+     * @param val The value to cut, which is longer than {@code size}.
+     * @param size The most characters to keep.
+     * @return The part of the value that fits.
+     */
+    private static String cut(String val, int size) {
+        if (size > 0 && Character.isHighSurrogate(val.charAt(size - 1)) && Character.isLowSurrogate(val.charAt(size))) {
+            size --;
+        }
+
+        return val.substring(0, size);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * Replace what {@link Descriptor#CHARSET} cannot carry the way {@link #encode(String, int, int)} does, so that a 
+     * value held as a dictionary code reads back the same as one held as bytes.
+     * 
+     * @param val The value to replace.
+     * @return The value, or a copy of it with each character the charset cannot carry replaced.
+     */
+    private String carried(String val) {
+        Descriptor col = column();
+        int len = val.length();
+
+        if (null == col.CHARSET) return val;
+
+        if (col.UTF8) {
+            if (CbaUtf8.isWellFormed(val, 0, len)) return val;
+
+            StringBuilder sb = new StringBuilder(len);
+
+            for (int i = 0; i < len; i ++) {
+                char c = val.charAt(i);
+
+                if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(val.charAt(i + 1))) {
+                    sb.append(c).append(val.charAt(++ i));
+                } else {
+                    sb.append(Character.isSurrogate(c) ? '?' : c);
+                }
+            }
+
+            return sb.toString();
+        }
+
+        if (col.SINGLE_BYTE_MAX != 0) {
+            int i = 0;
+
+            while (i < len && val.charAt(i) <= col.SINGLE_BYTE_MAX) i ++;
+            if (i == len) return val;
+
+            StringBuilder sb = new StringBuilder(len).append(val, 0, i);
+
+            while (i < len) {
+                char c = val.charAt(i ++);
+
+                // -- a surrogate pair is a single unmappable character
+                if (Character.isHighSurrogate(c) && i < len && Character.isLowSurrogate(val.charAt(i))) i ++;
+
+                sb.append(c <= col.SINGLE_BYTE_MAX ? c : '?');
+            }
+
+            return sb.toString();
+        }
+
+        if (col.CHARSET.newEncoder().canEncode(val)) return val;
+        return new String(val.getBytes(col.CHARSET), col.CHARSET);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * Look a value up in {@link Descriptor#DICTIONARY} and, if it has a code, hold the code in place of the value.  
+     * The value is first replaced as the charset would carry it.
+     * 
+     * @param val The value to look up.
+     * @return Whether the value is now held as a code; if not, the caller must hold the value itself.
+     */
+    private boolean intern(String val) {
+        CbaDictionary dict = getDictionary();
+
+        code = (null == dict || null == val ? CbaDictionary.NO_CODE : dict.encode(carried(val)));
+        if (code == CbaDictionary.NO_CODE) return false;
+
+        value = null;
+        packed = null;
+        appender = null;
+        bytes = NO_BYTES;
+        byteLength = 0;
+        return true;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * Hold the value compressed if the field compresses values, the value is at least 
+     * {@link Descriptor#COMPRESS_THRESHOLD} bytes encoded, and compressing it saves at least an eighth.  A value held as a String is compressed in UTF-8,
+     * unless it holds a lone surrogate that UTF-8 cannot carry.  The value just compressed becomes this thread's 
+     * last value decompressed.
+     */
+    private void pack() {
+        Descriptor col = column();
+
+        if (0 == col.COMPRESS_THRESHOLD || code != CbaDictionary.NO_CODE || null != packed) return;
+
+        byte[] raw;
+        int len;
+        String val = null;
+
+        if (null != col.CHARSET) {
+            raw = bytes;
+            len = byteLength;
+        } else {
+            CharSequence chars = (null != chunks ? chunks : value);
+
+            // -- a char takes at most 3 bytes in UTF-8 (a surrogate pair takes 4 for 2 chars)
+            if (null == chars || 3L * chars.length() < col.COMPRESS_THRESHOLD) return;
+
+            long measured = CbaUtf8.measure(chars, 0, chars.length(), Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+            len = CbaUtf8.bytesOf(measured);
+            if (len < col.COMPRESS_THRESHOLD || !CbaUtf8.isWellFormed(chars, 0, chars.length())) return;
+
+            raw = new byte[len];
+            CbaUtf8.encode(chars, 0, chars.length(), raw, 0);
+            val = value;
+        }
+
+        if (len < col.COMPRESS_THRESHOLD) return;
+
+        byte[] comp = CbaLz4.compress(raw, 0, len);
+        if (comp.length > len - len / 8) return;
+
+        Unpacked last = UNPACKED.get();
+
+        last.packed = comp;
+        last.bytes = (raw.length == len ? raw : Arrays.copyOf(raw, len));
+        last.value = val;
+
+        packed = comp;
+        packedLength = len;
+        value = null;
+        chunks = null;
+        bytes = NO_BYTES;
+        byteLength = 0;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * The charset of the bytes that are compressed.
+     * 
+     * @return {@link Descriptor#CHARSET}, or UTF-8 when there is none.
+     */
+    private Charset packedCharset() { 
+        Charset cs = getCharset();
+        return (null == cs ? StandardCharsets.UTF_8 : cs); 
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * Decompress the value, unless it is this thread's last value decompressed.
+     * 
+     * @return The bytes of the value, which must not be changed.
+     */
+    private byte[] unpack() {
+        Unpacked last = UNPACKED.get();
+
+        if (last.packed != packed) {
+            byte[] raw = new byte[packedLength];
+
+            CbaLz4.decompress(packed, raw);
+            last.packed = packed;
+            last.bytes = raw;
+            last.value = null;
+        }
+
+        return last.bytes;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * Decompress and decode the value, unless it is this thread's last value decompressed.
+     * 
+     * @return The value.
+     */
+    private String unpackedValue() {
+        byte[] raw = unpack();
+        Unpacked last = UNPACKED.get();
+
+        if (null == last.value) last.value = new String(raw, packedCharset());
+        return last.value;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * Encode a value that is not held as bytes: in the field's charset, or in UTF-8 when it has none.
+     * 
+     * @return A new array holding the encoded value.
+     */
+    private byte[] encoded() {
+        return getValue().getBytes(packedCharset());
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * Make sure {@link #bytes} can hold a number of bytes.  The array is reused unless it is too small or more than
+     * twice the size needed, so that a field does not hang on to the space of one long value.
+     * 
+     * @param n The number of bytes needed.
+     */
+    private void reserve(int n) {
+        if (n == 0) bytes = NO_BYTES;
+        else if (bytes.length < n || bytes.length > 2 * n + 16) bytes = new byte[n];
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * Encode as much of a value as fits in {@link Descriptor#CHARSET}, never splitting a character.
+     * 
+     * @param val The value to encode.
+     * @param maxCp The most code points that fit.
+     * @param maxBytes The most bytes that fit.
+     * @return Whether the value was cut to fit.
+     */
+    private boolean encode(String val, int maxCp, int maxBytes) {
+        Descriptor col = column();
+        int len = val.length();
+
+        if (col.UTF8) {
+            long measured = CbaUtf8.measure(val, 0, len, maxCp, maxBytes);
+
+            reserve(CbaUtf8.bytesOf(measured));
+            byteLength = CbaUtf8.encode(val, 0, CbaUtf8.endOf(measured), bytes, 0);
+            return (CbaUtf8.endOf(measured) < len);
+        }
+
+        if (col.SINGLE_BYTE_MAX != 0) {
+            int limit = Math.min(maxCp, maxBytes);
+            int i = 0;
+            int n = 0;
+
+            reserve(Math.min(len, limit));
+
+            while (i < len && n < limit) {
+                char c = val.charAt(i ++);
+
+                // -- a surrogate pair is a single unmappable character
+                if (Character.isHighSurrogate(c) && i < len && Character.isLowSurrogate(val.charAt(i))) i ++;
+
+                bytes[n ++] = (byte)(c <= col.SINGLE_BYTE_MAX ? c : '?');
+            }
+
+            byteLength = n;
+            return (i < len);
+        }
+
+        boolean truncated = false;
+
+        if (maxCp < len && val.codePointCount(0, len) > maxCp) {
+            val = val.substring(0, val.offsetByCodePoints(0, maxCp));
+            truncated = true;
+        }
+
+        byte[] enc = val.getBytes(col.CHARSET);
+
+        if (enc.length > maxBytes) {
+            CharsetEncoder encoder = col.CHARSET.newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            ByteBuffer out = ByteBuffer.allocate(maxBytes);
+
+            encoder.encode(CharBuffer.wrap(val), out, true);
+            enc = out.array();
+            byteLength = out.position();
+            truncated = true;
+        } else {
+            byteLength = enc.length;
+        }
+
+        reserve(byteLength);
+        System.arraycopy(enc, 0, bytes, 0, byteLength);
+        return truncated;
     }
 }
\ No newline at end of file
@@ -0,0 +1,326 @@
+//===================================================================================================================
+// CbaChunkedText.java -- A long character value held in fixed-size chunks
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+// A MEDIUMTEXT value may run to 16 MB.  Held as a String it must be built whole somewhere else first (in a
+// StringBuilder, say) and then copied again into the String, and any truncation copies it a third time.  This class
+// instead holds the characters in chunks of CHUNK_SIZE characters that are filled in place as the value is written,
+// so that growing the value never copies what is already held, and reads it back through a Reader that walks the
+// chunks.  The value only becomes a String if someone asks for one.
+//
+// The first chunk starts small and doubles up to CHUNK_SIZE, so that a short value does not carry a whole chunk.
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+//    Date     Programmer    Version    Comment
+// ----------  ----------  -----------  ----------------------------------------------------------------------------
+// 2026-10-16     adcl       v0.1.0     Initial version
+// 2026-10-17     adcl       v0.1.0     Add truncate()
+//
+//===================================================================================================================
+
+
+package com.eryjus.cba.types;
+
+import java.io.Reader;
+import java.util.Arrays;
+
+
+//-------------------------------------------------------------------------------------------------------------------
+
+/**
+ * A growable sequence of characters held in fixed-size chunks.  It is not thread-safe.
+ *
+ * @author Adam Clark
+ * @since v0.1.0
+ */
+final class CbaChunkedText implements CharSequence {
+    /**
+     * The log2 of {@link #CHUNK_SIZE}.
+     */
+    private static final int CHUNK_SHIFT = 13;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The number of characters in each chunk but the first, which grows up to this size.
+     */
+    static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The size of the first chunk when it is allocated.
+     */
+    private static final int FIRST_CHUNK_SIZE = 32;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The chunks; only the first {@link #count} are allocated.
+     */
+    private char[][] chunks = new char[4][];
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The number of chunks in use.
+     */
+    private int count;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The number of characters held.
+     */
+    private int length;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The number of characters held.
+     *
+     * @return The length of the value.
+     */
+    @Override
+    public int length() { return length; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get a character of the value.
+     *
+     * @param index The index of the character.
+     * @return The character at {@code index}.
+     */
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) throw new IndexOutOfBoundsException("index " + index);
+        return chunks[index >>> CHUNK_SHIFT][index & (CHUNK_SIZE - 1)];
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get a range of the value as a String.
+     *
+     * @param start The index of the first character.
+     * @param end The index one past the last character.
+     * @return A new String holding the range.
+     */
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) throw new IndexOutOfBoundsException(start + ".." + end);
+
+        char[] out = new char[end - start];
+        copyTo(start, end, out, 0);
+        return new String(out);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get the whole value as a String.  This is the one place the value is copied out whole.
+     *
+     * @return A new String holding the value.
+     */
+    @Override
+    public String toString() { return (String)subSequence(0, length); }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Copy a range of the value into an array.
+     *
+     * @param start The index of the first character.
+     * @param end The index one past the last character.
+     * @param dst The array into which to copy.
+     * @param off The index in {@code dst} of the first character copied.
+     */
+    void copyTo(int start, int end, char[] dst, int off) {
+        while (start < end) {
+            int pos = start & (CHUNK_SIZE - 1);
+            int n = Math.min(end - start, CHUNK_SIZE - pos);
+
+            System.arraycopy(chunks[start >>> CHUNK_SHIFT], pos, dst, off, n);
+            start += n;
+            off += n;
+        }
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Append a character.
+     *
+     * @param c The character to append.
+     */
+    void append(char c) {
+        int pos = length & (CHUNK_SIZE - 1);
+
+        reserve(1);
+        chunks[length >>> CHUNK_SHIFT][pos] = c;
+        length ++;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Append a range of characters.
+     *
+     * @param src The characters to append.
+     * @param start The index of the first character.
+     * @param end The index one past the last character.
+     */
+    void append(CharSequence src, int start, int end) {
+        reserve(end - start);
+
+        while (start < end) {
+            int pos = length & (CHUNK_SIZE - 1);
+            int n = Math.min(end - start, CHUNK_SIZE - pos);
+            char[] chunk = chunks[length >>> CHUNK_SHIFT];
+
+            if (src instanceof String) {
+                ((String)src).getChars(start, start + n, chunk, pos);
+            } else {
+                for (int i = 0; i < n; i ++) chunk[pos + i] = src.charAt(start + i);
+            }
+
+            start += n;
+            length += n;
+        }
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Append a range of an array of characters.
+     *
+     * @param src The characters to append.
+     * @param off The index of the first character.
+     * @param len The number of characters.
+     */
+    void append(char[] src, int off, int len) {
+        reserve(len);
+
+        while (len > 0) {
+            int pos = length & (CHUNK_SIZE - 1);
+            int n = Math.min(len, CHUNK_SIZE - pos);
+
+            System.arraycopy(src, off, chunks[length >>> CHUNK_SHIFT], pos, n);
+            off += n;
+            len -= n;
+            length += n;
+        }
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Drop characters from the end of the value.  The chunks are kept, to be filled again.
+     *
+     * @param len The number of characters to keep, which is no more than the length.
+     */
+    void truncate(int len) {
+        if (len < 0 || len > length) throw new IndexOutOfBoundsException("length " + len);
+        length = len;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Make room for a number of characters past the end of the value.  Only the first chunk is ever reallocated,
+     * while it is still growing to {@link #CHUNK_SIZE}.
+     *
+     * @param n The number of characters to make room for.
+     */
+    private void reserve(int n) {
+        long need = (long)length + n;
+
+        if (need > Integer.MAX_VALUE) throw new OutOfMemoryError("Chunked text is too long");
+        if (n == 0) return;
+
+        if (count == 0) {
+            chunks[0] = new char[(int)Math.min(CHUNK_SIZE, Math.max(FIRST_CHUNK_SIZE, need))];
+            count = 1;
+        } else if (count == 1 && chunks[0].length < CHUNK_SIZE && need > chunks[0].length) {
+            chunks[0] = Arrays.copyOf(chunks[0], (int)Math.min(CHUNK_SIZE, Math.max(2L * chunks[0].length, need)));
+        }
+
+        int needed = (int)((need + CHUNK_SIZE - 1) >>> CHUNK_SHIFT);
+
+        if (needed > chunks.length) chunks = Arrays.copyOf(chunks, Math.max(needed, 2 * chunks.length));
+
+        while (count < needed) chunks[count ++] = new char[CHUNK_SIZE];
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Open a Reader over the value.  The Reader walks the chunks and copies nothing but what is read.  It reads the
+     * value as it is when each read is made, so the value should not be appended to while it is read.
+     *
+     * @return A new Reader.
+     */
+    Reader reader() {
+        return new Reader() {
+            private int pos;
+            private int mark;
+
+            @Override
+            public int read() {
+                return (pos < length ? charAt(pos ++) : -1);
+            }
+
+            @Override
+            public int read(char[] buf, int off, int len) {
+                if (len == 0) return 0;
+                if (pos >= length) return -1;
+
+                int n = Math.min(len, length - pos);
+                copyTo(pos, pos + n, buf, off);
+                pos += n;
+                return n;
+            }
+
+            @Override
+            public long skip(long n) {
+                int k = (int)Math.max(0, Math.min(n, length - pos));
+                pos += k;
+                return k;
+            }
+
+            @Override
+            public boolean ready() { return true; }
+
+            @Override
+            public boolean markSupported() { return true; }
+
+            @Override
+            public void mark(int readAheadLimit) { mark = pos; }
+
+            @Override
+            public void reset() { pos = mark; }
+
+            @Override
+            public void close() {}
+        };
+    }
+}
@@ -0,0 +1,65 @@
+//===================================================================================================================
+// CbaClock.java -- The source of the current time for the system-managed temporal fields
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+// The fields a table maintains itself (those with an update style of INSERT, UPDATE or BOTH) are stamped with a
+// time read from a CbaClock.  Reading the system clock for every field of every row is costly, so the table reads
+// the clock once per batch; and since the clock is pluggable, a test may fix the time to get repeatable results.
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+//    Date     Programmer    Version    Comment
+// ----------  ----------  -----------  ----------------------------------------------------------------------------
+// 2026-10-16     adcl       v0.1.0     Initial version
+//
+//===================================================================================================================
+
+
+package com.eryjus.cba.types;
+
+import java.time.Clock;
+
+
+//-------------------------------------------------------------------------------------------------------------------
+
+/**
+ * A source of the current time, in microseconds since 1970-01-01T00:00:00Z.  See {@link CoarseClock} for an
+ * implementation that is cheap to read.
+ * 
+ * @author Adam Clark
+ * @since v0.1.0
+ */
+public interface CbaClock {
+    /**
+     * Read the current time.
+     * 
+     * @return The number of microseconds since 1970-01-01T00:00:00Z.
+     */
+    long currentTimeMicros();
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get a clock that reads the system clock on every call, to the best precision the platform offers.
+     * 
+     * @return The system clock.
+     */
+    static CbaClock system() {
+        return () -> CbaTemporalType.toEpochMicros(Clock.systemUTC().instant());
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get a clock that always reads the same time, for tests.
+     * 
+     * @param epochMicros The number of microseconds since 1970-01-01T00:00:00Z to return.
+     * @return The fixed clock.
+     */
+    static CbaClock fixed(long epochMicros) {
+        return () -> epochMicros;
+    }
+}
@@ -0,0 +1,480 @@
+//===================================================================================================================
+// CbaConversion.java -- The paths by which one CbaType is assigned to another
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+// Assigning one element to another used to go through the String of the source: the integer and real types
+// rendered it with toString() and parsed it back.  Copying between variables and fields is everywhere in business
+// logic, and every copy made at least one String.
+//
+// Each type now holds its value in one primitive form (see CbaType.Primitive), and the path from any type to any
+// other is worked out once, here, into a matrix keyed on the IndicatedType of each.  Most paths hand over the
+// primitive itself: a long, a double, a scaled long or a count of microseconds.  The character types hand over
+// their characters to be parsed, or their bytes to be copied when both sides hold the same encoding.  The few
+// paths where a String gave a result that no primitive does (a float widened to a double keeps the digits it
+// prints with, for one) render the value into a reused buffer and parse that, which is what the String did, but
+// without the String.
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+//    Date     Programmer    Version    Comment
+// ----------  ----------  -----------  ----------------------------------------------------------------------------
+// 2026-10-16     adcl       v0.1.0     Initial version
+//
+//===================================================================================================================
+
+
+package com.eryjus.cba.types;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import com.eryjus.cba.types.CbaType.IndicatedType;
+import com.eryjus.cba.types.CbaType.ParseStatus;
+import com.eryjus.cba.types.CbaType.Primitive;
+
+import org.apache.logging.log4j.LogManager;
+
+
+//-------------------------------------------------------------------------------------------------------------------
+
+/**
+ * A collection of static helpers to assign one element to another by the cheapest path that gives the same value.
+ *
+ * @author Adam Clark
+ * @since v0.1.0
+ */
+final class CbaConversion {
+    /**
+     * This is a static helper class and cannot be instantiated.
+     */
+    private CbaConversion() {}
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The ways a value is carried from one type to another.
+     */
+    enum Path {
+        /** The types have no value in common; the assignment is {@link ParseStatus#INVALID}. */
+        NONE,
+        /** Hand over the long of an integer type. */
+        LONG,
+        /** Hand over the double of a floating point type. */
+        DOUBLE,
+        /** Hand over the scaled long (or the BigDecimal) of a decimal. */
+        DECIMAL,
+        /** Hand over the microseconds of a temporal type, moving between UTC and local time as needed. */
+        EPOCH,
+        /** Parse the characters of a character type, or copy its bytes into another. */
+        CHARS,
+        /** Render the value into a reused buffer and parse it from there. */
+        TEXT,
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The indicated types, in order.
+     */
+    private static final IndicatedType[] TYPES = IndicatedType.values();
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The primitive form in which each indicated type holds its value, by ordinal.
+     */
+    private static final Primitive[] FORMS = new Primitive[TYPES.length];
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The path to each indicated type (the first index) from each indicated type (the second index), by ordinal.
+     */
+    private static final Path[][] PATHS = new Path[TYPES.length][TYPES.length];
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The buffer of each thread for the {@link Path#TEXT} path.
+     */
+    private static final ThreadLocal<StringBuilder> TEXT = ThreadLocal.withInitial(() -> new StringBuilder(64));
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Work out the matrix.
+     */
+    static {
+        for (IndicatedType t : TYPES) FORMS[t.ordinal()] = formOf(t);
+
+        for (IndicatedType to : TYPES) {
+            for (IndicatedType from : TYPES) PATHS[to.ordinal()][from.ordinal()] = pathOf(to, from);
+        }
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The primitive form in which a type holds its value.
+     *
+     * @param type The indicated type.
+     * @return The form.
+     */
+    private static Primitive formOf(IndicatedType type) {
+        switch (type) {
+            case CBA_CHAR:
+            case CBA_VARCHAR:
+            case CBA_TINY_TEXT:
+            case CBA_SMALL_TEXT:
+            case CBA_MEDIUM_TEXT:
+                return Primitive.BYTES;
+
+            case CBA_DATE:
+            case CBA_TIME:
+            case CBA_DATE_TIME:
+            case CBA_TIMESTAMP:
+                return Primitive.EPOCH_MICROS;
+
+            case CBA_FLOAT:
+            case CBA_DOUBLE:
+                return Primitive.DOUBLE;
+
+            case CBA_DECIMAL:
+                return Primitive.DECIMAL;
+
+            default:
+                return Primitive.LONG;
+        }
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Work out the path from one type to another.  Where a primitive would not give what parsing the String of the
+     * source gave, the path is {@link Path#TEXT}.
+     *
+     * @param to The indicated type of the element assigned.
+     * @param from The indicated type of the element assigned from.
+     * @return The path.
+     */
+    private static Path pathOf(IndicatedType to, IndicatedType from) {
+        Primitive dst = FORMS[to.ordinal()];
+        Primitive src = FORMS[from.ordinal()];
+
+        if (src == Primitive.BYTES) return Path.CHARS;
+        if (dst == Primitive.BYTES) return Path.TEXT;
+
+        switch (dst) {
+            case LONG:
+                if (src == Primitive.LONG) return Path.LONG;
+
+                // -- anything else into a boolean keeps the rules of CbaBoolean for text
+                if (to == IndicatedType.CBA_BOOLEAN) return Path.TEXT;
+                if (src == Primitive.DOUBLE) return Path.DOUBLE;
+                if (src == Primitive.DECIMAL) return Path.DECIMAL;
+                return Path.NONE;
+
+            case DOUBLE:
+                if (src == Primitive.LONG) return Path.LONG;
+
+                // -- a float into a double keeps the digits it prints with, and so does a decimal into a float
+                if (src == Primitive.DOUBLE) {
+                    boolean widened = (to == IndicatedType.CBA_DOUBLE && from == IndicatedType.CBA_FLOAT);
+                    return (widened ? Path.TEXT : Path.DOUBLE);
+                }
+
+                if (src == Primitive.DECIMAL) return (to == IndicatedType.CBA_DOUBLE ? Path.DECIMAL : Path.TEXT);
+                return Path.NONE;
+
+            case DECIMAL:
+                if (src == Primitive.LONG) return Path.LONG;
+                if (src == Primitive.DECIMAL) return Path.DECIMAL;
+
+                // -- a float or a double into a decimal keeps the digits it prints with
+                if (src == Primitive.DOUBLE) return Path.TEXT;
+                return Path.NONE;
+
+            default:
+                if (src != Primitive.EPOCH_MICROS) return Path.NONE;
+
+                // -- a time of day has no date, and a date no time of day
+                if (from == IndicatedType.CBA_TIME) return (to == IndicatedType.CBA_TIME ? Path.EPOCH : Path.NONE);
+                if (to == IndicatedType.CBA_TIME && from == IndicatedType.CBA_DATE) return Path.NONE;
+                return Path.EPOCH;
+        }
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Does a type hold its value in a primitive form?
+     *
+     * @param type The indicated type.
+     * @param form The primitive form.
+     * @return Whether {@code type} holds its value as {@code form}.
+     */
+    static boolean holds(IndicatedType type, Primitive form) { return FORMS[type.ordinal()] == form; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The path from one type to another.
+     *
+     * @param to The indicated type of the element assigned.
+     * @param from The indicated type of the element assigned from.
+     * @return The path.
+     */
+    static Path pathTo(IndicatedType to, IndicatedType from) { return PATHS[to.ordinal()][from.ordinal()]; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Assign the value of one element to another.
+     *
+     * @param dst The element to assign.
+     * @param src The element from which to assign.
+     * @return {@link ParseStatus#OK} if assigned exactly, {@link ParseStatus#TRUNCATED} if the value was cut to fit,
+     * or the reason it was not assigned (in which case the value is unchanged, unless the type has a fallback).
+     */
+    static ParseStatus assign(CbaType dst, CbaType src) {
+        if (dst.isReadOnly()) {
+            LogManager.getLogger(dst.getClass()).warn("Unable to assign to a read-only field; ignoring assignment");
+            return ParseStatus.READ_ONLY;
+        }
+
+        switch (pathTo(dst.getDescriptor().INDICATED_TYPE, src.getDescriptor().INDICATED_TYPE)) {
+            case LONG:      return fromLong(dst, src.asLong());
+            case DOUBLE:    return fromDouble(dst, src.asDouble());
+            case DECIMAL:   return fromDecimal(dst, (CbaDecimal)src);
+            case EPOCH:     return fromTemporal((CbaTemporalType)dst, (CbaTemporalType)src);
+            case CHARS:     return fromChars(dst, (CbaCharType)src);
+            case TEXT:      return fromText(dst, src);
+            default:        return ParseStatus.INVALID;
+        }
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Assign a Number to a real element.  Only the boxes of the integer types, a {@link BigDecimal} and a 
+     * {@link Double} are handed over as they are; any other Number is parsed from its String.
+     *
+     * @param dst The element to assign.
+     * @param val The value.
+     * @return The status of the assignment.
+     */
+    static ParseStatus assign(CbaRealType dst, Number val) {
+        if (dst.isReadOnly()) {
+            LogManager.getLogger(dst.getClass()).warn("Unable to assign to a read-only field; ignoring assignment");
+            return ParseStatus.READ_ONLY;
+        }
+
+        if (null == val) return ParseStatus.EMPTY;
+
+        if (val instanceof Long || val instanceof Integer || val instanceof Short || val instanceof Byte) {
+            return fromLong(dst, val.longValue());
+        }
+
+        if (val instanceof BigDecimal && dst instanceof CbaDecimal) return ((CbaDecimal)dst).assign((BigDecimal)val);
+
+        // -- a double parses its own String exactly, and so does a BigDecimal into a double
+        if (dst instanceof CbaDouble && (val instanceof Double || val instanceof BigDecimal)) {
+            return fromDouble(dst, val.doubleValue());
+        }
+
+        if (dst instanceof CbaFloat && val instanceof Double) return fromDouble(dst, val.doubleValue());
+
+        String str = val.toString();
+        return dst.assign(str, 0, str.length());
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Assign a long to an integer, real or decimal element.
+     *
+     * @param dst The element to assign.
+     * @param val The value.
+     * @return The status of the assignment.
+     */
+    private static ParseStatus fromLong(CbaType dst, long val) {
+        if (dst instanceof CbaIntegerType) return ((CbaIntegerType)dst).store(val, 0);
+        if (dst instanceof CbaFloatingPointType) return ((CbaFloatingPointType)dst).store(val);
+        return ((CbaDecimal)dst).assignUnscaled(val, 0);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Assign a double to an integer or floating point element.  An integer takes the integer part, as
+     * {@link Number#longValue()} does.
+     *
+     * @param dst The element to assign.
+     * @param val The value.
+     * @return The status of the assignment.
+     */
+    private static ParseStatus fromDouble(CbaType dst, double val) {
+        if (dst instanceof CbaFloatingPointType) return ((CbaFloatingPointType)dst).store(val);
+        if (Double.isNaN(val)) return ParseStatus.INVALID;
+
+        CbaIntegerType rv = (CbaIntegerType)dst;
+
+        // -- the range of a long is -2^63 up to but not including 2^63
+        if (val >= 0x1p63 || val < -0x1p63) return rv.store((long)val, (val < 0 ? -1 : 1));
+
+        long whole = (long)val;
+        return truncated(rv.store(whole, 0), whole != val);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Assign a decimal to an integer, double or decimal element.  An integer takes the integer part, as
+     * {@link Number#longValue()} does.
+     *
+     * @param dst The element to assign.
+     * @param src The decimal from which to assign.
+     * @return The status of the assignment.
+     */
+    private static ParseStatus fromDecimal(CbaType dst, CbaDecimal src) {
+        int scale = src.getDecimals();
+
+        if (src.isCompact()) {
+            long unscaled = src.getUnscaled();
+
+            if (dst instanceof CbaDecimal) return ((CbaDecimal)dst).assignUnscaled(unscaled, scale);
+
+            if (dst instanceof CbaIntegerType) {
+                long pow = CbaDigits.POW10[scale];
+                return truncated(((CbaIntegerType)dst).store(unscaled / pow, 0), unscaled % pow != 0);
+            }
+
+            // -- both parts are exact doubles, so the quotient is rounded just once, as parsing it would be
+            if (Math.abs(unscaled) <= (1L << 53)) {
+                return ((CbaFloatingPointType)dst).store(unscaled / (double)CbaDigits.POW10[scale]);
+            }
+        }
+
+        BigDecimal val = src.getValue();
+
+        if (dst instanceof CbaDecimal) return ((CbaDecimal)dst).assign(val);
+        if (dst instanceof CbaFloatingPointType) return ((CbaFloatingPointType)dst).store(val.doubleValue());
+
+        BigInteger whole = val.toBigInteger();
+        CbaIntegerType rv = (CbaIntegerType)dst;
+
+        if (whole.bitLength() > 63) return rv.store(whole.longValue(), whole.signum());
+        return truncated(rv.store(whole.longValue(), 0), val.compareTo(new BigDecimal(whole)) != 0);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Assign a temporal element to another.  A {@link CbaTimestamp} is in UTC and the others are in local time,
+     * which is the time zone of the system as it is for the fields stamped by a table.
+     *
+     * @param dst The element to assign.
+     * @param src The element from which to assign.
+     * @return The status of the assignment.
+     */
+    private static ParseStatus fromTemporal(CbaTemporalType dst, CbaTemporalType src) {
+        try {
+            if (dst.getClass() == src.getClass()) {
+                dst.setPacked(src.getPacked());
+            } else {
+                long micros = src.asEpochMicros();
+                boolean srcUtc = (src instanceof CbaTimestamp);
+                boolean dstUtc = (dst instanceof CbaTimestamp);
+                int offset = 0;
+
+                if (srcUtc && !dstUtc) {
+                    Instant at = Instant.ofEpochSecond(Math.floorDiv(micros, CbaTemporalType.MICROS_PER_SECOND));
+                    offset = ZoneId.systemDefault().getRules().getOffset(at).getTotalSeconds();
+                } else if (!srcUtc && dstUtc) {
+                    long sec = Math.floorDiv(micros, CbaTemporalType.MICROS_PER_SECOND);
+                    LocalDateTime at = LocalDateTime.ofEpochSecond(sec, 0, ZoneOffset.UTC);
+                    micros -= ZoneId.systemDefault().getRules().getOffset(at).getTotalSeconds() *
+                            CbaTemporalType.MICROS_PER_SECOND;
+                }
+
+                dst.setPacked(dst.fromEpochMicros(micros, offset));
+            }
+        } catch (DateTimeException | ArithmeticException e) {
+            return ParseStatus.OVERFLOW;
+        }
+
+        dst.setDirty();
+        return ParseStatus.OK;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Assign a character element to another element: copied into a character element, parsed by any other.
+     *
+     * @param dst The element to assign.
+     * @param src The element from which to assign.
+     * @return The status of the assignment.
+     */
+    private static ParseStatus fromChars(CbaType dst, CbaCharType src) {
+        if (dst instanceof CbaCharType) return ((CbaCharType)dst).copyChars(src);
+
+        CharSequence val = src.chars();
+        return dst.assign(val, 0, val.length());
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Assign an element to another through its text, rendered into this thread's buffer.
+     *
+     * @param dst The element to assign.
+     * @param src The element from which to assign.
+     * @return The status of the assignment.
+     */
+    private static ParseStatus fromText(CbaType dst, CbaType src) {
+        StringBuilder sb = TEXT.get();
+
+        sb.setLength(0);
+        src.appendTo(sb);
+        return dst.assign(sb, 0, sb.length());
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Report a value that was stored but lost its fraction as {@link ParseStatus#TRUNCATED}.
+     *
+     * @param status The status of storing the integer part.
+     * @param lost Whether there was a fraction.
+     * @return The status to report.
+     */
+    private static ParseStatus truncated(ParseStatus status, boolean lost) {
+        return (lost && status == ParseStatus.OK ? ParseStatus.TRUNCATED : status);
+    }
+}
@@ -9,6 +9,12 @@
 //    Date     Programmer    Version    Comment
 // ----------  ----------  -----------  ----------------------------------------------------------------------------
 // 2018-04-01     adcl       v0.1.0     Initial version
+// 2026-10-16     adcl       v0.1.0     Hold the value as a packed long; java.time objects only on demand
+// 2026-10-16     adcl       v0.1.0     Parse and format with CbaTemporalDigits
+// 2026-10-16     adcl       v0.1.0     Stamp from a CbaClock
+// 2026-10-16     adcl       v0.1.0     Build on a shared descriptor; add newInstance()
+// 2026-10-16     adcl       v0.1.0     Add asEpochMicros()
+// 2026-10-16     adcl       v0.1.0     Leave only the other layouts to the JDK
 //
 //===================================================================================================================
 
@@ -34,7 +40,7 @@ class CbaDate extends CbaTemporalType {
     /**
      * The builder class for initializing a CbaVarchar element
      */
-    public class Builder extends CbaTemporalType.Builder<Builder> {
+    public static class Builder extends CbaTemporalType.Builder<Builder> {
         public Builder() {
             setIndicatedType(CbaType.IndicatedType.CBA_DATE);
             setDefaultValue(DEFAULT_VALUE);
@@ -69,15 +75,15 @@ class CbaDate extends CbaTemporalType {
     /**
      * This constant value is used to indicate an uninitialized date.  Note that the date is technically valid.
      */
-    private static final LocalDate ZERO = LocalDate.parse(DEFAULT_VALUE);
+    private static final long ZERO = packDate(0, 1, 1);
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * This is the value of the CbaDate field.
+     * This is the value of the CbaDate field, packed as described in {@link CbaTemporalType}.
      */
-    private LocalDate value;
+    private long value = ZERO;
 
 
     //---------------------------------------------------------------------------------------------------------------
@@ -88,26 +94,140 @@ class CbaDate extends CbaTemporalType {
      * @param builder the builder class to initialize this instance
      */
     private CbaDate(Builder builder) {
-        super(builder);
+        this(new FieldDescriptor(builder));
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Construct an element on the attributes of its column.
+     * 
+     * @param column The attributes of the column, which may be shared with other elements.
+     */
+    private CbaDate(FieldDescriptor column) {
+        super(column);
         clearField();
     }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Make a new element for the same column, sharing this element's descriptor.
+     * 
+     * @return The new element.
+     */
+    @Override
+    public CbaDate newInstance() { return new CbaDate(getDescriptor()); }
     
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * Assign a new date to this field.  Note that the date must be in the format 
-     * {@link java.time.format.DateTimeFormatter#ISO_LOCAL_DATE}.
+     * Parse a date in the common form of {@link java.time.format.DateTimeFormatter#ISO_LOCAL_DATE}.
+     * 
+     * @param src The characters to parse.
+     * @param start The index of the first character to parse.
+     * @param end The index one past the last character to parse.
+     * @return The packed value of the date, or {@link CbaTemporalDigits#INVALID} or {@link CbaTemporalDigits#DEFER}.
+     */
+    @Override
+    long parseDigits(char[] src, int start, int end) {
+        return CbaTemporalDigits.parseDate(src, start, end);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Parse a date in one of the other layouts of {@link java.time.format.DateTimeFormatter#ISO_LOCAL_DATE}.
      * 
-     * @param val A string representation of the date to assign properly formatted.
+     * @param text The text to parse.
+     * @return The packed value of the date.
      */
-    public void assign(String val) {
+    @Override
+    long parseJdk(String text) {
+        return packDate(LocalDate.parse(text));
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Assign a new date to this field.
+     * 
+     * @param val The date to assign.
+     * @throws java.time.DateTimeException When the year is outside the range that can be held.
+     */
+    public void assign(LocalDate val) {
         if (isReadOnly()) {
             LogManager.getLogger(this.getClass()).warn("Unable to assign to a read-only field; ignoring assignment");
             return;
         }
 
-        value = LocalDate.parse(val);
+        value = packDate(val);
+        setDirty();
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The access method for the value of this field.  The LocalDate is created on each call.
+     * 
+     * @return The value of this field as a LocalDate.
+     */
+    public LocalDate getValue() {
+        return toLocalDate(value);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The access method for the packed value of this field.
+     * 
+     * @return The value of this field packed as described in {@link CbaTemporalType}.
+     */
+    @Override
+    long getPacked() { return value; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Store a packed value in this field, without any checks.
+     * 
+     * @param val The value packed as described in {@link CbaTemporalType}.
+     */
+    @Override
+    void setPacked(long val) { value = val; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The value as the microseconds from 1970-01-01T00:00:00 to its midnight.
+     * 
+     * @return The value.
+     */
+    @Override
+    public long asEpochMicros() { return CbaTemporalDigits.toEpochDay(value) * CbaTemporalDigits.MICROS_PER_DAY; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Convert a time read from a clock to the packed date in the local time zone.
+     * 
+     * @param epochMicros The time in microseconds since 1970-01-01T00:00:00Z.
+     * @param offsetSeconds The offset of the local time zone from UTC at that time.
+     * @return The packed date.
+     */
+    @Override
+    long fromEpochMicros(long epochMicros, int offsetSeconds) {
+        return dateOfLocalMicros(epochMicros + offsetSeconds * MICROS_PER_SECOND);
     }
 
 
@@ -126,19 +246,35 @@ class CbaDate extends CbaTemporalType {
             return false;
         }
 
-        return (((CbaDate)obj).value.equals(value));
+        return (((CbaDate)obj).value == value);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Render the date into a buffer in its ISO-8601 layout.
+     * 
+     * @param buf The buffer into which to render.
+     * @param off The index in {@code buf} of the first character to write.
+     * @return The index one past the last character written.
+     */
+    @Override
+    int write(char[] buf, int off) {
+        return CbaTemporalDigits.writeDate(value, buf, off);
     }
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * Return a string representation of this date in ISO-8601 format.
+     * Calculate the number of characters that {@link #toString()} will produce for the current value.
      * 
-     * @return A string representation of the date.
+     * @return The formatted length of this element.
      */
-    public String toString() {
-        return value.toString();
+    @Override
+    public int formattedLength() {
+        return CbaTemporalDigits.dateLength(value);
     }
 
 
@@ -170,6 +306,6 @@ class CbaDate extends CbaTemporalType {
      * @return Whether the value of this instance is equivalent to {@link #ZERO}.
      */
     public boolean isZero() {
-        return value.equals(ZERO);
+        return (value == ZERO);
     }
 }
\ No newline at end of file
@@ -11,12 +11,20 @@
 //    Date     Programmer    Version    Comment
 // ----------  ----------  -----------  ----------------------------------------------------------------------------
 // 2018-04-01     adcl       v0.1.0     Initial version
+// 2026-10-16     adcl       v0.1.0     Hold the value as a packed long; java.time objects only on demand
+// 2026-10-16     adcl       v0.1.0     Parse and format with CbaTemporalDigits
+// 2026-10-16     adcl       v0.1.0     Stamp from a CbaClock
+// 2026-10-16     adcl       v0.1.0     Build on a shared descriptor; add newInstance()
+// 2026-10-16     adcl       v0.1.0     Add asEpochMicros()
+// 2026-10-16     adcl       v0.1.0     Put the binary form in a fixed 8 bytes
+// 2026-10-16     adcl       v0.1.0     Leave only the other layouts to the JDK
 //
 //===================================================================================================================
 
 
 package com.eryjus.cba.types;
 
+import java.nio.ByteBuffer;
 import java.time.LocalDateTime;
 
 import org.apache.logging.log4j.LogManager;
@@ -37,7 +45,7 @@ public class CbaDateTime extends CbaTemporalType {
     /**
      * The builder class for initializing a CbaVarchar element
      */
-    public class Builder extends CbaTemporalType.Builder<Builder> {
+    public static class Builder extends CbaTemporalType.Builder<Builder> {
         public Builder() {
             setIndicatedType(CbaType.IndicatedType.CBA_DATE_TIME);
             setDefaultValue(DEFAULT_VALUE);
@@ -80,9 +88,17 @@ public class CbaDateTime extends CbaTemporalType {
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * This is the value of the CbaDateTime field.
+     * The packed equivalent of {@link #ZERO}.
      */
-    private LocalDateTime value;
+    private static final long ZERO_VALUE = packDateTime(packDate(0, 1, 1), packTime(0, 0, 0, 0));
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * This is the value of the CbaDateTime field, packed as described in {@link CbaTemporalType}.
+     */
+    private long value = ZERO_VALUE;
 
 
     //---------------------------------------------------------------------------------------------------------------
@@ -93,26 +109,183 @@ public class CbaDateTime extends CbaTemporalType {
      * @param builder the builder class to initialize this instance
      */
     private CbaDateTime(Builder builder) {
-        super(builder);
+        this(new FieldDescriptor(builder));
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Construct an element on the attributes of its column.
+     * 
+     * @param column The attributes of the column, which may be shared with other elements.
+     */
+    private CbaDateTime(FieldDescriptor column) {
+        super(column);
         clearField();
     }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Make a new element for the same column, sharing this element's descriptor.
+     * 
+     * @return The new element.
+     */
+    @Override
+    public CbaDateTime newInstance() { return new CbaDateTime(getDescriptor()); }
     
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * Assign a new date and time to this field.  Note that the date and time must be in the format 
+     * Parse a date and time in the common form of {@link java.time.format.DateTimeFormatter#ISO_LOCAL_DATE_TIME}.
+     * 
+     * @param src The characters to parse.
+     * @param start The index of the first character to parse.
+     * @param end The index one past the last character to parse.
+     * @return The packed value of the date and time, or {@link CbaTemporalDigits#INVALID} or 
+     * {@link CbaTemporalDigits#DEFER}.
+     */
+    @Override
+    long parseDigits(char[] src, int start, int end) {
+        return CbaTemporalDigits.parseDateTime(src, start, end);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Parse a date and time in one of the other layouts of 
      * {@link java.time.format.DateTimeFormatter#ISO_LOCAL_DATE_TIME}.
      * 
-     * @param v A string representation of the date and time to assign properly formatted.
+     * @param text The text to parse.
+     * @return The packed value of the date and time.
      */
-    public void assign(String v) {
+    @Override
+    long parseJdk(String text) {
+        return pack(LocalDateTime.parse(text));
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Assign a new date and time to this field.  Any fraction of a microsecond is dropped.
+     * 
+     * @param v The date and time to assign.
+     * @throws java.time.DateTimeException When the year is outside the range that can be held.
+     */
+    public void assign(LocalDateTime v) {
         if (isReadOnly()) {
             LogManager.getLogger(this.getClass()).warn("Unable to assign to a read-only field; ignoring assignment");
             return;
         }
 
-        value = LocalDateTime.parse(v);
+        value = pack(v);
+        setDirty();
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Pack a LocalDateTime.  Any fraction of a microsecond is dropped.
+     * 
+     * @param v The date and time to pack.
+     * @return The packed date and time.
+     * @throws java.time.DateTimeException When the year is outside the range that can be held.
+     */
+    private static long pack(LocalDateTime v) {
+        return packDateTime(packDate(v.toLocalDate()), packTime(v.toLocalTime()));
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The access method for the value of this field.  The LocalDateTime is created on each call.
+     * 
+     * @return The value of this field as a LocalDateTime.
+     */
+    public LocalDateTime getValue() {
+        return LocalDateTime.of(toLocalDate(datePart(value)), toLocalTime(timePart(value)));
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The access method for the packed value of this field.
+     * 
+     * @return The value of this field packed as described in {@link CbaTemporalType}.
+     */
+    @Override
+    long getPacked() { return value; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Store a packed value in this field, without any checks.
+     * 
+     * @param val The value packed as described in {@link CbaTemporalType}.
+     */
+    @Override
+    void setPacked(long val) { value = val; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Put the value in its binary form: the packed value in 8 bytes.  The date sits above bit 41, so a varint of 
+     * any date since the year 1 would take 9.
+     * 
+     * @param buf The buffer into which to put the value.
+     */
+    @Override
+    final void writeValue(ByteBuffer buf) { buf.putLong(value); }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get the value from its binary form; see {@link #writeValue(ByteBuffer)}.
+     * 
+     * @param buf The buffer from which to get the value.
+     */
+    @Override
+    final void readValue(ByteBuffer buf) { value = buf.getLong(); }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The value as the microseconds from 1970-01-01T00:00:00, both in local time.
+     * 
+     * @return The value.
+     */
+    @Override
+    public long asEpochMicros() {
+        return CbaTemporalDigits.toEpochDay(datePart(value)) * CbaTemporalDigits.MICROS_PER_DAY + 
+                CbaTemporalDigits.microOfDay(timePart(value));
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Convert a time read from a clock to the packed date and time in the local time zone.
+     * 
+     * @param epochMicros The time in microseconds since 1970-01-01T00:00:00Z.
+     * @param offsetSeconds The offset of the local time zone from UTC at that time.
+     * @return The packed date and time.
+     */
+    @Override
+    long fromEpochMicros(long epochMicros, int offsetSeconds) {
+        long local = epochMicros + offsetSeconds * MICROS_PER_SECOND;
+        return packDateTime(dateOfLocalMicros(local), timeOfLocalMicros(local));
     }
 
 
@@ -131,19 +304,35 @@ public class CbaDateTime extends CbaTemporalType {
             return false;
         }
 
-        return (((CbaDateTime)obj).value.equals(value));
+        return (((CbaDateTime)obj).value == value);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Render the date and time into a buffer in its ISO-8601 layout.
+     * 
+     * @param buf The buffer into which to render.
+     * @param off The index in {@code buf} of the first character to write.
+     * @return The index one past the last character written.
+     */
+    @Override
+    int write(char[] buf, int off) {
+        return CbaTemporalDigits.writeDateTime(value, buf, off);
     }
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * Return a string representation of this date and time in ISO-8601 format.
+     * Calculate the number of characters that {@link #toString()} will produce for the current value.
      * 
-     * @return A string representation of the date and time.
+     * @return The formatted length of this element.
      */
-    public String toString() {
-        return value.toString();
+    @Override
+    public int formattedLength() {
+        return CbaTemporalDigits.dateTimeLength(value);
     }
 
 
@@ -175,6 +364,6 @@ public class CbaDateTime extends CbaTemporalType {
      * @return Whether the value of this instance is equivalent to {@link #ZERO}.
      */
     public boolean isZero() {
-        return value.equals(ZERO);
+        return (value == ZERO_VALUE);
     }
 }
\ No newline at end of file
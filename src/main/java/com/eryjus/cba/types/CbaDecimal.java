@@ -8,11 +8,24 @@
 // `editedBigDecimal` method.  This method takes managed a string to the limitations defined in this type, both
 // in total size and in number of decimal places.
 //
+// For a precision of 18 digits or less, the value instead is held as an unscaled long with the fixed scale of the
+// field (a scaled long), and parsing, formatting, comparison and truncation are all done on the long.  BigDecimal
+// is only used for wider (or unrestricted) fields.
+//
 // -----------------------------------------------------------------------------------------------------------------
 //
 //    Date     Programmer    Version    Comment
 // ----------  ----------  -----------  ----------------------------------------------------------------------------
 // 2018-03-25     adcl       v0.1.0     Initial version
+// 2026-10-16     adcl       v0.1.0     Scaled-long compact representation for precision <= 18
+// 2026-10-16     adcl       v0.1.0     Add assign(BigDecimal) and assignUnscaled() for DecimalAccumulator
+// 2026-10-16     adcl       v0.1.0     Add hash64(), cached for a BigDecimal value
+// 2026-10-16     adcl       v0.1.0     Move the column attributes to a shared Descriptor
+// 2026-10-16     adcl       v0.1.0     Restore the default with copyValue()
+// 2026-10-16     adcl       v0.1.0     Set the indicated type; add asDecimal()
+// 2026-10-16     adcl       v0.1.0     Add the binary form
+// 2026-10-16     adcl       v0.1.0     Add the fixed-width slot of a compact value
+// 2026-10-17     adcl       v0.1.0     Hold the default as an immutable value rather than in an element
 //
 //===================================================================================================================
 
@@ -20,7 +33,9 @@
 package com.eryjus.cba.types;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.math.RoundingMode;
+import java.nio.ByteBuffer;
 import java.sql.SQLException;
 
 import org.apache.logging.log4j.LogManager;
@@ -32,8 +47,13 @@ import org.apache.logging.log4j.LogManager;
  * The concrete class of a MySQL decimal data type for use within cba.  This class will encapsulate the messiness 
  * of interacting with the decimal value making sure it fits with the constraints.
  */
-public class CbaDecimal extends CbaFixedPointType {
+public class CbaDecimal extends CbaFixedPointType implements Comparable<CbaDecimal> {
     public static class Builder extends CbaFixedPointType.Builder<Builder> {
+        public Builder() {
+            setIndicatedType(CbaType.IndicatedType.CBA_DECIMAL);
+        }
+
+
         public CbaDecimal build() {
             return new CbaDecimal(this);
         }
@@ -63,48 +83,119 @@ public class CbaDecimal extends CbaFixedPointType {
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * The actual value of this CbaDecimal.  While the implementation is a core Java class, this class managed its 
-     * value within the constraints for this type.
+     * The widest precision that is held as a scaled {@code long}.  10<sup>18</sup> - 1 is the largest unscaled 
+     * value of that many digits that a {@code long} holds with room to spare for the FLOOR adjustment.
+     */
+    static final int MAX_COMPACT_PRECISION = 18;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The attributes of a decimal column.
+     */
+    static final class Descriptor extends CbaRealType.Descriptor {
+        /**
+         * Is the value of an element held in {@link CbaDecimal#unscaled} (true) or in {@link CbaDecimal#value} 
+         * (false)?  This is decided once from {@link #SIZE} and {@link #DECIMALS} when the column is built.
+         */
+        final boolean COMPACT;
+
+
+        Descriptor(Builder builder) {
+            super(builder);
+            COMPACT = (SIZE != UNRESTRICTED && DECIMALS >= 0 && DECIMALS <= SIZE && SIZE <= MAX_COMPACT_PRECISION);
+        }
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The actual value of this CbaDecimal when it is compact: the value multiplied by 10<sup>DECIMALS</sup>.
+     */
+    private long unscaled;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The actual value of this CbaDecimal when it is not compact.  While the implementation is a core Java 
+     * class, this class managed its value within the constraints for this type.
      */
     private BigDecimal value; 
 
 
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The hash of {@link #value} once it has been computed, or 0 until then.  A compact value is hashed
+     * directly from {@link #unscaled} and does not use this.
+     */
+    private long hash;
+
+
     //---------------------------------------------------------------------------------------------------------------
 
     /**
      * The default constructor for a CbaDecimal element, initializing the value to ZERO.
      */
     CbaDecimal(Builder builder) {
-        super(builder);
-        value = new BigDecimal(0.0);
+        this(new Descriptor(builder));
     }
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * Edit a string representation of a real number into a BigDecimal that conforms to the size and decimals 
+     * Construct a CbaDecimal element on the attributes of its column, initializing the value to ZERO.
+     * 
+     * @param column The attributes of the column, which may be shared with other elements.
+     */
+    private CbaDecimal(Descriptor column) {
+        super(column);
+        unscaled = 0;
+        value = (column.COMPACT ? null : new BigDecimal(0.0));
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Make a new element for the same column, sharing this element's descriptor.
+     * 
+     * @return The new element, valued ZERO.
+     */
+    @Override
+    public CbaDecimal newInstance() { return new CbaDecimal((Descriptor)getDescriptor()); }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Edit a real number into a BigDecimal that conforms to the size and decimals 
      * characteristics of the current object.  In the event that this object is {@link CbaRealType#UNRESTRICTED}, 
      * nothing is done to manage this value.  However, if the number of decimal places is greater then
      * {@link CbaRealType#SIZE} or the total number of digits overall is greater than {@link CbaRealType#DECIMALS}, 
      * then the value is managed accordingly.  Either decimal places are truncated (not rounded) or the most 
      * significant digits will be removed from the value.  This will be done without throwing an exception.
      * 
-     * @param val A string representation of the value to manage to fit in the field 
-     * ({@link CbaRealType#SIZE},{@link CbaRealType#DECIMALS}).
+     * @param val The value to manage to fit in the field ({@link CbaRealType#SIZE},{@link CbaRealType#DECIMALS}).
      *
      * @return A new copy of a BigDecimal appropriately edited to fit within the constraints of this element.
      */
-    private BigDecimal editedBigDecimal(final String val) {
-        BigDecimal rv = new BigDecimal(val);
+    private BigDecimal editedBigDecimal(final BigDecimal val) {
+        BigDecimal rv = val;
 
         if (CbaDecimal.UNRESTRICTED != getSize()) {
             rv = rv.remainder(BigDecimal.TEN.pow(getSize() - getDecimals()));
             rv = rv.setScale(getDecimals(), RoundingMode.FLOOR);
         }
 
-        LogManager.getLogger(BigDecimal.class).debug("Trimming value '" + val + 
+        if (LogManager.getLogger(BigDecimal.class).isDebugEnabled()) {
+            LogManager.getLogger(BigDecimal.class).debug("Trimming value '" + val + 
                     "' to (" + getSize() + "," + getDecimals() + "), resulting in a value of " + rv.toString());
+        }
 
         return rv;
     }
@@ -114,29 +205,367 @@ public class CbaDecimal extends CbaFixedPointType {
 
     /**
      * Assign a new String value to this element.  This function edits it to fit in this element's size restrictions 
-     * (if any).  Finally the value is updated with a new BigDecimal instance.
+     * (if any).  Finally the value is updated, either as a scaled long or with a new BigDecimal instance.
      * 
      * @param v the new value to assign
+     * @throws NumberFormatException When {@code v} is not a valid representation of a decimal number.
      */
     public void assign(String v) { 
+        if (null == v) throw new NumberFormatException("null");
+
+        ParseStatus status = assign(v, 0, v.length());
+        if (status == ParseStatus.EMPTY || status == ParseStatus.INVALID) {
+            throw new NumberFormatException("For input string: \"" + v + "\"");
+        }
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Assign a decimal number held in a range of characters without throwing.  The accepted form is the same as
+     * {@link BigDecimal#BigDecimal(String)}: an optional sign, digits with an optional decimal point, and an 
+     * optional exponent.  The value is then edited to fit the element exactly as {@link #editedBigDecimal(BigDecimal)}
+     * does: the most significant integer digits are dropped and extra decimal places are removed with 
+     * {@link RoundingMode#FLOOR}.  For a compact element this is all done on the digits themselves, 
+     * building the scaled long directly.
+     * 
+     * @param val The characters to parse.
+     * @param start The index of the first character to parse.
+     * @param end The index one past the last character to parse.
+     * @return {@link ParseStatus#OK} if assigned exactly, {@link ParseStatus#TRUNCATED} if digits were dropped to
+     * fit, or the reason it was not assigned (in which case the value is unchanged).
+     */
+    public ParseStatus assign(CharSequence val, int start, int end) {
         if (isReadOnly()) {
             LogManager.getLogger(this.getClass()).warn("Unable to assign to a read-only field; ignoring assignment");
-            return;
+            return ParseStatus.READ_ONLY;
+        }
+
+        if (null == val || start >= end) return ParseStatus.EMPTY;
+
+        // -- first pass: check the form and find the parts
+        int pos = start;
+        char ch = val.charAt(pos);
+        boolean isNeg = (ch == '-');
+        if (ch == '-' || ch == '+') pos ++;
+
+        int mantStart = pos;
+        int point = -1;
+        int digits = 0;
+
+        for ( ; pos < end; pos ++) {
+            ch = val.charAt(pos);
+            if (ch >= '0' && ch <= '9') digits ++;
+            else if (ch == '.' && point < 0) point = pos;
+            else break;
+        }
+
+        int mantEnd = pos;
+        if (digits == 0) return ParseStatus.INVALID;
+
+        long exp = 0;
+        if (pos < end) {
+            ch = val.charAt(pos);
+            if (ch != 'e' && ch != 'E') return ParseStatus.INVALID;
+
+            boolean expNeg = false;
+            if (++ pos < end && ((ch = val.charAt(pos)) == '-' || ch == '+')) {
+                expNeg = (ch == '-');
+                pos ++;
+            }
+
+            if (pos == end) return ParseStatus.INVALID;
+
+            for ( ; pos < end; pos ++) {
+                int digit = val.charAt(pos) - '0';
+                if (digit < 0 || digit > 9) return ParseStatus.INVALID;
+                exp = exp * 10 + digit;
+                if (exp > Integer.MAX_VALUE) return ParseStatus.INVALID;
+            }
+
+            if (expNeg) exp = -exp;
         }
 
-        value = editedBigDecimal(v); 
+        if (!isCompact()) {
+            try {
+                return assign(new BigDecimal(val.subSequence(start, end).toString()));
+            } catch (NumberFormatException | ArithmeticException e) {
+                return ParseStatus.INVALID;
+            }
+        }
+
+        // -- second pass: place each digit by its power of ten, keeping only those that fit
+        int scale = getDecimals();
+        int intPlaces = getSize() - scale;
+        long place = (point < 0 ? mantEnd - mantStart : point - mantStart) - 1 + exp;
+        long mag = 0;
+        boolean dropped = false;
+
+        for (pos = mantStart; pos < mantEnd; pos ++) {
+            ch = val.charAt(pos);
+            if (ch == '.') continue;
+
+            int digit = ch - '0';
+
+            if (place >= intPlaces) {
+                if (digit != 0) dropped = true;
+            } else if (place >= -scale) {
+                mag += digit * CbaDigits.POW10[(int)(place + scale)];
+            } else if (digit != 0) {
+                dropped = true;
+                if (isNeg) mag ++;          // RoundingMode.FLOOR moves a negative value away from zero
+                break;
+            }
+
+            place --;
+        }
+
+        unscaled = (isNeg ? -mag : mag);
         setDirty();
+
+        if (LogManager.getLogger(BigDecimal.class).isDebugEnabled()) {
+            LogManager.getLogger(BigDecimal.class).debug("Trimming value '" + val.subSequence(start, end) + 
+                    "' to (" + getSize() + "," + getDecimals() + "), resulting in a value of " + toString());
+        }
+
+        return (dropped ? ParseStatus.TRUNCATED : ParseStatus.OK);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Assign a BigDecimal value to this element, editing it to fit exactly as {@link #editedBigDecimal(BigDecimal)}
+     * does.
+     * 
+     * @param val The new value to assign.
+     * @return {@link ParseStatus#OK} if assigned exactly, {@link ParseStatus#TRUNCATED} if digits were dropped to
+     * fit, or the reason it was not assigned (in which case the value is unchanged).
+     */
+    public ParseStatus assign(BigDecimal val) {
+        if (isReadOnly()) {
+            LogManager.getLogger(this.getClass()).warn("Unable to assign to a read-only field; ignoring assignment");
+            return ParseStatus.READ_ONLY;
+        }
+
+        if (null == val) return ParseStatus.EMPTY;
+
+        BigDecimal rv = editedBigDecimal(val);
+
+        if (isCompact()) unscaled = rv.unscaledValue().longValue();
+        else value = rv;
+
+        hash = 0;
+
+        setDirty();
+        return (rv.compareTo(val) == 0 ? ParseStatus.OK : ParseStatus.TRUNCATED);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Assign a scaled long to this element: the value assigned is {@code unscaledVal} &times; 
+     * 10<sup>-scale</sup>.  This is edited to fit exactly as {@link #editedBigDecimal(BigDecimal)} does, but a 
+     * compact element does so entirely in long arithmetic.  This is how {@link DecimalAccumulator} delivers 
+     * its results without creating a BigDecimal.
+     * 
+     * @param unscaledVal The unscaled value to assign.
+     * @param scale The number of decimal places in {@code unscaledVal}; must not be negative.
+     * @return {@link ParseStatus#OK} if assigned exactly, {@link ParseStatus#TRUNCATED} if digits were dropped to
+     * fit, or the reason it was not assigned (in which case the value is unchanged).
+     */
+    public ParseStatus assignUnscaled(long unscaledVal, int scale) {
+        if (scale < 0) throw new IllegalArgumentException("Negative scale " + scale);
+        if (!isCompact()) return assign(BigDecimal.valueOf(unscaledVal, scale));
+
+        if (isReadOnly()) {
+            LogManager.getLogger(this.getClass()).warn("Unable to assign to a read-only field; ignoring assignment");
+            return ParseStatus.READ_ONLY;
+        }
+
+        // -- the remainder keeps the integer places of the field plus every decimal place of the value
+        long places = (long)getSize() - getDecimals() + scale;
+        long rem = (places < CbaDigits.POW10.length ? unscaledVal % CbaDigits.POW10[(int)places] : unscaledVal);
+        boolean dropped = (rem != unscaledVal);
+
+        int diff = scale - getDecimals();
+        long rv;
+
+        if (diff <= 0) {
+            rv = rem * CbaDigits.POW10[-diff];
+        } else if (diff < CbaDigits.POW10.length) {
+            rv = Math.floorDiv(rem, CbaDigits.POW10[diff]);
+            dropped |= (rv * CbaDigits.POW10[diff] != rem);
+        } else {
+            rv = (rem < 0 ? -1 : 0);
+            dropped |= (rem != 0);
+        }
+
+        unscaled = rv;
+        setDirty();
+        return (dropped ? ParseStatus.TRUNCATED : ParseStatus.OK);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The access method for the value of this element.  A compact element creates the BigDecimal on demand.
+     * 
+     * @return The value of this element as a BigDecimal.
+     */
+    public BigDecimal getValue() {
+        return (isCompact() ? BigDecimal.valueOf(unscaled, getDecimals()) : value);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The value as a BigDecimal; see {@link #getValue()}.
+     * 
+     * @return The value of this element.
+     */
+    @Override
+    public final BigDecimal asDecimal() { return getValue(); }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The {@link Descriptor#COMPACT} access method.
+     * 
+     * @return Whether this element holds its value as a scaled long.
+     */
+    boolean isCompact() { return ((Descriptor)getDescriptor()).COMPACT; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The {@link #unscaled} access method.  This is only meaningful when the element {@link #isCompact()}.
+     * 
+     * @return The value of this element multiplied by 10<sup>DECIMALS</sup>.
+     */
+    long getUnscaled() { return unscaled; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Does a compact value print in plain notation?  {@link BigDecimal#toString()} switches to scientific
+     * notation when the adjusted exponent is less than -6, which can only happen here with more than 6 decimals.
+     * 
+     * @return Whether the value can be rendered directly from {@link #unscaled}.
+     */
+    private boolean isPlain() {
+        int scale = getDecimals();
+        return (scale == 0 || CbaDigits.digitCount(unscaled) - 1 - scale >= -6);
     }
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * Create a string representation of this element.
+     * Create a string representation of this element.  This is the same as {@link BigDecimal#toString()} of the 
+     * value.
      * 
      * @return A new String representation of the element.
      */
-    public String toString() { return value.toString(); }
+    public String toString() { 
+        if (!isCompact()) return value.toString(); 
+        if (!isPlain()) return getValue().toString();
+
+        char[] buf = new char[formattedLength()];
+        writeTo(buf, 0);
+        return new String(buf);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Calculate the number of characters that {@link #toString()} will produce for the current value.
+     * 
+     * @return The formatted length of this element.
+     */
+    public int formattedLength() {
+        if (!isCompact() || !isPlain()) return toString().length();
+
+        int scale = getDecimals();
+        long intPart = Math.abs(unscaled) / CbaDigits.POW10[scale];
+        int rv = CbaDigits.digitCount(intPart) + (scale > 0 ? scale + 1 : 0);
+
+        return (unscaled < 0 ? rv + 1 : rv);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Render this value into a caller-supplied buffer.  A compact element renders directly from the
+     * scaled long without any allocation.  The buffer must have at least {@link #formattedLength()} characters 
+     * available from {@code off}.
+     * 
+     * @param buf The buffer into which to render the value.
+     * @param off The index in {@code buf} of the first character to write.
+     * @return The index one past the last character written.
+     */
+    public int writeTo(char[] buf, int off) {
+        if (!isCompact() || !isPlain()) {
+            String str = toString();
+            str.getChars(0, str.length(), buf, off);
+            return off + str.length();
+        }
+
+        int scale = getDecimals();
+        long mag = Math.abs(unscaled);
+        long intPart = mag / CbaDigits.POW10[scale];
+        int pos = off;
+
+        if (unscaled < 0) buf[pos ++] = '-';
+
+        pos += CbaDigits.digitCount(intPart);
+        CbaDigits.writeDigits(intPart, pos, buf);
+
+        if (scale > 0) {
+            buf[pos ++] = '.';
+            pos = CbaDigits.writeFixed(mag % CbaDigits.POW10[scale], scale, pos, buf);
+        }
+
+        return pos;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Append this value to a StringBuilder.  A compact element appends directly from the scaled long 
+     * without any intermediate allocation.
+     * 
+     * @param sb The StringBuilder to which to append the value.
+     * @return The StringBuilder {@code sb}, for chaining.
+     */
+    public StringBuilder appendTo(StringBuilder sb) {
+        if (!isCompact() || !isPlain()) return sb.append(toString());
+
+        int scale = getDecimals();
+        long mag = Math.abs(unscaled);
+
+        if (unscaled < 0) sb.append('-');
+        sb.append(mag / CbaDigits.POW10[scale]);
+
+        if (scale > 0) {
+            long frac = mag % CbaDigits.POW10[scale];
+            sb.append('.');
+            CbaDigits.appendZeros(sb, scale - CbaDigits.digitCount(frac));
+            sb.append(frac);
+        }
+
+        return sb;
+    }
 
 
     //---------------------------------------------------------------------------------------------------------------
@@ -146,6 +575,9 @@ public class CbaDecimal extends CbaFixedPointType {
      * any table name or field name or size constraints.  Omitting these extra comparisons is relevant since the 
      * a database field will be compared to a variable to see if the values are the same, and they may not be the 
      * exact same type.  We still want to be able to determine that equality.
+     * <p>
+     * As with {@link BigDecimal#equals(Object)}, the scale is part of the value, so {@code 1.50} and {@code 1.500} 
+     * are not equal.  Use {@link #compareTo(CbaDecimal)} to compare numerically.
      * 
      * @param obj The object against which to evaluate equality.
      * @return Whether the value and the object represent the same thing.
@@ -157,7 +589,188 @@ public class CbaDecimal extends CbaFixedPointType {
             return false;
         }
 
-        return (((CbaDecimal)obj).value.equals(value));
+        CbaDecimal other = (CbaDecimal)obj;
+        if (isCompact() && other.isCompact()) {
+            return (other.unscaled == unscaled && other.getDecimals() == getDecimals());
+        }
+
+        return (other.getValue().equals(getValue()));
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Hash the value.  Like {@link #equals(Object)}, this hashes the unscaled value and the scale, so a 
+     * compact value hashes alike with the same value held in a BigDecimal.  The hash of a BigDecimal is
+     * kept until the next assignment.
+     * 
+     * @return The hash of the value.
+     */
+    public long hash64() {
+        if (isCompact()) return CbaHash.ofLong(CbaHash.ofLong(unscaled) + getDecimals());
+        if (0 != hash) return hash;
+
+        BigInteger mag = value.unscaledValue();
+        long h;
+
+        if (mag.bitLength() < 64) {
+            h = CbaHash.ofLong(mag.longValue());
+        } else {
+            byte[] b = mag.toByteArray();
+            h = CbaHash.ofBytes(b, 0, b.length);
+        }
+
+        hash = CbaHash.ofLong(h + value.scale());
+        return hash;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The value as the default of the column holds it: the scaled long when the value is compact, or the 
+     * BigDecimal, which is immutable and so is shared rather than copied.
+     * 
+     * @return The value, boxed when it is compact.
+     */
+    @Override
+    final Object heldValue() { return (isCompact() ? (Object)unscaled : value); }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Restore a value held by {@link #heldValue()}.
+     * 
+     * @param held The value to restore.
+     */
+    @Override
+    final void restoreValue(Object held) {
+        if (isCompact()) unscaled = (Long)held;
+        else value = (BigDecimal)held;
+
+        hash = 0;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Put the value in its binary form.  A compact value is its scaled long as a zig-zagged varint; any other is 
+     * its scale as a zig-zagged varint and then its unscaled value in two's complement, prefixed by its length.
+     * 
+     * @param buf The buffer into which to put the value.
+     */
+    @Override
+    final void writeValue(ByteBuffer buf) {
+        if (isCompact()) {
+            CbaVarint.putSigned(buf, unscaled);
+            return;
+        }
+
+        byte[] mag = value.unscaledValue().toByteArray();
+
+        CbaVarint.putSigned(buf, value.scale());
+        CbaVarint.putUnsigned(buf, mag.length);
+        buf.put(mag);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get the value from its binary form; see {@link #writeValue(ByteBuffer)}.
+     * 
+     * @param buf The buffer from which to get the value.
+     */
+    @Override
+    final void readValue(ByteBuffer buf) {
+        hash = 0;
+
+        if (isCompact()) {
+            unscaled = CbaVarint.getSigned(buf);
+            return;
+        }
+
+        long scale = CbaVarint.getSigned(buf);
+        byte[] mag = new byte[CbaVarint.getLength(buf)];
+
+        if (scale != (int)scale || mag.length == 0) throw new IllegalArgumentException("Malformed decimal");
+
+        buf.get(mag);
+        value = new BigDecimal(new BigInteger(mag), (int)scale);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The width of the slot: 8 bytes for the scaled long of a compact value; any other varies in width.
+     * 
+     * @return The number of bytes in the slot, or 0.
+     */
+    @Override
+    final int slotWidth() { return (isCompact() ? 8 : 0); }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Put the scaled long of a compact value in its slot.
+     * 
+     * @param buf The buffer holding the slot.
+     * @param off The index in {@code buf} of the slot.
+     */
+    @Override
+    final void writeSlot(ByteBuffer buf, int off) { buf.putLong(off, unscaled); }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get a compact value from its slot; see {@link #writeSlot(ByteBuffer, int)}.
+     * 
+     * @param buf The buffer holding the slot.
+     * @param off The index in {@code buf} of the slot.
+     */
+    @Override
+    final void readSlot(ByteBuffer buf, int off) {
+        unscaled = buf.getLong(off);
+        hash = 0;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Compare this element numerically to another.  Two compact elements are compared on their scaled 
+     * longs, rescaling the one with fewer decimals when it can be done without overflow.
+     * 
+     * @param other The element to which to compare.
+     * @return A negative number, zero, or a positive number as this value is less than, equal to, or greater than 
+     * the value of {@code other}.
+     */
+    public int compareTo(CbaDecimal other) {
+        if (isCompact() && other.isCompact()) {
+            int diff = getDecimals() - other.getDecimals();
+
+            if (diff == 0) {
+                return Long.compare(unscaled, other.unscaled);
+            } else if (diff > 0) {
+                long mult = CbaDigits.POW10[diff];
+                if (Math.abs(other.unscaled) <= Long.MAX_VALUE / mult) {
+                    return Long.compare(unscaled, other.unscaled * mult);
+                }
+            } else {
+                long mult = CbaDigits.POW10[-diff];
+                if (Math.abs(unscaled) <= Long.MAX_VALUE / mult) {
+                    return Long.compare(unscaled * mult, other.unscaled);
+                }
+            }
+        }
+
+        return getValue().compareTo(other.getValue());
     }
 
 
@@ -0,0 +1,197 @@
+//===================================================================================================================
+// CbaDictionary.java -- A dictionary of the values of a low-cardinality character column
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+// Columns such as a type, a character set or a collation name hold a handful of distinct values, yet every row
+// read holds its own copy of the String.  A dictionary-encoded CbaVarchar instead holds an int code into the
+// dictionary of its column, so that every row with the same value shares a single String and two values are
+// compared by comparing their codes.  Each column has a dictionary of its own, so that a column with many distinct
+// values cannot fill the dictionary of another.
+//
+// A dictionary only grows: a code, once given, always stands for the same value.  It is bounded, and once full it
+// refuses new values; a field then holds the value itself, as it would without a dictionary.  Lookups are lock
+// free; adding a value is serialized so that codes are handed out densely.
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+//    Date     Programmer    Version    Comment
+// ----------  ----------  -----------  ----------------------------------------------------------------------------
+// 2026-10-16     adcl       v0.1.0     Initial version
+// 2026-10-17     adcl       v0.1.0     Drop the shared default dictionary; give null no code
+//
+//===================================================================================================================
+
+
+package com.eryjus.cba.types;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+
+//-------------------------------------------------------------------------------------------------------------------
+
+/**
+ * A bounded, thread-safe dictionary that maps the values of character fields to dense int codes.  A dictionary is 
+ * shared by every element of the column built with it; {@link CbaVarchar.Builder#setDictionaryEncoded(boolean)} 
+ * and {@link CbaVarchar.Builder#setDictionaryCapacity(int)} build one for each column.
+ *
+ * @author Adam Clark
+ * @since v0.1.0
+ */
+public final class CbaDictionary {
+    /**
+     * The code returned when a value cannot be added because the dictionary is full.
+     */
+    public static final int NO_CODE = -1;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The number of values held by the dictionary of a column built with 
+     * {@link CbaVarchar.Builder#setDictionaryEncoded(boolean)}.
+     */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The most values this dictionary will hold.
+     */
+    private final int CAPACITY;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The code of each value.
+     */
+    private final ConcurrentHashMap<String, Integer> CODES;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The value of each code.
+     */
+    private final AtomicReferenceArray<String> VALUES;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The number of values that could not be added because the dictionary was full.
+     */
+    private final LongAdder OVERFLOWS = new LongAdder();
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The number of values in the dictionary, which is also the next code to hand out.  It is only changed while
+     * holding the lock on this dictionary.
+     */
+    private volatile int size;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Create a new, empty dictionary.
+     *
+     * @param capacity The most values the dictionary will hold.
+     * @throws IllegalArgumentException When {@code capacity} is not positive.
+     */
+    public CbaDictionary(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("A dictionary must hold at least one value");
+
+        CAPACITY = capacity;
+        CODES = new ConcurrentHashMap<>(Math.min(capacity, 64));
+        VALUES = new AtomicReferenceArray<>(capacity);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The {@link #CAPACITY} access method.
+     *
+     * @return The most values this dictionary will hold.
+     */
+    public int getCapacity() { return CAPACITY; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The {@link #size} access method.
+     *
+     * @return The number of values in the dictionary.
+     */
+    public int size() { return size; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The {@link #OVERFLOWS} access method.
+     *
+     * @return The number of times a value could not be added because the dictionary was full.
+     */
+    public long getOverflows() { return OVERFLOWS.sum(); }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get the code of a value, adding the value to the dictionary if it is not already there and there is room.  The
+     * empty value is a value like any other and takes a code; null is no value and has none.
+     *
+     * @param val The value to look up.
+     * @return The code of the value, or {@link #NO_CODE} if the value is null, or if it is not in the dictionary 
+     * and the dictionary is full.
+     */
+    public int encode(String val) {
+        if (null == val) return NO_CODE;
+
+        Integer code = CODES.get(val);
+        if (null != code) return code;
+
+        if (size < CAPACITY) {
+            synchronized (this) {
+                code = CODES.get(val);
+                if (null != code) return code;
+
+                int n = size;
+                if (n < CAPACITY) {
+                    // -- publish the value before the code so that anyone holding the code can decode it
+                    VALUES.set(n, val);
+                    size = n + 1;
+                    CODES.put(val, n);
+                    return n;
+                }
+            }
+        }
+
+        OVERFLOWS.increment();
+        return NO_CODE;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get the value of a code.
+     *
+     * @param code A code returned by {@link #encode(String)}.
+     * @return The value the code stands for.
+     * @throws IndexOutOfBoundsException When the code was not handed out by this dictionary.
+     */
+    public String decode(int code) {
+        if (code < 0 || code >= size) throw new IndexOutOfBoundsException("Unknown dictionary code " + code);
+        return VALUES.get(code);
+    }
+}
@@ -0,0 +1,212 @@
+//===================================================================================================================
+// CbaDigits.java -- Allocation-free decimal digit rendering shared by the formatting paths
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+// The CBA types are formatted millions of times in report and export jobs.  Going through Long.toString() and
+// String concatenation leaves a trail of garbage behind every value.  This class holds the lookup tables and
+// the routines to render digits straight into a caller-supplied char[], two digits at a time.
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+//    Date     Programmer    Version    Comment
+// ----------  ----------  -----------  ----------------------------------------------------------------------------
+// 2026-10-16     adcl       v0.1.0     Initial version
+// 2026-10-16     adcl       v0.1.0     Add the POW10 table for the scaled-long decimals
+//
+//===================================================================================================================
+
+
+package com.eryjus.cba.types;
+
+import java.util.Arrays;
+
+
+//-------------------------------------------------------------------------------------------------------------------
+
+/**
+ * A collection of static helpers to render decimal digits without allocating.  All of the routines work with the
+ * magnitude of the value held as a negative {@code long} so that {@link Long#MIN_VALUE} needs no special case.
+ *
+ * @author Adam Clark
+ * @since v0.1.0
+ */
+final class CbaDigits {
+    /**
+     * The tens digit of every number from 0 to 99.
+     */
+    private static final char[] DIGIT_TENS = new char[100];
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The ones digit of every number from 0 to 99.
+     */
+    private static final char[] DIGIT_ONES = new char[100];
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * A run of zeros long enough to pad the widest display size we will render.  This is appended from directly,
+     * so padding never builds an intermediate String.
+     */
+    static final char[] ZEROS = new char[256];
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The decimal digits of the magnitude of {@link Long#MIN_VALUE}, which cannot be negated.
+     */
+    static final String MIN_LONG_DIGITS = "9223372036854775808";
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Every power of ten that fits in a {@code long}: {@code POW10[n]} is 10<sup>n</sup> for n from 0 to 18.
+     */
+    static final long[] POW10 = new long[19];
+
+
+    static {
+        for (int i = 0; i < 100; i ++) {
+            DIGIT_TENS[i] = (char)('0' + i / 10);
+            DIGIT_ONES[i] = (char)('0' + i % 10);
+        }
+
+        Arrays.fill(ZEROS, '0');
+
+        POW10[0] = 1;
+        for (int i = 1; i < POW10.length; i ++) POW10[i] = POW10[i - 1] * 10;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * This class is never instantiated.
+     */
+    private CbaDigits() {}
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Count the number of decimal digits in the magnitude of a value.
+     *
+     * @param val The value to measure; the sign is ignored.
+     * @return The number of digits needed to render the magnitude of {@code val}, at least 1.
+     */
+    static int digitCount(long val) {
+        long neg = (val < 0 ? val : -val);
+        long p = -10;
+
+        for (int i = 1; i < 19; i ++) {
+            if (neg > p) return i;
+            p = 10 * p;
+        }
+
+        return 19;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Write the digits of the magnitude of a value into a buffer, ending just before {@code end}.  The digits are
+     * written right to left, two at a time, from the pair tables.  No sign is written.
+     *
+     * @param val The value to render; the sign is ignored.
+     * @param end The index one past the last digit to write.
+     * @param buf The buffer to write into.
+     * @return The index of the first (most significant) digit written.
+     */
+    static int writeDigits(long val, int end, char[] buf) {
+        long q = (val < 0 ? val : -val);
+        int pos = end;
+
+        while (q <= Integer.MIN_VALUE) {
+            long q2 = q / 100;
+            int r = (int)(q2 * 100 - q);
+            q = q2;
+            buf[-- pos] = DIGIT_ONES[r];
+            buf[-- pos] = DIGIT_TENS[r];
+        }
+
+        int iq = (int)q;
+        while (iq <= -100) {
+            int q2 = iq / 100;
+            int r = q2 * 100 - iq;
+            iq = q2;
+            buf[-- pos] = DIGIT_ONES[r];
+            buf[-- pos] = DIGIT_TENS[r];
+        }
+
+        if (iq <= -10) {
+            buf[-- pos] = DIGIT_ONES[-iq];
+            buf[-- pos] = DIGIT_TENS[-iq];
+        } else {
+            buf[-- pos] = (char)('0' - iq);
+        }
+
+        return pos;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Write exactly {@code width} digits of a non-negative value into a buffer, padding with leading zeros.  This
+     * is the building block for fixed-layout fields such as fractions and the parts of a date or time.
+     *
+     * @param val The non-negative value to render; it must fit in {@code width} digits.
+     * @param width The number of digits to write.
+     * @param off The index of the first digit to write.
+     * @param buf The buffer to write into.
+     * @return The index one past the last digit written.
+     */
+    static int writeFixed(long val, int width, int off, char[] buf) {
+        int end = off + width;
+        int pos = writeDigits(val, end, buf);
+        while (pos > off) buf[-- pos] = '0';
+        return end;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Append {@code count} zeros to a StringBuilder without building an intermediate String.
+     *
+     * @param sb The StringBuilder to append to.
+     * @param count The number of zeros to append.
+     */
+    static void appendZeros(StringBuilder sb, int count) {
+        while (count > 0) {
+            int n = Math.min(count, ZEROS.length);
+            sb.append(ZEROS, 0, n);
+            count -= n;
+        }
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Append the digits of the magnitude of a value to a StringBuilder.  {@link StringBuilder#append(long)} writes
+     * straight into the builder's own storage, so only {@link Long#MIN_VALUE} needs help.
+     *
+     * @param sb The StringBuilder to append to.
+     * @param val The value to render; the sign is ignored.
+     */
+    static void appendDigits(StringBuilder sb, long val) {
+        if (val == Long.MIN_VALUE) {
+            sb.append(MIN_LONG_DIGITS);
+        } else {
+            sb.append(val < 0 ? -val : val);
+        }
+    }
+}
@@ -10,12 +10,23 @@
 //    Date     Programmer    Version    Comment
 // ----------  ----------  -----------  ----------------------------------------------------------------------------
 // 2018-03-31     adcl       v0.1.0     Initial version
+// 2026-10-16     adcl       v0.1.0     Trim arithmetically; fix the endless recursion in assign(String)
+// 2026-10-16     adcl       v0.1.0     Shortest round-trip formatting and fast parsing with CbaRealDigits
+// 2026-10-16     adcl       v0.1.0     Add hash64()
+// 2026-10-16     adcl       v0.1.0     Build on a shared descriptor; add newInstance()
+// 2026-10-16     adcl       v0.1.0     Restore the default with copyValue()
+// 2026-10-16     adcl       v0.1.0     Add store() and asDouble() for CbaConversion
+// 2026-10-16     adcl       v0.1.0     Set the indicated type
+// 2026-10-16     adcl       v0.1.0     Add the binary form
+// 2026-10-16     adcl       v0.1.0     Add the fixed-width slot
+// 2026-10-17     adcl       v0.1.0     Hold the default as an immutable value rather than in an element
 //
 //===================================================================================================================
 
 
 package com.eryjus.cba.types;
 
+import java.nio.ByteBuffer;
 import java.sql.SQLException;
 
 import org.apache.logging.log4j.LogManager;
@@ -34,6 +45,11 @@ import org.apache.logging.log4j.LogManager;
  */
 class CbaDouble extends CbaFloatingPointType {
     public static class Builder extends CbaFloatingPointType.Builder<Builder> {
+        public Builder() {
+            setIndicatedType(CbaType.IndicatedType.CBA_DOUBLE);
+        }
+
+
         /**
          * Return this in the proper type
          */
@@ -78,11 +94,34 @@ class CbaDouble extends CbaFloatingPointType {
      * @param builder the class from which this instance will be initialized
      */
     public CbaDouble(Builder builder) {
-        super(builder);
+        this(new Descriptor(builder));
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Construct an element on the attributes of its column.
+     * 
+     * @param column The attributes of the column, which may be shared with other elements.
+     */
+    private CbaDouble(Descriptor column) {
+        super(column);
         value = 0;
     }
 
 
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Make a new element for the same column, sharing this element's descriptor.
+     * 
+     * @return The new element.
+     */
+    @Override
+    public CbaDouble newInstance() { return new CbaDouble((Descriptor)getDescriptor()); }
+
+
     //---------------------------------------------------------------------------------------------------------------
 
     /**
@@ -95,6 +134,17 @@ class CbaDouble extends CbaFloatingPointType {
     }
 
 
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The value as a double, which is how it is held.
+     * 
+     * @return The value of this instance.
+     */
+    @Override
+    public final double asDouble() { return value; }
+
+
     //---------------------------------------------------------------------------------------------------------------
 
     /**
@@ -118,49 +168,99 @@ class CbaDouble extends CbaFloatingPointType {
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * Trim the newly assigned {@link #value} to the number of digits and the number of decimal places
+     * Assign a new double value to {@link #value}.  Then, {@link #trim(double, boolean)} the value and then set the 
+     * field to be dirty.
+     * 
+     * @param v The value to assign.
      */
-    private void trim() {
-        CbaDecimal wrk = new CbaDecimal.Builder().setSize(getSize(), getDecimals()).build();
-        wrk.assign(new Double(value).toString());
-        assign(wrk.toString());
+    public void assign(double v) {
+        if (isReadOnly()) {
+            LogManager.getLogger(this.getClass()).warn("Unable to assign to a read-only field; ignoring assignment");
+            return;
+        }
+
+        value = trim(v, false);
+        setDirty();
     }
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * Assign a new double value to {@link #value}.  Then, {@link #trim()} the value and then set the field to be 
-     * dirty.
+     * Assign a new String value to {@link #value}.  This is done by first converting the String to a {@code double} 
+     * with {@link CbaRealDigits}, which accepts everything {@link Double#parseDouble(String)} does.  Then, 
+     * {@link #trim(double, boolean)} the value and then set the field to be dirty.
      * 
-     * @param v The value to assign.
+     * @param v A String representation of the value to assign.
+     * @throws NumberFormatException When {@code v} is not a valid representation of a number.
      */
-    public void assign(double v) {
+    @Override
+    public void assign(String v) {
+        if (null == v) throw new NumberFormatException("null");
+
+        ParseStatus status = assign(v, 0, v.length());
+        if (status == ParseStatus.EMPTY || status == ParseStatus.INVALID) {
+            throw new NumberFormatException("For input string: \"" + v + "\"");
+        }
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Assign a number held in a range of characters without throwing.  The characters are converted directly with
+     * {@link CbaRealDigits#parseDoubleBits(CharSequence, int, int)} and then {@link #trim(double, boolean)} the value.
+     * 
+     * @param val The characters to parse.
+     * @param start The index of the first character to parse.
+     * @param end The index one past the last character to parse.
+     * @return {@link ParseStatus#OK} if assigned exactly, {@link ParseStatus#TRUNCATED} if the value was trimmed to
+     * fit, or the reason it was not assigned (in which case the value is unchanged).
+     */
+    public ParseStatus assign(CharSequence val, int start, int end) {
         if (isReadOnly()) {
             LogManager.getLogger(this.getClass()).warn("Unable to assign to a read-only field; ignoring assignment");
-            return;
+            return ParseStatus.READ_ONLY;
         }
 
-        value = v;
-        trim();
-        setDirty();
+        if (null == val || start >= end) return ParseStatus.EMPTY;
+
+        long bits = CbaRealDigits.parseDoubleBits(val, start, end);
+        if (bits == CbaRealDigits.INVALID_DOUBLE) return ParseStatus.INVALID;
+
+        return store(Double.longBitsToDouble(bits));
     }
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * Assign a new String value to {@link #value}.  This is done by first converting the String to a {@code double}. 
-     * Then, {@link #trim()} the value and then set the field to be dirty.
+     * Store a double, trimmed to fit, and set the field to be dirty.
      * 
-     * @param v A String representation of the value to assign.
+     * @param v The value to store.
+     * @return {@link ParseStatus#OK} if stored as it is, or {@link ParseStatus#TRUNCATED} if it was trimmed.
      */
     @Override
-    public void assign(String v) {
-        assign(Double.valueOf(v));
+    final ParseStatus store(double v) {
+        value = trim(v, false);
+        setDirty();
+
+        return (value == v || Double.isNaN(v) ? ParseStatus.OK : ParseStatus.TRUNCATED);
     }
 
 
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Store a long, rounded to a double and then trimmed, and set the field to be dirty.
+     * 
+     * @param v The value to store.
+     * @return The status of the store.
+     */
+    @Override
+    final ParseStatus store(long v) { return store((double)v); }
+
+
     //---------------------------------------------------------------------------------------------------------------
 
     /**
@@ -184,14 +284,147 @@ class CbaDouble extends CbaFloatingPointType {
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * Convert this value to a string representation, carefully taking care of signed numbers and zero-filled 
-     * numbers.
+     * Hash the bits of the value.  Since {@code 0.0 == -0.0}, both zeros hash alike.
+     * 
+     * @return The hash of the value.
+     */
+    public long hash64() {
+        return CbaHash.ofLong(value == 0 ? 0 : Double.doubleToLongBits(value));
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The value as the default of the column holds it.
+     * 
+     * @return The value, boxed.
+     */
+    @Override
+    final Object heldValue() { return value; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Restore a value held by {@link #heldValue()}.
+     * 
+     * @param held The value to restore.
+     */
+    @Override
+    final void restoreValue(Object held) { value = (Double)held; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Put the value in its binary form: the 8 bytes of the double, bit for bit.
+     * 
+     * @param buf The buffer into which to put the value.
+     */
+    @Override
+    final void writeValue(ByteBuffer buf) { buf.putDouble(value); }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get the value from its binary form; see {@link #writeValue(ByteBuffer)}.
+     * 
+     * @param buf The buffer from which to get the value.
+     */
+    @Override
+    final void readValue(ByteBuffer buf) { value = buf.getDouble(); }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The width of the slot: 8 bytes.
+     * 
+     * @return The number of bytes in the slot.
+     */
+    @Override
+    final int slotWidth() { return 8; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Put the value in its slot, bit for bit.
+     * 
+     * @param buf The buffer holding the slot.
+     * @param off The index in {@code buf} of the slot.
+     */
+    @Override
+    final void writeSlot(ByteBuffer buf, int off) { buf.putDouble(off, value); }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get the value from its slot; see {@link #writeSlot(ByteBuffer, int)}.
+     * 
+     * @param buf The buffer holding the slot.
+     * @param off The index in {@code buf} of the slot.
+     */
+    @Override
+    final void readSlot(ByteBuffer buf, int off) { value = buf.getDouble(off); }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Convert this value to a string representation in the layout of {@link Double#toString(double)}, with the 
+     * fewest digits that read back to the same value.
      * 
      * @return A String representation of {@link #value}.
      */
     @Override
     public String toString() {
-        return new Double(value).toString();
+        return CbaRealDigits.toString(value);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Calculate the number of characters that {@link #toString()} will produce for the current value.
+     * 
+     * @return The formatted length of this element.
+     */
+    public int formattedLength() {
+        return CbaRealDigits.writeDouble(value, scratch(), 0);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Render this value into a caller-supplied buffer without any allocation.  The buffer must have at least 
+     * {@link #formattedLength()} characters available from {@code off}.
+     * 
+     * @param buf The buffer into which to render the value.
+     * @param off The index in {@code buf} of the first character to write.
+     * @return The index one past the last character written.
+     */
+    public int writeTo(char[] buf, int off) {
+        return CbaRealDigits.writeDouble(value, buf, off);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Append this value to a StringBuilder, rendering it through the buffer of the thread (see
+     * {@link #scratch()}).
+     * 
+     * @param sb The StringBuilder to which to append the value.
+     * @return The StringBuilder {@code sb}, for chaining.
+     */
+    public StringBuilder appendTo(StringBuilder sb) {
+        char[] buf = scratch();
+        return sb.append(buf, 0, CbaRealDigits.writeDouble(value, buf, 0));
     }
 
 
@@ -12,6 +12,7 @@
 //    Date     Programmer    Version    Comment
 // ----------  ----------  -----------  ----------------------------------------------------------------------------
 // 2018-03-25     adcl       v0.1.0     Initial version
+// 2026-10-16     adcl       v0.1.0     Build on a shared descriptor
 //
 //===================================================================================================================
 
@@ -42,7 +43,7 @@ abstract class CbaFixedPointType extends CbaRealType {
     /**
      * This is the default constructor for a fixed point number.
      */    
-    CbaFixedPointType(Builder<?> builder) {
-        super(builder);
+    CbaFixedPointType(Descriptor column) {
+        super(column);
     }
 }
\ No newline at end of file
@@ -5,17 +5,31 @@
 //
 // All CBA floating point data types will be derived from this class.  
 //
+// This class also holds the trimming of a value to the size and decimals of the field.  The value is trimmed as
+// if it were assigned to a CbaDecimal of the same size through its shortest String form, but this is done on the
+// value itself with the power-of-ten tables.  Only a value that cannot be trimmed exactly that way goes through
+// BigDecimal.
+//
 // -----------------------------------------------------------------------------------------------------------------
 //
 //    Date     Programmer    Version    Comment
 // ----------  ----------  -----------  ----------------------------------------------------------------------------
 // 2018-03-31     adcl       v0.1.0     Initial version
+// 2026-10-16     adcl       v0.1.0     Arithmetic trim() to the size and decimals
+// 2026-10-16     adcl       v0.1.0     Add a scratch buffer for the allocation-free appendTo()
+// 2026-10-16     adcl       v0.1.0     Build on a shared descriptor
+// 2026-10-16     adcl       v0.1.0     Add store() for CbaConversion
+// 2026-10-16     adcl       v0.1.0     Trim integer places past the power-of-ten table through BigDecimal
+// 2026-10-16     adcl       v0.1.0     Hold the scratch buffer per thread rather than per element
 //
 //===================================================================================================================
 
 
 package com.eryjus.cba.types;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
 
 //-------------------------------------------------------------------------------------------------------------------
 // class CbaFloatingPointType:
@@ -36,7 +50,145 @@ abstract class CbaFloatingPointType extends CbaRealType {
     /**
      * This is the default constructor for a fixed point number.
      */    
-    CbaFloatingPointType(Builder<?> builder) {
-        super(builder);
+    CbaFloatingPointType(Descriptor column) {
+        super(column);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The largest scaled value that is trimmed with long arithmetic.  This keeps every scaled value that is not an 
+     * integer well clear of the precision of a {@code double}.
+     */
+    private static final double MAX_SCALED = 0x1p50;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * A buffer in which to render the value for {@code appendTo()} and {@code formattedLength()}.  Holding it per 
+     * thread rather than per element keeps a cache full of rows free of the buffers, and appending a value to a 
+     * report line still does not allocate.
+     */
+    private static final ThreadLocal<char[]> SCRATCH = 
+            ThreadLocal.withInitial(() -> new char[CbaRealDigits.MAX_DOUBLE_CHARS]);
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The {@link #SCRATCH} access method.  The buffer is only good until the next call on the same thread.
+     * 
+     * @return A buffer of at least {@link CbaRealDigits#MAX_DOUBLE_CHARS} characters.
+     */
+    static char[] scratch() { return SCRATCH.get(); }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Store a double, rounded to the precision of the type, then trimmed to fit, and set the field to be dirty.  
+     * This does not check whether the field is read-only.
+     * 
+     * @param v The value to store.
+     * @return {@link ParseStatus#OK} if stored as rounded, or {@link ParseStatus#TRUNCATED} if it was trimmed.
+     */
+    abstract ParseStatus store(double v);
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Store a long, rounded to the precision of the type, then trimmed to fit, and set the field to be dirty.  
+     * This does not check whether the field is read-only.
+     * 
+     * @param v The value to store.
+     * @return {@link ParseStatus#OK} if stored as rounded, or {@link ParseStatus#TRUNCATED} if it was trimmed.
+     */
+    abstract ParseStatus store(long v);
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Trim a value to the number of digits and the number of decimal places of this element.  The result is the 
+     * same as assigning the shortest String form of the value to a {@link CbaDecimal} of the same size: the most 
+     * significant integer digits are dropped and the extra decimal places are removed with 
+     * {@link RoundingMode#FLOOR}.
+     * <p>
+     * The shortest String form is never built.  The value is scaled by 10<sup>DECIMALS</sup> and the nearest 
+     * integer is checked against the rounding interval of the value; when that integer maps back to the same 
+     * {@code float} or {@code double}, the shortest form has no more than DECIMALS places and nothing is removed.  
+     * Otherwise no scaled integer lies in the interval, so the shortest form and the value itself floor to the same
+     * scaled integer.  A value too wide for that reasoning is trimmed through BigDecimal.
+     * 
+     * @param val The value to trim.  NaN and the infinities are returned as they are.
+     * @param single Whether the value is a {@code float}, whose rounding interval is wider than a {@code double}.
+     * @return The trimmed value.
+     */
+    final double trim(double val, boolean single) {
+        int size = getSize();
+        int decimals = getDecimals();
+
+        if (size == UNRESTRICTED || decimals == UNRESTRICTED || Double.isNaN(val) || Double.isInfinite(val)) {
+            return val;
+        }
+
+        if (decimals >= CbaDigits.POW10.length) return trimExact(val, single);
+
+        double pow = CbaDigits.POW10[decimals];
+        double mag = Math.abs(val);
+        double scaled = mag * pow;
+        double width = (single ? Math.ulp((float)mag) : Math.ulp(mag)) * pow;
+
+        if (width >= 1) {
+            // -- a scaled integer lies within the rounding interval, so there are no extra decimal places to remove;
+            //    only integer places past the table need BigDecimal to tell whether any are dropped
+            if (size - decimals < CbaDigits.POW10.length && mag < CbaDigits.POW10[size - decimals]) return val;
+            return trimExact(val, single);
+        }
+
+        if (!(scaled < MAX_SCALED)) return trimExact(val, single);
+
+        long near = (long)Math.rint(scaled);
+        double nearVal = near / pow;
+        long rv;
+        boolean exact;
+
+        if (single ? (float)nearVal == (float)mag : nearVal == mag) {
+            rv = near;
+            exact = true;
+        } else {
+            double floor = Math.floor(scaled);
+            rv = (floor != scaled ? (long)floor : (mag < nearVal ? near - 1 : near));
+            exact = false;
+        }
+
+        if (size < CbaDigits.POW10.length) rv %= CbaDigits.POW10[size];
+        if (val < 0 && !exact) rv ++;           // RoundingMode.FLOOR moves a negative value away from zero
+
+        if (rv == 0) return 0;
+        return (val < 0 ? -(rv / pow) : rv / pow);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Trim a value through its shortest String form and BigDecimal.  This is only used for values that are too 
+     * wide to trim with long arithmetic.
+     * 
+     * @param val The value to trim.
+     * @param single Whether the value is a {@code float}.
+     * @return The trimmed value.
+     */
+    private double trimExact(double val, boolean single) {
+        BigDecimal rv = new BigDecimal(single ? Float.toString((float)val) : Double.toString(val));
+
+        rv = rv.remainder(BigDecimal.ONE.scaleByPowerOfTen(getSize() - getDecimals()));
+        rv = rv.setScale(getDecimals(), RoundingMode.FLOOR);
+
+        return (single ? rv.floatValue() : rv.doubleValue());
     }
 }
\ No newline at end of file
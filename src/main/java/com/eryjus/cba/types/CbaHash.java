@@ -0,0 +1,153 @@
+//===================================================================================================================
+// CbaHash.java -- The 64-bit hashes behind CbaType.hash64() and hashCode()
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+// Each type hashes its value in the form it already holds: the integer and temporal types hash a long, the real
+// types the bits of the number and the character types the UTF-8 bytes of the value.  Hashing the UTF-8 bytes (and
+// not the chars of a String) means a value held as bytes is hashed without decoding it, and a value held as a
+// String is hashed a piece at a time without encoding all of it at once.
+//
+// A long is finished with the SplitMix64 mixer; bytes go through FNV-1a and are then finished the same way.  Every
+// bit of the result depends on every bit of the input, so the hash is as good in its low bits (for a hash table) as
+// in its high bits (for a sketch).
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+//    Date     Programmer    Version    Comment
+// ----------  ----------  -----------  ----------------------------------------------------------------------------
+// 2026-10-16     adcl       v0.1.0     Initial version
+//
+//===================================================================================================================
+
+
+package com.eryjus.cba.types;
+
+
+//-------------------------------------------------------------------------------------------------------------------
+
+/**
+ * A collection of static helpers to hash values in 64 bits.
+ *
+ * @author Adam Clark
+ * @since v0.1.0
+ */
+final class CbaHash {
+    /**
+     * This is a static helper class and cannot be instantiated.
+     */
+    private CbaHash() {}
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The FNV-1a offset basis.
+     */
+    private static final long FNV_BASIS = 0xcbf29ce484222325L;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The FNV-1a prime.
+     */
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Hash a long.
+     *
+     * @param v The long to hash.
+     * @return The hash.
+     */
+    static long ofLong(long v) { return mix(v + 0x9e3779b97f4a7c15L); }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Hash a range of bytes.
+     *
+     * @param b The bytes to hash.
+     * @param off The index of the first byte.
+     * @param len The number of bytes.
+     * @return The hash.
+     */
+    static long ofBytes(byte[] b, int off, int len) { return mix(update(FNV_BASIS, b, off, len)); }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Hash characters as their UTF-8 bytes, as {@link #ofBytes(byte[], int, int)} would hash the bytes.  The
+     * characters are encoded a piece at a time.
+     *
+     * @param val The characters to hash.
+     * @return The hash.
+     */
+    static long ofUtf8(CharSequence val) {
+        byte[] buf = new byte[Math.min(1024, 3 * val.length() + 4)];
+        int len = val.length();
+        long h = FNV_BASIS;
+        int i = 0;
+
+        while (i < len) {
+            long measured = CbaUtf8.measure(val, i, len, Integer.MAX_VALUE, buf.length);
+            int end = CbaUtf8.endOf(measured);
+
+            h = update(h, buf, 0, CbaUtf8.encode(val, i, end, buf, 0));
+            i = end;
+        }
+
+        return mix(h);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Fold a 64-bit hash to 32 bits for {@link Object#hashCode()}.
+     *
+     * @param h The hash.
+     * @return The folded hash.
+     */
+    static int fold(long h) { return (int)(h ^ (h >>> 32)); }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Add a range of bytes to an FNV-1a hash.
+     *
+     * @param h The hash so far.
+     * @param b The bytes to add.
+     * @param off The index of the first byte.
+     * @param len The number of bytes.
+     * @return The hash with the bytes added.
+     */
+    private static long update(long h, byte[] b, int off, int len) {
+        for (int i = off, end = off + len; i < end; i ++) {
+            h = (h ^ (b[i] & 0xff)) * FNV_PRIME;
+        }
+
+        return h;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The SplitMix64 finishing mixer.
+     *
+     * @param z The bits to mix.
+     * @return The mixed bits.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
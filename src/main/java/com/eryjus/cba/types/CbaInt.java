@@ -14,6 +14,8 @@
 //    Date     Programmer    Version    Comment
 // ----------  ----------  -----------  ----------------------------------------------------------------------------
 // 2018-03-30     adcl       v0.1.0     Initial version
+// 2026-10-16     adcl       v0.1.0     Build on a shared descriptor; add newInstance()
+// 2026-10-16     adcl       v0.1.0     Set the indicated type to CBA_INT
 //
 //===================================================================================================================
 
@@ -37,7 +39,7 @@ public class CbaInt extends CbaIntegerType {
      */
     public static class Builder extends CbaIntegerType.Builder<Builder> {
         public Builder() {
-            setIndicatedType(CbaType.IndicatedType.CBA_SMALL_INT);
+            setIndicatedType(CbaType.IndicatedType.CBA_INT);
             setSize(DEFAULT_SIZE);
             setDefaultValue(DEFAULT_VALUE);
             setMinVal(MIN);
@@ -85,41 +87,32 @@ public class CbaInt extends CbaIntegerType {
      * @param builder the builder class for this instance.
      */
     public CbaInt(Builder builder) {
-        super(builder);
-        setValue(0);
+        this(new Descriptor(builder));
     }
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * Trim the newly assigned {@link #value} to 32-bits.  This critical function must distinguish between signed  
-     * and unsigned numbers and manage the value properly.
+     * Construct an element on the attributes of its column.
+     * 
+     * @param column The attributes of the column, which may be shared with other elements.
      */
-    void trim() {
-        if ((getValue() & 0xffffffff) == 0x80000000) {
-            setValue(0x80000000);
-        } else {
-            boolean isNeg = (getValue() < 0 ? true : false);
-            if (isNeg) setValue(-getValue());
-            setValue(getValue() & 0x7fffffff);
-            if (isNeg) setValue(-getValue());
-        }
+    private CbaInt(Descriptor column) {
+        super(column);
+        setValue(0);
     }
 
 
     //---------------------------------------------------------------------------------------------------------------
-    // assign(String):
+
     /**
-     * Assign a new String value to {@link #value}.  This is done by first converting the String to a {@code long}. 
-     * Then, {@link #trim()} the value and then set the field to be dirty.
+     * Make a new element for the same column, sharing this element's descriptor.
      * 
-     * @param v A String representation of the value to assign.
+     * @return The new element.
      */
     @Override
-    public void assign(String v) {
-        assign(Long.valueOf(v));
-    }
+    public CbaInt newInstance() { return new CbaInt((Descriptor)getDescriptor()); }
 
 
     //---------------------------------------------------------------------------------------------------------------
@@ -10,12 +10,24 @@
 //    Date     Programmer    Version    Comment
 // ----------  ----------  -----------  ----------------------------------------------------------------------------
 // 2018-03-29     adcl       v0.1.0     Initial version
+// 2026-10-16     adcl       v0.1.0     Allocation-free formatting with appendTo() and writeTo()
+// 2026-10-16     adcl       v0.1.0     Table-driven range engine with overflow-checked arithmetic
+// 2026-10-16     adcl       v0.1.0     Add hash64()
+// 2026-10-16     adcl       v0.1.0     Move the column attributes to a shared Descriptor
+// 2026-10-16     adcl       v0.1.0     Restore the default with copyValue()
+// 2026-10-16     adcl       v0.1.0     assign(CbaType) moves to CbaType; add asLong()
+// 2026-10-16     adcl       v0.1.0     Add the binary form: a byte or a varint, by the range of the column
+// 2026-10-16     adcl       v0.1.0     Add the fixed-width slot, by the range of the column
+// 2026-10-16     adcl       v0.1.0     Fit text past the ends of a long by the overflow policy
+// 2026-10-17     adcl       v0.1.0     Hold the default as an immutable value rather than in an element
 //
 //===================================================================================================================
 
 
 package com.eryjus.cba.types;
 
+import java.nio.ByteBuffer;
+
 import org.apache.logging.log4j.LogManager;
 
 //-------------------------------------------------------------------------------------------------------------------
@@ -32,6 +44,7 @@ abstract class CbaIntegerType extends CbaType {
         private long minVal = 0;
         private long maxVal = 0;
         private int size = 0;
+        private OverflowPolicy overflowPolicy = OverflowPolicy.WRAP;
 
         
         /**
@@ -68,14 +81,73 @@ abstract class CbaIntegerType extends CbaType {
             maxVal = val;
             return getThis();
         }
+
+
+        /**
+         * Set what happens to values outside of the minimum and maximum values.
+         */
+        public T setOverflowPolicy(OverflowPolicy policy) {
+            overflowPolicy = policy;
+            return getThis();
+        }
     }
 
 
     /**
-     * For integers that are zer filled, this is a string of zeros that will be used to fill the left side of the
-     * integer.  This string is big enough to cover the largest permitted decimal number.
+     * The attributes of an integer column.
      */
-    private static final String ZEROS = "00000000000000000000000000000000000000000000000000000000000000000";
+    static final class Descriptor extends FieldDescriptor {
+        /**
+         * When outputting this integer, zero fill to the left of the most significant digit until {@link #SIZE} 
+         * digits have been printed?
+         */
+        final boolean ZERO_FILL;
+
+        /**
+         * The minimum value allowed for the column.
+         */
+        final long MIN_VALUE;
+
+        /**
+         * The maximum value allowed for the column.
+         */
+        final long MAX_VALUE;
+
+        /**
+         * When {@link #MIN_VALUE} and {@link #MAX_VALUE} describe a whole signed bit width (as all the MySQL 
+         * integer types do), this is the mask of the magnitude bits and {@link OverflowPolicy#WRAP} keeps the 
+         * low-order bits of the magnitude.  Otherwise, this is 0 and {@link OverflowPolicy#WRAP} wraps modulo the 
+         * span of the range.
+         */
+        final long MAGNITUDE_MASK;
+
+        /**
+         * What to do with a value outside of {@link #MIN_VALUE} and {@link #MAX_VALUE}.
+         */
+        final OverflowPolicy OVERFLOW_POLICY;
+
+        /**
+         * The minimum number of printed digits.  This value does not specify the maximum number of printed digits.
+         * Nor does it have any impact on the values that can be stored in the integer.
+         */
+        final int SIZE;
+
+
+        Descriptor(Builder<?> builder) {
+            super(builder);
+            MIN_VALUE = builder.minVal;
+            MAX_VALUE = builder.maxVal;
+            SIZE = builder.size;
+            ZERO_FILL = builder.zeroFill;
+            OVERFLOW_POLICY = (null == builder.overflowPolicy ? OverflowPolicy.WRAP : builder.overflowPolicy);
+
+            if (MAX_VALUE > 0 && (MAX_VALUE & (MAX_VALUE + 1)) == 0 && MIN_VALUE == -MAX_VALUE - 1) {
+                MAGNITUDE_MASK = MAX_VALUE;
+            } else {
+                MAGNITUDE_MASK = 0;
+            }
+        }
+    }
 
 
     //---------------------------------------------------------------------------------------------------------------
@@ -97,123 +169,235 @@ abstract class CbaIntegerType extends CbaType {
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * When outputting this integer, zero fill to the left of the most significant digit until {@link #SIZE} digits 
-     * have been printed?
+     * The actual value of the element.
      */
-    private final boolean ZERO_FILL;
+    private long value;
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * The minimum value allowed for this particular object.
+     * Construct a new CbaIntegerType on the attributes of its column.
+     * 
+     * @param column The attributes of the column, which may be shared with other elements.
      */
-    private final long MIN_VALUE;
+    CbaIntegerType(Descriptor column) {
+        super(column);
+    }
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * The maximum value allowed for this particular object.
+     * The attributes of the column, as the integer types describe it.
+     * 
+     * @return The descriptor of this element.
      */
-    private final long MAX_VALUE;
+    private Descriptor column() { return (Descriptor)getDescriptor(); }
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * The minimum number of printed digits.  This value does not specify the maximum number of printed digits.  Nor
-     * does it have any impact on the values that can be stored in the integer.
+     * A hook for a subclass to map a candidate value before the range is enforced.  {@link CbaBoolean} uses this
+     * to turn any non-zero value into 1.
+     * 
+     * @param val The candidate value.
+     * @return The candidate value to be checked against the range.
      */
-    private final int SIZE;
+    long normalize(long val) {
+        return val;
+    }
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * The actual value of the element.
+     * Wrap an out-of-range value back into the range.  For a whole bit width, the low-order bits of the magnitude 
+     * are kept and the sign is preserved, so {@code 1234} becomes {@code 82} in a {@link CbaTinyInt}.  For any 
+     * other range, the value wraps modulo the span of the range.
+     * 
+     * @param val The out-of-range value.
+     * @return The wrapped value.
      */
-    private long value;
+    private long wrap(long val) {
+        Descriptor col = column();
+
+        if (col.MAGNITUDE_MASK != 0) {
+            long mag = (val < 0 ? -val : val) & col.MAGNITUDE_MASK;
+            return (val < 0 ? -mag : mag);
+        }
+
+        long span = col.MAX_VALUE - col.MIN_VALUE + 1;
+        if (span <= 0) return (val < col.MIN_VALUE ? col.MIN_VALUE : col.MAX_VALUE);
+
+        return col.MIN_VALUE + Math.floorMod(Math.floorMod(val, span) - Math.floorMod(col.MIN_VALUE, span), span);
+    }
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * Construct a new CbaCharType with the indicated size.
+     * The range engine.  Bring a candidate value into {@link Descriptor#MIN_VALUE} to {@link Descriptor#MAX_VALUE}
+     * according to the {@link Descriptor#OVERFLOW_POLICY} and store it, setting the field to be dirty.  The in-range
+     * case is a pair of compares.
      * 
-     * @param builder The builder class from which this instance will be built.
+     * @param val The candidate value.  When {@code overflow} is not 0, this is the candidate wrapped to 64 bits.
+     * @param overflow 0 when {@code val} is exact; otherwise the sign (-1 or 1) of the true result that did not fit 
+     * in a {@code long}.
+     * @return {@link ParseStatus#OK} if stored exactly, {@link ParseStatus#TRUNCATED} if wrapped or saturated, or
+     * {@link ParseStatus#OVERFLOW} if rejected and left unchanged.
      */
-    CbaIntegerType(Builder<?> builder) {
-        super(builder);
-        MIN_VALUE = builder.minVal;
-        MAX_VALUE = builder.maxVal;
-        SIZE = builder.size;
-        ZERO_FILL = builder.zeroFill;
+    final ParseStatus store(long val, int overflow) {
+        Descriptor col = column();
+        val = normalize(val);
+
+        if (overflow == 0 && val >= col.MIN_VALUE && val <= col.MAX_VALUE) {
+            value = val;
+            setDirty();
+            return ParseStatus.OK;
+        }
+
+        switch (col.OVERFLOW_POLICY) {
+            case REJECT:
+                return ParseStatus.OVERFLOW;
+
+            case SATURATE:
+                if (overflow != 0) value = (overflow < 0 ? col.MIN_VALUE : col.MAX_VALUE);
+                else value = (val < col.MIN_VALUE ? col.MIN_VALUE : col.MAX_VALUE);
+                break;
+
+            default:
+                if (overflow != 0 && col.MAGNITUDE_MASK != 0 && col.MAGNITUDE_MASK != Long.MAX_VALUE) {
+                    // -- the low-order bits of the magnitude survive the wrap to 64 bits, but the sign may not
+                    long mag = (overflow < 0 ? -val : val) & col.MAGNITUDE_MASK;
+                    value = (overflow < 0 ? -mag : mag);
+                } else {
+                    value = (val >= col.MIN_VALUE && val <= col.MAX_VALUE ? val : wrap(val));
+                }
+                break;
+        }
+
+        setDirty();
+        return ParseStatus.TRUNCATED;
     }
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * Zero fill a string representation of the integer to a minimum of {@link #SIZE} digits.  This function does 
-     * not check the validity of the integer; it merely prepends zeros to the left to the minimum size.
+     * Assign a new long value to {@link #value}.  Then, fit the value to the range according to the overflow 
+     * policy and then set the field to be dirty.
      * 
-     * @param val The integer representation of the integer to fill.
-     * @return A zero-filled integer.
+     * @param val The value to assign.
      */
-    final String fillWithZeros(final String val) {
-        boolean isNeg = false;
-        String wrk = val;
-
-        if (val.charAt(0) == '-') {
-            isNeg = true;
-            wrk = wrk.substring(1);
-        } else if (wrk.charAt(wrk.length() - 1) == '-') {
-            isNeg = true;
-            wrk = wrk.substring(0, wrk.length() - 1);
+    final public void assign(long val) {
+        if (isReadOnly()) {
+            LogManager.getLogger(this.getClass()).warn("Unable to assign to a read-only field; ignoring assignment");
+            return;
         }
 
-        // If the cleaned up length is good (less any '-' char), return the original value
-        if (wrk.length() >= SIZE) return val;
-
-        String rv = ZEROS + val;
-        rv = wrk.substring(wrk.length() - SIZE);
-        if (isNeg) rv = "-" + rv;
-        return rv;
+        if (store(val, 0) == ParseStatus.OVERFLOW) {
+            LogManager.getLogger(this.getClass()).warn("Value out of range for this field; ignoring assignment");
+        }
     }
 
 
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Add to {@link #value} in place, with no String round trip.  Overflow is detected exactly (including overflow
+     * of the {@code long} itself) and then handled by the overflow policy.
+     * 
+     * @param val The value to add.
+     * @return Whether the exact result was stored; false if it was wrapped, saturated or rejected, or if the field
+     * is read-only.
+     */
+    public final boolean add(long val) {
+        if (isReadOnly()) {
+            LogManager.getLogger(this.getClass()).warn("Unable to assign to a read-only field; ignoring assignment");
+            return false;
+        }
+
+        long rv = value + val;
+        int overflow = (((value ^ rv) & (val ^ rv)) < 0 ? (val < 0 ? -1 : 1) : 0);
+        return store(rv, overflow) == ParseStatus.OK;
+    }
+
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * Assign a new {@link CbaType} value to {@link #value}.  This is done by first converting the {@link CbaType} 
-     * to a {@code long}.  Then, {@link #trim()} the value and then set the field to be dirty.
+     * Subtract from {@link #value} in place, with no String round trip.  Overflow is detected exactly (including 
+     * overflow of the {@code long} itself) and then handled by the overflow policy.
      * 
-     * @param val The CBA value to assign.
+     * @param val The value to subtract.
+     * @return Whether the exact result was stored; false if it was wrapped, saturated or rejected, or if the field
+     * is read-only.
      */
-    public final void assign(CbaType val) {
-        assign(val.toString());
+    public final boolean subtract(long val) {
+        if (isReadOnly()) {
+            LogManager.getLogger(this.getClass()).warn("Unable to assign to a read-only field; ignoring assignment");
+            return false;
+        }
+
+        long rv = value - val;
+        int overflow = (((value ^ val) & (value ^ rv)) < 0 ? (value < 0 ? -1 : 1) : 0);
+        return store(rv, overflow) == ParseStatus.OK;
     }
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * Assign a new long value to {@link #value}.  Then, {@link #trim()} the value and then set the field to be 
-     * dirty.
+     * Multiply {@link #value} in place, with no String round trip.  Overflow is detected exactly (including 
+     * overflow of the {@code long} itself) and then handled by the overflow policy.
      * 
-     * @param val The value to assign.
+     * @param val The value by which to multiply.
+     * @return Whether the exact result was stored; false if it was wrapped, saturated or rejected, or if the field
+     * is read-only.
      */
-    final public void assign(long val) {
+    public final boolean multiply(long val) {
         if (isReadOnly()) {
             LogManager.getLogger(this.getClass()).warn("Unable to assign to a read-only field; ignoring assignment");
-            return;
+            return false;
         }
 
-        value = val;
-        trim();
-        setDirty();
+        long rv = value * val;
+        int overflow = 0;
+
+        // -- the same test as Math.multiplyExact(), without the exception
+        if (((Math.abs(value) | Math.abs(val)) >>> 31) != 0) {
+            if ((val != 0 && rv / val != value) || (value == Long.MIN_VALUE && val == -1)) {
+                overflow = ((value < 0) != (val < 0) ? -1 : 1);
+            }
+        }
+
+        return store(rv, overflow) == ParseStatus.OK;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Add 1 to {@link #value}; see {@link #add(long)}.
+     * 
+     * @return Whether the exact result was stored.
+     */
+    public final boolean increment() {
+        return add(1);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Subtract 1 from {@link #value}; see {@link #subtract(long)}.
+     * 
+     * @return Whether the exact result was stored.
+     */
+    public final boolean decrement() {
+        return subtract(1);
     }
 
 
@@ -221,7 +405,7 @@ abstract class CbaIntegerType extends CbaType {
 
     /**
      * Assign a new {@link Number} value to {@link #value}.  This is done by first converting the {@link Number} 
-     * to a {@code long}.  Then, {@link #trim()} the value and then set the field to be dirty.
+     * to a {@code long}.  Then, fit the value to the range and then set the field to be dirty.
      * 
      * @param v The Java numeric value to assign.
      */
@@ -230,43 +414,173 @@ abstract class CbaIntegerType extends CbaType {
     }
 
 
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Assign a new String value to {@link #value}.  This is done by first converting the String to a {@code long}.
+     * Then, fit the value to the range and then set the field to be dirty.
+     *
+     * @param val A String representation of the value to assign.
+     * @throws NumberFormatException When {@code val} is not an integer that fits in a {@code long}, or is out of
+     * range and rejected by {@link OverflowPolicy#REJECT}.  Use {@link #assign(CharSequence, int, int)} to get a 
+     * status instead.
+     */
+    @Override
+    public void assign(String val) {
+        if (null == val) throw new NumberFormatException("null");
+
+        ParseStatus status = assign(val, 0, val.length());
+        if (status != ParseStatus.OK && status != ParseStatus.TRUNCATED && status != ParseStatus.READ_ONLY) {
+            throw new NumberFormatException("For input string: \"" + val + "\"");
+        }
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Assign an integer held in a range of characters to {@link #value} without boxing and without throwing.  The
+     * accepted form is an optional '+' or '-' followed by one or more decimal digits; anything else is rejected
+     * with a status rather than an exception.  On success, the value is fit to the range and the field is set to 
+     * be dirty.  On failure, the value is left unchanged.  A value past the ends of a {@code long} is fit by the 
+     * {@link OverflowPolicy} as the arithmetic methods fit a result that overflows: wrapped from its low 64 bits,
+     * saturated by its sign, or rejected.
+     *
+     * @param val The characters to parse.
+     * @param start The index of the first character to parse.
+     * @param end The index one past the last character to parse.
+     * @return {@link ParseStatus#OK} if assigned exactly, {@link ParseStatus#TRUNCATED} if wrapped or saturated into
+     * range, or the reason it was not assigned.
+     */
+    public ParseStatus assign(CharSequence val, int start, int end) {
+        if (isReadOnly()) {
+            LogManager.getLogger(this.getClass()).warn("Unable to assign to a read-only field; ignoring assignment");
+            return ParseStatus.READ_ONLY;
+        }
+
+        if (null == val || start >= end) return ParseStatus.EMPTY;
+
+        int pos = start;
+        boolean isNeg = false;
+        char ch = val.charAt(pos);
+
+        if (ch == '-' || ch == '+') {
+            isNeg = (ch == '-');
+            if (++ pos == end) return ParseStatus.INVALID;
+        }
+
+        // -- accumulate negatively so that Long.MIN_VALUE is reachable; past a long, carry on wrapped to 64 bits
+        long limit = (isNeg ? Long.MIN_VALUE : -Long.MAX_VALUE);
+        long multLimit = limit / 10;
+        long acc = 0;
+        boolean overflow = false;
+
+        for ( ; pos < end; pos ++) {
+            int digit = val.charAt(pos) - '0';
+            if (digit < 0 || digit > 9) return ParseStatus.INVALID;
+
+            if (!overflow && (acc < multLimit || acc * 10 < limit + digit)) overflow = true;
+            acc = acc * 10 - digit;
+        }
+
+        return store(isNeg ? acc : -acc, (overflow ? (isNeg ? -1 : 1) : 0));
+    }
+
+
     //---------------------------------------------------------------------------------------------------------------
 
     /**
      * Convert this value to a string representation, carefully taking care of signed numbers and zero-filled 
-     * numbers.
+     * numbers.  The only allocation is the resulting String; see {@link #writeTo(char[], int)}.
      * 
      * @return A String representation of {@link #value}.
      */
     public String toString() {
-        String rv = new Long(getValue()).toString();
+        char[] buf = new char[formattedLength()];
+        writeTo(buf, 0);
+        return new String(buf);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
 
-        if (rv.length() >= getSize() || !isZeroFill()) {
-            return rv;
-        } else {
-            return fillWithZeros(rv);
+    /**
+     * Calculate the number of characters that {@link #toString()}, {@link #writeTo(char[], int)} and 
+     * {@link #appendTo(StringBuilder)} will produce for the current value.  When this instance is zero filled, the 
+     * digits are padded to a minimum of {@link Descriptor#SIZE}; any '-' sign is not counted against 
+     * {@link Descriptor#SIZE}.
+     * 
+     * @return The formatted length of {@link #value}.
+     */
+    public int formattedLength() {
+        Descriptor col = column();
+        int digits = CbaDigits.digitCount(value);
+        if (col.ZERO_FILL && digits < col.SIZE) digits = col.SIZE;
+        return (value < 0 ? digits + 1 : digits);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Render this value into a caller-supplied buffer without any intermediate allocation.  The buffer must have 
+     * at least {@link #formattedLength()} characters available from {@code off}.
+     * 
+     * @param buf The buffer into which to render the value.
+     * @param off The index in {@code buf} of the first character to write.
+     * @return The index one past the last character written.
+     */
+    public int writeTo(char[] buf, int off) {
+        int end = off + formattedLength();
+        int pos = CbaDigits.writeDigits(value, end, buf);
+        int first = (value < 0 ? off + 1 : off);
+
+        while (pos > first) buf[-- pos] = '0';
+        if (value < 0) buf[off] = '-';
+
+        return end;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Append this value to a StringBuilder without any intermediate allocation (beyond any growth of the builder 
+     * itself).  The result is the same as appending {@link #toString()}.
+     * 
+     * @param sb The StringBuilder to which to append the value.
+     * @return The StringBuilder {@code sb}, for chaining.
+     */
+    public StringBuilder appendTo(StringBuilder sb) {
+        if (value < 0) sb.append('-');
+
+        if (column().ZERO_FILL) {
+            CbaDigits.appendZeros(sb, column().SIZE - CbaDigits.digitCount(value));
         }
+
+        CbaDigits.appendDigits(sb, value);
+        return sb;
     }
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * The access method for the {@link #ZERO_FILL} attribute.
+     * The access method for the {@link Descriptor#ZERO_FILL} attribute.
      * 
      * @return Whether this instance is zero filled.
      */
-    final public boolean isZeroFill() { return ZERO_FILL; }
+    final public boolean isZeroFill() { return column().ZERO_FILL; }
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * The access method for the {@link #SIZE} attribute.
+     * The access method for the {@link Descriptor#SIZE} attribute.
      * 
-     * @return The minimum display size for this instance.  See also {@link #SIZE}.
+     * @return The minimum display size for this instance.  See also {@link Descriptor#SIZE}.
      */
-    final public int getSize() { return SIZE; }
+    final public int getSize() { return column().SIZE; }
 
 
     //---------------------------------------------------------------------------------------------------------------
@@ -281,6 +595,17 @@ abstract class CbaIntegerType extends CbaType {
     }
 
 
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The value as a long, which is how it is held.
+     * 
+     * @return The value of this instance.
+     */
+    @Override
+    public final long asLong() { return value; }
+
+
     //---------------------------------------------------------------------------------------------------------------
 
     /**
@@ -293,6 +618,135 @@ abstract class CbaIntegerType extends CbaType {
     }
 
 
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Hash the value.  Two integers are equal when their values are, so the value alone is hashed.
+     * 
+     * @return The hash of the value.
+     */
+    public final long hash64() { return CbaHash.ofLong(value); }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The value as the default of the column holds it.
+     * 
+     * @return The value, boxed.
+     */
+    @Override
+    final Object heldValue() { return value; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Restore a value held by {@link #heldValue()}.
+     * 
+     * @param held The value to restore.
+     */
+    @Override
+    final void restoreValue(Object held) { value = (Long)held; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Put the value in its binary form.  A column whose range spans no more than 256 values (a TINYINT or a 
+     * BOOLEAN) takes one byte, the offset from its minimum; any other takes a varint, zig-zagged when the column 
+     * allows negative values.
+     * 
+     * @param buf The buffer into which to put the value.
+     */
+    @Override
+    final void writeValue(ByteBuffer buf) {
+        Descriptor col = column();
+
+        if (Long.compareUnsigned(col.MAX_VALUE - col.MIN_VALUE, 0xff) <= 0) buf.put((byte)(value - col.MIN_VALUE));
+        else if (col.MIN_VALUE >= 0) CbaVarint.putUnsigned(buf, value);
+        else CbaVarint.putSigned(buf, value);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get the value from its binary form; see {@link #writeValue(ByteBuffer)}.
+     * 
+     * @param buf The buffer from which to get the value.
+     */
+    @Override
+    final void readValue(ByteBuffer buf) {
+        Descriptor col = column();
+
+        if (Long.compareUnsigned(col.MAX_VALUE - col.MIN_VALUE, 0xff) <= 0) value = col.MIN_VALUE + (buf.get() & 0xff);
+        else if (col.MIN_VALUE >= 0) value = CbaVarint.getUnsigned(buf);
+        else value = CbaVarint.getSigned(buf);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The width of the slot: the fewest of 1, 2, 4 or 8 bytes that hold every offset from the minimum value.
+     * 
+     * @return The number of bytes in the slot.
+     */
+    @Override
+    final int slotWidth() {
+        Descriptor col = column();
+        long range = col.MAX_VALUE - col.MIN_VALUE;
+
+        if (Long.compareUnsigned(range, 0xffL) <= 0) return 1;
+        if (Long.compareUnsigned(range, 0xffffL) <= 0) return 2;
+        if (Long.compareUnsigned(range, 0xffffffffL) <= 0) return 4;
+        return 8;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Put the offset of the value from the minimum value in its slot.
+     * 
+     * @param buf The buffer holding the slot.
+     * @param off The index in {@code buf} of the slot.
+     */
+    @Override
+    final void writeSlot(ByteBuffer buf, int off) {
+        long v = value - column().MIN_VALUE;
+
+        switch (slotWidth()) {
+            case 1:     buf.put(off, (byte)v);          break;
+            case 2:     buf.putShort(off, (short)v);    break;
+            case 4:     buf.putInt(off, (int)v);        break;
+            default:    buf.putLong(off, v);            break;
+        }
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get the value from its slot; see {@link #writeSlot(ByteBuffer, int)}.
+     * 
+     * @param buf The buffer holding the slot.
+     * @param off The index in {@code buf} of the slot.
+     */
+    @Override
+    final void readSlot(ByteBuffer buf, int off) {
+        long min = column().MIN_VALUE;
+
+        switch (slotWidth()) {
+            case 1:     value = min + (buf.get(off) & 0xffL);               break;
+            case 2:     value = min + (buf.getShort(off) & 0xffffL);        break;
+            case 4:     value = min + (buf.getInt(off) & 0xffffffffL);      break;
+            default:    value = min + buf.getLong(off);                     break;
+        }
+    }
+
+
     //---------------------------------------------------------------------------------------------------------------
 
     /**
@@ -300,7 +754,7 @@ abstract class CbaIntegerType extends CbaType {
      * 
      * @return The minimum value allowed for this instance
      */
-    public long getMinValue() { return MIN_VALUE; }
+    public long getMinValue() { return column().MIN_VALUE; }
 
 
     //---------------------------------------------------------------------------------------------------------------
@@ -310,14 +764,15 @@ abstract class CbaIntegerType extends CbaType {
      * 
      * @return The maximum value allowed for this instance
      */
-    public long getMaxValue() { return MAX_VALUE; }
+    public long getMaxValue() { return column().MAX_VALUE; }
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * Trim the newly assigned {@link #value} to 8-bits.  This critical function must distinguish between signed and 
-     * unsigned numbers and manage the value properly.
+     * The access method for the overflow policy of this object.
+     * 
+     * @return What happens to values outside of the minimum and maximum values for this instance
      */
-    abstract void trim();
+    public OverflowPolicy getOverflowPolicy() { return column().OVERFLOW_POLICY; }
 }
\ No newline at end of file
@@ -0,0 +1,308 @@
+//===================================================================================================================
+// CbaLz4.java -- A pure Java compressor for the LZ4 block format
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+// Large text values (JSON, XML, log text) repeat themselves a great deal, and a field may hold such a value
+// compressed to save memory (see CbaCharType).  This class writes and reads the LZ4 block format: a run of
+// sequences, each a token, some literal bytes, a 2-byte offset back into what is already decoded and a match length.
+// The compressor is the simple greedy one: a 4-byte hash into a table of 4096 positions, no chaining.  It trades
+// some ratio for speed, which is the right trade for values compressed on every assignment.
+//
+// The output of compress() depends on nothing but its input, so two equal values compress to equal bytes.
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+//    Date     Programmer    Version    Comment
+// ----------  ----------  -----------  ----------------------------------------------------------------------------
+// 2026-10-16     adcl       v0.1.0     Initial version
+//
+//===================================================================================================================
+
+
+package com.eryjus.cba.types;
+
+import java.util.Arrays;
+
+
+//-------------------------------------------------------------------------------------------------------------------
+
+/**
+ * A collection of static helpers to compress and decompress blocks in the LZ4 format.
+ *
+ * @author Adam Clark
+ * @since v0.1.0
+ */
+final class CbaLz4 {
+    /**
+     * This is a static helper class and cannot be instantiated.
+     */
+    private CbaLz4() {}
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The shortest match the format can express.
+     */
+    private static final int MIN_MATCH = 4;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The last match must start at least this many bytes before the end of the block.
+     */
+    private static final int MF_LIMIT = 12;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The last this many bytes of the block are always literals.
+     */
+    private static final int LAST_LITERALS = 5;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The farthest back a match may be.
+     */
+    private static final int MAX_DISTANCE = 65535;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The log2 of the number of entries in the hash table.
+     */
+    private static final int HASH_LOG = 12;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The hash table of each thread, holding one past the last position seen for each hash (0 for none).
+     */
+    private static final ThreadLocal<int[]> TABLE = ThreadLocal.withInitial(() -> new int[1 << HASH_LOG]);
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The most bytes that compressing a number of bytes can take.
+     *
+     * @param len The number of bytes to compress.
+     * @return The bound on the compressed size.
+     */
+    static int maxCompressedLength(int len) { return len + len / 255 + 16; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Compress a range of bytes into a single LZ4 block.
+     *
+     * @param src The bytes to compress.
+     * @param off The index of the first byte.
+     * @param len The number of bytes.
+     * @return A new array holding the block and nothing else.
+     */
+    static byte[] compress(byte[] src, int off, int len) {
+        byte[] dst = new byte[maxCompressedLength(len)];
+        int end = off + len;
+        int anchor = off;
+        int op = 0;
+
+        if (len > MF_LIMIT) {
+            int[] table = TABLE.get();
+            int mfLimit = end - MF_LIMIT;
+            int matchLimit = end - LAST_LITERALS;
+            int ip = off + 1;
+            int misses = 0;
+
+            // -- start clean, so that the output depends on the input alone
+            Arrays.fill(table, 0);
+            table[hash(readInt(src, off))] = off + 1;
+
+            while (ip <= mfLimit) {
+                int h = hash(readInt(src, ip));
+                int ref = table[h] - 1;
+
+                table[h] = ip + 1;
+
+                if (ref < off || ip - ref > MAX_DISTANCE || readInt(src, ref) != readInt(src, ip)) {
+                    // -- skip ahead faster through data that does not compress
+                    ip += 1 + (misses ++ >>> 6);
+                    continue;
+                }
+
+                misses = 0;
+
+                while (ip > anchor && ref > off && src[ip - 1] == src[ref - 1]) {
+                    ip --;
+                    ref --;
+                }
+
+                int mlen = MIN_MATCH;
+                while (ip + mlen < matchLimit && src[ip + mlen] == src[ref + mlen]) mlen ++;
+
+                op = writeSequence(dst, op, src, anchor, ip - anchor, ip - ref, mlen);
+                ip += mlen;
+                anchor = ip;
+
+                if (ip - 2 <= mfLimit) table[hash(readInt(src, ip - 2))] = ip - 1;
+            }
+        }
+
+        op = writeSequence(dst, op, src, anchor, end - anchor, 0, 0);
+        return Arrays.copyOf(dst, op);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Decompress a single LZ4 block.
+     *
+     * @param src The block.
+     * @param dst The array into which to decompress; it must be exactly the size of the original bytes.
+     * @throws IllegalArgumentException When the block is malformed or does not fill {@code dst}.
+     */
+    static void decompress(byte[] src, byte[] dst) {
+        int ip = 0;
+        int op = 0;
+
+        try {
+            while (true) {
+                int token = src[ip ++] & 0xff;
+                int lit = token >>> 4;
+
+                if (lit == 15) {
+                    int b;
+                    do {
+                        b = src[ip ++] & 0xff;
+                        lit += b;
+                    } while (b == 255);
+                }
+
+                System.arraycopy(src, ip, dst, op, lit);
+                ip += lit;
+                op += lit;
+
+                if (ip >= src.length) break;
+
+                int offset = (src[ip] & 0xff) | ((src[ip + 1] & 0xff) << 8);
+                int mlen = token & 15;
+
+                ip += 2;
+
+                if (mlen == 15) {
+                    int b;
+                    do {
+                        b = src[ip ++] & 0xff;
+                        mlen += b;
+                    } while (b == 255);
+                }
+
+                mlen += MIN_MATCH;
+
+                int ref = op - offset;
+                if (offset == 0 || ref < 0) throw new IllegalArgumentException("Malformed LZ4 block");
+
+                if (offset >= mlen) {
+                    System.arraycopy(dst, ref, dst, op, mlen);
+                    op += mlen;
+                } else {
+                    // -- an overlapping match repeats the bytes it is copying
+                    for (int i = 0; i < mlen; i ++) dst[op ++] = dst[ref ++];
+                }
+            }
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Malformed LZ4 block", e);
+        }
+
+        if (op != dst.length) throw new IllegalArgumentException("LZ4 block does not fill its buffer");
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Write a sequence: a token, the literals, and then the match unless it is the last sequence.
+     *
+     * @param dst The block being written.
+     * @param op The index in {@code dst} at which to write.
+     * @param src The bytes being compressed.
+     * @param lit The index in {@code src} of the first literal.
+     * @param litLen The number of literals.
+     * @param offset How far back the match is.
+     * @param mlen The length of the match, or 0 for the last sequence.
+     * @return The index in {@code dst} one past the sequence.
+     */
+    private static int writeSequence(byte[] dst, int op, byte[] src, int lit, int litLen, int offset, int mlen) {
+        int ml = (mlen == 0 ? 0 : mlen - MIN_MATCH);
+        int token = (Math.min(litLen, 15) << 4) | Math.min(ml, 15);
+
+        dst[op ++] = (byte)token;
+        if (litLen >= 15) op = writeLength(dst, op, litLen - 15);
+
+        System.arraycopy(src, lit, dst, op, litLen);
+        op += litLen;
+
+        if (mlen == 0) return op;
+
+        dst[op ++] = (byte)offset;
+        dst[op ++] = (byte)(offset >>> 8);
+        if (ml >= 15) op = writeLength(dst, op, ml - 15);
+
+        return op;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Write the rest of a length that did not fit in its token: a run of 255s and then the remainder.
+     *
+     * @param dst The block being written.
+     * @param op The index in {@code dst} at which to write.
+     * @param n The rest of the length.
+     * @return The index in {@code dst} one past the length.
+     */
+    private static int writeLength(byte[] dst, int op, int n) {
+        while (n >= 255) {
+            dst[op ++] = (byte)255;
+            n -= 255;
+        }
+
+        dst[op ++] = (byte)n;
+        return op;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Read 4 bytes as a little-endian int.
+     *
+     * @param src The bytes.
+     * @param i The index of the first byte.
+     * @return The int.
+     */
+    private static int readInt(byte[] src, int i) {
+        return (src[i] & 0xff) | ((src[i + 1] & 0xff) << 8) | ((src[i + 2] & 0xff) << 16) | (src[i + 3] << 24);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Hash 4 bytes into the table.
+     *
+     * @param v The 4 bytes as an int.
+     * @return The index into the table.
+     */
+    private static int hash(int v) { return (v * -1640531535) >>> (32 - HASH_LOG); }
+}
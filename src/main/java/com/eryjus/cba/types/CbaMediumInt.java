@@ -11,6 +11,8 @@
 //    Date     Programmer    Version    Comment
 // ----------  ----------  -----------  ----------------------------------------------------------------------------
 // 2018-03-30     adcl       v0.1.0     Initial version
+// 2026-10-16     adcl       v0.1.0     Build on a shared descriptor; add newInstance()
+// 2026-10-16     adcl       v0.1.0     Set the indicated type to CBA_MEDIUM_INT
 //
 //===================================================================================================================
 
@@ -37,7 +39,7 @@ public class CbaMediumInt extends CbaIntegerType {
      */
     static class Builder extends CbaIntegerType.Builder<Builder> {
         Builder() {
-            setIndicatedType(CbaType.IndicatedType.CBA_SMALL_INT);
+            setIndicatedType(CbaType.IndicatedType.CBA_MEDIUM_INT);
             setSize(DEFAULT_SIZE);
             setDefaultValue(DEFAULT_VALUE);
             setMinVal(MIN);
@@ -85,40 +87,32 @@ public class CbaMediumInt extends CbaIntegerType {
      * @param builder the class with all the required setup values
      */
     public CbaMediumInt(Builder builder) {
-        super(builder);
-        setValue(0);
+        this(new Descriptor(builder));
     }
 
 
     //---------------------------------------------------------------------------------------------------------------
-    // trim():
+
     /**
-     * Trim the newly assigned {@link #value} to 24-bits.  This critical function must distinguish between signed  
-     * and unsigned numbers and manage the value properly.
+     * Construct an element on the attributes of its column.
+     * 
+     * @param column The attributes of the column, which may be shared with other elements.
      */
-    void trim() {
-        if ((getValue() & 0xffffff) == 0x800000) {
-            setValue(0x800000);
-        } else {
-            boolean isNeg = (getValue() < 0 ? true : false);
-            if (isNeg) setValue(-getValue());
-            setValue(getValue() & 0x7fffff);
-            if (isNeg) setValue(-getValue());
-        }
+    private CbaMediumInt(Descriptor column) {
+        super(column);
+        setValue(0);
     }
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * Assign a new String value to {@link #value}.  This is done by first converting the String to a {@code long}. 
-     * Then, {@link #trim()} the value and then set the field to be dirty.
+     * Make a new element for the same column, sharing this element's descriptor.
      * 
-     * @param v A String representation of the value to assign.
+     * @return The new element.
      */
-     public void assign(String v) {
-        assign(Long.valueOf(v));
-    }
+    @Override
+    public CbaMediumInt newInstance() { return new CbaMediumInt((Descriptor)getDescriptor()); }
 
 
     //---------------------------------------------------------------------------------------------------------------
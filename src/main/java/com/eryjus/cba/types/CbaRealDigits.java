@@ -0,0 +1,857 @@
+//===================================================================================================================
+// CbaRealDigits.java -- Shortest round-trip formatting and fast parsing of float and double values
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+// Text export of the floating point columns spends most of its time in Double.toString(), and text import in
+// Double.parseDouble().  This class renders a float or double with the fewest digits that read back to the same
+// value (the Schubfach algorithm of Raffaello Giulietti) directly into a char[], in the same layout as
+// Double.toString() and Float.toString().  It also parses a decimal number from a CharSequence range with the
+// Clinger fast path and the Eisel-Lemire algorithm, going to the JDK only for the rare input that neither can
+// decide exactly.
+//
+// Both algorithms work from tables of 128-bit powers of ten.  Rather than carry several thousand literals in the
+// source, the tables are calculated once with BigInteger when the class is loaded.
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+//    Date     Programmer    Version    Comment
+// ----------  ----------  -----------  ----------------------------------------------------------------------------
+// 2026-10-16     adcl       v0.1.0     Initial version
+//
+//===================================================================================================================
+
+
+package com.eryjus.cba.types;
+
+import java.math.BigInteger;
+
+
+//-------------------------------------------------------------------------------------------------------------------
+
+/**
+ * A collection of static helpers to format and parse {@code float} and {@code double} values without the JDK's
+ * intermediate objects.  The formatted text is always the shortest decimal that reads back to the same value; when
+ * there is a choice of such decimals, the one closest to the value is used.
+ *
+ * @author Adam Clark
+ * @since v0.1.0
+ */
+final class CbaRealDigits {
+    /**
+     * The most characters that {@link #writeDouble(double, char[], int)} will write, as in
+     * {@code "-2.2250738585072014E-308"}.
+     */
+    static final int MAX_DOUBLE_CHARS = 24;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The most characters that {@link #writeFloat(float, char[], int)} will write, as in {@code "-1.17549435E-38"}.
+     */
+    static final int MAX_FLOAT_CHARS = 15;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The result of {@link #parseDoubleBits(CharSequence, int, int)} for characters that are not a number.  This is
+     * a NaN bit pattern that no parse ever produces, so it cannot be confused with a parsed {@code "NaN"}.
+     */
+    static final long INVALID_DOUBLE = -1L;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The result of {@link #parseFloatBits(CharSequence, int, int)} for characters that are not a number.
+     */
+    static final int INVALID_FLOAT = -1;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The range of decimal exponents k for which the formatting table holds 10<sup>-k</sup>.
+     */
+    private static final int K_MIN = -324;
+    private static final int K_MAX = 292;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The formatting table: for each k, the 126-bit g = floor(10<sup>-k</sup> 2<sup>-r</sup>) + 1 where r is chosen
+     * so that 2<sup>125</sup> &lt;= g &lt; 2<sup>126</sup>.  Each g is held as its upper and lower 63 bits.
+     */
+    private static final long[] G = new long[2 * (K_MAX - K_MIN + 1)];
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The range of decimal exponents q for which the parsing table holds 5<sup>q</sup>.  Outside of this range,
+     * every significand of 19 digits or less reads as zero or infinity.
+     */
+    private static final int Q_MIN = -342;
+    private static final int Q_MAX = 308;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The parsing table: for each q, 5<sup>q</sup> normalized to 128 bits (truncated for q &gt;= 0 and rounded up
+     * otherwise).  Each is held as its upper and lower 64 bits.
+     */
+    private static final long[] P5 = new long[2 * (Q_MAX - Q_MIN + 1)];
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The powers of ten that are exact as a {@code double}, for the Clinger fast path.
+     */
+    private static final double[] DOUBLE_POW10 = new double[23];
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The powers of ten that are exact as a {@code float}, for the Clinger fast path.
+     */
+    private static final float[] FLOAT_POW10 = new float[11];
+
+
+    static {
+        BigInteger mask63 = BigInteger.ONE.shiftLeft(63).subtract(BigInteger.ONE);
+
+        for (int k = K_MIN; k <= K_MAX; k ++) {
+            int r = flog2pow10(-k) - 125;
+            BigInteger g;
+
+            if (k <= 0) {
+                BigInteger pow = BigInteger.TEN.pow(-k);
+                g = (r >= 0 ? pow.shiftRight(r) : pow.shiftLeft(-r));
+            } else {
+                g = BigInteger.ONE.shiftLeft(-r).divide(BigInteger.TEN.pow(k));
+            }
+
+            g = g.add(BigInteger.ONE);
+            G[2 * (k - K_MIN)] = g.shiftRight(63).longValue();
+            G[2 * (k - K_MIN) + 1] = g.and(mask63).longValue();
+        }
+
+        BigInteger two128 = BigInteger.ONE.shiftLeft(128);
+        BigInteger two127 = BigInteger.ONE.shiftLeft(127);
+
+        for (int q = Q_MIN; q <= Q_MAX; q ++) {
+            BigInteger p;
+
+            if (q >= 0) {
+                p = BigInteger.valueOf(5).pow(q);
+                if (p.compareTo(two127) < 0) p = p.shiftLeft(128 - p.bitLength());
+                else p = p.shiftRight(p.bitLength() - 128);
+            } else {
+                BigInteger pow = BigInteger.valueOf(5).pow(-q);
+                int z = pow.bitLength();
+                int b = (q >= -27 ? z + 127 : 2 * z + 128);
+
+                p = BigInteger.ONE.shiftLeft(b).divide(pow).add(BigInteger.ONE);
+                if (p.compareTo(two128) >= 0) p = p.shiftRight(p.bitLength() - 128);
+            }
+
+            P5[2 * (q - Q_MIN)] = p.shiftRight(64).longValue();
+            P5[2 * (q - Q_MIN) + 1] = p.longValue();
+        }
+
+        DOUBLE_POW10[0] = 1;
+        for (int i = 1; i < DOUBLE_POW10.length; i ++) DOUBLE_POW10[i] = DOUBLE_POW10[i - 1] * 10;
+
+        FLOAT_POW10[0] = 1;
+        for (int i = 1; i < FLOAT_POW10.length; i ++) FLOAT_POW10[i] = FLOAT_POW10[i - 1] * 10;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * This class is never instantiated.
+     */
+    private CbaRealDigits() {}
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Format a double the way {@link Double#toString(double)} lays it out, but with the shortest digits.
+     *
+     * @param val The value to format.
+     * @return A new String holding the value.
+     */
+    static String toString(double val) {
+        char[] buf = new char[MAX_DOUBLE_CHARS];
+        return new String(buf, 0, writeDouble(val, buf, 0));
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Format a float the way {@link Float#toString(float)} lays it out, but with the shortest digits.
+     *
+     * @param val The value to format.
+     * @return A new String holding the value.
+     */
+    static String toString(float val) {
+        char[] buf = new char[MAX_FLOAT_CHARS];
+        return new String(buf, 0, writeFloat(val, buf, 0));
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Render a double into a caller-supplied buffer in the layout of {@link Double#toString(double)}: plain
+     * notation from 10<sup>-3</sup> up to 10<sup>7</sup> and computerized scientific notation otherwise, always
+     * with at least one digit after the decimal point.  The buffer must have {@link #MAX_DOUBLE_CHARS} available
+     * from {@code off}.
+     *
+     * @param val The value to render.
+     * @param buf The buffer into which to render the value.
+     * @param off The index in {@code buf} of the first character to write.
+     * @return The index one past the last character written.
+     */
+    static int writeDouble(double val, char[] buf, int off) {
+        long bits = Double.doubleToRawLongBits(val);
+        long t = bits & 0x000F_FFFF_FFFF_FFFFL;
+        int bq = (int)(bits >>> 52) & 0x7FF;
+
+        if (bq == 0x7FF) return writeSpecial(t != 0, bits < 0, buf, off);
+
+        int pos = off;
+        if (bits < 0) buf[pos ++] = '-';
+
+        if (bq != 0) {
+            int mq = 1075 - bq;
+            long c = (1L << 52) | t;
+
+            // -- an integer below 2^53 is its own shortest decimal
+            if (0 < mq && mq < 53) {
+                long f = c >> mq;
+                if (f << mq == c) return writeDecimal(f, 0, buf, pos);
+            }
+
+            return toDecimal(-mq, c, 0, buf, pos);
+        }
+
+        if (t != 0) {
+            // -- the smallest subnormals need one more digit to be told apart
+            return (t < 3 ? toDecimal(-1074, 10 * t, -1, buf, pos) : toDecimal(-1074, t, 0, buf, pos));
+        }
+
+        return writeZero(buf, pos);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Render a float into a caller-supplied buffer in the layout of {@link Float#toString(float)}.  The buffer must
+     * have {@link #MAX_FLOAT_CHARS} available from {@code off}.
+     *
+     * @param val The value to render.
+     * @param buf The buffer into which to render the value.
+     * @param off The index in {@code buf} of the first character to write.
+     * @return The index one past the last character written.
+     */
+    static int writeFloat(float val, char[] buf, int off) {
+        int bits = Float.floatToRawIntBits(val);
+        int t = bits & 0x007F_FFFF;
+        int bq = (bits >>> 23) & 0xFF;
+
+        if (bq == 0xFF) return writeSpecial(t != 0, bits < 0, buf, off);
+
+        int pos = off;
+        if (bits < 0) buf[pos ++] = '-';
+
+        if (bq != 0) {
+            int mq = 150 - bq;
+            int c = (1 << 23) | t;
+
+            if (0 < mq && mq < 24) {
+                int f = c >> mq;
+                if (f << mq == c) return writeDecimal(f, 0, buf, pos);
+            }
+
+            return toDecimal(-mq, c, 0, buf, pos);
+        }
+
+        if (t != 0) {
+            return (t < 8 ? toDecimal(-149, 10 * t, -1, buf, pos) : toDecimal(-149, t, 0, buf, pos));
+        }
+
+        return writeZero(buf, pos);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Find the shortest decimal for the double c &times; 2<sup>q</sup> and render it.
+     *
+     * @param q The binary exponent.
+     * @param c The binary significand.
+     * @param dk A correction to the decimal exponent, for a significand that was scaled by 10.
+     * @param buf The buffer into which to render the value.
+     * @param off The index in {@code buf} of the first character to write.
+     * @return The index one past the last character written.
+     */
+    private static int toDecimal(int q, long c, int dk, char[] buf, int off) {
+        int out = (int)c & 0x1;
+        long cb = c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+
+        // -- the interval is asymmetric at a power of two
+        if (c != (1L << 52) || q == -1074) {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        } else {
+            cbl = cb - 1;
+            k = flog10ThreeQuartersPow2(q);
+        }
+
+        int h = q + flog2pow10(-k) + 2;
+        long g1 = G[2 * (k - K_MIN)];
+        long g0 = G[2 * (k - K_MIN) + 1];
+
+        long vb = rop(g1, g0, cb << h);
+        long vbl = rop(g1, g0, cbl << h);
+        long vbr = rop(g1, g0, cbr << h);
+
+        long s = vb >> 2;
+        if (s >= 100) {
+            // -- one digit fewer, if a multiple of 10 lies in the rounding interval
+            long sp10 = 10 * (s / 10);
+            long tp10 = sp10 + 10;
+            boolean upin = vbl + out <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + out <= vbr;
+
+            if (upin != wpin) return writeDecimal(upin ? sp10 : tp10, k, buf, off);
+        }
+
+        long t = s + 1;
+        boolean uin = vbl + out <= s << 2;
+        boolean win = (t << 2) + out <= vbr;
+
+        if (uin != win) return writeDecimal(uin ? s : t, k + dk, buf, off);
+
+        // -- both are in the interval; take the closer, or the even one on a tie
+        long cmp = vb - ((s + t) << 1);
+        return writeDecimal(cmp < 0 || (cmp == 0 && (s & 0x1) == 0) ? s : t, k + dk, buf, off);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Find the shortest decimal for the float c &times; 2<sup>q</sup> and render it.  The float only needs the
+     * upper half of each table entry.
+     *
+     * @param q The binary exponent.
+     * @param c The binary significand.
+     * @param dk A correction to the decimal exponent, for a significand that was scaled by 10.
+     * @param buf The buffer into which to render the value.
+     * @param off The index in {@code buf} of the first character to write.
+     * @return The index one past the last character written.
+     */
+    private static int toDecimal(int q, int c, int dk, char[] buf, int off) {
+        int out = c & 0x1;
+        long cb = c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+
+        if (c != (1 << 23) || q == -149) {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        } else {
+            cbl = cb - 1;
+            k = flog10ThreeQuartersPow2(q);
+        }
+
+        int h = q + flog2pow10(-k) + 33;
+        long g = G[2 * (k - K_MIN)] + 1;
+
+        int vb = rop(g, cb << h);
+        int vbl = rop(g, cbl << h);
+        int vbr = rop(g, cbr << h);
+
+        int s = vb >> 2;
+        if (s >= 100) {
+            int sp10 = 10 * (s / 10);
+            int tp10 = sp10 + 10;
+            boolean upin = vbl + out <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + out <= vbr;
+
+            if (upin != wpin) return writeDecimal(upin ? sp10 : tp10, k, buf, off);
+        }
+
+        int t = s + 1;
+        boolean uin = vbl + out <= s << 2;
+        boolean win = (t << 2) + out <= vbr;
+
+        if (uin != win) return writeDecimal(uin ? s : t, k + dk, buf, off);
+
+        int cmp = vb - ((s + t) << 1);
+        return writeDecimal(cmp < 0 || (cmp == 0 && (s & 0x1) == 0) ? s : t, k + dk, buf, off);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Round to odd the product of a 126-bit table entry and a scaled significand, keeping the upper bits.
+     *
+     * @param g1 The upper 63 bits of the table entry.
+     * @param g0 The lower 63 bits of the table entry.
+     * @param cp The scaled significand.
+     * @return floor(g &times; cp / 2<sup>127</sup>), with the lowest bit set if any bits were dropped.
+     */
+    private static long rop(long g1, long g0, long cp) {
+        long x1 = multiplyHigh(g0, cp);
+        long y0 = g1 * cp;
+        long y1 = multiplyHigh(g1, cp);
+        long z = (y0 >>> 1) + x1;
+        long vbp = y1 + (z >>> 63);
+
+        return vbp | (((z & 0x7FFF_FFFF_FFFF_FFFFL) + 0x7FFF_FFFF_FFFF_FFFFL) >>> 63);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Round to odd the product of the upper half of a table entry and a scaled float significand.
+     *
+     * @param g The upper 63 bits of the table entry, plus 1.
+     * @param cp The scaled significand.
+     * @return floor(g &times; cp / 2<sup>95</sup>), with the lowest bit set if any bits were dropped.
+     */
+    private static int rop(long g, long cp) {
+        long x1 = multiplyHigh(g, cp);
+        long vbp = x1 >>> 31;
+
+        return (int)(vbp | (((x1 & 0xFFFF_FFFFL) + 0xFFFF_FFFFL) >>> 32));
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Render the decimal f &times; 10<sup>e</sup> in the layout of {@link Double#toString(double)}.  Any sign has
+     * already been written.
+     *
+     * @param f The decimal significand, which is not zero.
+     * @param e The decimal exponent.
+     * @param buf The buffer into which to render the value.
+     * @param off The index in {@code buf} of the first character to write.
+     * @return The index one past the last character written.
+     */
+    private static int writeDecimal(long f, int e, char[] buf, int off) {
+        while (f % 10 == 0) {
+            f /= 10;
+            e ++;
+        }
+
+        int len = CbaDigits.digitCount(f);
+        int exp = e + len;              // the value is 0.ddd x 10^exp
+        int pos = off;
+
+        if (exp > 0 && exp <= 7) {
+            if (len <= exp) {
+                pos = CbaDigits.writeFixed(f, len, pos, buf);
+                for (int i = len; i < exp; i ++) buf[pos ++] = '0';
+                buf[pos ++] = '.';
+                buf[pos ++] = '0';
+            } else {
+                long scale = CbaDigits.POW10[len - exp];
+                pos = CbaDigits.writeFixed(f / scale, exp, pos, buf);
+                buf[pos ++] = '.';
+                pos = CbaDigits.writeFixed(f % scale, len - exp, pos, buf);
+            }
+        } else if (exp > -3 && exp <= 0) {
+            buf[pos ++] = '0';
+            buf[pos ++] = '.';
+            for (int i = exp; i < 0; i ++) buf[pos ++] = '0';
+            pos = CbaDigits.writeFixed(f, len, pos, buf);
+        } else {
+            long scale = CbaDigits.POW10[len - 1];
+            buf[pos ++] = (char)('0' + f / scale);
+            buf[pos ++] = '.';
+
+            if (len == 1) buf[pos ++] = '0';
+            else pos = CbaDigits.writeFixed(f % scale, len - 1, pos, buf);
+
+            buf[pos ++] = 'E';
+            if (exp - 1 < 0) buf[pos ++] = '-';
+
+            int digits = CbaDigits.digitCount(exp - 1);
+            pos += digits;
+            CbaDigits.writeDigits(exp - 1, pos, buf);
+        }
+
+        return pos;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Render {@code "0.0"}.  Any sign has already been written.
+     */
+    private static int writeZero(char[] buf, int off) {
+        buf[off] = '0';
+        buf[off + 1] = '.';
+        buf[off + 2] = '0';
+        return off + 3;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Render {@code "NaN"}, {@code "Infinity"} or {@code "-Infinity"}.
+     */
+    private static int writeSpecial(boolean isNaN, boolean isNeg, char[] buf, int off) {
+        String str = (isNaN ? "NaN" : (isNeg ? "-Infinity" : "Infinity"));
+        str.getChars(0, str.length(), buf, off);
+        return off + str.length();
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Parse a double from a range of characters.  Everything {@link Double#parseDouble(String)} accepts is
+     * accepted here, with the same result.  A decimal of up to 19 significant digits is converted with the Clinger
+     * fast path or the Eisel-Lemire algorithm; only hexadecimal input, longer significands and the rare case that
+     * Eisel-Lemire cannot decide are handed to the JDK.
+     *
+     * @param val The characters to parse.
+     * @param start The index of the first character to parse.
+     * @param end The index one past the last character to parse.
+     * @return The raw bits of the parsed double, or {@link #INVALID_DOUBLE} if the characters are not a number.
+     */
+    static long parseDoubleBits(CharSequence val, int start, int end) {
+        return parse(val, start, end, false);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Parse a float from a range of characters.  Everything {@link Float#parseFloat(String)} accepts is accepted
+     * here, with the same result.  The float is rounded once from the decimal, never through a double.
+     *
+     * @param val The characters to parse.
+     * @param start The index of the first character to parse.
+     * @param end The index one past the last character to parse.
+     * @return The raw bits of the parsed float, or {@link #INVALID_FLOAT} if the characters are not a number.
+     */
+    static int parseFloatBits(CharSequence val, int start, int end) {
+        return (int)parse(val, start, end, true);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The parser behind {@link #parseDoubleBits(CharSequence, int, int)} and
+     * {@link #parseFloatBits(CharSequence, int, int)}.
+     *
+     * @param val The characters to parse.
+     * @param start The index of the first character to parse.
+     * @param end The index one past the last character to parse.
+     * @param single Whether to parse a float rather than a double.
+     * @return The raw bits of the parsed value, or -1 if the characters are not a number.
+     */
+    private static long parse(CharSequence val, int start, int end, boolean single) {
+        if (null == val) return -1;
+
+        // -- the JDK ignores leading and trailing whitespace
+        while (start < end && val.charAt(start) <= ' ') start ++;
+        while (end > start && val.charAt(end - 1) <= ' ') end --;
+        if (start >= end) return -1;
+
+        int pos = start;
+        char ch = val.charAt(pos);
+        boolean isNeg = (ch == '-');
+        if (ch == '-' || ch == '+') pos ++;
+
+        if (matches(val, pos, end, "NaN")) {
+            return (single ? Float.floatToRawIntBits(Float.NaN) : Double.doubleToRawLongBits(Double.NaN));
+        }
+
+        if (matches(val, pos, end, "Infinity")) {
+            if (single) return Float.floatToRawIntBits(isNeg ? Float.NEGATIVE_INFINITY : Float.POSITIVE_INFINITY);
+            return Double.doubleToRawLongBits(isNeg ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY);
+        }
+
+        if (pos + 1 < end && val.charAt(pos) == '0' && (val.charAt(pos + 1) | 0x20) == 'x') {
+            return parseSlow(val, start, end, single);
+        }
+
+        // -- the significand: keep the first 19 significant digits (as an unsigned long) and note if any others 
+        //    are non-zero
+        long man = 0;
+        int digits = 0;
+        int kept = 0;
+        int exp10 = 0;
+        boolean truncated = false;
+        boolean point = false;
+
+        for ( ; pos < end; pos ++) {
+            ch = val.charAt(pos);
+
+            if (ch >= '0' && ch <= '9') {
+                digits ++;
+
+                if (kept < 19) {
+                    if (man != 0 || ch != '0') {
+                        man = man * 10 + (ch - '0');
+                        kept ++;
+                    }
+
+                    if (point) exp10 --;
+                } else {
+                    if (ch != '0') truncated = true;
+                    if (!point) exp10 ++;
+                }
+            } else if (ch == '.' && !point) {
+                point = true;
+            } else {
+                break;
+            }
+        }
+
+        if (digits == 0) return -1;
+
+        // -- the exponent, held at a ceiling that no significand can bring back into range
+        if (pos < end && (val.charAt(pos) | 0x20) == 'e') {
+            boolean expNeg = false;
+            int exp = 0;
+
+            if (++ pos < end && ((ch = val.charAt(pos)) == '-' || ch == '+')) {
+                expNeg = (ch == '-');
+                pos ++;
+            }
+
+            int expStart = pos;
+            for ( ; pos < end && (ch = val.charAt(pos)) >= '0' && ch <= '9'; pos ++) {
+                if (exp < 100000) exp = exp * 10 + (ch - '0');
+            }
+
+            if (pos == expStart) return -1;
+            exp10 += (expNeg ? -exp : exp);
+        }
+
+        // -- an optional type suffix
+        if (pos < end && ((ch = (char)(val.charAt(pos) | 0x20)) == 'd' || ch == 'f')) pos ++;
+        if (pos != end) return -1;
+
+        if (truncated) return parseSlow(val, start, end, single);
+
+        long sign = (isNeg ? (single ? 0x8000_0000L : 0x8000_0000_0000_0000L) : 0);
+        if (man == 0 || exp10 < Q_MIN) return sign;
+
+        if (single) {
+            if (exp10 > Q_MAX) return sign | 0x7F80_0000L;
+
+            if (man >= 0 && man <= (1L << 24) && exp10 >= -10 && exp10 <= 10) {
+                float rv = man;
+                rv = (exp10 < 0 ? rv / FLOAT_POW10[-exp10] : rv * FLOAT_POW10[exp10]);
+                return sign | Float.floatToRawIntBits(rv);
+            }
+
+            long rv = eiselLemire(man, exp10, 23, 0xFF, 127);
+            return (rv < 0 ? parseSlow(val, start, end, single) : sign | rv);
+        } else {
+            if (exp10 > Q_MAX) return sign | 0x7FF0_0000_0000_0000L;
+
+            if (man >= 0 && man <= (1L << 53) && exp10 >= -22 && exp10 <= 22) {
+                double rv = man;
+                rv = (exp10 < 0 ? rv / DOUBLE_POW10[-exp10] : rv * DOUBLE_POW10[exp10]);
+                return sign | Double.doubleToRawLongBits(rv);
+            }
+
+            long rv = eiselLemire(man, exp10, 52, 0x7FF, 1023);
+            return (rv < 0 ? parseSlow(val, start, end, single) : sign | rv);
+        }
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Hand the parse to the JDK.
+     *
+     * @param val The characters to parse.
+     * @param start The index of the first character to parse.
+     * @param end The index one past the last character to parse.
+     * @param single Whether to parse a float rather than a double.
+     * @return The raw bits of the parsed value, or -1 if the characters are not a number.
+     */
+    private static long parseSlow(CharSequence val, int start, int end, boolean single) {
+        String str = val.subSequence(start, end).toString();
+
+        try {
+            if (single) return Float.floatToRawIntBits(Float.parseFloat(str)) & 0xFFFF_FFFFL;
+            else return Double.doubleToRawLongBits(Double.parseDouble(str));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Convert the decimal man &times; 10<sup>exp10</sup> to the bits of a positive binary floating point value with
+     * the Eisel-Lemire algorithm.
+     *
+     * @param man The decimal significand as an unsigned long, which is not zero.
+     * @param exp10 The decimal exponent, from {@link #Q_MIN} to {@link #Q_MAX}.
+     * @param mantBits The number of explicit significand bits: 52 or 23.
+     * @param maxExp The biased exponent of the infinities: 0x7FF or 0xFF.
+     * @param bias The exponent bias: 1023 or 127.
+     * @return The bits of the value, or -1 if it cannot be decided exactly (including subnormals and overflow).
+     */
+    private static long eiselLemire(long man, int exp10, int mantBits, int maxExp, int bias) {
+        int clz = Long.numberOfLeadingZeros(man);
+        man <<= clz;
+
+        long exp2 = ((217706L * exp10) >> 16) + 64 + bias - clz;
+        long hi5 = P5[2 * (exp10 - Q_MIN)];
+        long lo5 = P5[2 * (exp10 - Q_MIN) + 1];
+        long lowMask = (1L << (61 - mantBits)) - 1;
+
+        long xHi = unsignedMultiplyHigh(man, hi5);
+        long xLo = man * hi5;
+
+        // -- the truncated product may be too low; bring in the lower half of the table entry
+        if ((xHi & lowMask) == lowMask && Long.compareUnsigned(xLo + man, man) < 0) {
+            long yHi = unsignedMultiplyHigh(man, lo5);
+            long yLo = man * lo5;
+            long mergedHi = xHi;
+            long mergedLo = xLo + yHi;
+
+            if (Long.compareUnsigned(mergedLo, xLo) < 0) mergedHi ++;
+            if ((mergedHi & lowMask) == lowMask && mergedLo + 1 == 0 && Long.compareUnsigned(yLo + man, man) < 0) {
+                return -1;
+            }
+
+            xHi = mergedHi;
+            xLo = mergedLo;
+        }
+
+        long msb = xHi >>> 63;
+        long rv = xHi >>> (msb + 61 - mantBits);
+        exp2 -= 1 ^ msb;
+
+        // -- exactly half way between two values cannot be told from the approximation
+        if (xLo == 0 && (xHi & lowMask) == 0 && (rv & 3) == 1) return -1;
+
+        rv += rv & 1;
+        rv >>>= 1;
+
+        if ((rv >>> (mantBits + 1)) != 0) {
+            rv >>>= 1;
+            exp2 ++;
+        }
+
+        if (exp2 <= 0 || exp2 >= maxExp) return -1;
+
+        return (exp2 << mantBits) | (rv & ((1L << mantBits) - 1));
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Does a range of characters hold exactly a word?
+     */
+    private static boolean matches(CharSequence val, int start, int end, String word) {
+        if (end - start != word.length()) return false;
+
+        for (int i = 0; i < word.length(); i ++) {
+            if (val.charAt(start + i) != word.charAt(i)) return false;
+        }
+
+        return true;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * floor(e &times; log<sub>10</sub>(2)), for |e| &lt;= 5456721.
+     */
+    private static int flog10pow2(int e) {
+        return (int)((e * 661_971_961_083L) >> 41);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * floor(log<sub>10</sub>(3/4 &times; 2<sup>e</sup>)), for |e| &lt;= 3529.
+     */
+    private static int flog10ThreeQuartersPow2(int e) {
+        return (int)((e * 661_971_961_083L - 274_743_187_321L) >> 41);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * floor(e &times; log<sub>2</sub>(10)), for |e| &lt;= 1838394.
+     */
+    private static int flog2pow10(int e) {
+        return (int)((e * 913_124_641_741L) >> 38);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The upper 64 bits of the signed 128-bit product of two longs.  This is {@code Math.multiplyHigh()}, which is
+     * not available in Java 8.
+     */
+    private static long multiplyHigh(long x, long y) {
+        long x1 = x >> 32;
+        long x2 = x & 0xFFFF_FFFFL;
+        long y1 = y >> 32;
+        long y2 = y & 0xFFFF_FFFFL;
+
+        long z2 = x2 * y2;
+        long t = x1 * y2 + (z2 >>> 32);
+        long z1 = t & 0xFFFF_FFFFL;
+        long z0 = t >> 32;
+        z1 += x2 * y1;
+
+        return x1 * y1 + z0 + (z1 >> 32);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The upper 64 bits of the unsigned 128-bit product of two longs.
+     */
+    private static long unsignedMultiplyHigh(long x, long y) {
+        return multiplyHigh(x, y) + ((x >> 63) & y) + ((y >> 63) & x);
+    }
+}
@@ -10,12 +10,16 @@
 //    Date     Programmer    Version    Comment
 // ----------  ----------  -----------  ----------------------------------------------------------------------------
 // 2018-03-25     adcl       v0.1.0     Initial version
+// 2026-10-16     adcl       v0.1.0     Move the column attributes to a shared Descriptor
+// 2026-10-16     adcl       v0.1.0     assign(CbaType) moves to CbaType; assign(Number) without a String
 //
 //===================================================================================================================
 
 
 package com.eryjus.cba.types;
 
+import java.math.BigDecimal;
+
 //-------------------------------------------------------------------------------------------------------------------
 
 /**
@@ -45,45 +49,54 @@ abstract class CbaRealType extends CbaType {
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * This is the value of an unrestricted real number and is used in either {@link CbaRealType#SIZE} and
-     * {@link CbaRealType#DECIMALS}.  It is required that both {@link CbaRealType#SIZE} and 
-     * {@link CbaRealType#DECIMALS} are set to UNRESTRICTED if either are set to this value.
+     * The attributes of a real column.
      */
-    protected final static int UNRESTRICTED = -1;
+    static class Descriptor extends FieldDescriptor {
+        /** 
+         * The total number of digits allowed for the column.  A value less than 0 is unrestricted.  If size is less 
+         * than 0, {@link #DECIMALS} will also be less than 0.
+         */
+        final int SIZE;
 
+        /**
+         * The number of digits to the right of the decimal point allowed for the column.  A value less than 0 is 
+         * unrestricted.  If decimals is less than 0, {@link #SIZE} will also be less than 0.
+         */
+        final int DECIMALS;
 
-    //---------------------------------------------------------------------------------------------------------------
 
-    /**
-     * The default for the total number of digits allowed for a real number.
-     */
-    protected final static int DEFAULT_SIZE = 15;
+        Descriptor(Builder<?> builder) {
+            super(builder);
+            SIZE = builder.size;
+            DECIMALS = builder.decimals;
+        }
+    }
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * The default for the number of digits to the right of the decimal place for a real number.
+     * This is the value of an unrestricted real number and is used in either {@link Descriptor#SIZE} and
+     * {@link Descriptor#DECIMALS}.  It is required that both {@link Descriptor#SIZE} and 
+     * {@link Descriptor#DECIMALS} are set to UNRESTRICTED if either are set to this value.
      */
-    protected final static int DEFAULT_DECIMALS = 5;
+    protected final static int UNRESTRICTED = -1;
 
 
     //---------------------------------------------------------------------------------------------------------------
 
-    /** 
-     * The total number of digits allowed for this field/variable instance.  A value less than 0 is unrestricted.  
-     * If size is less than 0, {@link CbaRealType#DECIMALS} will also be less than 0.
+    /**
+     * The default for the total number of digits allowed for a real number.
      */
-    private final int SIZE;
+    protected final static int DEFAULT_SIZE = 15;
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * The number of digits to the right of the decimal point allowed for this field/variable.  A value less than 0 
-     * is unrestricted.  If decimals is less than 0, {@link CbaRealType#SIZE} will also be less than 0.
+     * The default for the number of digits to the right of the decimal place for a real number.
      */
-    private final int DECIMALS;
+    protected final static int DEFAULT_DECIMALS = 5;
 
 
     //---------------------------------------------------------------------------------------------------------------
@@ -91,58 +104,57 @@ abstract class CbaRealType extends CbaType {
     /**
      * This is the default constructor for a real number.
      */
-    CbaRealType(Builder<?> builder) {
-        super(builder);
-        SIZE = builder.size;
-        DECIMALS = builder.decimals ;
+    CbaRealType(Descriptor column) {
+        super(column);
     }
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * The {@link CbaRealType#SIZE} access method.  
+     * The attributes of the column, as the real types describe it.
      * 
-     * @return The total number of digits for this element, -1 if unrestricted.
+     * @return The descriptor of this element.
      */
-    int getSize() { return SIZE; }
+    private Descriptor column() { return (Descriptor)getDescriptor(); }
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * The decimals access method.
+     * The {@link Descriptor#SIZE} access method.  
      * 
-     * @return The number of digits to the right of the decimal place for this element, -1 if unrestricted.
+     * @return The total number of digits for this element, -1 if unrestricted.
      */
-    int getDecimals() { return DECIMALS; }
+    int getSize() { return column().SIZE; }
 
 
-        //---------------------------------------------------------------------------------------------------------------
+    //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * Assign a new {@link CbaType} value to {@link #value}.  This is done by first converting the {@link CbaType} 
-     * to a {@link String}.  Then, {@link #trim()} the value and then set the field to be dirty.
+     * The decimals access method.
      * 
-     * @param v The CBA value to assign.
+     * @return The number of digits to the right of the decimal place for this element, -1 if unrestricted.
      */
-    public void assign(CbaType v) {
-        assign(v.toString());
-    }
+    int getDecimals() { return column().DECIMALS; }
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * Assign a new {@link Number} value to {@link #value}.  This is done by first converting the {@link Number} 
-     * to a {@code float}.  Then, {@link #trim()} the value and then set the field to be dirty.
+     * Assign a new {@link Number} value to {@link #value}.  The integer boxes are handed over as a {@code long}, a 
+     * {@link BigDecimal} to a decimal element as it is, and a {@link Double} or a BigDecimal to a double element as
+     * a {@code double}; any other Number (a {@link Float} keeps the digits it prints with) goes through its String.
+     * The value is then fit to the element and the field set to be dirty.
      * 
      * @param v The Java numeric value to assign.
+     * @throws NumberFormatException When {@code v} is not a valid representation of a number.
      */
     public void assign(Number v) {
-        assign(v.toString());
-    }
-
-
+        ParseStatus status = CbaConversion.assign(this, v);
 
+        if (status == ParseStatus.EMPTY || status == ParseStatus.INVALID) {
+            throw new NumberFormatException("For input string: \"" + v + "\"");
+        }
+    }
 }
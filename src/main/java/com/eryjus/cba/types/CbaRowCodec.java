@@ -0,0 +1,106 @@
+//===================================================================================================================
+// CbaRowCodec.java -- The binary form of a whole row of elements
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+// Rows are shuttled between processes and spilled to local files.  Their text is several times the size it needs
+// to be and must be parsed again on the way back in, so a row is written in a binary form instead: the number of
+// columns as a varint, a bitmap of the columns that are empty (one bit for each column, 8 to a byte), and then the
+// value of each column that is not empty in the binary form of its type (see CbaType.writeValue()).
+//
+// The form does not describe the columns; a row is read back into a row of the same columns in the same order, as
+// made by CbaTable.newRow() or the buffer of the same table.  Only the number of columns is checked.
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+//    Date     Programmer    Version    Comment
+// ----------  ----------  -----------  ----------------------------------------------------------------------------
+// 2026-10-16     adcl       v0.1.0     Initial version
+//
+//===================================================================================================================
+
+
+package com.eryjus.cba.types;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+
+//-------------------------------------------------------------------------------------------------------------------
+
+/**
+ * A collection of static helpers to write a row of elements to a {@link ByteBuffer} and read it back.
+ *
+ * @author Adam Clark
+ * @since v0.1.0
+ */
+public final class CbaRowCodec {
+    /**
+     * This is a static helper class and cannot be instantiated.
+     */
+    private CbaRowCodec() {}
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Write a row to a buffer.  When the buffer has too little room for the whole row, its position is put back
+     * where the row started, so that the caller may drain or grow the buffer and write the row again.
+     *
+     * @param row The elements of the row.
+     * @param buf The buffer into which to write the row.
+     * @throws BufferOverflowException When the buffer has too little room for the row.
+     */
+    public static void write(CbaType[] row, ByteBuffer buf) {
+        int start = buf.position();
+
+        try {
+            CbaVarint.putUnsigned(buf, row.length);
+
+            for (int i = 0; i < row.length; i += 8) {
+                int bits = 0;
+
+                for (int j = i; j < row.length && j < i + 8; j ++) {
+                    if (row[j].isEmpty()) bits |= 1 << (j - i);
+                }
+
+                buf.put((byte)bits);
+            }
+
+            for (CbaType fld : row) {
+                if (!fld.isEmpty()) fld.writeValue(buf);
+            }
+        } catch (BufferOverflowException e) {
+            buf.position(start);
+            throw e;
+        }
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Read a row from a buffer into the elements of a row of the same columns.  Each element is read as
+     * {@link CbaType#readFrom(ByteBuffer)} reads it, and is then clean.
+     *
+     * @param row The elements of the row.
+     * @param buf The buffer from which to read the row.
+     * @throws IllegalArgumentException When the buffer does not hold a row of as many columns in the binary form.
+     * @throws java.nio.BufferUnderflowException When the buffer ends part way through the row.
+     */
+    public static void read(CbaType[] row, ByteBuffer buf) {
+        long count = CbaVarint.getUnsigned(buf);
+
+        if (count != row.length) {
+            throw new IllegalArgumentException("A row of " + count + " columns cannot be read into " + row.length);
+        }
+
+        int flags = buf.position();
+        buf.position(flags + (row.length + 7) / 8);
+
+        for (int i = 0; i < row.length; i ++) {
+            if (0 != (buf.get(flags + (i >>> 3)) & (1 << (i & 7)))) row[i].readEmpty();
+            else row[i].readPresent(buf);
+        }
+    }
+}
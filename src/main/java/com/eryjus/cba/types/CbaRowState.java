@@ -0,0 +1,192 @@
+//===================================================================================================================
+// CbaRowState.java -- The dirty state of a whole row of elements, held as a bitmap with a generation
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+// An element on its own knows whether it is dirty with a boolean.  A row of elements (the buffer of a CbaTable, say)
+// would then have to touch every element to mark itself clean after a write, and call isDirty() on every element to
+// find the few that changed.  Wide tables are mostly updated a column or two at a time, so those loops cost far more
+// than the work they find.
+//
+// A row instead keeps one bit per column, and each element attached to the row sets and reads its bit there.  The
+// words of the bitmap are tagged with the generation of the row in which they were last written, and a word from an
+// older generation reads as all clean.  Marking the row clean is then a single increment of the generation, and
+// finding the dirty columns is a scan over the set bits of the words of the current generation.
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+//    Date     Programmer    Version    Comment
+// ----------  ----------  -----------  ----------------------------------------------------------------------------
+// 2026-10-16     adcl       v0.1.0     Initial version
+//
+//===================================================================================================================
+
+
+package com.eryjus.cba.types;
+
+
+//-------------------------------------------------------------------------------------------------------------------
+
+/**
+ * The dirty state of a row of elements, one bit for each column.  It is not thread-safe.
+ *
+ * @author Adam Clark
+ * @since v0.1.0
+ */
+public final class CbaRowState {
+    /**
+     * The dirty bits, 64 columns to a word.  A word is only meaningful when its tag is the current generation.
+     */
+    private final long[] bits;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The generation in which each word of {@link #bits} was last written.
+     */
+    private final long[] tags;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The number of times the row has been marked clean.
+     */
+    private long generation = 0;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Build the state for a row and attach each of its elements to it, in order.  An element that is already dirty
+     * starts out dirty in the row.
+     *
+     * @param row The elements of the row.
+     * @throws IllegalArgumentException When an element already belongs to a row.
+     */
+    public CbaRowState(CbaType[] row) {
+        bits = new long[(row.length + 63) >>> 6];
+        tags = new long[bits.length];
+
+        for (int i = 0; i < row.length; i ++) {
+            row[i].attach(this, i);
+        }
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The number of times the row has been marked clean.  A reader that saw the same generation before has seen a
+     * row that has not been written back since.
+     *
+     * @return The generation.
+     */
+    public long getGeneration() { return generation; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Mark every column of the row clean, in constant time.
+     */
+    public void markClean() { generation ++; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Is any column of the row dirty?
+     *
+     * @return Whether a column is dirty.
+     */
+    public boolean isDirty() {
+        for (int w = 0; w < bits.length; w ++) {
+            if (tags[w] == generation && bits[w] != 0) return true;
+        }
+
+        return false;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Find the first dirty column at or after a column, in the manner of {@link java.util.BitSet#nextSetBit(int)}.
+     * The dirty columns are enumerated with {@code for (int i = s.nextDirty(0); i >= 0; i = s.nextDirty(i + 1))}.
+     *
+     * @param from The index of the column at which to start.
+     * @return The index of the dirty column, or -1 when there are no more.
+     */
+    public int nextDirty(int from) {
+        if (from < 0) from = 0;
+
+        int w = from >>> 6;
+        if (w >= bits.length) return -1;
+
+        long word = (tags[w] == generation ? bits[w] & (-1L << from) : 0);
+
+        while (true) {
+            if (word != 0) return (w << 6) + Long.numberOfTrailingZeros(word);
+            if (++ w == bits.length) return -1;
+            word = (tags[w] == generation ? bits[w] : 0);
+        }
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Is a column dirty?
+     *
+     * @param index The index of the column.
+     * @return Whether the column is dirty.
+     */
+    boolean get(int index) {
+        int w = index >>> 6;
+        return tags[w] == generation && (bits[w] & (1L << index)) != 0;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Mark a column dirty.
+     *
+     * @param index The index of the column.
+     */
+    void set(int index) {
+        bits[current(index >>> 6)] |= 1L << index;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Mark a column clean.
+     *
+     * @param index The index of the column.
+     */
+    void clear(int index) {
+        bits[current(index >>> 6)] &= ~(1L << index);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Bring a word of the bitmap up to the current generation, dropping the bits of an older one.
+     *
+     * @param w The index of the word.
+     * @return The same index.
+     */
+    private int current(int w) {
+        if (tags[w] != generation) {
+            bits[w] = 0;
+            tags[w] = generation;
+        }
+
+        return w;
+    }
+}
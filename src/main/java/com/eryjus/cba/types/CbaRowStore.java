@@ -0,0 +1,422 @@
+//===================================================================================================================
+// CbaRowStore.java -- Rows of a table held off the heap in a fixed layout
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+// A row held as a CbaType[] costs an object for every column, and a cache of several million rows costs the
+// garbage collector a long pause each time it has to walk them.  A row store instead holds its rows in direct
+// ByteBuffers, where the collector never looks, and keeps only a handful of page objects on the heap however many
+// rows it holds.
+//
+// The layout of a row is worked out once from its columns.  Each column whose value has a fixed width (see
+// CbaType.slotWidth()) gets a slot of that width: an integer takes the fewest of 1, 2, 4 or 8 bytes its range
+// needs, a float 4, and a double, a compact decimal or a date or time 8.  A column whose value varies in width (the
+// character types and a decimal that is not compact) gets an 8-byte slot holding a reference to its value, which is
+// put in its binary form (see CbaType.writeValue()) into a separate out-of-line area.  The slots are laid out widest
+// first, so that each is aligned to its width, followed by a bitmap of the columns that are empty; the row is then
+// padded out to a multiple of 8 bytes.  The rows are laid end to end in pages of about a megabyte.
+//
+// The elements of a row (the buffer of a CbaTable, or a row from CbaTable.newRow()) are the cursor over the store:
+// load() positions them on a row by copying its slots into them, and append() and update() copy them back.  The
+// store holds no objects for the rows themselves.
+//
+// The out-of-line area is only ever appended to.  Updating a row puts its values of varying width there again, and
+// the space of the values they replace is only reclaimed when the store is cleared.
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+//    Date     Programmer    Version    Comment
+// ----------  ----------  -----------  ----------------------------------------------------------------------------
+// 2026-10-16     adcl       v0.1.0     Initial version
+//
+//===================================================================================================================
+
+
+package com.eryjus.cba.types;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+
+//-------------------------------------------------------------------------------------------------------------------
+
+/**
+ * Rows of the same columns held off the heap in a fixed layout.  It is not thread-safe.
+ *
+ * @author Adam Clark
+ * @since v0.1.0
+ */
+public final class CbaRowStore {
+    /**
+     * The size of a page of rows or of the out-of-line area.
+     */
+    static final int PAGE_SIZE = 1 << 20;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The columns of the rows; each element of a row must be of the same column.
+     */
+    private final FieldDescriptor[] columns;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The offset of the slot of each column in a row.
+     */
+    private final int[] offsets;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The width of the value of each column, or 0 when its slot holds a reference into the out-of-line area.
+     */
+    private final int[] widths;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The offset in a row of the bitmap of the empty columns.
+     */
+    private final int emptyOffset;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The number of bytes in a row.
+     */
+    private final int rowWidth;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The number of rows in a page.
+     */
+    private final int rowsPerPage;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The pages of rows.  A page is kept when the store is cleared and filled again.
+     */
+    private final List<ByteBuffer> pages = new ArrayList<>();
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The pages of the out-of-line area, each with its position at the end of what has been put there.
+     */
+    private final List<ByteBuffer> varPages = new ArrayList<>();
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * A view of each page of {@link #varPages}, positioned to read a value without moving the page itself.
+     */
+    private final List<ByteBuffer> varViews = new ArrayList<>();
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The index of the page of the out-of-line area that is being filled.
+     */
+    private int varPage = 0;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The number of rows in the store.
+     */
+    private int size = 0;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Work out the layout of the rows of a set of columns.
+     *
+     * @param row The elements of a row of the columns, such as the buffer of a table.
+     */
+    public CbaRowStore(CbaType[] row) {
+        columns = new FieldDescriptor[row.length];
+        offsets = new int[row.length];
+        widths = new int[row.length];
+
+        for (int i = 0; i < row.length; i ++) {
+            columns[i] = row[i].getDescriptor();
+            widths[i] = row[i].slotWidth();
+        }
+
+        // -- the widest slots first, so that each is aligned; a reference is 8 bytes wide
+        int off = 0;
+
+        for (int w = 8; w >= 1; w >>= 1) {
+            for (int i = 0; i < row.length; i ++) {
+                if ((0 == widths[i] ? 8 : widths[i]) == w) {
+                    offsets[i] = off;
+                    off += w;
+                }
+            }
+        }
+
+        emptyOffset = off;
+        rowWidth = Math.max(8, (off + (row.length + 7) / 8 + 7) & ~7);
+        rowsPerPage = Math.max(1, PAGE_SIZE / rowWidth);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The number of rows in the store.
+     *
+     * @return The number of rows.
+     */
+    public int size() { return size; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The number of bytes in a row, not counting its values of varying width.
+     *
+     * @return The width of a row.
+     */
+    public int getRowWidth() { return rowWidth; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Remove every row from the store, keeping its pages to be filled again.
+     */
+    public void clear() {
+        size = 0;
+        varPage = 0;
+
+        for (ByteBuffer page : varPages) page.clear();
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Add a row to the end of the store.
+     *
+     * @param row The elements of the row, of the columns of the store.
+     * @return The index of the row.
+     * @throws IllegalArgumentException When the elements are not of the columns of the store.
+     */
+    public int append(CbaType[] row) {
+        check(row);
+
+        if (size / rowsPerPage == pages.size()) {
+            pages.add(ByteBuffer.allocateDirect(rowsPerPage * rowWidth).order(ByteOrder.nativeOrder()));
+        }
+
+        write(size, row);
+        return size ++;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Replace a row of the store.
+     *
+     * @param index The index of the row.
+     * @param row The elements of the row, of the columns of the store.
+     * @throws IllegalArgumentException When the elements are not of the columns of the store.
+     * @throws IndexOutOfBoundsException When there is no such row.
+     */
+    public void update(int index, CbaType[] row) {
+        check(index);
+        check(row);
+        write(index, row);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Position the elements of a row on a row of the store, copying its values into them.  The elements are then
+     * clean, and those that were empty when the row was stored take the defaults of their columns.
+     *
+     * @param index The index of the row.
+     * @param row The elements of the row, of the columns of the store.
+     * @throws IllegalArgumentException When the elements are not of the columns of the store.
+     * @throws IndexOutOfBoundsException When there is no such row.
+     */
+    public void load(int index, CbaType[] row) {
+        check(index);
+        check(row);
+
+        ByteBuffer page = pages.get(index / rowsPerPage);
+        int base = (index % rowsPerPage) * rowWidth;
+        int empty = base + emptyOffset;
+
+        for (int i = 0; i < row.length; i ++) {
+            if (0 != (page.get(empty + (i >>> 3)) & (1 << (i & 7)))) {
+                row[i].readEmpty();
+            } else if (0 != widths[i]) {
+                row[i].readPresent(page, base + offsets[i]);
+            } else {
+                long ref = page.getLong(base + offsets[i]);
+                ByteBuffer view = varViews.get((int)(ref >>> 32));
+
+                view.limit(view.capacity());
+                view.position((int)ref);
+                row[i].readPresent(view);
+            }
+        }
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Copy the elements of a row into a row of the store.
+     *
+     * @param index The index of the row, which must be in a page.
+     * @param row The elements of the row.
+     */
+    private void write(int index, CbaType[] row) {
+        ByteBuffer page = pages.get(index / rowsPerPage);
+        int base = (index % rowsPerPage) * rowWidth;
+        int empty = base + emptyOffset;
+
+        for (int i = 0; i < row.length; i += 8) {
+            int bits = 0;
+
+            for (int j = i; j < row.length && j < i + 8; j ++) {
+                if (row[j].isEmpty()) bits |= 1 << (j - i);
+            }
+
+            page.put(empty + (i >>> 3), (byte)bits);
+        }
+
+        for (int i = 0; i < row.length; i ++) {
+            if (row[i].isEmpty()) continue;
+
+            if (0 != widths[i]) row[i].writeSlot(page, base + offsets[i]);
+            else page.putLong(base + offsets[i], putOutOfLine(row[i]));
+        }
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Put a value of varying width into the out-of-line area.
+     *
+     * @param fld The element holding the value.
+     * @return The reference to the value: the index of its page in the high 32 bits and its offset in the low.
+     */
+    private long putOutOfLine(CbaType fld) {
+        if (varPages.isEmpty()) newVarPage(PAGE_SIZE);
+
+        ByteBuffer page = varPages.get(varPage);
+        int start = page.position();
+
+        try {
+            fld.writeValue(page);
+            return ((long)varPage << 32) | start;
+        } catch (BufferOverflowException e) {
+            page.position(start);
+        }
+
+        // -- the value does not fit in what is left of the page: measure it on the heap, then start another page
+        ByteBuffer tmp = ByteBuffer.allocate(PAGE_SIZE);
+
+        while (true) {
+            try {
+                fld.writeValue(tmp);
+                break;
+            } catch (BufferOverflowException e) {
+                tmp = ByteBuffer.allocate(2 * tmp.capacity());
+            }
+        }
+
+        tmp.flip();
+        varPage ++;
+
+        if (varPage == varPages.size() || varPages.get(varPage).capacity() < tmp.remaining()) {
+            newVarPage(Math.max(PAGE_SIZE, tmp.remaining()));
+        }
+
+        page = varPages.get(varPage);
+        start = page.position();
+        page.put(tmp);
+        return ((long)varPage << 32) | start;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Make the page of the out-of-line area at {@link #varPage}, in place of one that is too small to reuse.
+     *
+     * @param capacity The size of the page.
+     */
+    private void newVarPage(int capacity) {
+        ByteBuffer page = ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+        ByteBuffer view = page.duplicate().order(ByteOrder.nativeOrder());
+
+        if (varPage == varPages.size()) {
+            varPages.add(page);
+            varViews.add(view);
+        } else {
+            varPages.set(varPage, page);
+            varViews.set(varPage, view);
+        }
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Check that the elements of a row are of the columns of the store, in the same order.
+     *
+     * @param row The elements of the row.
+     * @throws IllegalArgumentException When they are not.
+     */
+    private void check(CbaType[] row) {
+        if (row.length != columns.length) {
+            throw new IllegalArgumentException("A row of " + row.length + " columns is not a row of " +
+                    columns.length);
+        }
+
+        for (int i = 0; i < row.length; i ++) {
+            if (row[i].getDescriptor() != columns[i]) {
+                throw new IllegalArgumentException("Column " + i + " is not a column of the store");
+            }
+        }
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Check that there is a row at an index.
+     *
+     * @param index The index of the row.
+     * @throws IndexOutOfBoundsException When there is not.
+     */
+    private void check(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("row " + index);
+    }
+}
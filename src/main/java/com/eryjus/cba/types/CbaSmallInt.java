@@ -11,6 +11,7 @@
 //    Date     Programmer    Version    Comment
 // ----------  ----------  -----------  ----------------------------------------------------------------------------
 // 2018-03-30     adcl       v0.1.0     Initial version
+// 2026-10-16     adcl       v0.1.0     Build on a shared descriptor; add newInstance()
 //
 //===================================================================================================================
 
@@ -85,40 +86,32 @@ class CbaSmallInt extends CbaIntegerType {
      * @param builder The builder class from which this instance is initialized
      */
     public CbaSmallInt(Builder builder) {
-        super(builder);
-        setValue(0);
+        this(new Descriptor(builder));
     }
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * Trim the newly assigned {@link #value} to 16-bits.  This critical function must distinguish between signed  
-     * and unsigned numbers and manage the value properly.
+     * Construct an element on the attributes of its column.
+     * 
+     * @param column The attributes of the column, which may be shared with other elements.
      */
-    void trim() {
-        if ((getValue() & 0xffff) == 0x8000) {
-            setValue(0x8000);
-        } else {
-            boolean isNeg = (getValue() < 0 ? true : false);
-            if (isNeg) setValue(-getValue());
-            setValue(getValue() & 0x7fff);
-            if (isNeg) setValue(-getValue());
-        }
+    private CbaSmallInt(Descriptor column) {
+        super(column);
+        setValue(0);
     }
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * Assign a new String value to {@link #value}.  This is done by first converting the String to a {@code long}. 
-     * Then, {@link #trim()} the value and then set the field to be dirty.
+     * Make a new element for the same column, sharing this element's descriptor.
      * 
-     * @param v A String representation of the value to assign.
+     * @return The new element.
      */
-    public void assign(String v) {
-        assign(Long.valueOf(v));
-    }
+    @Override
+    public CbaSmallInt newInstance() { return new CbaSmallInt((Descriptor)getDescriptor()); }
 
 
     //---------------------------------------------------------------------------------------------------------------
@@ -10,6 +10,9 @@
 //    Date     Programmer    Version    Comment
 // ----------  ----------  -----------  ----------------------------------------------------------------------------
 // 2018-04-04     adcl       v0.1.0     Initial version
+// 2026-10-16     adcl       v0.1.0     Limit the encoded value in bytes; compare encoded values without decoding
+// 2026-10-16     adcl       v0.1.0     Add the opt-in compressed mode
+// 2026-10-16     adcl       v0.1.0     Build on a shared descriptor; add newInstance()
 //
 //===================================================================================================================
 
@@ -31,7 +34,7 @@ public class CbaSmallText extends CbaCharType {
     /**
      * The builder class for initializing a CbaVarchar element
      */
-    public class Builder extends CbaCharType.Builder<Builder> {
+    public static class Builder extends CbaCharType.Builder<Builder> {
         public Builder() {
             setIndicatedType(CbaType.IndicatedType.CBA_SMALL_TEXT);
             setDefaultValue(DEFAULT_VALUE);
@@ -44,6 +47,15 @@ public class CbaSmallText extends CbaCharType {
          */
         public Builder getThis() { return this; }
 
+
+        /**
+         * Hold a value compressed once it encodes to at least this many bytes (0, the default, never compresses)
+         */
+        public Builder setCompressThreshold(int bytes) {
+            compressThreshold = bytes;
+            return this;
+        }
+
         
         /**
          * Build a CbaVarchar from the builder setup
@@ -78,11 +90,45 @@ public class CbaSmallText extends CbaCharType {
      * @param builder the builder class to initialize this instance
      */
     private CbaSmallText(Builder builder) {
-        super(builder);
+        this(new Descriptor(builder));
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Construct an element on the attributes of its column.
+     * 
+     * @param column The attributes of the column, which may be shared with other elements.
+     */
+    private CbaSmallText(Descriptor column) {
+        super(column);
         clearField();
     }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Make a new element for the same column, sharing this element's descriptor.
+     * 
+     * @return The new element.
+     */
+    @Override
+    public CbaSmallText newInstance() { return new CbaSmallText((Descriptor)getDescriptor()); }
     
 
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The size of a TEXT type is a number of bytes.
+     * 
+     * @return Always true.
+     */
+    @Override
+    boolean isByteLimited() { return true; }
+
+
     //---------------------------------------------------------------------------------------------------------------
 
     /**
@@ -101,7 +147,7 @@ public class CbaSmallText extends CbaCharType {
             return false;
         }
 
-        return (((CbaSmallText)obj).toString().equals(toString()));
+        return valueEquals((CbaSmallText)obj);
     }
 
 
@@ -0,0 +1,756 @@
+//===================================================================================================================
+// CbaTemporalDigits.java -- Fixed-layout parsing and formatting of ISO-8601 dates and times
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+// Loading dates and times from text spends most of its time in DateTimeFormatter, which builds a parse context, a
+// map of fields and a resolved object for every value.  The temporal types only ever accept and emit a handful of
+// fixed layouts, so this class parses those layouts directly from a range of a char[] into the packed values
+// described in CbaTemporalType, and renders the packed values straight back into a char[].  CbaTemporalType stages
+// the other sources and targets (a CharSequence, a byte[]) through a char[] of its thread.
+//
+// The parsers only accept the common form of each layout: a 4-digit year, ASCII digits and the upper-case 'T' and
+// 'Z'.  The other layouts the JDK accepts -- a signed or longer year, a lower-case 't' or 'z', an offset, and so on
+// -- they recognize by their shape and report as DEFER, so the caller hands just those to the JDK.  Anything that
+// is in no layout at all they report as INVALID, and it never reaches the JDK or costs an exception.
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+//    Date     Programmer    Version    Comment
+// ----------  ----------  -----------  ----------------------------------------------------------------------------
+// 2026-10-16     adcl       v0.1.0     Initial version
+// 2026-10-16     adcl       v0.1.0     Write the date part through the DatePrefixCache
+// 2026-10-16     adcl       v0.1.0     Add ofMicroOfDay()
+// 2026-10-16     adcl       v0.1.0     Parse and format a char[] only, rather than any Object
+// 2026-10-16     adcl       v0.1.0     Tell the other layouts (DEFER) from text in no layout (INVALID)
+//
+//===================================================================================================================
+
+
+package com.eryjus.cba.types;
+
+
+//-------------------------------------------------------------------------------------------------------------------
+
+/**
+ * A collection of static helpers to parse and format the ISO-8601 layouts of the temporal types without the JDK's
+ * intermediate objects.  The source of a parse and the target of a format are both a {@code char[]}, so every
+ * character is read or written directly rather than through a test of the type of the buffer.
+ *
+ * @author Adam Clark
+ * @since v0.1.0
+ */
+final class CbaTemporalDigits {
+    /**
+     * The result of a parse for characters that are in no layout the JDK accepts either.  No packed value or number
+     * of epoch microseconds that can be parsed is this value.
+     */
+    static final long INVALID = Long.MIN_VALUE;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The result of a parse for characters in one of the other layouts the JDK accepts, which are left to it: a year
+     * with a plus sign or more than 4 digits, the negative year zero, a lower-case {@code 't'} or {@code 'z'}, an 
+     * offset in place of the {@code 'Z'}, a timestamp without its seconds, and a fraction after a comma or without
+     * any digits.  The parsers only return a value with a 4-digit year, which is never this value.
+     */
+    static final long DEFER = Long.MIN_VALUE + 1;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The most characters that {@link #writeDate(long, char[], int)} will write, as in {@code "-9999-12-31"}.
+     */
+    static final int MAX_DATE_CHARS = 11;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The most characters that {@link #writeTime(long, char[], int)} will write, as in {@code "23:59:59.999999"}.
+     */
+    static final int MAX_TIME_CHARS = 15;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The most characters that {@link #writeDateTime(long, char[], int)} will write.
+     */
+    static final int MAX_DATE_TIME_CHARS = MAX_DATE_CHARS + 1 + MAX_TIME_CHARS;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The most characters that {@link #writeTimestamp(long, char[], int)} will write, as in
+     * {@code "-290308-12-21T19:59:05.224192Z"}.
+     */
+    static final int MAX_TIMESTAMP_CHARS = 30;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The most characters a value given to a parse may have.  This is longer than any layout the JDK accepts for
+     * the temporal types (the longest, such as {@code "+1000000000-12-31T23:59:59.999999999+18:00:00"}, is 45), so
+     * a longer range can be rejected without reading it.
+     */
+    static final int MAX_PARSE_CHARS = 64;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The number of microseconds in a day.
+     */
+    static final long MICROS_PER_DAY = 86400000000L;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The number of days from 0000-01-01 to 1970-01-01.
+     */
+    private static final long DAYS_0000_TO_1970 = 719528L;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The number of days in the 400-year cycle of the Gregorian calendar.
+     */
+    private static final long DAYS_PER_CYCLE = 146097L;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * This is a static helper class and cannot be instantiated.
+     */
+    private CbaTemporalDigits() {}
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Parse a date in the layout {@code [-]yyyy-MM-dd}.
+     *
+     * @param src The characters to parse.
+     * @param start The index of the first character to parse.
+     * @param end The index one past the last character to parse.
+     * @return The packed date, {@link #INVALID} or {@link #DEFER}.
+     */
+    static long parseDate(char[] src, int start, int end) {
+        return dateAt(src, start, end);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Parse a time in the layout {@code HH:mm[:ss[.fraction]]}, where the fraction has from 1 to 9 digits.  Any
+     * digits after the sixth are dropped.
+     *
+     * @param src The characters to parse.
+     * @param start The index of the first character to parse.
+     * @param end The index one past the last character to parse.
+     * @return The packed time, {@link #INVALID} or {@link #DEFER}.
+     */
+    static long parseTime(char[] src, int start, int end) {
+        return timeAt(src, start, end, false);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Parse a date and time in the layout {@code [-]yyyy-MM-dd'T'HH:mm[:ss[.fraction]]}.
+     *
+     * @param src The characters to parse.
+     * @param start The index of the first character to parse.
+     * @param end The index one past the last character to parse.
+     * @return The packed date and time, {@link #INVALID} or {@link #DEFER}.
+     */
+    static long parseDateTime(char[] src, int start, int end) {
+        int t = separator(src, start, end);
+        if (t < 0) return INVALID;
+
+        long date = dateAt(src, start, t);
+        if (date == INVALID) return INVALID;
+
+        long time = timeAt(src, t + 1, end, false);
+        if (time == INVALID) return INVALID;
+
+        if (date == DEFER || time == DEFER || src[t] != 'T') return DEFER;
+
+        return CbaTemporalType.packDateTime(date, time);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Parse a UTC date and time in the layout {@code [-]yyyy-MM-dd'T'HH:mm:ss[.fraction]'Z'}.
+     *
+     * @param src The characters to parse.
+     * @param start The index of the first character to parse.
+     * @param end The index one past the last character to parse.
+     * @return The number of microseconds since 1970-01-01T00:00:00Z, {@link #INVALID} or {@link #DEFER}.
+     */
+    static long parseTimestamp(char[] src, int start, int end) {
+        int t = separator(src, start, end);
+        int zone = t + 1;
+
+        if (t < 0) return INVALID;
+        while (zone < end && "Zz+-".indexOf(src[zone]) < 0) zone ++;
+
+        if (zone == end || !isZone(src, zone, end)) return INVALID;
+
+        long date = dateAt(src, start, t);
+        if (date == INVALID) return INVALID;
+
+        long time = timeAt(src, t + 1, zone, true);
+        if (time == INVALID) return INVALID;
+
+        if (date == DEFER || time == DEFER || src[t] != 'T' || src[zone] != 'Z') return DEFER;
+
+        return toEpochDay(date) * MICROS_PER_DAY + microOfDay(time);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Determine whether a parse of these characters dropped a fraction of a microsecond: whether the fraction after
+     * the first {@code '.'} has a digit other than zero after its sixth digit.
+     *
+     * @param src The characters that were parsed.
+     * @param start The index of the first character that was parsed.
+     * @param end The index one past the last character that was parsed.
+     * @return Whether any fraction of a microsecond was dropped.
+     */
+    static boolean dropsSubMicros(char[] src, int start, int end) {
+        int pos = start;
+        while (pos < end && src[pos] != '.') pos ++;
+
+        for (pos += 7; pos < end; pos ++) {
+            char c = src[pos];
+            if (c < '0' || c > '9') break;
+            if (c != '0') return true;
+        }
+
+        return false;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Calculate the number of characters {@link #writeDate(long, char[], int)} will write.
+     *
+     * @param date The packed date.
+     * @return The formatted length.
+     */
+    static int dateLength(long date) {
+        return yearLength(CbaTemporalType.year(date)) + 6;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Calculate the number of characters {@link #writeTime(long, char[], int)} will write.
+     *
+     * @param time The packed time.
+     * @return The formatted length.
+     */
+    static int timeLength(long time) {
+        int micros = CbaTemporalType.micros(time);
+
+        if (micros != 0) return (micros % 1000 == 0 ? 12 : 15);
+        return (CbaTemporalType.second(time) != 0 ? 8 : 5);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Calculate the number of characters {@link #writeDateTime(long, char[], int)} will write.
+     *
+     * @param dateTime The packed date and time.
+     * @return The formatted length.
+     */
+    static int dateTimeLength(long dateTime) {
+        return dateLength(CbaTemporalType.datePart(dateTime)) + 1 + timeLength(CbaTemporalType.timePart(dateTime));
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Calculate the number of characters {@link #writeTimestamp(long, char[], int)} will write.
+     *
+     * @param micros The number of microseconds since 1970-01-01T00:00:00Z.
+     * @return The formatted length.
+     */
+    static int timestampLength(long micros) {
+        return yearLength(CbaTemporalType.year(ofEpochDay(Math.floorDiv(micros, MICROS_PER_DAY)))) + 23;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Render a date in the layout of {@link java.time.LocalDate#toString()}, taking the text from the
+     * {@link DatePrefixCache} when it holds the date.  The buffer must have {@link #MAX_DATE_CHARS} available from
+     * {@code off}.
+     *
+     * @param date The packed date.
+     * @param buf The buffer into which to render.
+     * @param off The index in {@code buf} of the first character to write.
+     * @return The index one past the last character written.
+     */
+    static int writeDate(long date, char[] buf, int off) {
+        return DatePrefixCache.writeDate(date, buf, off);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Render a date in the layout of {@link java.time.LocalDate#toString()} without the cache.
+     *
+     * @param date The packed date.
+     * @param buf The buffer into which to render.
+     * @param off The index in {@code buf} of the first character to write.
+     * @return The index one past the last character written.
+     */
+    static int renderDate(long date, char[] buf, int off) {
+        off = writeYear(CbaTemporalType.year(date), buf, off);
+        buf[off ++] = '-';
+        off = writeFixed(CbaTemporalType.month(date), 2, buf, off);
+        buf[off ++] = '-';
+        return writeFixed(CbaTemporalType.day(date), 2, buf, off);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Render a time in the layout of {@link java.time.LocalTime#toString()}: the seconds are omitted when they and
+     * the fraction are zero, and the fraction is written as milliseconds when it is a whole number of them.  The
+     * buffer must have {@link #MAX_TIME_CHARS} available from {@code off}.
+     *
+     * @param time The packed time.
+     * @param buf The buffer into which to render.
+     * @param off The index in {@code buf} of the first character to write.
+     * @return The index one past the last character written.
+     */
+    static int writeTime(long time, char[] buf, int off) {
+        int second = CbaTemporalType.second(time);
+        int micros = CbaTemporalType.micros(time);
+
+        off = writeFixed(CbaTemporalType.hour(time), 2, buf, off);
+        buf[off ++] = ':';
+        off = writeFixed(CbaTemporalType.minute(time), 2, buf, off);
+
+        if (second == 0 && micros == 0) return off;
+
+        buf[off ++] = ':';
+        off = writeFixed(second, 2, buf, off);
+
+        if (micros == 0) return off;
+
+        buf[off ++] = '.';
+        if (micros % 1000 == 0) return writeFixed(micros / 1000, 3, buf, off);
+        else return writeFixed(micros, 6, buf, off);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Render a date and time in the layout of {@link java.time.LocalDateTime#toString()}.  The buffer must have
+     * {@link #MAX_DATE_TIME_CHARS} available from {@code off}.
+     *
+     * @param dateTime The packed date and time.
+     * @param buf The buffer into which to render.
+     * @param off The index in {@code buf} of the first character to write.
+     * @return The index one past the last character written.
+     */
+    static int writeDateTime(long dateTime, char[] buf, int off) {
+        off = writeDate(CbaTemporalType.datePart(dateTime), buf, off);
+        buf[off ++] = 'T';
+        return writeTime(CbaTemporalType.timePart(dateTime), buf, off);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Render a UTC date and time in the layout {@code yyyy-MM-dd'T'HH:mm:ss.SSSSSS'Z'}, always with all six digits
+     * of the fraction.  The buffer must have {@link #MAX_TIMESTAMP_CHARS} available from {@code off}.
+     *
+     * @param micros The number of microseconds since 1970-01-01T00:00:00Z.
+     * @param buf The buffer into which to render.
+     * @param off The index in {@code buf} of the first character to write.
+     * @return The index one past the last character written.
+     */
+    static int writeTimestamp(long micros, char[] buf, int off) {
+        long micro = Math.floorMod(micros, MICROS_PER_DAY);
+        int secs = (int)(micro / 1000000);
+
+        off = DatePrefixCache.writeEpochDay(Math.floorDiv(micros, MICROS_PER_DAY), buf, off);
+        buf[off ++] = 'T';
+        off = writeFixed(secs / 3600, 2, buf, off);
+        buf[off ++] = ':';
+        off = writeFixed(secs / 60 % 60, 2, buf, off);
+        buf[off ++] = ':';
+        off = writeFixed(secs % 60, 2, buf, off);
+        buf[off ++] = '.';
+        off = writeFixed((int)(micro % 1000000), 6, buf, off);
+        buf[off ++] = 'Z';
+
+        return off;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Convert a packed date to the number of days since 1970-01-01, as {@link java.time.LocalDate#toEpochDay()}
+     * does.
+     *
+     * @param date The packed date.
+     * @return The epoch day.
+     */
+    static long toEpochDay(long date) {
+        long y = CbaTemporalType.year(date);
+        int m = CbaTemporalType.month(date);
+        long total = 365 * y;
+
+        if (y >= 0) total += (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+        else total -= y / -4 - y / -100 + y / -400;
+
+        total += (367 * m - 362) / 12;
+        total += CbaTemporalType.day(date) - 1;
+
+        if (m > 2) {
+            total --;
+            if (!isLeapYear(y)) total --;
+        }
+
+        return total - DAYS_0000_TO_1970;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Convert a number of days since 1970-01-01 to a packed date, as {@link java.time.LocalDate#ofEpochDay(long)}
+     * does.  The year is not limited to {@link CbaTemporalType#MAX_YEAR}; the packed date only needs to be unpacked
+     * again, not combined with a time.
+     *
+     * @param epochDay The epoch day.
+     * @return The packed date.
+     */
+    static long ofEpochDay(long epochDay) {
+        long zeroDay = epochDay + DAYS_0000_TO_1970 - 60;
+        long adjust = 0;
+
+        if (zeroDay < 0) {
+            long adjustCycles = (zeroDay + 1) / DAYS_PER_CYCLE - 1;
+            adjust = adjustCycles * 400;
+            zeroDay -= adjustCycles * DAYS_PER_CYCLE;
+        }
+
+        long yearEst = (400 * zeroDay + 591) / DAYS_PER_CYCLE;
+        long doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+
+        if (doyEst < 0) {
+            yearEst --;
+            doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+        }
+
+        int marchDoy0 = (int)doyEst;
+        int marchMonth0 = (marchDoy0 * 5 + 2) / 153;
+        int month = (marchMonth0 + 2) % 12 + 1;
+        int day = marchDoy0 - (marchMonth0 * 306 + 5) / 10 + 1;
+
+        yearEst += adjust + marchMonth0 / 10;
+
+        return ((yearEst * 13 + month) << 5) | day;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get the microsecond of the day of a packed time.
+     *
+     * @param time The packed time.
+     * @return The number of microseconds since midnight.
+     */
+    static long microOfDay(long time) {
+        return (CbaTemporalType.hour(time) * 3600L + CbaTemporalType.minute(time) * 60 +
+                CbaTemporalType.second(time)) * 1000000 + CbaTemporalType.micros(time);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Convert a microsecond of the day to a packed time.
+     *
+     * @param micro The number of microseconds since midnight, from 0 to {@link #MICROS_PER_DAY} - 1.
+     * @return The packed time.
+     */
+    static long ofMicroOfDay(long micro) {
+        int secs = (int)(micro / 1000000);
+        return CbaTemporalType.packTime(secs / 3600, secs / 60 % 60, secs % 60, (int)(micro % 1000000));
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Parse the {@code [-]yyyy-MM-dd} of a range.
+     *
+     * @param src The characters to parse.
+     * @param start The index of the first character of the date.
+     * @param end The index one past the last character of the date.
+     * @return The packed date, {@link #INVALID} or {@link #DEFER}.
+     */
+    private static long dateAt(char[] src, int start, int end) {
+        boolean signed = (start < end && (src[start] == '-' || src[start] == '+'));
+        int pos = (signed ? start + 1 : start);
+        int dash = pos;
+
+        while (dash < end && src[dash] >= '0' && src[dash] <= '9') dash ++;
+
+        if (dash - pos < 4 || end - dash != 6 || src[dash] != '-' || src[dash + 3] != '-') return INVALID;
+
+        int month = digits2(src, dash + 1);
+        int day = digits2(src, dash + 4);
+
+        if (month < 1 || month > 12 || day < 1 || day > 31) return INVALID;
+
+        int year = digits2(src, pos) * 100 + digits2(src, pos + 2);
+
+        // -- a plus sign, a longer year and the negative year zero are left to the JDK to judge
+        if (dash - pos > 4 || src[start] == '+' || (signed && year == 0)) return DEFER;
+        if (signed) year = -year;
+
+        if (day > monthLength(year, month)) return INVALID;
+
+        return CbaTemporalType.packDate(year, month, day);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Parse the {@code HH:mm[:ss[.fraction]]} from a position to the end of the range.
+     *
+     * @param src The characters to parse.
+     * @param pos The index of the first digit of the hour.
+     * @param end The index one past the last character to parse.
+     * @param needSeconds Whether the seconds are required.
+     * @return The packed time, {@link #INVALID} or {@link #DEFER}.
+     */
+    private static long timeAt(char[] src, int pos, int end, boolean needSeconds) {
+        int len = end - pos;
+
+        if (len < 5 || src[pos + 2] != ':') return INVALID;
+
+        int hour = digits2(src, pos);
+        int minute = digits2(src, pos + 3);
+        int second = 0;
+        int micros = 0;
+
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59) return INVALID;
+
+        if (len == 5) {
+            if (needSeconds) return DEFER;
+        } else {
+            if (len < 8 || src[pos + 5] != ':') return INVALID;
+
+            second = digits2(src, pos + 6);
+            if (second < 0 || second > 59) return INVALID;
+
+            if (len > 8) {
+                char sep = src[pos + 8];
+                int scale = 100000;
+
+                if ((sep != '.' && sep != ',') || len > 18) return INVALID;
+
+                for (int i = pos + 9; i < end; i ++) {
+                    int d = src[i] - '0';
+                    if (d < 0 || d > 9) return INVALID;
+
+                    micros += d * scale;
+                    scale /= 10;
+                }
+
+                // -- a comma, or a point with no digits after it, is left to the JDK to judge
+                if (sep == ',' || len == 9) return DEFER;
+            }
+        }
+
+        return CbaTemporalType.packTime(hour, minute, second, micros);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Find the {@code 'T'} that separates the date from the time.
+     *
+     * @param src The characters to search.
+     * @param start The index of the first character to search.
+     * @param end The index one past the last character to search.
+     * @return The index of the first {@code 'T'} or {@code 't'}, or -1 if there is none.
+     */
+    private static int separator(char[] src, int start, int end) {
+        for (int i = start; i < end; i ++) {
+            if (src[i] == 'T' || src[i] == 't') return i;
+        }
+
+        return -1;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Determine whether the end of a range has the shape of a zone: a lone {@code 'Z'} or {@code 'z'}, or an offset
+     * of 2 to 8 digits and colons after a sign.
+     *
+     * @param src The characters to check.
+     * @param pos The index of the first character of the zone.
+     * @param end The index one past the last character of the zone.
+     * @return Whether the JDK could accept the zone.
+     */
+    private static boolean isZone(char[] src, int pos, int end) {
+        if (src[pos] == 'Z' || src[pos] == 'z') return (end - pos == 1);
+        if (end - pos < 3 || end - pos > 9) return false;
+
+        for (int i = pos + 1; i < end; i ++) {
+            if ((src[i] < '0' || src[i] > '9') && src[i] != ':') return false;
+        }
+
+        return true;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Parse 2 ASCII digits.
+     *
+     * @param src The characters to parse.
+     * @param pos The index of the first digit.
+     * @return The value of the digits, or -1 if either is not a digit.
+     */
+    private static int digits2(char[] src, int pos) {
+        int d1 = src[pos] - '0';
+        int d2 = src[pos + 1] - '0';
+
+        if (d1 < 0 || d1 > 9 || d2 < 0 || d2 > 9) return -1;
+        return d1 * 10 + d2;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Write a non-negative number with leading zeros to a fixed width.
+     *
+     * @param val The number to write, which must fit in {@code width} digits.
+     * @param width The number of digits to write.
+     * @param buf The buffer into which to write.
+     * @param off The index in {@code buf} of the first digit.
+     * @return The index one past the last digit written.
+     */
+    private static int writeFixed(int val, int width, char[] buf, int off) {
+        for (int i = off + width - 1; i >= off; i --) {
+            buf[i] = (char)('0' + val % 10);
+            val /= 10;
+        }
+
+        return off + width;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Write a year as {@link java.time.LocalDate#toString()} does: at least 4 digits, with a minus sign when
+     * negative and a plus sign when more than 4 digits are needed for a positive year.
+     *
+     * @param year The year to write.
+     * @param buf The buffer into which to write.
+     * @param off The index in {@code buf} of the first character.
+     * @return The index one past the last character written.
+     */
+    private static int writeYear(int year, char[] buf, int off) {
+        int abs = Math.abs(year);
+
+        if (year < 0) buf[off ++] = '-';
+        else if (year > 9999) buf[off ++] = '+';
+
+        return writeFixed(abs, Math.max(4, CbaDigits.digitCount(abs)), buf, off);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Calculate the number of characters {@link #writeYear(int, char[], int)} will write.
+     *
+     * @param year The year.
+     * @return The formatted length.
+     */
+    private static int yearLength(int year) {
+        int abs = Math.abs(year);
+        return Math.max(4, CbaDigits.digitCount(abs)) + (year < 0 || year > 9999 ? 1 : 0);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get the number of days in a month.
+     *
+     * @param year The year, which decides February.
+     * @param month The month, from 1 to 12.
+     * @return The number of days in the month.
+     */
+    private static int monthLength(int year, int month) {
+        switch (month) {
+            case 2:     return (isLeapYear(year) ? 29 : 28);
+            case 4:
+            case 6:
+            case 9:
+            case 11:    return 30;
+            default:    return 31;
+        }
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Is a year a leap year in the proleptic Gregorian calendar?
+     *
+     * @param year The year.
+     * @return Whether the year has a February 29.
+     */
+    private static boolean isLeapYear(long year) {
+        return ((year & 3) == 0) && ((year % 100) != 0 || (year % 400) == 0);
+    }
+}
@@ -5,41 +5,83 @@
 // All CBA temporal data types will be derived from this class.  It provides the minimum method
 // implementations required for any CBA date and/or time.
 //
+// The dates and times are stored as packed longs in the same layout MySQL uses for its DATE, TIME and DATETIME
+// values.  The date packs as ((year * 13 + month) << 5) | day; the time packs as 
+// ((hour << 12) | (minute << 6) | second) << 24 | microseconds; and the date and time packs as (date << 41) | time.
+// Each layout sorts in the same order as the values it holds, so packed values may be compared directly.
+//
+// The text of every temporal type is parsed and formatted here with CbaTemporalDigits; each type supplies only the
+// layout it uses.
+//
 // -----------------------------------------------------------------------------------------------------------------
 //
 //    Date     Programmer    Version    Comment
 // ----------  ----------  -----------  ----------------------------------------------------------------------------
 // 2018-03-31     adcl       v0.1.0     Initial version
+// 2026-10-16     adcl       v0.1.0     Add the packed long layouts for dates and times
+// 2026-10-16     adcl       v0.1.0     Parse and format with CbaTemporalDigits rather than DateTimeFormatter
+// 2026-10-16     adcl       v0.1.0     Make public and add stamp() for the system-managed fields
+// 2026-10-16     adcl       v0.1.0     Add hash64()
+// 2026-10-16     adcl       v0.1.0     Build on a shared FieldDescriptor
+// 2026-10-16     adcl       v0.1.0     Restore the default with copyValue()
+// 2026-10-16     adcl       v0.1.0     Add asEpochMicros()
+// 2026-10-16     adcl       v0.1.0     Add the binary form
+// 2026-10-16     adcl       v0.1.0     Add the fixed-width slot
+// 2026-10-16     adcl       v0.1.0     Hold the scratch buffer per thread rather than per element
+// 2026-10-16     adcl       v0.1.0     Stage text and bytes through the scratch buffer to parse and write a char[]
+// 2026-10-16     adcl       v0.1.0     Reject malformed text without the JDK; give it only the other layouts
+// 2026-10-17     adcl       v0.1.0     Hold the default as an immutable value rather than in an element
 //
 //===================================================================================================================
 
 
 package com.eryjus.cba.types;
 
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+
+import org.apache.logging.log4j.LogManager;
+
 
 //-------------------------------------------------------------------------------------------------------------------
 
 /**
- * This is the base real number class against which all other types will be defined.  It is intended to define the 
- * minimum requirements for operating on a real number in CBA.
+ * This is the base temporal class against which all date and time types will be defined.  It is intended to define 
+ * the minimum requirements for operating on a date or time in CBA.
  * 
  * @author Adam Clark
  * @since v0.1.0
  */
-abstract class CbaTemporalType extends CbaType {
+public abstract class CbaTemporalType extends CbaType {
     static abstract class Builder<T extends Builder<T>> extends CbaType.Builder<T> {
         // we add no additional fields at this point, so this is a trivial extension
     }
     /**
      * Construct the parent of the CbaTemporalType.
      * 
-     * @param builder The class builder
+     * @param column The attributes of the column, which may be shared with other elements.
      */
-    CbaTemporalType(Builder<?> builder) {
-        super(builder);
+    CbaTemporalType(FieldDescriptor column) {
+        super(column);
     }
 
 
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * A buffer in which to render the value for {@link #appendTo(StringBuilder)} and {@link #writeTo(byte[], int)}, 
+     * and in which to stage the characters of a CharSequence or a byte[] to parse.  Holding it per thread rather than 
+     * per element keeps a cache full of rows free of the buffers, and appending a value to a report line still does
+     * not allocate.
+     */
+    private static final ThreadLocal<char[]> SCRATCH = 
+            ThreadLocal.withInitial(() -> new char[CbaTemporalDigits.MAX_PARSE_CHARS]);
+
+
     /**
      * Is this temporal value equivalent to a ZERO value?
      * 
@@ -47,4 +89,687 @@ abstract class CbaTemporalType extends CbaType {
      * value in every case.
      */
     abstract public boolean isZero();
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The access method for the packed value of this field.
+     * 
+     * @return The value of this field; packed as described above, or in epoch microseconds for a 
+     * {@link CbaTimestamp}.
+     */
+    abstract long getPacked();
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Store a packed value in this field, without any checks.
+     * 
+     * @param val The value to store, in the same form as {@link #getPacked()}.
+     */
+    abstract void setPacked(long val);
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Hash the value.  A temporal value is equal to another of its type when their packed values are, so the packed
+     * value is hashed; it is cheaper to hash than a cached hash would be to keep.
+     * 
+     * @return The hash of the value.
+     */
+    public final long hash64() { return CbaHash.ofLong(getPacked()); }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The packed value, as the default of the column holds it.
+     * 
+     * @return The packed value, boxed.
+     */
+    @Override
+    final Object heldValue() { return getPacked(); }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Restore a packed value held by {@link #heldValue()}.
+     * 
+     * @param held The packed value to restore.
+     */
+    @Override
+    final void restoreValue(Object held) { setPacked((Long)held); }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Put the value in its binary form: the packed value as a zig-zagged varint.  A date before the year 2520 
+     * takes 3 bytes.
+     * 
+     * @param buf The buffer into which to put the value.
+     */
+    @Override
+    void writeValue(ByteBuffer buf) { CbaVarint.putSigned(buf, getPacked()); }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get the value from its binary form; see {@link #writeValue(ByteBuffer)}.
+     * 
+     * @param buf The buffer from which to get the value.
+     */
+    @Override
+    void readValue(ByteBuffer buf) { setPacked(CbaVarint.getSigned(buf)); }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The width of the slot: 8 bytes for the packed value.
+     * 
+     * @return The number of bytes in the slot.
+     */
+    @Override
+    final int slotWidth() { return 8; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Put the packed value in its slot.
+     * 
+     * @param buf The buffer holding the slot.
+     * @param off The index in {@code buf} of the slot.
+     */
+    @Override
+    final void writeSlot(ByteBuffer buf, int off) { buf.putLong(off, getPacked()); }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get the packed value from its slot; see {@link #writeSlot(ByteBuffer, int)}.
+     * 
+     * @param buf The buffer holding the slot.
+     * @param off The index in {@code buf} of the slot.
+     */
+    @Override
+    final void readSlot(ByteBuffer buf, int off) { setPacked(buf.getLong(off)); }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Parse a range of characters in the common form of the layout of this type with {@link CbaTemporalDigits}.
+     * 
+     * @param src The characters to parse.
+     * @param start The index of the first character to parse.
+     * @param end The index one past the last character to parse.
+     * @return The value in the same form as {@link #getPacked()}; {@link CbaTemporalDigits#INVALID} when the 
+     * characters are not in the layout; or {@link CbaTemporalDigits#DEFER} when they are in one of the other 
+     * layouts the JDK accepts, in which case they must be given to {@link #parseJdk(String)}.
+     */
+    abstract long parseDigits(char[] src, int start, int end);
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Parse text that {@link #parseDigits(char[], int, int)} has left to the JDK.
+     * 
+     * @param text The text to parse.
+     * @return The value in the same form as {@link #getPacked()}.
+     * @throws DateTimeParseException When the text is not in the layout of this type.
+     * @throws DateTimeException When the value is outside the range that can be held.
+     * @throws ArithmeticException When the value is too far from the epoch to be held.
+     */
+    abstract long parseJdk(String text);
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Convert a time read from a {@link CbaClock} to the form held by this field.
+     * 
+     * @param epochMicros The time in microseconds since 1970-01-01T00:00:00Z.
+     * @param offsetSeconds The offset of the local time zone from UTC at that time, for the types held in local 
+     * time.
+     * @return The value in the same form as {@link #getPacked()}.
+     * @throws DateTimeException When the value is outside the range that can be held.
+     */
+    abstract long fromEpochMicros(long epochMicros, int offsetSeconds);
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The value as microseconds since 1970-01-01T00:00:00, the inverse of {@link #fromEpochMicros(long, int)} with
+     * an offset of 0.  Every temporal type holds its value in this form.
+     * 
+     * @return The value.
+     */
+    @Override
+    public abstract long asEpochMicros();
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Stamp this field with a time read from a {@link CbaClock}.  This is how a table maintains its system-managed 
+     * fields, so unlike {@code assign()} it is not refused for a read-only field.
+     * 
+     * @param epochMicros The time in microseconds since 1970-01-01T00:00:00Z.
+     * @param offsetSeconds The offset of the local time zone from UTC at that time, for the types held in local 
+     * time.
+     * @throws DateTimeException When the value is outside the range that can be held.
+     */
+    public final void stamp(long epochMicros, int offsetSeconds) {
+        setPacked(fromEpochMicros(epochMicros, offsetSeconds));
+        setDirty();
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Render the value into a buffer in the layout of this type.
+     * 
+     * @param buf The buffer into which to render, which must have {@link CbaTemporalDigits#MAX_TIMESTAMP_CHARS}
+     * available from {@code off}.
+     * @param off The index in {@code buf} of the first character to write.
+     * @return The index one past the last character written.
+     */
+    abstract int write(char[] buf, int off);
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Calculate the number of characters that {@link #toString()} will produce for the current value.
+     * 
+     * @return The formatted length of this element.
+     */
+    public abstract int formattedLength();
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Assign a new value to this field.  Note that the value must be in the ISO-8601 layout of the type, as 
+     * described for each type.  Any fraction of a microsecond is dropped.
+     * 
+     * @param v A string representation of the value to assign properly formatted.
+     * @throws DateTimeParseException When the value is not in the layout of this type.
+     * @throws DateTimeException When the value is outside the range that can be held.
+     */
+    @Override
+    public void assign(String v) {
+        if (isReadOnly()) {
+            LogManager.getLogger(this.getClass()).warn("Unable to assign to a read-only field; ignoring assignment");
+            return;
+        }
+
+        int len = v.length();
+        char[] src = (len <= CbaTemporalDigits.MAX_PARSE_CHARS ? SCRATCH.get() : new char[len]);
+
+        v.getChars(0, len, src, 0);
+
+        long val = parseDigits(src, 0, len);
+
+        if (val == CbaTemporalDigits.INVALID) throw new DateTimeParseException("Text could not be parsed", v, 0);
+        if (val == CbaTemporalDigits.DEFER) val = parseJdk(v);
+
+        setPacked(val);
+        setDirty();
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Assign a value held in a range of characters without throwing.
+     * 
+     * @param v The characters to parse.
+     * @param start The index of the first character to parse.
+     * @param end The index one past the last character to parse.
+     * @return {@link ParseStatus#OK} if assigned exactly, {@link ParseStatus#TRUNCATED} if a fraction of a 
+     * microsecond was dropped, or the reason it was not assigned (in which case the value is unchanged).
+     */
+    public ParseStatus assign(CharSequence v, int start, int end) {
+        if (null == v) return assignRange(null, start, end);
+
+        char[] src = SCRATCH.get();
+        int len = Math.min(end - start, src.length);
+
+        for (int i = 0; i < len; i ++) src[i] = v.charAt(start + i);
+        return assignRange(src, 0, end - start);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Assign a value held in a range of a char[] without throwing.
+     * 
+     * @param v The characters to parse.
+     * @param start The index of the first character to parse.
+     * @param end The index one past the last character to parse.
+     * @return {@link ParseStatus#OK} if assigned exactly, {@link ParseStatus#TRUNCATED} if a fraction of a 
+     * microsecond was dropped, or the reason it was not assigned (in which case the value is unchanged).
+     */
+    public ParseStatus assign(char[] v, int start, int end) {
+        return assignRange(v, start, end);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Assign a value held in a range of UTF-8 bytes without throwing, such as a cell of a file that has been read
+     * but not decoded.
+     * 
+     * @param v The bytes to parse.
+     * @param start The index of the first byte to parse.
+     * @param end The index one past the last byte to parse.
+     * @return {@link ParseStatus#OK} if assigned exactly, {@link ParseStatus#TRUNCATED} if a fraction of a 
+     * microsecond was dropped, or the reason it was not assigned (in which case the value is unchanged).
+     */
+    public ParseStatus assign(byte[] v, int start, int end) {
+        if (null == v) return assignRange(null, start, end);
+
+        char[] src = SCRATCH.get();
+        int len = Math.min(end - start, src.length);
+
+        // -- a byte is taken as ISO-8859-1, which agrees with UTF-8 for every character that can be part of a value
+        for (int i = 0; i < len; i ++) src[i] = (char)(v[start + i] & 0xff);
+        return assignRange(src, 0, end - start);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Assign a value held in a range of a char[] without throwing.  A CharSequence or a byte[] is first staged in the
+     * {@link #SCRATCH} buffer of the thread; a range longer than {@link CbaTemporalDigits#MAX_PARSE_CHARS} cannot 
+     * hold a value and is rejected without being read.
+     * 
+     * @param v The characters to parse.
+     * @param start The index of the first character to parse.
+     * @param end The index one past the last character to parse.
+     * @return The status of the assignment.
+     */
+    private ParseStatus assignRange(char[] v, int start, int end) {
+        if (isReadOnly()) {
+            LogManager.getLogger(this.getClass()).warn("Unable to assign to a read-only field; ignoring assignment");
+            return ParseStatus.READ_ONLY;
+        }
+
+        if (null == v || start >= end) return ParseStatus.EMPTY;
+        if (end - start > CbaTemporalDigits.MAX_PARSE_CHARS) return ParseStatus.INVALID;
+
+        long val = parseDigits(v, start, end);
+
+        if (val == CbaTemporalDigits.INVALID) return ParseStatus.INVALID;
+
+        if (val == CbaTemporalDigits.DEFER) {
+            try {
+                val = parseJdk(new String(v, start, end - start));
+            } catch (DateTimeParseException e) {
+                return ParseStatus.INVALID;
+            } catch (DateTimeException | ArithmeticException e) {
+                return ParseStatus.OVERFLOW;
+            }
+        }
+
+        setPacked(val);
+        setDirty();
+
+        return (CbaTemporalDigits.dropsSubMicros(v, start, end) ? ParseStatus.TRUNCATED : ParseStatus.OK);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Return a string representation of this value in its ISO-8601 layout.
+     * 
+     * @return A string representation of the value.
+     */
+    @Override
+    public String toString() {
+        char[] buf = new char[CbaTemporalDigits.MAX_TIMESTAMP_CHARS];
+        return new String(buf, 0, write(buf, 0));
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Render this value into a caller-supplied buffer without any allocation.  The buffer must have at least 
+     * {@link #formattedLength()} characters available from {@code off}.
+     * 
+     * @param buf The buffer into which to render the value.
+     * @param off The index in {@code buf} of the first character to write.
+     * @return The index one past the last character written.
+     */
+    public int writeTo(char[] buf, int off) {
+        return write(buf, off);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Render this value into a caller-supplied buffer of ASCII bytes without any allocation.  The buffer must have 
+     * at least {@link #formattedLength()} bytes available from {@code off}.
+     * 
+     * @param buf The buffer into which to render the value.
+     * @param off The index in {@code buf} of the first byte to write.
+     * @return The index one past the last byte written.
+     */
+    public int writeTo(byte[] buf, int off) {
+        char[] chars = SCRATCH.get();
+        int len = write(chars, 0);
+
+        for (int i = 0; i < len; i ++) buf[off + i] = (byte)chars[i];
+        return off + len;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Append this value to a StringBuilder, rendering it through the {@link #SCRATCH} buffer of the thread.
+     * 
+     * @param sb The StringBuilder to which to append the value.
+     * @return The StringBuilder {@code sb}, for chaining.
+     */
+    public StringBuilder appendTo(StringBuilder sb) {
+        char[] buf = SCRATCH.get();
+        return sb.append(buf, 0, write(buf, 0));
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The smallest year that can be packed.  The packed date and time must fit in a long, which limits the years to 
+     * 4 digits.
+     */
+    static final int MIN_YEAR = -9999;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The largest year that can be packed.
+     */
+    static final int MAX_YEAR = 9999;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The number of microseconds in a second.
+     */
+    static final long MICROS_PER_SECOND = 1000000L;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The number of bits a packed time occupies at the bottom of a packed date and time.
+     */
+    private static final int TIME_BITS = 41;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Pack a date.  The fields are expected to be a valid date already; only the year is checked since that is the 
+     * only field that can fall outside the packed layout.
+     * 
+     * @param year The year, from {@link #MIN_YEAR} to {@link #MAX_YEAR}.
+     * @param month The month, from 1 to 12.
+     * @param day The day of the month, from 1 to 31.
+     * @return The packed date.
+     * @throws DateTimeException When the year is outside the range that can be packed.
+     */
+    static final long packDate(int year, int month, int day) {
+        if (year < MIN_YEAR || year > MAX_YEAR) {
+            throw new DateTimeException("Year " + year + " is outside the range " + MIN_YEAR + " to " + MAX_YEAR);
+        }
+
+        return ((year * 13L + month) << 5) | day;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Pack a time of day.
+     * 
+     * @param hour The hour, from 0 to 23.
+     * @param minute The minute, from 0 to 59.
+     * @param second The second, from 0 to 59.
+     * @param micros The microseconds within the second, from 0 to 999999.
+     * @return The packed time.
+     */
+    static final long packTime(int hour, int minute, int second, int micros) {
+        return ((long)((hour << 12) | (minute << 6) | second) << 24) | micros;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Combine a packed date and a packed time into a packed date and time.
+     * 
+     * @param date The packed date.
+     * @param time The packed time.
+     * @return The packed date and time.
+     */
+    static final long packDateTime(long date, long time) {
+        return (date << TIME_BITS) | time;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Pack a LocalDate.
+     * 
+     * @param val The date to pack.
+     * @return The packed date.
+     * @throws DateTimeException When the year is outside the range that can be packed.
+     */
+    static final long packDate(LocalDate val) {
+        return packDate(val.getYear(), val.getMonthValue(), val.getDayOfMonth());
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Pack a LocalTime.  Any fraction of a microsecond is dropped.
+     * 
+     * @param val The time to pack.
+     * @return The packed time.
+     */
+    static final long packTime(LocalTime val) {
+        return packTime(val.getHour(), val.getMinute(), val.getSecond(), val.getNano() / 1000);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Extract the packed date from a packed date and time.
+     * 
+     * @param dateTime The packed date and time.
+     * @return The packed date.
+     */
+    static final long datePart(long dateTime) { return dateTime >> TIME_BITS; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Extract the packed time from a packed date and time.
+     * 
+     * @param dateTime The packed date and time.
+     * @return The packed time.
+     */
+    static final long timePart(long dateTime) { return dateTime & ((1L << TIME_BITS) - 1); }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Extract the year from a packed date.
+     * 
+     * @param date The packed date.
+     * @return The year.
+     */
+    static final int year(long date) { return (int)Math.floorDiv(date >> 5, 13L); }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Extract the month from a packed date.
+     * 
+     * @param date The packed date.
+     * @return The month, from 1 to 12.
+     */
+    static final int month(long date) { return (int)Math.floorMod(date >> 5, 13L); }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Extract the day of the month from a packed date.
+     * 
+     * @param date The packed date.
+     * @return The day of the month, from 1 to 31.
+     */
+    static final int day(long date) { return (int)(date & 31); }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Extract the hour from a packed time.
+     * 
+     * @param time The packed time.
+     * @return The hour, from 0 to 23.
+     */
+    static final int hour(long time) { return (int)(time >>> 36); }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Extract the minute from a packed time.
+     * 
+     * @param time The packed time.
+     * @return The minute, from 0 to 59.
+     */
+    static final int minute(long time) { return (int)(time >>> 30) & 63; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Extract the second from a packed time.
+     * 
+     * @param time The packed time.
+     * @return The second, from 0 to 59.
+     */
+    static final int second(long time) { return (int)(time >>> 24) & 63; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Extract the microseconds from a packed time.
+     * 
+     * @param time The packed time.
+     * @return The microseconds within the second, from 0 to 999999.
+     */
+    static final int micros(long time) { return (int)(time & 0xffffff); }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Convert an Instant to a number of microseconds since the epoch, dropping any fraction of a microsecond.
+     * 
+     * @param val The instant to convert.
+     * @return The number of microseconds since 1970-01-01T00:00:00Z.
+     * @throws ArithmeticException When the instant is too far from the epoch to be held in microseconds.
+     */
+    static final long toEpochMicros(Instant val) {
+        return Math.addExact(Math.multiplyExact(val.getEpochSecond(), MICROS_PER_SECOND), val.getNano() / 1000);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get the packed date of a number of microseconds since 1970-01-01T00:00:00 in any time zone.
+     * 
+     * @param localMicros The number of microseconds since 1970-01-01T00:00:00.
+     * @return The packed date.
+     * @throws DateTimeException When the year is outside the range that can be packed.
+     */
+    static final long dateOfLocalMicros(long localMicros) {
+        long date = CbaTemporalDigits.ofEpochDay(Math.floorDiv(localMicros, CbaTemporalDigits.MICROS_PER_DAY));
+        return packDate(year(date), month(date), day(date));
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get the packed time of a number of microseconds since 1970-01-01T00:00:00 in any time zone.
+     * 
+     * @param localMicros The number of microseconds since 1970-01-01T00:00:00.
+     * @return The packed time.
+     */
+    static final long timeOfLocalMicros(long localMicros) {
+        return CbaTemporalDigits.ofMicroOfDay(Math.floorMod(localMicros, CbaTemporalDigits.MICROS_PER_DAY));
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Create a LocalDate from a packed date.
+     * 
+     * @param date The packed date.
+     * @return The LocalDate equivalent.
+     */
+    static final LocalDate toLocalDate(long date) {
+        return LocalDate.of(year(date), month(date), day(date));
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Create a LocalTime from a packed time.
+     * 
+     * @param time The packed time.
+     * @return The LocalTime equivalent.
+     */
+    static final LocalTime toLocalTime(long time) {
+        return LocalTime.of(hour(time), minute(time), second(time), micros(time) * 1000);
+    }
 }
@@ -9,6 +9,12 @@
 //    Date     Programmer    Version    Comment
 // ----------  ----------  -----------  ----------------------------------------------------------------------------
 // 2018-04-01     adcl       v0.1.0     Initial version
+// 2026-10-16     adcl       v0.1.0     Hold the value as a packed long; java.time objects only on demand
+// 2026-10-16     adcl       v0.1.0     Parse and format with CbaTemporalDigits
+// 2026-10-16     adcl       v0.1.0     Stamp from a CbaClock
+// 2026-10-16     adcl       v0.1.0     Build on a shared descriptor; add newInstance()
+// 2026-10-16     adcl       v0.1.0     Add asEpochMicros()
+// 2026-10-16     adcl       v0.1.0     Leave only the other layouts to the JDK
 //
 //===================================================================================================================
 
@@ -34,7 +40,7 @@ class CbaTime extends CbaTemporalType {
     /**
      * The builder class for initializing a CbaVarchar element
      */
-    public class Builder extends CbaTemporalType.Builder<Builder> {
+    public static class Builder extends CbaTemporalType.Builder<Builder> {
         public Builder() {
             setIndicatedType(CbaType.IndicatedType.CBA_TIME);
             setDefaultValue(DEFAULT_VALUE);
@@ -69,12 +75,15 @@ class CbaTime extends CbaTemporalType {
     /**
      * This constant value is used to indicate an uninitialized date.  Note that the date is technically valid.
      */
-    private static final LocalTime ZERO = LocalTime.parse(DEFAULT_VALUE);
+    private static final long ZERO = packTime(0, 0, 0, 0);
 
 
     //---------------------------------------------------------------------------------------------------------------
 
-    private LocalTime value;
+    /**
+     * This is the value of the CbaTime field, packed as described in {@link CbaTemporalType}.
+     */
+    private long value = ZERO;
 
 
     //---------------------------------------------------------------------------------------------------------------
@@ -85,26 +94,139 @@ class CbaTime extends CbaTemporalType {
      * @param builder the builder class to initialize this instance
      */
     private CbaTime(Builder builder) {
-        super(builder);
+        this(new FieldDescriptor(builder));
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Construct an element on the attributes of its column.
+     * 
+     * @param column The attributes of the column, which may be shared with other elements.
+     */
+    private CbaTime(FieldDescriptor column) {
+        super(column);
         clearField();
     }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Make a new element for the same column, sharing this element's descriptor.
+     * 
+     * @return The new element.
+     */
+    @Override
+    public CbaTime newInstance() { return new CbaTime(getDescriptor()); }
     
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * Assign a new time to this field.  Note that the time must be in the format 
-     * {@link java.time.format.DateTimeFormatter#ISO_LOCAL_TIME}.
+     * Parse a time in the common form of {@link java.time.format.DateTimeFormatter#ISO_LOCAL_TIME}.
      * 
-     * @param v A string representation of the time to assign properly formatted.
+     * @param src The characters to parse.
+     * @param start The index of the first character to parse.
+     * @param end The index one past the last character to parse.
+     * @return The packed value of the time, or {@link CbaTemporalDigits#INVALID} or {@link CbaTemporalDigits#DEFER}.
      */
-    public void assign(String v) {
+    @Override
+    long parseDigits(char[] src, int start, int end) {
+        return CbaTemporalDigits.parseTime(src, start, end);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Parse a time in one of the other layouts of {@link java.time.format.DateTimeFormatter#ISO_LOCAL_TIME}.
+     * 
+     * @param text The text to parse.
+     * @return The packed value of the time.
+     */
+    @Override
+    long parseJdk(String text) {
+        return packTime(LocalTime.parse(text));
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Assign a new time to this field.  Any fraction of a microsecond is dropped.
+     * 
+     * @param v The time to assign.
+     */
+    public void assign(LocalTime v) {
         if (isReadOnly()) {
             LogManager.getLogger(this.getClass()).warn("Unable to assign to a read-only field; ignoring assignment");
             return;
         }
 
-        value = LocalTime.parse(v);
+        value = packTime(v);
+        setDirty();
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The access method for the value of this field.  The LocalTime is created on each call.
+     * 
+     * @return The value of this field as a LocalTime.
+     */
+    public LocalTime getValue() {
+        return toLocalTime(value);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The access method for the packed value of this field.
+     * 
+     * @return The value of this field packed as described in {@link CbaTemporalType}.
+     */
+    @Override
+    long getPacked() { return value; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Store a packed value in this field, without any checks.
+     * 
+     * @param val The value packed as described in {@link CbaTemporalType}.
+     */
+    @Override
+    void setPacked(long val) { value = val; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The value as the microseconds from midnight.
+     * 
+     * @return The value.
+     */
+    @Override
+    public long asEpochMicros() { return CbaTemporalDigits.microOfDay(value); }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Convert a time read from a clock to the packed time in the local time zone.
+     * 
+     * @param epochMicros The time in microseconds since 1970-01-01T00:00:00Z.
+     * @param offsetSeconds The offset of the local time zone from UTC at that time.
+     * @return The packed time.
+     */
+    @Override
+    long fromEpochMicros(long epochMicros, int offsetSeconds) {
+        return timeOfLocalMicros(epochMicros + offsetSeconds * MICROS_PER_SECOND);
     }
 
 
@@ -123,19 +245,35 @@ class CbaTime extends CbaTemporalType {
             return false;
         }
 
-        return (((CbaTime)obj).value.equals(value));
+        return (((CbaTime)obj).value == value);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Render the time into a buffer in its ISO-8601 layout.
+     * 
+     * @param buf The buffer into which to render.
+     * @param off The index in {@code buf} of the first character to write.
+     * @return The index one past the last character written.
+     */
+    @Override
+    int write(char[] buf, int off) {
+        return CbaTemporalDigits.writeTime(value, buf, off);
     }
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * Return a string representation of this time in ISO-8601 format.
+     * Calculate the number of characters that {@link #toString()} will produce for the current value.
      * 
-     * @return A string representation of the time.
+     * @return The formatted length of this element.
      */
-    public String toString() {
-        return value.toString();
+    @Override
+    public int formattedLength() {
+        return CbaTemporalDigits.timeLength(value);
     }
 
 
@@ -167,6 +305,6 @@ class CbaTime extends CbaTemporalType {
      * @return Whether the value of this instance is equivalent to {@link #ZERO}.
      */
     public boolean isZero() {
-        return value.equals(ZERO);
+        return (value == ZERO);
     }
 }
\ No newline at end of file
@@ -11,6 +11,12 @@
 //    Date     Programmer    Version    Comment
 // ----------  ----------  -----------  ----------------------------------------------------------------------------
 // 2018-04-01     adcl       v0.1.0     Initial version
+// 2026-10-16     adcl       v0.1.0     Hold the value as epoch microseconds; the Instant only on demand
+// 2026-10-16     adcl       v0.1.0     Parse and format with CbaTemporalDigits
+// 2026-10-16     adcl       v0.1.0     Stamp from a CbaClock
+// 2026-10-16     adcl       v0.1.0     Build on a shared descriptor; add newInstance()
+// 2026-10-16     adcl       v0.1.0     Add asEpochMicros()
+// 2026-10-16     adcl       v0.1.0     Leave only the other layouts to the JDK
 //
 //===================================================================================================================
 
@@ -80,9 +86,18 @@ public class CbaTimestamp extends CbaTemporalType {
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * This is the value of the CbaTimestamp field.
+     * The epoch microseconds equivalent of {@link #ZERO}.
      */
-    private Instant value;
+    private static final long ZERO_VALUE = toEpochMicros(ZERO);
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * This is the value of the CbaTimestamp field, held as the number of microseconds since 
+     * 1970-01-01T00:00:00Z.
+     */
+    private long value = ZERO_VALUE;
 
 
     //---------------------------------------------------------------------------------------------------------------
@@ -93,29 +108,166 @@ public class CbaTimestamp extends CbaTemporalType {
      * @param builder the builder class to initialize this instance
      */
     private CbaTimestamp(Builder builder) {
-        super(builder);
+        this(new FieldDescriptor(builder));
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Construct an element on the attributes of its column.
+     * 
+     * @param column The attributes of the column, which may be shared with other elements.
+     */
+    private CbaTimestamp(FieldDescriptor column) {
+        super(column);
         clearField();
     }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Make a new element for the same column, sharing this element's descriptor.
+     * 
+     * @return The new element.
+     */
+    @Override
+    public CbaTimestamp newInstance() { return new CbaTimestamp(getDescriptor()); }
     
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * Assign a new date and time to this field.  Note that the date and time must be in the format 
-     * {@link java.time.format.DateTimeFormatter#ISO_INSTANT}.
+     * Parse a date and time in the common form of {@link java.time.format.DateTimeFormatter#ISO_INSTANT}.
+     * 
+     * @param src The characters to parse.
+     * @param start The index of the first character to parse.
+     * @param end The index one past the last character to parse.
+     * @return The epoch microseconds of the date and time, or {@link CbaTemporalDigits#INVALID} or 
+     * {@link CbaTemporalDigits#DEFER}.
+     */
+    @Override
+    long parseDigits(char[] src, int start, int end) {
+        return CbaTemporalDigits.parseTimestamp(src, start, end);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Parse a date and time in one of the other layouts of {@link java.time.format.DateTimeFormatter#ISO_INSTANT}.
+     * 
+     * @param text The text to parse.
+     * @return The epoch microseconds of the date and time.
+     */
+    @Override
+    long parseJdk(String text) {
+        return toEpochMicros(Instant.parse(text));
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Assign a new date and time to this field.  Any fraction of a microsecond is dropped.
+     * 
+     * @param v The instant to assign.
+     * @throws ArithmeticException When the instant is too far from the epoch to be held in microseconds.
+     */
+    public void assign(Instant v) {
+        assignEpochMicros(toEpochMicros(v));
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Assign a new date and time to this field as a number of microseconds since 1970-01-01T00:00:00Z.  This 
+     * assignment does not allocate.
      * 
-     * @param v A string representation of the date and time to assign properly formatted.
+     * @param v The number of microseconds since the epoch.
      */
-    public void assign(String v) {
+    public void assignEpochMicros(long v) {
         if (isReadOnly()) {
             LogManager.getLogger(this.getClass()).warn("Unable to assign to a read-only field; ignoring assignment");
             return;
         }
 
-        value = Instant.parse(v);
+        value = v;
+        setDirty();
     }
 
 
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The access method for the value of this field.  The Instant is created on each call.
+     * 
+     * @return The value of this field as an Instant.
+     */
+    public Instant getValue() {
+        return Instant.ofEpochSecond(Math.floorDiv(value, MICROS_PER_SECOND), 
+                Math.floorMod(value, MICROS_PER_SECOND) * 1000);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The access method for the value of this field as a number of microseconds since 1970-01-01T00:00:00Z.
+     * 
+     * @return The value of this field in epoch microseconds.
+     */
+    public long getEpochMicros() { return value; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The access method for the value of this field as a number of microseconds since 1970-01-01T00:00:00Z.
+     * 
+     * @return The value of this field in epoch microseconds.
+     */
+    @Override
+    long getPacked() { return value; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Convert a time read from a clock to the form held by this field, which is already epoch microseconds.
+     * 
+     * @param epochMicros The time in microseconds since 1970-01-01T00:00:00Z.
+     * @param offsetSeconds Not used, since a timestamp is held in UTC.
+     * @return The value {@code epochMicros}.
+     */
+    @Override
+    long fromEpochMicros(long epochMicros, int offsetSeconds) { return epochMicros; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Store a number of microseconds since 1970-01-01T00:00:00Z in this field, without any checks.
+     * 
+     * @param val The value in epoch microseconds.
+     */
+    @Override
+    void setPacked(long val) { value = val; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The value as the microseconds from 1970-01-01T00:00:00Z, which is how it is held.
+     * 
+     * @return The value.
+     */
+    @Override
+    public long asEpochMicros() { return value; }
+
+
     //---------------------------------------------------------------------------------------------------------------
 
     /**
@@ -131,24 +283,35 @@ public class CbaTimestamp extends CbaTemporalType {
             return false;
         }
 
-        return (((CbaTimestamp)obj).value.equals(value));
+        return (((CbaTimestamp)obj).value == value);
     }
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * Return a string representation of this date and time in ISO-8601 format.
+     * Render the date and time into a buffer in its ISO-8601 layout.
      * 
-     * @return A string representation of the date and time.
+     * @param buf The buffer into which to render.
+     * @param off The index in {@code buf} of the first character to write.
+     * @return The index one past the last character written.
      */
-    public String toString() {
-        String rv = value.toString();
-        rv = rv.substring(0, rv.length() - 1);
-        String nano = "00000" + (value.getNano() / 1000);
-        nano = nano.substring(nano.length() - 6);
+    @Override
+    int write(char[] buf, int off) {
+        return CbaTemporalDigits.writeTimestamp(value, buf, off);
+    }
+
 
-        return rv + "." + nano + "Z";
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Calculate the number of characters that {@link #toString()} will produce for the current value.
+     * 
+     * @return The formatted length of this element.
+     */
+    @Override
+    public int formattedLength() {
+        return CbaTemporalDigits.timestampLength(value);
     }
 
 
@@ -180,6 +343,6 @@ public class CbaTimestamp extends CbaTemporalType {
      * @return Whether the value of this instance is equivalent to {@link #ZERO}.
      */
     public boolean isZero() {
-        return value.equals(ZERO);
+        return (value == ZERO_VALUE);
     }
 }
\ No newline at end of file
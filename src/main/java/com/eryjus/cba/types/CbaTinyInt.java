@@ -11,6 +11,7 @@
 //    Date     Programmer    Version    Comment
 // ----------  ----------  -----------  ----------------------------------------------------------------------------
 // 2018-03-29     adcl       v0.1.0     Initial version
+// 2026-10-16     adcl       v0.1.0     Build on a shared descriptor; add newInstance()
 //
 //===================================================================================================================
 
@@ -85,41 +86,33 @@ public class CbaTinyInt extends CbaIntegerType {
      * @param builder the builder class to initialize this instance
      */
     CbaTinyInt(Builder builder) {
-        super(builder);
-        clearField();
+        this(new Descriptor(builder));
     }
-    
+
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * Trim the newly assigned {@link #value} to 8-bits.  This critical function must distinguish between signed and 
-     * unsigned numbers and manage the value properly.
+     * Construct an element on the attributes of its column.
+     * 
+     * @param column The attributes of the column, which may be shared with other elements.
      */
-    void trim() {
-        if ((getValue() & 0xff) == 0x80) {
-            setValue(0x80);
-        } else {
-            boolean isNeg = (getValue() < 0 ? true : false);
-            if (isNeg) setValue(-getValue());
-            setValue(getValue() & 0x7f);
-            if (isNeg) setValue(-getValue());
-        }
+    private CbaTinyInt(Descriptor column) {
+        super(column);
+        clearField();
     }
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * Assign a new String value to {@link #value}.  This is done by first converting the String to a {@code long}. 
-     * Then, {@link #trim()} the value and then set the field to be dirty.
+     * Make a new element for the same column, sharing this element's descriptor.
      * 
-     * @param val A String representation of the value to assign.
+     * @return The new element.
      */
-    public void assign(String val) {
-        assign(Long.valueOf(val));
-    }
-
+    @Override
+    public CbaTinyInt newInstance() { return new CbaTinyInt((Descriptor)getDescriptor()); }
+    
 
     //---------------------------------------------------------------------------------------------------------------
 
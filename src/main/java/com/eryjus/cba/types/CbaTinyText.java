@@ -10,6 +10,8 @@
 //    Date     Programmer    Version    Comment
 // ----------  ----------  -----------  ----------------------------------------------------------------------------
 // 2018-04-04     adcl       v0.1.0     Initial version
+// 2026-10-16     adcl       v0.1.0     Limit the encoded value in bytes; compare encoded values without decoding
+// 2026-10-16     adcl       v0.1.0     Build on a shared descriptor; add newInstance()
 //
 //===================================================================================================================
 
@@ -78,11 +80,45 @@ public class CbaTinyText extends CbaCharType {
      * @param builder the builder class to initialize this instance
      */
     private CbaTinyText(Builder builder) {
-        super(builder);
+        this(new Descriptor(builder));
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Construct an element on the attributes of its column.
+     * 
+     * @param column The attributes of the column, which may be shared with other elements.
+     */
+    private CbaTinyText(Descriptor column) {
+        super(column);
         clearField();
     }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Make a new element for the same column, sharing this element's descriptor.
+     * 
+     * @return The new element.
+     */
+    @Override
+    public CbaTinyText newInstance() { return new CbaTinyText((Descriptor)getDescriptor()); }
     
 
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The size of a TEXT type is a number of bytes.
+     * 
+     * @return Always true.
+     */
+    @Override
+    boolean isByteLimited() { return true; }
+
+
     //---------------------------------------------------------------------------------------------------------------
 
     /**
@@ -101,7 +137,7 @@ public class CbaTinyText extends CbaCharType {
             return false;
         }
 
-        return (((CbaTinyText)obj).toString().equals(toString()));
+        return valueEquals((CbaTinyText)obj);
     }
 
 
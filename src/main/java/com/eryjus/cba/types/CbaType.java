@@ -10,17 +10,31 @@
 //    Date     Programmer    Version    Comment
 // ----------  ----------  -----------  ----------------------------------------------------------------------------
 // 2018-03-23     adcl       v0.1.0     Initial version
+// 2026-10-16     adcl       v0.1.0     Add the Collation of the character types
+// 2026-10-16     adcl       v0.1.0     Add hash64() and a hashCode() consistent with equals()
+// 2026-10-16     adcl       v0.1.0     Move the column attributes to a shared FieldDescriptor; add newInstance()
+// 2026-10-16     adcl       v0.1.0     Parse the default value once per column; clearField() copies it
+// 2026-10-16     adcl       v0.1.0     Keep the dirty flag in the CbaRowState of a row when attached to one
+// 2026-10-16     adcl       v0.1.0     Add the Primitive accessors and assign(CbaType) through CbaConversion
+// 2026-10-16     adcl       v0.1.0     Add writeTo(ByteBuffer) and readFrom(ByteBuffer); assigning clears empty
+// 2026-10-16     adcl       v0.1.0     Add the fixed-width slot of a value for CbaRowStore
+// 2026-10-17     adcl       v0.1.0     Hold the default as an immutable value rather than in an element
+// 2026-10-17     adcl       v0.1.0     clearField() leaves a NOT NULL field not empty
 //
 //===================================================================================================================
 
 
 package com.eryjus.cba.types;
 
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+
 import com.eryjus.cba.sql.SqlField;
 
 import org.apache.logging.log4j.LogManager;
 
 
+
 //-------------------------------------------------------------------------------------------------------------------
 
 /**
@@ -57,18 +71,91 @@ abstract public class CbaType implements SqlField {
     }
 
 
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The outcome of an exception-free assignment from a range of characters.  Bulk loads use these in place of
+     * catching a {@link NumberFormatException} for every bad cell.
+     */
+    public enum ParseStatus {
+        /** The value was parsed and assigned. */
+        OK,
+        /** The value was parsed and assigned, but lost fidelity along the way (such as a real into a boolean). */
+        TRUNCATED,
+        /** There were no characters to parse; the value is unchanged. */
+        EMPTY,
+        /** The characters are not a value of this type; unchanged unless the type has a fallback (see CbaBoolean). */
+        INVALID,
+        /** The value is too large for a long, or is out of range with {@link OverflowPolicy#REJECT}; unchanged. */
+        OVERFLOW,
+        /** The field is read-only; the value is unchanged. */
+        READ_ONLY,
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * What an integer field does with a value that falls outside of its minimum and maximum values.
+     */
+    public enum OverflowPolicy {
+        /** Keep the low-order bits of the magnitude, as the integer types always have; this is the default. */
+        WRAP,
+        /** Clamp to the minimum or maximum value, as MySQL does outside of strict mode. */
+        SATURATE,
+        /** Leave the value unchanged, as MySQL strict mode rejects the statement. */
+        REJECT,
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * How a character field orders its values, after the MySQL collations of the same kind.
+     */
+    public enum Collation {
+        /** By code point, as the {@code _bin} collations do; this is the default. */
+        BINARY,
+        /** By code point with the ASCII letters folded to upper case, as a simple {@code _ci} collation does. */
+        ASCII_CI,
+        /** By a {@link java.text.Collator} for the root locale that ignores case, much as {@code _general_ci} does. */
+        GENERAL,
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The primitive forms in which the types hold their values.  Each type holds its value in exactly one of these
+     * (see {@link #hasPrimitive(Primitive)}) and hands it over without a String through the matching accessor.
+     */
+    public enum Primitive {
+        /** A long, through {@link #asLong()}: the integer types, and a boolean as 0 or 1. */
+        LONG,
+        /** A double, through {@link #asDouble()}: the floating point types. */
+        DOUBLE,
+        /** A BigDecimal, through {@link #asDecimal()}: the decimal type. */
+        DECIMAL,
+        /** Microseconds since 1970-01-01T00:00:00, through {@link #asEpochMicros()}: the temporal types. */
+        EPOCH_MICROS,
+        /** The encoded bytes, through {@link #asBytes()}: the character types. */
+        BYTES,
+    }
+
+
     //---------------------------------------------------------------------------------------------------------------
 
     /**
      * The builder class for initializing a CbaType abstract class
      */
     public abstract static class Builder<T extends Builder<T>> {
-        private IndicatedType indicatedType;
-        private String table = "";
-        private String field = "";
-        private UpdateStyle updateStyle = UpdateStyle.PROGRAMMER;
-        private boolean notNull = false;
-        private String defaultValue = "";
+        IndicatedType indicatedType;
+        String table = "";
+        String field = "";
+        UpdateStyle updateStyle = UpdateStyle.PROGRAMMER;
+        boolean notNull = false;
+        String defaultValue = "";
+        boolean buildingDefault = false;
 
 
         /**
@@ -117,122 +204,138 @@ abstract public class CbaType implements SqlField {
         }
 
         public abstract T getThis();
+
+
+        /**
+         * Build an element from the builder setup
+         */
+        public abstract CbaType build();
+
+
+        /**
+         * Build a writable element as this builder would build it, assign the default value to it and take the 
+         * value as the element holds it, so that the default is parsed once for the column.  The element is then
+         * dropped.  While it is being built, the element has no default of its own.
+         */
+        final Object buildDefault(String dft) {
+            if (buildingDefault) return null;
+
+            UpdateStyle style = updateStyle;
+            buildingDefault = true;
+            updateStyle = UpdateStyle.PROGRAMMER;
+
+            try {
+                CbaType rv = build();
+
+                try {
+                    rv.assign(dft);
+                } catch (RuntimeException e) {
+                    if (!dft.isEmpty()) {
+                        LogManager.getLogger(rv.getClass()).warn("Default value \"" + dft + 
+                                "\" cannot be assigned; clearing to the initial value instead");
+                    }
+                }
+
+                return rv.heldValue();
+            } finally {
+                updateStyle = style;
+                buildingDefault = false;
+            }
+        }
     }
 
     
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * The indicated type of this particular instance.
+     * The attributes of the column, shared by every element for the column.
      */
-    private final IndicatedType INDICATED_TYPE;
+    private final FieldDescriptor DESCRIPTOR;
 
 
     //---------------------------------------------------------------------------------------------------------------
 
-    /**
-     * The persistent database table that this data belongs to.  Will be blank if a variable and not a table field.
+    /** 
+     * Has this data been changed since it was read//written to disk/initialized?  This is an attribute to track 
+     * the state of this instance.  It is not used while the element is attached to a {@link #row}.
      */
-    private final String TABLE_NAME;
+    private boolean dirty = false;
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * The persistent database table column that this data belongs to.  Will be blank if a variable and not a table 
-     * field.
+     * The row holding the dirty flag of this element, or null when the element holds its own in {@link #dirty}.
      */
-    private final String FIELD_NAME;
+    private CbaRowState row = null;
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * Is this field updated by the system and therefore read only? 
+     * The index of the column of this element in its {@link #row}.
      */
-    private final UpdateStyle UPDATE_STYLE;
+    private int rowIndex;
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * Can this field be set to null?
+     * Is this field empty?  This is an attribute to track the state of this instance.
      */
-    private final boolean NOT_NULL;
+    private boolean emptyContents = true;
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * A String representation of the default value of this instance.
+     * Construct this instance on the attributes of its column.  The status attributes are able to be read and 
+     * updated through getters and setters.
+     * 
+     * @param descriptor The attributes of the column, which may be shared with other elements.
      */
-    private final String FIELD_DEFAULT_VALUE;
+    CbaType(FieldDescriptor descriptor) {
+        DESCRIPTOR = descriptor;
+    }
 
 
     //---------------------------------------------------------------------------------------------------------------
 
-    /** 
-     * Has this data been changed since it was read//written to disk/initialized?  This is an attribute to track 
-     * the state of this instance.
+    /**
+     * {@link CbaType#DESCRIPTOR} access method.
+     * 
+     * @return The attributes of the column, shared by every element made by {@link #newInstance()}.
      */
-    private boolean dirty = false;
+    public final FieldDescriptor getDescriptor() { return DESCRIPTOR; }
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * Is this field empty?  This is an attribute to track the state of this instance.
+     * Make a new element for the same column, sharing this element's {@link FieldDescriptor}.  The new element 
+     * starts out as a newly built one would; nothing of this element's value or state is copied.
+     * 
+     * @return The new element.
      */
-    private boolean emptyContents = true;
+    public abstract CbaType newInstance();
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * Construct this instance, taking all the static instance attributes.  The status attributes are able to be 
-     * read and updated through getters and setters.
-     * <p>
-     * The constructor takes care to make sure that the table and field are not null and are in a consistent 
-     * state.
+     * Attach this element to a row, which from now on holds its dirty flag.  This is called only by the 
+     * {@link CbaRowState} constructor.
      * 
-     * @param builder The builder object for initializing the CbaType class
+     * @param state The row.
+     * @param index The index of the column of this element in the row.
+     * @throws IllegalArgumentException When the element already belongs to a row.
      */
-    CbaType(Builder<?> builder) {
-        UPDATE_STYLE = builder.updateStyle;
-        INDICATED_TYPE = builder.indicatedType;
-        NOT_NULL = builder.notNull;
-
-        if (builder.table == null) {
-            LogManager.getLogger(this.getClass()).info("Binding table was null; assuming blank");
-        }
-
-        if (builder.field == null) {
-            LogManager.getLogger(this.getClass()).info("Binding field was null; assuming blank");
-        }
-
-        if (builder.defaultValue == null) {
-            LogManager.getLogger(this.getClass()).info("Default Value was null; assuming blank");
-        }
-
-        if (null == builder.table || null == builder.field || builder.table.trim().isEmpty() || 
-                    builder.field.trim().isEmpty()) {
-            if (builder.table != null && builder.field != null && 
-                        (!builder.table.trim().isEmpty() || !builder.field.trim().isEmpty())) {
-                LogManager.getLogger(this.getClass()).info("Table and field were not consistent; assuming blank");
-            }
-
-            TABLE_NAME = "";
-            FIELD_NAME = "";
-        } else {
-            TABLE_NAME = builder.table;
-            FIELD_NAME = builder.field;    
-        }
+    final void attach(CbaRowState state, int index) {
+        if (null != row) throw new IllegalArgumentException("Element already belongs to a row");
 
-        if (builder.defaultValue == null) {
-            FIELD_DEFAULT_VALUE = "";
-        } else {
-            FIELD_DEFAULT_VALUE = builder.defaultValue;
-        }
+        row = state;
+        rowIndex = index;
+        if (dirty) row.set(index);
     }
 
 
@@ -241,15 +344,23 @@ abstract public class CbaType implements SqlField {
     /**
      * Clears {@link CbaType#dirty} attribute.  This is a subclass only access method.
      */
-    final void clrDirty() { dirty = false; }
+    final void clrDirty() { 
+        if (null == row) dirty = false; 
+        else row.clear(rowIndex);
+    }
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * Sets {@link CbaType#dirty} attribute.  This is a subclass only access method.
+     * Sets {@link CbaType#dirty} attribute.  This is a subclass only access method.  Every assignment comes through
+     * here, so a value assigned also makes the element no longer empty.
      */
-    final void setDirty() { dirty = true; }
+    final void setDirty() { 
+        emptyContents = false;
+        if (null == row) dirty = true; 
+        else row.set(rowIndex);
+    }
 
 
     //---------------------------------------------------------------------------------------------------------------
@@ -278,15 +389,21 @@ abstract public class CbaType implements SqlField {
     //---------------------------------------------------------------------------------------------------------------    
 
     /**
-     * Clear a field by either setting its value to its default and if nullable then set the empty field.
+     * Clear a field by either setting its value to its default and if nullable then set the empty field.  The 
+     * default was parsed when the column was built, so it is restored here rather than assigned; this holds for a 
+     * read-only field as well.  A NOT NULL field holds its default, so it is left clean but not empty.
      */
     public final void clearField() {
-        // this order is critical since assign() will set the dirty flag
-        assign(FIELD_DEFAULT_VALUE);
+        Object dft = DESCRIPTOR.DEFAULT;
+
+        // this order is critical since restoreValue() may set the dirty flag
+        if (null != dft) restoreValue(dft);
         clrDirty();
 
         if (isNullable()) {
             setEmpty();
+        } else {
+            emptyContents = false;
         }
     }
 
@@ -294,45 +411,46 @@ abstract public class CbaType implements SqlField {
     //---------------------------------------------------------------------------------------------------------------    
 
     /**
-     * {@link CbaType#TABLE_NAME} access method.
+     * {@link FieldDescriptor#TABLE_NAME} access method.
      * 
      * @return The name of the database table where this element should be stored; blank if a variable and not 
      * stored in a database.
      */
-    public final String getTableName() { return TABLE_NAME; }
+    public final String getTableName() { return DESCRIPTOR.TABLE_NAME; }
 
 
     //---------------------------------------------------------------------------------------------------------------    
 
     /**
-     * {@link CbaType#FIELD_NAME} access method.
+     * {@link FieldDescriptor#FIELD_NAME} access method.
      * 
      * @return The name of the database column where this element is stored; blank if a variable and not stored
      * in a database.
      */
-    public final String getFieldName() { return FIELD_NAME; }
+    public final String getFieldName() { return DESCRIPTOR.FIELD_NAME; }
 
 
     //---------------------------------------------------------------------------------------------------------------    
 
     /**
-     * {@link CbaType#DEFAULT_VALUE} access method.
+     * {@link FieldDescriptor#FIELD_DEFAULT_VALUE} access method.
      * 
      * @return A String representation of the default value.
      */
-    public final String getDefaultValue() { return FIELD_DEFAULT_VALUE; }
+    public final String getDefaultValue() { return DESCRIPTOR.FIELD_DEFAULT_VALUE; }
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
      * Determine if this particular data element is a variable and return true if it is.  The determination of a 
-     * variable is if the {@link CbaType#TABLE_NAME} or {@link CbaType#FIELD_NAME} are blank.  Since they both are
-     * populated or both are blank, it is only necessary to check one, and {@link CbaType#TABLE_NAME} was chosen.
+     * variable is if the {@link FieldDescriptor#TABLE_NAME} or {@link FieldDescriptor#FIELD_NAME} are blank.  Since 
+     * they both are populated or both are blank, it is only necessary to check one, and 
+     * {@link FieldDescriptor#TABLE_NAME} was chosen.
      * 
      * @return Is this element considered to be a variable and not stored in a database column?
      */
-    public final boolean isVariable() { return TABLE_NAME.isEmpty(); }
+    public final boolean isVariable() { return DESCRIPTOR.TABLE_NAME.isEmpty(); }
 
 
     //---------------------------------------------------------------------------------------------------------------
@@ -353,17 +471,17 @@ abstract public class CbaType implements SqlField {
      * 
      * @return Is the element dirty and in need to be written?
      */
-    public final boolean isDirty() { return dirty; }
+    public final boolean isDirty() { return (null == row ? dirty : row.get(rowIndex)); }
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * {@link CbaType#NOT_NULL} access method.
+     * {@link FieldDescriptor#NOT_NULL} access method.
      * 
      * @return Can this element or instance be set to null?
      */
-    public final boolean isNullable() { return !NOT_NULL; }
+    public final boolean isNullable() { return !DESCRIPTOR.NOT_NULL; }
 
 
     //---------------------------------------------------------------------------------------------------------------
@@ -383,7 +501,7 @@ abstract public class CbaType implements SqlField {
      * 
      * @return Is the element system managed and therefore ready only and in need to be written?
      */
-    public final boolean isReadOnly() { return (UPDATE_STYLE != UpdateStyle.PROGRAMMER); }
+    public final boolean isReadOnly() { return (DESCRIPTOR.UPDATE_STYLE != UpdateStyle.PROGRAMMER); }
 
 
     //---------------------------------------------------------------------------------------------------------------
@@ -393,17 +511,192 @@ abstract public class CbaType implements SqlField {
      * 
      * @return The current UpdateStyle
      */
-    public final UpdateStyle getUpdateStyle() { return UPDATE_STYLE; }
+    public final UpdateStyle getUpdateStyle() { return DESCRIPTOR.UPDATE_STYLE; }
 
 
     //---------------------------------------------------------------------------------------------------------------
 
     /**
-     * {@link CbaType#INDICATED_TYPE} access method, returning a String
+     * {@link FieldDescriptor#INDICATED_TYPE} access method, returning a String
      * 
      * @return The String representation of the indicated type of this instance.
      */
-    public final String getIndicatedType() { return INDICATED_TYPE.name(); }
+    public final String getIndicatedType() { return DESCRIPTOR.INDICATED_TYPE.name(); }
+
+
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * Get the value as the type holds it, in a form that is never changed: a boxed primitive, a BigDecimal, a 
+     * String or an immutable holder of encoded bytes.  This is how the default of a column is kept in its 
+     * {@link FieldDescriptor}, which every element of the column reads at once.
+     * 
+     * @return The value, held immutably.
+     */
+    abstract Object heldValue();
+
+
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * Restore a value that an element of the same column held by {@link #heldValue()}, without parsing it and 
+     * without regard to whether this element is read-only.  This is how {@link #clearField()} restores the 
+     * default.
+     * 
+     * @param held The value to restore.
+     */
+    abstract void restoreValue(Object held);
+
+
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * The flag of the binary form of an element that is empty; the value does not follow.
+     */
+    static final byte FLAG_EMPTY = 0x01;
+
+
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * Write the element to a buffer in its binary form: a byte of flags and then, unless the element is empty, the
+     * value as {@link #writeValue(ByteBuffer)} puts it.  The byte order of the buffer is used for the values of 
+     * fixed width.
+     * 
+     * @param buf The buffer into which to write the element.
+     * @throws java.nio.BufferOverflowException When the buffer has too little room.  What was written is left.
+     */
+    public final void writeTo(ByteBuffer buf) {
+        if (isEmpty()) {
+            buf.put(FLAG_EMPTY);
+        } else {
+            buf.put((byte)0);
+            writeValue(buf);
+        }
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * Read the element from a buffer in the binary form {@link #writeTo(ByteBuffer)} writes, which must have been 
+     * written by an element of the same column.  The element is read as it was when it was written, without regard
+     * to whether it is read-only, and is then clean.  An empty element takes the default of its column, as 
+     * {@link #clearField()} leaves it.
+     * 
+     * @param buf The buffer from which to read the element.
+     * @throws IllegalArgumentException When the buffer does not hold an element in the binary form.
+     * @throws java.nio.BufferUnderflowException When the buffer ends part way through the element.
+     */
+    public final void readFrom(ByteBuffer buf) {
+        byte flags = buf.get();
+
+        if ((flags & ~FLAG_EMPTY) != 0) throw new IllegalArgumentException("Malformed element flags " + flags);
+
+        if (0 != (flags & FLAG_EMPTY)) readEmpty();
+        else readPresent(buf);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * Take the default of the column as the value of an empty element that has been read, leaving it clean.
+     */
+    final void readEmpty() {
+        Object dft = DESCRIPTOR.DEFAULT;
+
+        if (null != dft) restoreValue(dft);
+        setEmpty();
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * Get the value of an element that is not empty from a buffer, leaving it clean.
+     * 
+     * @param buf The buffer from which to get the value.
+     */
+    final void readPresent(ByteBuffer buf) {
+        readValue(buf);
+        emptyContents = false;
+        clrDirty();
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * Put the value into a buffer in the binary form of the type.  This is what {@link #writeTo(ByteBuffer)} writes
+     * after the flags, and what {@link CbaRowCodec} writes for each column that is not empty.
+     * 
+     * @param buf The buffer into which to put the value.
+     */
+    abstract void writeValue(ByteBuffer buf);
+
+
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * Get the value from a buffer in the binary form {@link #writeValue(ByteBuffer)} puts, held as it was held when
+     * it was put, and without regard to whether this element is read-only.
+     * 
+     * @param buf The buffer from which to get the value.
+     */
+    abstract void readValue(ByteBuffer buf);
+
+
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * The width of the value in the fixed layout of a row (see {@link CbaRowStore}), or 0 when its width varies.  A
+     * value of varying width is put out of line in its binary form instead.
+     * 
+     * @return The number of bytes in the slot of the value.
+     */
+    int slotWidth() { return 0; }
+
+
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * Put the value in its slot of {@link #slotWidth()} bytes, in the byte order of the buffer.
+     * 
+     * @param buf The buffer holding the slot.
+     * @param off The index in {@code buf} of the slot.
+     */
+    void writeSlot(ByteBuffer buf, int off) {
+        throw new UnsupportedOperationException(getIndicatedType() + " has no fixed width");
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * Get the value from its slot; see {@link #writeSlot(ByteBuffer, int)}.
+     * 
+     * @param buf The buffer holding the slot.
+     * @param off The index in {@code buf} of the slot.
+     */
+    void readSlot(ByteBuffer buf, int off) {
+        throw new UnsupportedOperationException(getIndicatedType() + " has no fixed width");
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * Get the value of an element that is not empty from its slot, leaving it clean.
+     * 
+     * @param buf The buffer holding the slot.
+     * @param off The index in {@code buf} of the slot.
+     */
+    final void readPresent(ByteBuffer buf, int off) {
+        readSlot(buf, off);
+        emptyContents = false;
+        clrDirty();
+    }
 
 
     //---------------------------------------------------------------------------------------------------------------    
@@ -416,6 +709,135 @@ abstract public class CbaType implements SqlField {
     public abstract void assign(String value);
 
 
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * Assign a value held in a range of characters without throwing.  Each type parses the characters as its own
+     * {@link #assign(String)} does.
+     * 
+     * @param val The characters to parse.
+     * @param start The index of the first character to parse.
+     * @param end The index one past the last character to parse.
+     * @return {@link ParseStatus#OK} if assigned exactly, {@link ParseStatus#TRUNCATED} if the value was cut to fit,
+     * or the reason it was not assigned.
+     */
+    public abstract ParseStatus assign(CharSequence val, int start, int end);
+
+
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * Assign the value of another element, of this type or any other, without a String.  The path from one type to
+     * the other is worked out once for each pair of types by {@link CbaConversion}: a long, a double, a scaled 
+     * long or a count of microseconds is handed over where the types share one, and the characters of a character
+     * type are parsed (or its bytes copied into another character type).  An integer takes the integer part of a 
+     * real number, as {@link Number#longValue()} does.  Types with no value in common, such as a date and an 
+     * integer, are {@link ParseStatus#INVALID}.
+     * 
+     * @param src The element from which to assign.
+     * @return {@link ParseStatus#OK} if assigned exactly, {@link ParseStatus#TRUNCATED} if the value was cut to fit,
+     * or the reason it was not assigned (in which case the value is unchanged).
+     */
+    public final ParseStatus assign(CbaType src) {
+        return CbaConversion.assign(this, src);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * Does this element hold its value in a primitive form?  The accessor for that form hands over the value 
+     * without converting it; the others throw.
+     * 
+     * @param form The primitive form.
+     * @return Whether the value is held as {@code form}.
+     */
+    public final boolean hasPrimitive(Primitive form) {
+        return CbaConversion.holds(DESCRIPTOR.INDICATED_TYPE, form);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * The value as a long, for a type that holds {@link Primitive#LONG}.
+     * 
+     * @return The value.
+     * @throws UnsupportedOperationException When the value is not held as a long.
+     */
+    public long asLong() { throw unsupported(Primitive.LONG); }
+
+
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * The value as a double, for a type that holds {@link Primitive#DOUBLE}.
+     * 
+     * @return The value.
+     * @throws UnsupportedOperationException When the value is not held as a double.
+     */
+    public double asDouble() { throw unsupported(Primitive.DOUBLE); }
+
+
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * The value as a BigDecimal, for a type that holds {@link Primitive#DECIMAL}.
+     * 
+     * @return The value.
+     * @throws UnsupportedOperationException When the value is not held as a decimal.
+     */
+    public BigDecimal asDecimal() { throw unsupported(Primitive.DECIMAL); }
+
+
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * The value as microseconds since 1970-01-01T00:00:00, for a type that holds {@link Primitive#EPOCH_MICROS}.
+     * A timestamp counts from that time in UTC; the other temporal types count in local time, a date from its
+     * midnight and a time of day from the midnight of 1970-01-01.
+     * 
+     * @return The value.
+     * @throws UnsupportedOperationException When the value is not held as a time.
+     */
+    public long asEpochMicros() { throw unsupported(Primitive.EPOCH_MICROS); }
+
+
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * The value as its encoded bytes, for a type that holds {@link Primitive#BYTES}.
+     * 
+     * @return A new array holding the value.
+     * @throws UnsupportedOperationException When the value is not held as bytes.
+     */
+    public byte[] asBytes() { throw unsupported(Primitive.BYTES); }
+
+
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * Build the exception for an accessor of a form this element does not hold.
+     * 
+     * @param form The primitive form asked for.
+     * @return The exception to throw.
+     */
+    private UnsupportedOperationException unsupported(Primitive form) {
+        return new UnsupportedOperationException(getClass().getSimpleName() + " does not hold its value as " + form);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * Append the value to a StringBuilder in the form {@link #toString()} returns, without making the String.
+     * 
+     * @param sb The StringBuilder to which to append the value.
+     * @return The StringBuilder {@code sb}, for chaining.
+     */
+    public abstract StringBuilder appendTo(StringBuilder sb);
+
+
     //---------------------------------------------------------------------------------------------------------------    
     // abstract equals():
     /**
@@ -429,6 +851,31 @@ abstract public class CbaType implements SqlField {
     public abstract boolean equals(Object other);
 
 
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * A 64-bit hash of the value, consistent with {@link #equals(Object)}: equal values hash alike however they are
+     * held.  All 64 bits are well mixed, so the hash suits hash tables and sketches alike.  Like equals(), it 
+     * ignores the table, the field and the size constraints.
+     * 
+     * @return The hash of the value.
+     */
+    public abstract long hash64();
+
+
+    //---------------------------------------------------------------------------------------------------------------    
+
+    /**
+     * Inherited from the Object class and derived here from {@link #hash64()}, so that it is consistent with
+     * {@link #equals(Object)} for every type.  The hash changes with the value, so a field must not be assigned 
+     * while it is the key of a hash table.
+     * 
+     * @return The hash of the value, folded to 32 bits.
+     */
+    @Override
+    public final int hashCode() { return CbaHash.fold(hash64()); }
+
+
     //---------------------------------------------------------------------------------------------------------------    
     // abstract toString():
     /**
@@ -0,0 +1,268 @@
+//===================================================================================================================
+// CbaUtf8.java -- Measuring, encoding and truncating UTF-8 without the JDK's encoder
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+// The character types may hold their value as encoded bytes.  MySQL limits the TEXT types by bytes and the CHAR
+// and VARCHAR types by characters, so fitting a value to its field means knowing where the limit falls in the
+// encoded form.  For UTF-8 that can be worked out from the characters themselves: this class measures how much of
+// a value fits without encoding it, then encodes only that much.  It can also cut an already encoded value without
+// splitting a character.
+//
+// The encoding matches String.getBytes(StandardCharsets.UTF_8), including the '?' that replaces a lone surrogate.
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+//    Date     Programmer    Version    Comment
+// ----------  ----------  -----------  ----------------------------------------------------------------------------
+// 2026-10-16     adcl       v0.1.0     Initial version
+//
+//===================================================================================================================
+
+
+package com.eryjus.cba.types;
+
+
+//-------------------------------------------------------------------------------------------------------------------
+
+/**
+ * A collection of static helpers to fit a value to a field in UTF-8.
+ *
+ * @author Adam Clark
+ * @since v0.1.0
+ */
+final class CbaUtf8 {
+    /**
+     * This is a static helper class and cannot be instantiated.
+     */
+    private CbaUtf8() {}
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Measure how much of a range of characters fits within a number of code points and a number of bytes, without
+     * encoding them.  A code point is never split.
+     *
+     * @param val The characters to measure.
+     * @param start The index of the first character.
+     * @param end The index one past the last character.
+     * @param maxCodePoints The most code points that fit.
+     * @param maxBytes The most bytes that fit.
+     * @return The number of bytes that fit in the upper 32 bits, and the index one past the last character that
+     * fits in the lower 32 bits.  Use {@link #bytesOf(long)} and {@link #endOf(long)} to take it apart.
+     */
+    static long measure(CharSequence val, int start, int end, int maxCodePoints, int maxBytes) {
+        int i = start;
+        int n = 0;
+        int cps = 0;
+
+        while (i < end && cps < maxCodePoints) {
+            char c = val.charAt(i);
+            int need;
+            int width = 1;
+
+            if (c < 0x80) {
+                need = 1;
+            } else if (c < 0x800) {
+                need = 2;
+            } else if (!Character.isSurrogate(c)) {
+                need = 3;
+            } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(val.charAt(i + 1))) {
+                need = 4;
+                width = 2;
+            } else {
+                need = 1;
+            }
+
+            if (n + need > maxBytes) break;
+
+            n += need;
+            i += width;
+            cps ++;
+        }
+
+        return ((long)n << 32) | i;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get the number of bytes from the result of {@link #measure(CharSequence, int, int, int, int)}.
+     *
+     * @param measured The result of the measure.
+     * @return The number of bytes that fit.
+     */
+    static int bytesOf(long measured) { return (int)(measured >>> 32); }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get the end index from the result of {@link #measure(CharSequence, int, int, int, int)}.
+     *
+     * @param measured The result of the measure.
+     * @return The index one past the last character that fits.
+     */
+    static int endOf(long measured) { return (int)measured; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Encode a range of characters.  The buffer must have room for the number of bytes measured for the range.
+     *
+     * @param val The characters to encode.
+     * @param start The index of the first character.
+     * @param end The index one past the last character.
+     * @param buf The buffer into which to encode.
+     * @param off The index in {@code buf} of the first byte to write.
+     * @return The index one past the last byte written.
+     */
+    static int encode(CharSequence val, int start, int end, byte[] buf, int off) {
+        int i = start;
+
+        while (i < end) {
+            char c = val.charAt(i ++);
+
+            if (c < 0x80) {
+                buf[off ++] = (byte)c;
+            } else if (c < 0x800) {
+                buf[off ++] = (byte)(0xc0 | (c >> 6));
+                buf[off ++] = (byte)(0x80 | (c & 0x3f));
+            } else if (!Character.isSurrogate(c)) {
+                buf[off ++] = (byte)(0xe0 | (c >> 12));
+                buf[off ++] = (byte)(0x80 | ((c >> 6) & 0x3f));
+                buf[off ++] = (byte)(0x80 | (c & 0x3f));
+            } else if (Character.isHighSurrogate(c) && i < end && Character.isLowSurrogate(val.charAt(i))) {
+                int cp = Character.toCodePoint(c, val.charAt(i ++));
+                buf[off ++] = (byte)(0xf0 | (cp >> 18));
+                buf[off ++] = (byte)(0x80 | ((cp >> 12) & 0x3f));
+                buf[off ++] = (byte)(0x80 | ((cp >> 6) & 0x3f));
+                buf[off ++] = (byte)(0x80 | (cp & 0x3f));
+            } else {
+                buf[off ++] = (byte)'?';
+            }
+        }
+
+        return off;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Check that a range of characters has no lone surrogate, so that it survives a round trip through UTF-8.
+     *
+     * @param val The characters to check.
+     * @param start The index of the first character.
+     * @param end The index one past the last character.
+     * @return Whether every surrogate in the range is part of a pair.
+     */
+    static boolean isWellFormed(CharSequence val, int start, int end) {
+        for (int i = start; i < end; i ++) {
+            char c = val.charAt(i);
+
+            if (!Character.isSurrogate(c)) continue;
+            if (!Character.isHighSurrogate(c) || i + 1 >= end || !Character.isLowSurrogate(val.charAt(i + 1))) {
+                return false;
+            }
+
+            i ++;
+        }
+
+        return true;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Check that a range of bytes is well-formed UTF-8, so that decoding it and encoding the result gives back the
+     * same bytes.  This accepts exactly what the JDK's decoder accepts without replacing anything: no overlong
+     * forms, no encoded surrogates and nothing past U+10FFFF.
+     *
+     * @param src The bytes to check.
+     * @param start The index of the first byte.
+     * @param end The index one past the last byte.
+     * @return Whether the bytes are well-formed UTF-8.
+     */
+    static boolean isValid(byte[] src, int start, int end) {
+        int i = start;
+
+        while (i < end) {
+            int b = src[i ++] & 0xff;
+            if (b < 0x80) continue;
+
+            int n;
+            int lo = 0x80;
+            int hi = 0xbf;
+
+            if (b < 0xc2) return false;
+            else if (b < 0xe0) n = 1;
+            else if (b < 0xf0) {
+                n = 2;
+                if (b == 0xe0) lo = 0xa0;
+                else if (b == 0xed) hi = 0x9f;
+            } else if (b < 0xf5) {
+                n = 3;
+                if (b == 0xf0) lo = 0x90;
+                else if (b == 0xf4) hi = 0x8f;
+            } else return false;
+
+            if (end - i < n) return false;
+
+            // -- the first continuation byte carries the range limits; the others are any continuation byte
+            int c = src[i ++] & 0xff;
+            if (c < lo || c > hi) return false;
+
+            for (int k = 1; k < n; k ++) {
+                if ((src[i ++] & 0xc0) != 0x80) return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Find how much of a range of UTF-8 bytes fits within a number of code points and a number of bytes.  A code
+     * point is never split; the bytes are not otherwise checked.
+     *
+     * @param src The encoded bytes.
+     * @param start The index of the first byte.
+     * @param end The index one past the last byte.
+     * @param maxCodePoints The most code points that fit.
+     * @param maxBytes The most bytes that fit.
+     * @return The index one past the last byte that fits.
+     */
+    static int fit(byte[] src, int start, int end, int maxCodePoints, int maxBytes) {
+        int limit = (int)Math.min(end, (long)start + maxBytes);
+
+        if (maxCodePoints == Integer.MAX_VALUE) {
+            if (limit == end) return end;
+
+            // -- back up over the continuation bytes of a split code point
+            while (limit > start && (src[limit] & 0xc0) == 0x80) limit --;
+            return limit;
+        }
+
+        int i = start;
+        int cps = 0;
+
+        while (i < end && cps < maxCodePoints) {
+            int j = i + 1;
+            while (j < end && (src[j] & 0xc0) == 0x80) j ++;
+
+            if (j > limit) break;
+
+            i = j;
+            cps ++;
+        }
+
+        return i;
+    }
+}
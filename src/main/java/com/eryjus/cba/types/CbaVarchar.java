@@ -10,6 +10,10 @@
 //    Date     Programmer    Version    Comment
 // ----------  ----------  -----------  ----------------------------------------------------------------------------
 // 2018-04-04     adcl       v0.1.0     Initial version
+// 2026-10-16     adcl       v0.1.0     Compare encoded values without decoding
+// 2026-10-16     adcl       v0.1.0     Add the opt-in dictionary-encoded mode
+// 2026-10-16     adcl       v0.1.0     Build on a shared descriptor; add newInstance()
+// 2026-10-17     adcl       v0.1.0     Give each dictionary-encoded column a dictionary of its own
 //
 //===================================================================================================================
 
@@ -44,6 +48,32 @@ public class CbaVarchar extends CbaCharType {
          */
         public Builder getThis() { return this; }
 
+
+        /**
+         * Hold the value as a code in a dictionary of the column's own, with room for 
+         * {@link CbaDictionary#DEFAULT_CAPACITY} values; meant for columns with few distinct values
+         */
+        public Builder setDictionaryEncoded(boolean encoded) {
+            return setDictionary(encoded ? new CbaDictionary(CbaDictionary.DEFAULT_CAPACITY) : null);
+        }
+
+
+        /**
+         * Hold the value as a code in a dictionary of the column's own, with room for a number of values
+         */
+        public Builder setDictionaryCapacity(int capacity) {
+            return setDictionary(new CbaDictionary(capacity));
+        }
+
+
+        /**
+         * Hold the value as a code in a dictionary of the caller's choosing (null to hold the value itself)
+         */
+        public Builder setDictionary(CbaDictionary dict) {
+            dictionary = dict;
+            return this;
+        }
+
         
         /**
          * Build a CbaVarchar from the builder setup
@@ -78,9 +108,32 @@ public class CbaVarchar extends CbaCharType {
      * @param builder the builder class to initialize this instance
      */
     CbaVarchar(Builder builder) {
-        super(builder);
+        this(new Descriptor(builder));
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Construct an element on the attributes of its column.
+     * 
+     * @param column The attributes of the column, which may be shared with other elements.
+     */
+    private CbaVarchar(Descriptor column) {
+        super(column);
         clearField();
     }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Make a new element for the same column, sharing this element's descriptor.
+     * 
+     * @return The new element.
+     */
+    @Override
+    public CbaVarchar newInstance() { return new CbaVarchar((Descriptor)getDescriptor()); }
     
 
     //---------------------------------------------------------------------------------------------------------------
@@ -101,7 +154,7 @@ public class CbaVarchar extends CbaCharType {
             return false;
         }
 
-        return (((CbaVarchar)obj).getValue().equals(getValue()));
+        return valueEquals((CbaVarchar)obj);
     }
 
 
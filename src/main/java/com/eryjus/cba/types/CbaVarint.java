@@ -0,0 +1,121 @@
+//===================================================================================================================
+// CbaVarint.java -- The variable-length integers of the binary form of the elements
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+// A varint holds 7 bits of a value in each byte, least significant first, with the high bit of a byte set when more
+// bytes follow.  A small value then takes one byte and no long takes more than ten.  A signed value is zig-zagged
+// first (0, -1, 1, -2, ... become 0, 1, 2, 3, ...), so that a value near zero is short whichever side it is on.
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+//    Date     Programmer    Version    Comment
+// ----------  ----------  -----------  ----------------------------------------------------------------------------
+// 2026-10-16     adcl       v0.1.0     Initial version
+//
+//===================================================================================================================
+
+
+package com.eryjus.cba.types;
+
+import java.nio.ByteBuffer;
+
+
+//-------------------------------------------------------------------------------------------------------------------
+
+/**
+ * A collection of static helpers to put and get varints in a {@link ByteBuffer}.
+ *
+ * @author Adam Clark
+ * @since v0.1.0
+ */
+final class CbaVarint {
+    /**
+     * This is a static helper class and cannot be instantiated.
+     */
+    private CbaVarint() {}
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Put a value as an unsigned varint.  A negative value is taken as unsigned and takes ten bytes.
+     *
+     * @param buf The buffer into which to put the value.
+     * @param v The value.
+     */
+    static void putUnsigned(ByteBuffer buf, long v) {
+        while ((v & ~0x7fL) != 0) {
+            buf.put((byte)(v | 0x80));
+            v >>>= 7;
+        }
+
+        buf.put((byte)v);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get an unsigned varint.
+     *
+     * @param buf The buffer from which to get the value.
+     * @return The value.
+     * @throws IllegalArgumentException When the varint runs past ten bytes.
+     */
+    static long getUnsigned(ByteBuffer buf) {
+        long rv = 0;
+
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buf.get();
+
+            rv |= (long)(b & 0x7f) << shift;
+            if (b >= 0) return rv;
+        }
+
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Put a value as a zig-zagged varint.
+     *
+     * @param buf The buffer into which to put the value.
+     * @param v The value.
+     */
+    static void putSigned(ByteBuffer buf, long v) { putUnsigned(buf, (v << 1) ^ (v >> 63)); }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get a zig-zagged varint.
+     *
+     * @param buf The buffer from which to get the value.
+     * @return The value.
+     * @throws IllegalArgumentException When the varint runs past ten bytes.
+     */
+    static long getSigned(ByteBuffer buf) {
+        long v = getUnsigned(buf);
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get an unsigned varint that counts the bytes that follow it, such as the length of a value.
+     *
+     * @param buf The buffer from which to get the length.
+     * @return The length.
+     * @throws IllegalArgumentException When the length is malformed or longer than what remains of the buffer.
+     */
+    static int getLength(ByteBuffer buf) {
+        long len = getUnsigned(buf);
+
+        if (len < 0 || len > buf.remaining()) throw new IllegalArgumentException("Malformed length " + len);
+        return (int)len;
+    }
+}
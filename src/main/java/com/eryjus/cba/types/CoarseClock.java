@@ -0,0 +1,166 @@
+//===================================================================================================================
+// CoarseClock.java -- A CbaClock that is read from a cached value
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+// A background thread reads the system clock once per tick and publishes the time in a volatile field, so reading
+// this clock costs no more than reading that field.  The price is that the time is only as precise as the tick:
+// every read within the same tick returns the same time.
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+//    Date     Programmer    Version    Comment
+// ----------  ----------  -----------  ----------------------------------------------------------------------------
+// 2026-10-16     adcl       v0.1.0     Initial version
+// 2026-10-17     adcl       v0.1.0     Read the milliseconds of the system clock rather than an Instant
+//
+//===================================================================================================================
+
+
+package com.eryjus.cba.types;
+
+
+//-------------------------------------------------------------------------------------------------------------------
+
+/**
+ * A {@link CbaClock} that is refreshed by a background daemon thread once per tick.  The {@link #getDefault()} 
+ * instance ticks every millisecond and is shared by all the tables that do not set their own clock.
+ * 
+ * @author Adam Clark
+ * @since v0.1.0
+ */
+public final class CoarseClock implements CbaClock, AutoCloseable {
+    /**
+     * Hold the shared instance, which is only created (and its thread started) on first use.
+     */
+    private static final class Holder {
+        static final CoarseClock DEFAULT = new CoarseClock(1);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The number of milliseconds between reads of the system clock.
+     */
+    private final long TICK_MILLIS;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The thread that refreshes {@link #now}.
+     */
+    private final Thread TICKER;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The time of the latest tick, in microseconds since 1970-01-01T00:00:00Z.
+     */
+    private volatile long now;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Is the clock still ticking?
+     */
+    private volatile boolean running = true;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Create a clock and start its thread.
+     * 
+     * @param tickMillis The number of milliseconds between reads of the system clock; at least 1.
+     * @throws IllegalArgumentException When {@code tickMillis} is less than 1.
+     */
+    public CoarseClock(long tickMillis) {
+        if (tickMillis < 1) throw new IllegalArgumentException("Clock tick must be at least 1 ms; found " + tickMillis);
+
+        TICK_MILLIS = tickMillis;
+        now = read();
+
+        TICKER = new Thread(this::tick, "cba-coarse-clock");
+        TICKER.setDaemon(true);
+        TICKER.start();
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get the shared clock, which ticks every millisecond.
+     * 
+     * @return The shared clock.
+     */
+    public static CoarseClock getDefault() { return Holder.DEFAULT; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Read the time of the latest tick.
+     * 
+     * @return The number of microseconds since 1970-01-01T00:00:00Z, as of the latest tick.
+     */
+    @Override
+    public long currentTimeMicros() { return now; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The {@link #TICK_MILLIS} access method.
+     * 
+     * @return The number of milliseconds between reads of the system clock.
+     */
+    public long getTickMillis() { return TICK_MILLIS; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Stop the clock's thread.  The clock may still be read, but it will no longer change.  The shared clock 
+     * should not be closed.
+     */
+    @Override
+    public void close() {
+        running = false;
+        TICKER.interrupt();
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The body of the thread: refresh {@link #now} once per tick until closed.
+     */
+    private void tick() {
+        while (running) {
+            try {
+                Thread.sleep(TICK_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            now = read();
+        }
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Read the system clock.  A tick is a whole number of milliseconds, so the milliseconds of the system clock are 
+     * precise enough, and reading them does not allocate an Instant on every tick.
+     * 
+     * @return The number of microseconds since 1970-01-01T00:00:00Z.
+     */
+    private static long read() {
+        return System.currentTimeMillis() * 1000;
+    }
+}
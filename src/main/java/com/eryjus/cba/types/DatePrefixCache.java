@@ -0,0 +1,230 @@
+//===================================================================================================================
+// DatePrefixCache.java -- A small cache of the rendered date part of the temporal types
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+// The dates and times of audit and log tables cluster on a handful of days, so an export renders the same
+// "yyyy-MM-dd" over and over.  This class keeps the rendered date of the most recent days, so that formatting a
+// CbaDate, CbaDateTime or CbaTimestamp only renders its time of day.
+//
+// The cache is direct-mapped: a day has exactly one slot, chosen by its low bits, so consecutive days never evict
+// each other.  Each slot holds an immutable entry, which makes it safe to share between threads without locking;
+// at worst two threads render the same day at the same time and one of the entries is kept.
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+//    Date     Programmer    Version    Comment
+// ----------  ----------  -----------  ----------------------------------------------------------------------------
+// 2026-10-16     adcl       v0.1.0     Initial version
+// 2026-10-16     adcl       v0.1.0     Copy into a char[] only, rather than any Object
+//
+//===================================================================================================================
+
+
+package com.eryjus.cba.types;
+
+import java.util.concurrent.atomic.LongAdder;
+
+
+//-------------------------------------------------------------------------------------------------------------------
+
+/**
+ * A bounded cache of the rendered date prefix ({@code yyyy-MM-dd}) of the temporal types, shared by all fields.
+ * It is used by {@code toString()}, {@code writeTo()} and {@code appendTo()} of {@link CbaDate},
+ * {@link CbaDateTime} and {@link CbaTimestamp}; the hit and miss counters show how well it suits the data.
+ *
+ * @author Adam Clark
+ * @since v0.1.0
+ */
+public final class DatePrefixCache {
+    /**
+     * The number of days held by each table; this must be a power of 2.
+     */
+    public static final int SIZE = 64;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * A rendered date, keyed by either its packed date or its epoch day.
+     */
+    private static final class Entry {
+        final long KEY;
+        final char[] TEXT;
+
+        Entry(long key, char[] text) {
+            KEY = key;
+            TEXT = text;
+        }
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The rendered dates keyed by packed date, as held by {@link CbaDate} and {@link CbaDateTime}.
+     */
+    private static final Entry[] BY_DATE = new Entry[SIZE];
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The rendered dates keyed by epoch day, as calculated from a {@link CbaTimestamp}.
+     */
+    private static final Entry[] BY_DAY = new Entry[SIZE];
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The number of dates written from the cache.
+     */
+    private static final LongAdder HITS = new LongAdder();
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The number of dates that had to be rendered.
+     */
+    private static final LongAdder MISSES = new LongAdder();
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * This is a static helper class and cannot be instantiated.
+     */
+    private DatePrefixCache() {}
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The {@link #HITS} access method.
+     *
+     * @return The number of dates written from the cache since the counters were last reset.
+     */
+    public static long getHits() { return HITS.sum(); }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The {@link #MISSES} access method.
+     *
+     * @return The number of dates that had to be rendered since the counters were last reset.
+     */
+    public static long getMisses() { return MISSES.sum(); }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Reset the hit and miss counters to zero.
+     */
+    public static void resetCounters() {
+        HITS.reset();
+        MISSES.reset();
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Empty the cache.  The counters are not changed.
+     */
+    public static void clear() {
+        for (int i = 0; i < SIZE; i ++) {
+            BY_DATE[i] = null;
+            BY_DAY[i] = null;
+        }
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Write the date of a packed date, from the cache when possible.
+     *
+     * @param date The packed date.
+     * @param buf The buffer into which to write.
+     * @param off The index in {@code buf} of the first character to write.
+     * @return The index one past the last character written.
+     */
+    static int writeDate(long date, char[] buf, int off) {
+        int slot = (int)date & (SIZE - 1);
+        Entry e = BY_DATE[slot];
+
+        if (null == e || e.KEY != date) {
+            MISSES.increment();
+            e = new Entry(date, render(date));
+            BY_DATE[slot] = e;
+        } else {
+            HITS.increment();
+        }
+
+        return copy(e.TEXT, buf, off);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Write the date of an epoch day, from the cache when possible.
+     *
+     * @param epochDay The number of days since 1970-01-01.
+     * @param buf The buffer into which to write.
+     * @param off The index in {@code buf} of the first character to write.
+     * @return The index one past the last character written.
+     */
+    static int writeEpochDay(long epochDay, char[] buf, int off) {
+        int slot = (int)epochDay & (SIZE - 1);
+        Entry e = BY_DAY[slot];
+
+        if (null == e || e.KEY != epochDay) {
+            MISSES.increment();
+            e = new Entry(epochDay, render(CbaTemporalDigits.ofEpochDay(epochDay)));
+            BY_DAY[slot] = e;
+        } else {
+            HITS.increment();
+        }
+
+        return copy(e.TEXT, buf, off);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Render a packed date into an array of exactly its length.
+     *
+     * @param date The packed date.
+     * @return The rendered date.
+     */
+    private static char[] render(long date) {
+        char[] buf = new char[CbaTemporalDigits.MAX_TIMESTAMP_CHARS];
+        int len = CbaTemporalDigits.renderDate(date, buf, 0);
+        char[] rv = new char[len];
+
+        System.arraycopy(buf, 0, rv, 0, len);
+        return rv;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Copy a rendered date into a buffer.
+     *
+     * @param text The rendered date.
+     * @param buf The buffer into which to copy.
+     * @param off The index in {@code buf} of the first character to copy.
+     * @return The index one past the last character copied.
+     */
+    private static int copy(char[] text, char[] buf, int off) {
+        System.arraycopy(text, 0, buf, off, text.length);
+        return off + text.length;
+    }
+}
@@ -0,0 +1,345 @@
+//===================================================================================================================
+// DecimalAccumulator.java -- A mutable SUM/AVG accumulator for decimal and integer columns
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+// Summing CbaDecimal values through BigDecimal creates a new object for every addition.  This class keeps the
+// running total as a scaled long at a fixed scale, so each addition is primitive arithmetic.  Only when the total
+// no longer fits in a long is it promoted to a BigDecimal, after which the additions continue there.
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+//    Date     Programmer    Version    Comment
+// ----------  ----------  -----------  ----------------------------------------------------------------------------
+// 2026-10-16     adcl       v0.1.0     Initial version
+// 2026-10-16     adcl       v0.1.0     Skip empty (NULL) fields, as SUM() and AVG() do
+//
+//===================================================================================================================
+
+
+package com.eryjus.cba.types;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+
+//-------------------------------------------------------------------------------------------------------------------
+
+/**
+ * A mutable accumulator for {@code SUM()} and {@code AVG()} over {@link CbaDecimal} and {@link CbaIntegerType}
+ * values.  The total is held at a fixed scale (number of decimal places).  Each value added is brought to that scale
+ * with {@link RoundingMode#FLOOR}, which is the same edit {@link CbaDecimal} applies when a value is assigned to a
+ * field with that many decimals.  When the accumulator is built from a field, the field's scale is used, so adding
+ * values of that field is exact.
+ * <p>
+ * The results are delivered into a {@link CbaDecimal} with {@link #sumTo(CbaDecimal)} and
+ * {@link #averageTo(CbaDecimal)}, which apply the target field's {@link CbaRealType#SIZE} and
+ * {@link CbaRealType#DECIMALS} as any other assignment would.
+ * <p>
+ * An empty field of a nullable column is NULL and is skipped, as SQL skips NULL in {@code SUM()} and {@code AVG()}:
+ * it adds nothing to the total and is not counted.  A field of a NOT NULL column always holds a value, if only its
+ * default, and is always added.
+ * <p>
+ * An accumulator is not thread-safe; use one per thread and {@link #add(DecimalAccumulator)} them together.
+ *
+ * @author Adam Clark
+ * @since v0.1.0
+ */
+public final class DecimalAccumulator {
+    /**
+     * The number of decimal places at which the total is held.
+     */
+    private final int SCALE;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The running total multiplied by 10<sup>SCALE</sup>, while it fits in a long.
+     */
+    private long sum;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The running total once it has been promoted out of {@link #sum}; null until then.
+     */
+    private BigDecimal big;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The number of values added.
+     */
+    private long count;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Create an accumulator that holds its total at a given scale.
+     *
+     * @param scale The number of decimal places to keep, from 0 to {@link CbaDecimal#MAX_COMPACT_PRECISION}.
+     * @throws IllegalArgumentException When {@code scale} is out of range.
+     */
+    public DecimalAccumulator(int scale) {
+        if (scale < 0 || scale > CbaDecimal.MAX_COMPACT_PRECISION) {
+            throw new IllegalArgumentException("Accumulator scale must be from 0 to " +
+                    CbaDecimal.MAX_COMPACT_PRECISION + "; found " + scale);
+        }
+
+        SCALE = scale;
+        reset();
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Create an accumulator for the values of a decimal field, holding its total at the field's scale.
+     *
+     * @param field The field whose values will be accumulated.
+     * @throws IllegalArgumentException When the field is unrestricted or has more decimals than can be held.
+     */
+    public DecimalAccumulator(CbaDecimal field) {
+        this(field.getDecimals());
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Clear the accumulator so it may be reused for the next group.
+     */
+    public void reset() {
+        sum = 0;
+        big = null;
+        count = 0;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Add the value of a decimal field.  A {@link CbaDecimal#isCompact() compact} field is added from its scaled
+     * long without allocating.
+     *
+     * @param val The field to add; skipped if NULL.
+     */
+    public void add(CbaDecimal val) {
+        if (val.isNullable() && val.isEmpty()) return;
+
+        if (val.isCompact()) {
+            addUnscaled(val.getUnscaled(), val.getDecimals());
+        } else {
+            add(val.getValue());
+        }
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Add the value of an integer field.
+     *
+     * @param val The field to add; skipped if NULL.
+     */
+    public void add(CbaIntegerType val) {
+        if (val.isNullable() && val.isEmpty()) return;
+
+        addUnscaled(val.getValue(), 0);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Add a BigDecimal value.  This is used for the values of wide decimal fields; it is only allocation-free once
+     * brought to {@link #SCALE} if the result fits in a long.
+     *
+     * @param val The value to add; skipped if null.
+     */
+    public void add(BigDecimal val) {
+        if (null == val) return;
+
+        BigDecimal rv = val.setScale(SCALE, RoundingMode.FLOOR);
+
+        if (null == big && rv.unscaledValue().bitLength() < Long.SIZE) {
+            addUnscaled(rv.unscaledValue().longValue(), SCALE);
+        } else {
+            promote();
+            big = big.add(rv);
+            count ++;
+        }
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Add the running total of another accumulator to this one, as when combining the partial results of several
+     * threads.  The values counted by {@code other} are counted here as well.
+     *
+     * @param other The accumulator to add; it is not changed.
+     */
+    public void add(DecimalAccumulator other) {
+        long saved = count;
+
+        if (null == other.big) addUnscaled(other.sum, other.SCALE);
+        else add(other.big);
+
+        count = saved + other.count;
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Add a scaled long: the value added is {@code unscaledVal} &times; 10<sup>-scale</sup>.  The value is brought
+     * to {@link #SCALE} with {@link RoundingMode#FLOOR} and added with a long addition, promoting the total to a
+     * BigDecimal only if the addition overflows.
+     *
+     * @param unscaledVal The unscaled value to add.
+     * @param scale The number of decimal places in {@code unscaledVal}; must not be negative.
+     */
+    public void addUnscaled(long unscaledVal, int scale) {
+        if (scale < 0) throw new IllegalArgumentException("Negative scale " + scale);
+
+        count ++;
+
+        int diff = SCALE - scale;
+        long val;
+
+        if (diff == 0) {
+            val = unscaledVal;
+        } else if (diff < 0) {
+            val = (-diff < CbaDigits.POW10.length ? Math.floorDiv(unscaledVal, CbaDigits.POW10[-diff]) :
+                    (unscaledVal < 0 ? -1 : 0));
+        } else if (unscaledVal != Long.MIN_VALUE && Math.abs(unscaledVal) <= Long.MAX_VALUE / CbaDigits.POW10[diff]) {
+            val = unscaledVal * CbaDigits.POW10[diff];
+        } else {
+            promote();
+            big = big.add(BigDecimal.valueOf(unscaledVal, scale));
+            return;
+        }
+
+        if (null != big) {
+            big = big.add(BigDecimal.valueOf(val, SCALE));
+            return;
+        }
+
+        long rv = sum + val;
+
+        // -- the sum overflowed if both operands have a sign different from the result
+        if (((sum ^ rv) & (val ^ rv)) < 0) {
+            promote();
+            big = big.add(BigDecimal.valueOf(val, SCALE));
+        } else {
+            sum = rv;
+        }
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Move the running total from {@link #sum} to {@link #big}, if it is not there already.
+     */
+    private void promote() {
+        if (null == big) {
+            big = BigDecimal.valueOf(sum, SCALE);
+            sum = 0;
+        }
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The {@link #SCALE} access method.
+     *
+     * @return The number of decimal places at which the total is held.
+     */
+    public int getScale() { return SCALE; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The {@link #count} access method.
+     *
+     * @return The number of values added since this accumulator was created or reset.
+     */
+    public long getCount() { return count; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Has the running total outgrown a long?
+     *
+     * @return Whether the total is now held as a BigDecimal.
+     */
+    public boolean isPromoted() { return (null != big); }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Get the running total as a BigDecimal at {@link #SCALE}.
+     *
+     * @return The total of all the values added; zero if none have been.
+     */
+    public BigDecimal getSum() {
+        return (null == big ? BigDecimal.valueOf(sum, SCALE) : big);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Assign the running total to a decimal field.  The field's size and decimals are applied as for any other
+     * assignment; a compact field receives the total without allocation if it has not been promoted.
+     *
+     * @param target The field to receive the total.
+     * @return The status of the assignment to {@code target}.
+     */
+    public CbaType.ParseStatus sumTo(CbaDecimal target) {
+        if (null == big) return target.assignUnscaled(sum, SCALE);
+        else return target.assign(big);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Assign the average of the values to a decimal field.  The average is calculated at {@link #SCALE} with
+     * {@link RoundingMode#FLOOR} and then the field's size and decimals are applied as for any other assignment.
+     *
+     * @param target The field to receive the average.
+     * @return The status of the assignment to {@code target}, or {@link CbaType.ParseStatus#EMPTY} if no values
+     * have been added (in which case {@code target} is unchanged).
+     */
+    public CbaType.ParseStatus averageTo(CbaDecimal target) {
+        if (count == 0) return CbaType.ParseStatus.EMPTY;
+
+        if (null == big) {
+            return target.assignUnscaled(Math.floorDiv(sum, count), SCALE);
+        } else {
+            return target.assign(big.divide(BigDecimal.valueOf(count), SCALE, RoundingMode.FLOOR));
+        }
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Create a string representation of the running total.
+     *
+     * @return The total in the form of {@link BigDecimal#toPlainString()}.
+     */
+    @Override
+    public String toString() { return getSum().toPlainString(); }
+}
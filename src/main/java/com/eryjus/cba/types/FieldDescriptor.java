@@ -0,0 +1,185 @@
+//===================================================================================================================
+// FieldDescriptor.java -- The immutable attributes of a column, shared by every row's element for that column
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+// A CbaType carries two kinds of attributes: what the column is (its type, table, name, update style, nullability,
+// default value, size and so on) and what the row holds (the value, and whether it is dirty or empty).  The first
+// kind never changes once the element is built, yet it used to be copied into every element: a row of CbaElements
+// carried 19 copies of its column attributes, and a cache of rows carried them again for every row.
+//
+// The attributes of a column are now built once into a FieldDescriptor, and every element for that column holds a
+// single reference to it.  CbaType.newInstance() makes another element for the same column, sharing the descriptor,
+// so that the rows of a table cost only their values.  Each family of types that has attributes of its own extends
+// this class with a nested Descriptor (see CbaIntegerType, CbaRealType, CbaDecimal and CbaCharType).
+//
+// The default value is parsed once, when the column is built, by an element built for the purpose and then dropped.
+// The descriptor keeps only the value as that element held it, in a form that is never changed (a boxed long or
+// double, a BigDecimal, or the String, code or bytes of a character value), and clearing an element restores the
+// value from there.  Every element of the column may read it at once, on any thread.
+//
+// -----------------------------------------------------------------------------------------------------------------
+//
+//    Date     Programmer    Version    Comment
+// ----------  ----------  -----------  ----------------------------------------------------------------------------
+// 2026-10-16     adcl       v0.1.0     Initial version
+// 2026-10-16     adcl       v0.1.0     Hold the default value parsed into an element
+// 2026-10-17     adcl       v0.1.0     Hold the default as an immutable value rather than in an element
+//
+//===================================================================================================================
+
+
+package com.eryjus.cba.types;
+
+import com.eryjus.cba.sql.SqlField.UpdateStyle;
+
+import org.apache.logging.log4j.LogManager;
+
+
+//-------------------------------------------------------------------------------------------------------------------
+
+/**
+ * The immutable attributes of a column, built once from a {@link CbaType.Builder} and shared by every element
+ * built or instanced for that column.  It is thread-safe.
+ *
+ * @author Adam Clark
+ * @since v0.1.0
+ */
+public class FieldDescriptor {
+    /**
+     * The indicated type of the column.
+     */
+    final CbaType.IndicatedType INDICATED_TYPE;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The persistent database table that the column belongs to.  Will be blank for a variable.
+     */
+    final String TABLE_NAME;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * The name of the persistent database column.  Will be blank for a variable.
+     */
+    final String FIELD_NAME;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Is the column updated by the system and therefore read only?
+     */
+    final UpdateStyle UPDATE_STYLE;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Can the column be set to null?
+     */
+    final boolean NOT_NULL;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * A String representation of the default value of the column.
+     */
+    final String FIELD_DEFAULT_VALUE;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * {@link #FIELD_DEFAULT_VALUE} already parsed, as {@link CbaType#heldValue()} holds it, from which 
+     * {@link CbaType#clearField()} restores it.  This is null only for the element that parses it, while it is 
+     * built.
+     */
+    final Object DEFAULT;
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * Build the descriptor from the attributes set on a builder.  This takes care to make sure that the table and
+     * field are not null and are in a consistent state.
+     *
+     * @param builder The builder from which the attributes are taken.
+     */
+    FieldDescriptor(CbaType.Builder<?> builder) {
+        UPDATE_STYLE = builder.updateStyle;
+        INDICATED_TYPE = builder.indicatedType;
+        NOT_NULL = builder.notNull;
+
+        // -- the element for the default comes from the same builder; report a problem once, not twice
+        boolean report = !builder.buildingDefault;
+
+        if (report && builder.table == null) {
+            LogManager.getLogger(this.getClass()).info("Binding table was null; assuming blank");
+        }
+
+        if (report && builder.field == null) {
+            LogManager.getLogger(this.getClass()).info("Binding field was null; assuming blank");
+        }
+
+        if (report && builder.defaultValue == null) {
+            LogManager.getLogger(this.getClass()).info("Default Value was null; assuming blank");
+        }
+
+        if (null == builder.table || null == builder.field || builder.table.trim().isEmpty() ||
+                    builder.field.trim().isEmpty()) {
+            if (report && builder.table != null && builder.field != null &&
+                        (!builder.table.trim().isEmpty() || !builder.field.trim().isEmpty())) {
+                LogManager.getLogger(this.getClass()).info("Table and field were not consistent; assuming blank");
+            }
+
+            TABLE_NAME = "";
+            FIELD_NAME = "";
+        } else {
+            TABLE_NAME = builder.table;
+            FIELD_NAME = builder.field;
+        }
+
+        if (builder.defaultValue == null) {
+            FIELD_DEFAULT_VALUE = "";
+        } else {
+            FIELD_DEFAULT_VALUE = builder.defaultValue;
+        }
+
+        DEFAULT = builder.buildDefault(FIELD_DEFAULT_VALUE);
+    }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * {@link #TABLE_NAME} access method.
+     *
+     * @return The name of the database table of the column; blank for a variable.
+     */
+    public final String getTableName() { return TABLE_NAME; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * {@link #FIELD_NAME} access method.
+     *
+     * @return The name of the database column; blank for a variable.
+     */
+    public final String getFieldName() { return FIELD_NAME; }
+
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * {@link #INDICATED_TYPE} access method, returning a String.
+     *
+     * @return The String representation of the indicated type of the column.
+     */
+    public final String getIndicatedType() { return INDICATED_TYPE.name(); }
+}
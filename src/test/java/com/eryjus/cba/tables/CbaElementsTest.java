@@ -0,0 +1,125 @@
+package com.eryjus.cba.tables;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import com.eryjus.cba.types.CbaClock;
+import com.eryjus.cba.types.CbaDateTime;
+import com.eryjus.cba.types.CbaInt;
+import com.eryjus.cba.types.CbaTimestamp;
+import com.eryjus.cba.types.CbaType;
+
+
+/**
+ * Tests of the system-managed temporal fields, stamped by {@link CbaElements#insert()} and
+ * {@link CbaElements#update()} from a fixed {@link CbaClock}.  An insert must stamp only the create time and an
+ * update only the modify time, each from a single read of the clock.
+ */
+public class CbaElementsTest {
+    private static final int CREATE_DATE_TIME = 14;
+    private static final int MODIFY_DATE_TIME = 17;
+
+    private static final long T1 = 1709201472000000L;          // 2024-02-29T10:11:12Z
+    private static final long T2 = 1709201472123456L;
+    private static final long T3 = -302443200000000L;          // 1960-06-01T12:00:00Z
+
+
+    private static long micros(CbaTable tbl, int index) {
+        return ((CbaTimestamp)tbl.getField(index)).getEpochMicros();
+    }
+
+
+    @Test
+    public void elementsTest0001() {
+        CbaElements e = new CbaElements();
+        long modify = micros(e, MODIFY_DATE_TIME);
+
+        e.setClock(CbaClock.fixed(T1));
+        e.insert();
+        assertEquals(T1, micros(e, CREATE_DATE_TIME));
+        assertEquals(modify, micros(e, MODIFY_DATE_TIME));
+        assertEquals("2024-02-29T10:11:12.000000Z", e.getField(CREATE_DATE_TIME).toString());
+
+        e.setClock(CbaClock.fixed(T2));
+        e.update();
+        assertEquals(T1, micros(e, CREATE_DATE_TIME));
+        assertEquals(T2, micros(e, MODIFY_DATE_TIME));
+        assertEquals("2024-02-29T10:11:12.123456Z", e.getField(MODIFY_DATE_TIME).toString());
+
+        // -- the stamped fields are read-only to everyone else
+        e.getField(CREATE_DATE_TIME).assign("2000-01-01T00:00:00Z");
+        assertEquals(T1, micros(e, CREATE_DATE_TIME));
+    }
+
+
+    @Test
+    public void elementsTest0002() {
+        CbaElements e = new CbaElements();
+        int[] reads = { 0 };
+
+        e.setClock(() -> T1 + reads[0] ++);
+
+        // -- a batch reads the clock once and stamps the other rows with the same time
+        long now = e.stampInsert();
+        assertEquals(T1, now);
+        assertEquals(T1, micros(e, CREATE_DATE_TIME));
+
+        for (int row = 0; row < 3; row ++) {
+            e.clearBuffer();
+            e.stampInsert(now);
+            assertEquals(T1, micros(e, CREATE_DATE_TIME));
+        }
+
+        e.stampInsert(T3);
+        assertEquals(T3, micros(e, CREATE_DATE_TIME));
+        assertEquals("1960-06-01T12:00:00.000000Z", e.getField(CREATE_DATE_TIME).toString());
+
+        e.stampUpdate(T3);
+        assertEquals(T3, micros(e, MODIFY_DATE_TIME));
+        assertEquals(1, reads[0]);
+
+        e.update();
+        assertEquals(T1 + 1, micros(e, MODIFY_DATE_TIME));
+        assertEquals(T3, micros(e, CREATE_DATE_TIME));
+        assertEquals(2, reads[0]);
+    }
+
+
+    @Test
+    public void elementsTest0003() {
+        CbaType[] flds = {
+            new CbaInt.Builder().setField("t", "id").build(),
+            new CbaDateTime.Builder().setField("t", "touched").setUpdateStyle(CbaType.UpdateStyle.BOTH).build(),
+        };
+        CbaTable tbl = new CbaTable("s", "t", flds) {};
+        LocalDateTime local = LocalDateTime.ofInstant(Instant.ofEpochSecond(T1 / 1000000), ZoneId.systemDefault());
+
+        // -- a local date and time is stamped in the local time zone, on an insert and on an update
+        tbl.setClock(CbaClock.fixed(T1));
+        assertEquals(T1, tbl.stampInsert());
+        assertEquals(local, ((CbaDateTime)tbl.getField(1)).getValue());
+
+        tbl.setClock(CbaClock.fixed(T3));
+        assertEquals(T3, tbl.stampUpdate());
+        local = LocalDateTime.ofInstant(Instant.ofEpochSecond(T3 / 1000000), ZoneId.systemDefault());
+        assertEquals(local, ((CbaDateTime)tbl.getField(1)).getValue());
+    }
+
+
+    @Test
+    public void elementsTest0004() {
+        CbaType[] flds = { new CbaInt.Builder().setField("t", "id").build() };
+        CbaTable tbl = new CbaTable("s", "t", flds) {};
+        int[] reads = { 0 };
+
+        // -- nothing to stamp, so the clock is never read
+        tbl.setClock(() -> { reads[0] ++; return T1; });
+        assertEquals(0, tbl.stampInsert());
+        assertEquals(0, tbl.stampUpdate());
+        assertEquals(0, reads[0]);
+    }
+}
@@ -0,0 +1,154 @@
+package com.eryjus.cba.types;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import java.nio.CharBuffer;
+
+import com.eryjus.cba.types.CbaType.ParseStatus;
+
+
+/**
+ * Table-driven tests of {@link CbaBoolean#assign(CharSequence, int, int)}.  Each row is parsed from a String, from a
+ * StringBuilder and from a CharBuffer, each time as a range within a longer sequence, and must give the same status
+ * and value every time.  The rows cover the words in every case, the integers, the real numbers whose integer part
+ * decides the value, the surrounding whitespace that is ignored and the tokens that are rejected.  A real number is
+ * also checked against the integer part the JDK finds for it.
+ */
+public class CbaBooleanTest {
+    private static final String[][] ROWS = {
+        { "true", "1", "OK" },
+        { "TRUE", "1", "OK" },
+        { "True", "1", "OK" },
+        { "tRuE", "1", "OK" },
+        { "false", "0", "OK" },
+        { "FALSE", "0", "OK" },
+        { "fAlSe", "0", "OK" },
+        { " true ", "1", "OK" },
+        { "\ttrue\n", "1", "OK" },
+        { "  FALSE", "0", "OK" },
+
+        { "0", "0", "OK" },
+        { "1", "1", "OK" },
+        { "-1", "1", "OK" },
+        { "+7", "1", "OK" },
+        { "000", "0", "OK" },
+        { "-0", "0", "OK" },
+        { "0001", "1", "OK" },
+        { "99999999999999999999999", "1", "OK" },
+
+        { "0.5", "0", "TRUNCATED" },
+        { "1.5", "1", "TRUNCATED" },
+        { "-0.9", "0", "TRUNCATED" },
+        { "-1.0", "1", "TRUNCATED" },
+        { ".5", "0", "TRUNCATED" },
+        { "5.", "1", "TRUNCATED" },
+        { "0.0", "0", "TRUNCATED" },
+        { "1e-1", "0", "TRUNCATED" },
+        { "1e0", "1", "TRUNCATED" },
+        { "0.1e1", "1", "TRUNCATED" },
+        { "0.01E1", "0", "TRUNCATED" },
+        { "0.01e+2", "1", "TRUNCATED" },
+        { "1E-400", "0", "TRUNCATED" },
+        { "1e400", "1", "TRUNCATED" },
+        { "Infinity", "1", "TRUNCATED" },
+        { "-INFINITY", "1", "TRUNCATED" },
+        { "NaN", "0", "TRUNCATED" },
+        { "nan", "0", "TRUNCATED" },
+
+        { "", "0", "EMPTY" },
+        { "   ", "0", "EMPTY" },
+
+        { "tru", "0", "INVALID" },
+        { "truee", "0", "INVALID" },
+        { "t", "0", "INVALID" },
+        { "yes", "0", "INVALID" },
+        { "on", "0", "INVALID" },
+        { "true false", "0", "INVALID" },
+        { "tr ue", "0", "INVALID" },
+        { "1x", "0", "INVALID" },
+        { "--1", "0", "INVALID" },
+        { "+", "0", "INVALID" },
+        { "-", "0", "INVALID" },
+        { ".", "0", "INVALID" },
+        { "1e", "0", "INVALID" },
+        { "1e+", "0", "INVALID" },
+        { "e5", "0", "INVALID" },
+        { "0x1", "0", "INVALID" },
+        { "1.5.5", "0", "INVALID" },
+        { "+-1", "0", "INVALID" },
+    };
+
+
+    private static CharSequence form(int form, String text) {
+        switch (form) {
+            case 0:     return text;
+            case 1:     return new StringBuilder(text);
+            default:    return CharBuffer.wrap(text.toCharArray());
+        }
+    }
+
+
+    @Test
+    public void booleanTest0001() {
+        for (String[] row : ROWS) {
+            String in = row[0];
+            long exp = Long.parseLong(row[1]);
+            ParseStatus status = ParseStatus.valueOf(row[2]);
+
+            // -- the characters either side of the range would change the answer if they were read
+            String text = "9x" + in + "1e";
+
+            for (int form = 0; form < 3; form ++) {
+                CbaBoolean fld = new CbaBoolean.Builder().build();
+                String msg = "\"" + in + "\" from form " + form;
+
+                fld.assign(1);
+                assertEquals(msg, status, fld.assign(form(form, text), 2, 2 + in.length()));
+                assertEquals(msg, exp, fld.getValue());
+            }
+
+            if (status == ParseStatus.TRUNCATED) {
+                try {
+                    double jdk = Double.parseDouble(in);
+                    assertEquals(in, ((long)jdk != 0 ? 1 : 0), exp);
+                } catch (NumberFormatException e) {
+                    // -- the JDK spells the special values in one case only
+                }
+            }
+        }
+    }
+
+
+    @Test
+    public void booleanTest0002() {
+        CbaBoolean fld = new CbaBoolean.Builder().build();
+
+        // -- a word cut short by the range, and one that runs on past it
+        assertEquals(ParseStatus.INVALID, fld.assign("true", 0, 3));
+        assertEquals(ParseStatus.OK, fld.assign("truest", 0, 4));
+        assertEquals(1, fld.getValue());
+        assertEquals(ParseStatus.OK, fld.assign("isfalse!", 2, 7));
+        assertEquals(0, fld.getValue());
+        assertEquals(ParseStatus.OK, fld.assign("-12", 1, 3));
+        assertEquals(1, fld.getValue());
+
+        // -- nothing at all is EMPTY and FALSE
+        fld.assign(1);
+        assertEquals(ParseStatus.EMPTY, fld.assign(null, 0, 0));
+        assertEquals(0, fld.getValue());
+        fld.assign(1);
+        assertEquals(ParseStatus.EMPTY, fld.assign("true", 2, 2));
+        assertEquals(0, fld.getValue());
+
+        // -- assign(String) keeps its contract: no exception, and null is FALSE
+        fld.assign("TRUE");
+        assertEquals(1, fld.getValue());
+        fld.assign("bogus");
+        assertEquals(0, fld.getValue());
+        fld.assign("2.5");
+        assertEquals(1, fld.getValue());
+        fld.assign((String)null);
+        assertEquals(0, fld.getValue());
+    }
+}
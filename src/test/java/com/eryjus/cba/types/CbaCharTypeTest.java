@@ -0,0 +1,496 @@
+package com.eryjus.cba.types;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import com.eryjus.cba.types.CbaType.Collation;
+import com.eryjus.cba.types.CbaType.ParseStatus;
+
+
+/**
+ * Tests that a {@link CbaVarchar} held as a dictionary code reads back exactly as one held as bytes in the same
+ * charset: what the charset cannot carry is replaced the same way, and a value is cut to the same length with the
+ * same status.  A value with a supplementary character is cut in every mode without keeping half of its surrogate
+ * pair.  Values compare the same both ways round in every pair of collations, fields of different collations are
+ * compared by code point, and the sort keys order the values as compareTo() does.  A value appended a piece at a
+ * time reads back as the whole assigned at once, in every mode and with every cut between the pieces.  Equal values
+ * are equal, and hash alike, however each of them is held: as a String, as bytes in a charset, as a dictionary 
+ * code, compressed or in chunks.  The default of a column is restored in each of those forms, and changing one
+ * element in place never reaches the default the others restore.  The elements made by newInstance() share one 
+ * descriptor, and clearField() leaves an element clean and empty.
+ */
+public class CbaCharTypeTest {
+    private static final String[] VALUES = {
+        "abc", "héllo", "\ude01", "a\ud83d", "😀b", "x\ude01\ud83dy", "€5", "中文",
+        "a😀😀😀😀😀😀", "0123456789ab", "",
+    };
+
+
+    private static void check(Charset cs) {
+        for (String v : VALUES) {
+            CbaVarchar held = new CbaVarchar.Builder().setSize(10).setCharset(cs).build();
+            CbaVarchar coded = new CbaVarchar.Builder().setSize(10).setCharset(cs)
+                    .setDictionary(new CbaDictionary(64)).build();
+            String msg = cs + " " + v;
+
+            ParseStatus exp = held.assign(v, 0, v.length());
+            assertEquals(msg, exp, coded.assign(v, 0, v.length()));
+            assertEquals(msg, held.toString(), coded.toString());
+
+            coded.setValue(v);
+            held.setValue(v);
+            assertEquals(msg, held.toString(), coded.toString());
+        }
+    }
+
+
+    private static final String[] ORDERED = {
+        "", "A", "a", "ab", "AB", "abc", "b", "B", "Z", "z", "é", "É", "中", "😀", "\ufffd",
+    };
+
+
+    private static CbaVarchar varchar(Collation coll, Charset cs, boolean keep) {
+        return new CbaVarchar.Builder().setSize(10).setCharset(cs).setCollation(coll).setCacheSortKey(keep).build();
+    }
+
+
+    private static int sign(int n) {
+        return Integer.signum(n);
+    }
+
+
+    private static int compareCp(String x, String y) {
+        int i = 0;
+        int j = 0;
+
+        while (i < x.length() && j < y.length()) {
+            int cx = x.codePointAt(i);
+            int cy = y.codePointAt(j);
+
+            if (cx != cy) return Integer.signum(cx - cy);
+
+            i += Character.charCount(cx);
+            j += Character.charCount(cy);
+        }
+
+        return Integer.signum((x.length() - i) - (y.length() - j));
+    }
+
+
+    private static int unsigned(byte[] a, byte[] b) {
+        int n = Math.min(a.length, b.length);
+
+        for (int i = 0; i < n; i ++) {
+            int d = (a[i] & 0xff) - (b[i] & 0xff);
+            if (d != 0) return d;
+        }
+
+        return a.length - b.length;
+    }
+
+
+    @Test
+    public void charTest0001() {
+        CbaVarchar fld = new CbaVarchar.Builder().setSize(10).setCharset(StandardCharsets.UTF_8)
+                .setDictionary(new CbaDictionary(64)).build();
+
+        fld.assign("\ude01");
+        assertEquals("?", fld.toString());
+        fld.assign("😀");
+        assertEquals("😀", fld.toString());
+    }
+
+
+    @Test
+    public void charTest0002() {
+        check(StandardCharsets.UTF_8);
+        check(StandardCharsets.ISO_8859_1);
+        check(StandardCharsets.US_ASCII);
+        check(Charset.forName("UTF-16"));
+    }
+
+
+    @Test
+    public void charTest0003() {
+        Charset[] charsets = { null, StandardCharsets.UTF_8, StandardCharsets.ISO_8859_1, Charset.forName("UTF-16") };
+        String[] values = { "ab😀c", "a😀😀b", "😀😀😀😀", "abc😀" };
+
+        // -- a String keeps 3 characters and the others 3 code points, but no mode keeps half a surrogate pair
+        for (Charset cs : charsets) {
+            for (int dict = 0; dict < 2; dict ++) {
+                CbaVarchar.Builder b = new CbaVarchar.Builder().setSize(3).setCharset(cs);
+                if (dict == 1) b.setDictionary(new CbaDictionary(64));
+
+                for (String v : values) {
+                    String msg = cs + " " + dict + " " + v;
+                    CbaVarchar fld = b.build();
+                    byte[] utf8 = v.getBytes(StandardCharsets.UTF_8);
+
+                    assertEquals(msg, ParseStatus.TRUNCATED, fld.assign(v, 0, v.length()));
+                    String held = fld.toString();
+
+                    assertFalse(msg, Character.isHighSurrogate(held.charAt(held.length() - 1)));
+
+                    if (null == cs || StandardCharsets.UTF_8.equals(cs)) {
+                        String cut = (null == cs ? v.substring(0, Character.isHighSurrogate(v.charAt(2)) ? 2 : 3) : 
+                                v.substring(0, v.offsetByCodePoints(0, 3)));
+
+                        assertEquals(msg, cut, held);
+                        assertEquals(msg, ParseStatus.TRUNCATED, fld.assign(utf8, 0, utf8.length));
+                        assertEquals(msg, cut, fld.toString());
+
+                        fld.assign(v);
+                        assertEquals(msg, cut, fld.toString());
+                    }
+                }
+            }
+        }
+    }
+
+
+    @Test
+    public void charTest0004() {
+        Charset[] charsets = { null, StandardCharsets.UTF_8 };
+
+        // -- every pair in every collation and form, in both directions
+        for (Collation ca : Collation.values()) {
+            for (Collation cb : Collation.values()) {
+                for (int form = 0; form < 8; form ++) {
+                    CbaVarchar a = varchar(ca, charsets[form & 1], (form & 4) != 0);
+                    CbaVarchar b = varchar(cb, charsets[(form >> 1) & 1], (form & 4) != 0);
+
+                    for (String x : ORDERED) {
+                        for (String y : ORDERED) {
+                            String msg = ca + "/" + cb + " " + form + " \"" + x + "\" \"" + y + "\"";
+
+                            a.assign(x);
+                            b.assign(y);
+
+                            int ab = sign(a.compareTo(b));
+                            assertEquals(msg, -ab, sign(b.compareTo(a)));
+
+                            // -- fields of different collations are compared in BINARY
+                            if (ca != cb) assertEquals(msg, compareCp(x, y), ab);
+                        }
+                    }
+                }
+            }
+        }
+
+        // -- the same pair under each shared collation
+        CbaVarchar[] lo = { varchar(Collation.BINARY, null, false), varchar(Collation.ASCII_CI, null, false), 
+                varchar(Collation.GENERAL, null, false) };
+        CbaVarchar[] hi = { varchar(Collation.BINARY, null, false), varchar(Collation.ASCII_CI, null, false), 
+                varchar(Collation.GENERAL, null, false) };
+
+        for (int i = 0; i < 3; i ++) {
+            lo[i].assign("abc");
+            hi[i].assign("ABC");
+        }
+
+        assertTrue(lo[0].compareTo(hi[0]) > 0);
+        assertEquals(0, lo[1].compareTo(hi[1]));
+        assertEquals(0, hi[1].compareTo(lo[1]));
+        assertTrue(lo[1].compareTo(hi[0]) > 0);
+        assertTrue(hi[0].compareTo(lo[1]) < 0);
+
+        hi[2].assign("B");
+        assertTrue(lo[2].compareTo(hi[2]) < 0);
+        assertTrue(hi[2].compareTo(lo[2]) > 0);
+        assertTrue(lo[2].compareTo(hi[0]) > 0);
+    }
+
+
+    @Test
+    public void charTest0005() {
+        Charset[] charsets = { null, StandardCharsets.UTF_8, StandardCharsets.ISO_8859_1 };
+
+        // -- the sort keys, compared unsigned, order the values as compareTo() does
+        for (Collation coll : Collation.values()) {
+            for (Charset cs : charsets) {
+                CbaVarchar a = varchar(coll, cs, false);
+                CbaVarchar b = varchar(coll, cs, false);
+
+                for (String x : ORDERED) {
+                    for (String y : ORDERED) {
+                        String msg = coll + " " + cs + " \"" + x + "\" \"" + y + "\"";
+
+                        a.assign(x);
+                        b.assign(y);
+
+                        byte[] kx = a.getSortKey();
+                        byte[] ky = b.getSortKey();
+
+                        assertEquals(msg, sign(a.compareTo(b)), sign(unsigned(kx, ky)));
+                    }
+                }
+            }
+        }
+
+        // -- a kept key is derived once per value, and derived again after an assignment
+        CbaVarchar kept = varchar(Collation.ASCII_CI, StandardCharsets.UTF_8, true);
+        kept.assign("abc");
+        byte[] key = kept.getSortKey();
+
+        assertSame(key, kept.getSortKey());
+        assertArrayEquals("ABC".getBytes(StandardCharsets.US_ASCII), key);
+
+        kept.assign("abd");
+        assertNotSame(key, kept.getSortKey());
+        assertArrayEquals("ABD".getBytes(StandardCharsets.US_ASCII), kept.getSortKey());
+
+        CbaVarchar fresh = varchar(Collation.ASCII_CI, StandardCharsets.UTF_8, false);
+        fresh.assign("abc");
+        assertNotSame(fresh.getSortKey(), fresh.getSortKey());
+    }
+
+
+    @Test
+    public void charTest0006() throws Exception {
+        CbaCharType.Builder<?>[] builders = {
+            new CbaVarchar.Builder().setSize(6),
+            new CbaVarchar.Builder().setSize(6).setDictionary(new CbaDictionary(1024)),
+            new CbaVarchar.Builder().setSize(6).setCharset(StandardCharsets.UTF_8)
+                    .setDictionary(new CbaDictionary(1024)),
+            new CbaVarchar.Builder().setSize(6).setCharset(StandardCharsets.ISO_8859_1)
+                    .setDictionary(new CbaDictionary(1024)),
+            new CbaVarchar.Builder().setSize(6).setCharset(Charset.forName("UTF-16")),
+            new CbaTinyText.Builder().setSize(12).setCharset(Charset.forName("UTF-16")),
+        };
+        String[] values = { 
+            "abc", "ab😀cd", "😀😀😀😀", "abcde😀", "a\ud83d\ud83db", "abcdef", "abcdefgh", "x\ude01y",
+        };
+        Random rnd = new Random(18);
+
+        // -- the pieces are appended with a read between some of them, which assigns what was staged so far
+        for (CbaCharType.Builder<?> b : builders) {
+            for (String v : values) {
+                for (int cut = 0; cut <= v.length(); cut ++) {
+                    CbaCharType whole = (CbaCharType)b.build();
+                    CbaCharType parts = (CbaCharType)b.build();
+                    String msg = whole.getClass().getSimpleName() + " " + whole.getCharset() + " " + v + " " + cut;
+                    ParseStatus exp = whole.assign(v, 0, v.length());
+
+                    parts.assign("");
+                    ParseStatus st = parts.append(v, 0, cut);
+                    if (rnd.nextBoolean()) parts.toString();
+                    if (cut < v.length()) st = parts.append(v, cut, v.length());
+
+                    assertEquals(msg, whole.toString(), parts.toString());
+                    assertEquals(msg, whole.getDictionaryCode(), parts.getDictionaryCode());
+                    assertTrue(msg, parts.valueEquals(whole));
+                    if (!(parts instanceof CbaTinyText)) assertEquals(msg, exp, st);
+                }
+            }
+        }
+
+        // -- a chunked value is cut before a surrogate pair the limit falls in, whether written or appended
+        CbaVarchar fld = new CbaVarchar.Builder().setSize(3).build();
+        CbaCharType.ValueWriter out = fld.openWriter();
+
+        out.write("ab\ud83d");
+        out.write('\ude00');
+        out.close();
+        assertTrue(out.isTruncated());
+        assertEquals("ab", fld.toString());
+
+        out = fld.openWriter();
+        out.write("ab😀");
+        out.close();
+        assertEquals("ab", fld.toString());
+
+        fld.assign("");
+        assertEquals(ParseStatus.OK, fld.append("a"));
+        assertEquals(ParseStatus.TRUNCATED, fld.append("b😀"));
+        assertEquals("ab", fld.toString());
+
+        fld.assign("a");
+        assertEquals(ParseStatus.OK, fld.append("b\ud83d"));
+        assertEquals(ParseStatus.TRUNCATED, fld.append("\ude00"));
+        assertEquals("ab", fld.toString());
+    }
+
+
+    private static String repeat(String s, int n) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < n; i ++) sb.append(s);
+        return sb.toString();
+    }
+
+
+    private static CbaSmallText text(Charset cs, int threshold) {
+        return new CbaSmallText.Builder().setCharset(cs).setCompressThreshold(threshold).build();
+    }
+
+
+    private static CbaVarchar coded(Charset cs) {
+        return new CbaVarchar.Builder().setSize(300).setCharset(cs).setDictionary(new CbaDictionary(64)).build();
+    }
+
+
+    private static <T extends CbaCharType> T written(T fld, String v) {
+        try (CbaCharType.ValueWriter out = fld.openWriter()) {
+            out.write(v);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+
+        return fld;
+    }
+
+
+    private static <T extends CbaCharType> T appended(T fld, String v) {
+        int mid = v.offsetByCodePoints(0, v.codePointCount(0, v.length()) / 2);
+
+        fld.assign("");
+        fld.append(v, 0, mid);
+        fld.append(v, mid, v.length());
+        return fld;
+    }
+
+
+    private static <T extends CbaCharType> void checkModes(List<Function<String, T>> forms, String[] values) {
+        for (String x : values) {
+            for (String y : values) {
+                for (int i = 0; i < forms.size(); i ++) {
+                    for (int j = 0; j < forms.size(); j ++) {
+                        T a = forms.get(i).apply(x);
+                        T b = forms.get(j).apply(y);
+                        String msg = a.getClass().getSimpleName() + " " + i + "/" + j + " \"" + x + "\" \"" + y 
+                                + "\"";
+
+                        assertEquals(msg, x.equals(y), a.equals(b));
+                        assertEquals(msg, x.equals(y), b.equals(a));
+
+                        if (x.equals(y)) {
+                            assertEquals(msg, a.hash64(), b.hash64());
+                            assertEquals(msg, a.hashCode(), b.hashCode());
+                        } else {
+                            assertTrue(msg, a.hash64() != b.hash64());
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+
+    @Test
+    public void charTest0007() {
+        String[] values = { "", "abc", "abd", "héllo wörld", repeat("abcd", 40), repeat("abcd", 40) + "e" };
+        String[] wide = { "", "中文😀", repeat("ab😀", 40), repeat("ab😀", 39) + "ab" };
+        List<Function<String, CbaSmallText>> texts = new ArrayList<>();
+        List<Function<String, CbaVarchar>> varchars = new ArrayList<>();
+
+        // -- a String, bytes in three charsets, compressed from a String and from bytes, and in chunks
+        texts.add(v -> { CbaSmallText t = text(null, 0); t.assign(v); return t; });
+        texts.add(v -> { CbaSmallText t = text(StandardCharsets.UTF_8, 0); t.assign(v); return t; });
+        texts.add(v -> { CbaSmallText t = text(Charset.forName("UTF-16"), 0); t.assign(v); return t; });
+        texts.add(v -> { CbaSmallText t = text(null, 64); t.assign(v); return t; });
+        texts.add(v -> { CbaSmallText t = text(StandardCharsets.UTF_8, 64); t.assign(v); return t; });
+        texts.add(v -> { CbaSmallText t = text(Charset.forName("UTF-16"), 64); t.assign(v); return t; });
+        texts.add(v -> written(text(null, 0), v));
+        texts.add(v -> appended(text(null, 0), v));
+        texts.add(v -> appended(text(StandardCharsets.UTF_8, 0), v));
+
+        checkModes(texts, values);
+        checkModes(texts, wide);
+
+        texts.add(v -> { CbaSmallText t = text(StandardCharsets.ISO_8859_1, 0); t.assign(v); return t; });
+        texts.add(v -> { CbaSmallText t = text(StandardCharsets.ISO_8859_1, 64); t.assign(v); return t; });
+        checkModes(texts, values);
+
+        // -- and a dictionary code, in a column with and without a charset
+        varchars.add(v -> { CbaVarchar t = new CbaVarchar.Builder().setSize(300).build(); t.assign(v); return t; });
+        varchars.add(v -> { CbaVarchar t = coded(null); t.assign(v); return t; });
+        varchars.add(v -> { CbaVarchar t = coded(StandardCharsets.UTF_8); t.assign(v); return t; });
+        varchars.add(v -> written(coded(StandardCharsets.UTF_8), v));
+        varchars.add(v -> appended(coded(null), v));
+        varchars.add(v -> written(new CbaVarchar.Builder().setSize(300).build(), v));
+
+        checkModes(varchars, values);
+        checkModes(varchars, wide);
+
+        // -- the forms above hold the values as they say
+        assertTrue(texts.get(3).apply(values[4]).isCompressed());
+        assertTrue(texts.get(4).apply(wide[2]).isCompressed());
+        assertTrue(texts.get(5).apply(values[5]).isCompressed());
+        assertFalse(texts.get(0).apply(values[4]).isCompressed());
+        assertTrue(varchars.get(1).apply(values[3]).getDictionaryCode() != CbaDictionary.NO_CODE);
+        assertTrue(varchars.get(2).apply(wide[1]).getDictionaryCode() != CbaDictionary.NO_CODE);
+    }
+
+
+    @Test
+    public void charTest0008() {
+        String dft = repeat("dflt", 30);
+        CbaSmallText[] cols = {
+            new CbaSmallText.Builder().setDefaultValue(dft).build(),
+            new CbaSmallText.Builder().setCharset(StandardCharsets.UTF_8).setDefaultValue(dft).build(),
+            new CbaSmallText.Builder().setCharset(StandardCharsets.UTF_8).setCompressThreshold(64)
+                    .setDefaultValue(dft).build(),
+        };
+        CbaVarchar coded = new CbaVarchar.Builder().setSize(300).setDictionaryEncoded(true).setDefaultValue(dft)
+                .build();
+
+        for (CbaSmallText col : cols) {
+            CbaSmallText a = col.newInstance();
+            CbaSmallText b = col.newInstance();
+
+            // -- an element appended to in place after it is cleared leaves the default as it was
+            a.clearField();
+            assertEquals(dft, a.toString());
+            assertEquals(ParseStatus.OK, a.append("!"));
+            assertEquals(dft + "!", a.toString());
+
+            b.clearField();
+            assertEquals(dft, b.toString());
+            assertTrue(a.hash64() != b.hash64());
+
+            a.clearField();
+            assertTrue(a.equals(b));
+            assertEquals(a.hash64(), b.hash64());
+        }
+
+        CbaSmallText packed = cols[2].newInstance();
+        packed.clearField();
+        assertTrue(packed.isCompressed());
+
+        CbaVarchar row = coded.newInstance();
+        row.assign("other");
+        row.clearField();
+        assertEquals(dft, row.toString());
+        assertEquals(coded.getDictionary().encode(dft), row.getDictionaryCode());
+    }
+
+
+    @Test
+    public void charTest0009() {
+        CbaVarchar col = new CbaVarchar.Builder().setSize(10).setCharset(StandardCharsets.UTF_8)
+                .setDefaultValue("né").build();
+        CbaVarchar a = col.newInstance();
+        CbaVarchar b = a.newInstance();
+
+        assertSame(col.getDescriptor(), a.getDescriptor());
+        assertSame(col.getDescriptor(), b.getDescriptor());
+        assertSame(col.getDictionary(), b.getDictionary());
+
+        a.assign("xyz");
+        assertTrue(a.isDirty());
+        assertFalse(a.isEmpty());
+
+        a.clearField();
+        assertEquals("né", a.toString());
+        assertEquals(3, a.getByteLength());
+        assertFalse(a.isDirty());
+        assertTrue(a.isEmpty());
+    }
+}
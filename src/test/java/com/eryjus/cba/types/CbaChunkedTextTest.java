@@ -0,0 +1,87 @@
+package com.eryjus.cba.types;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Random;
+
+
+/**
+ * Differential tests of {@link CbaChunkedText} against {@link StringBuilder}.  Appends of every shape must leave the
+ * same characters, across the growth of the first chunk and across the chunk boundaries.
+ */
+public class CbaChunkedTextTest {
+    private static final int COUNT = 200;
+
+
+    private static void appendRandom(Random rnd, CbaChunkedText text, StringBuilder sb) {
+        int n = rnd.nextInt(3 * CbaChunkedText.CHUNK_SIZE / 2);
+        char[] buf = new char[n + 4];
+
+        for (int i = 0; i < buf.length; i ++) buf[i] = (char)('a' + rnd.nextInt(26));
+
+        switch (rnd.nextInt(3)) {
+            case 0:
+                text.append(buf, 2, n);
+                sb.append(buf, 2, n);
+                break;
+            case 1:
+                String s = new String(buf);
+                text.append(s, 1, n + 1);
+                sb.append(s, 1, n + 1);
+                break;
+            default:
+                text.append(buf[0]);
+                sb.append(buf[0]);
+                break;
+        }
+    }
+
+
+    @Test
+    public void appendTest0001() {
+        Random rnd = new Random(1);
+
+        for (int i = 0; i < COUNT; i ++) {
+            CbaChunkedText text = new CbaChunkedText();
+            StringBuilder sb = new StringBuilder();
+            int appends = rnd.nextInt(6);
+
+            for (int j = 0; j < appends; j ++) appendRandom(rnd, text, sb);
+
+            assertEquals(sb.length(), text.length());
+            assertEquals(sb.toString(), text.toString());
+
+            if (sb.length() > 0) {
+                int k = rnd.nextInt(sb.length());
+                assertEquals(sb.charAt(k), text.charAt(k));
+                assertEquals(sb.substring(k), text.subSequence(k, sb.length()));
+            }
+        }
+    }
+
+
+    @Test
+    public void readerTest0001() throws IOException {
+        Random rnd = new Random(2);
+
+        for (int i = 0; i < COUNT; i ++) {
+            CbaChunkedText text = new CbaChunkedText();
+            StringBuilder sb = new StringBuilder();
+
+            for (int j = 0; j < 3; j ++) appendRandom(rnd, text, sb);
+
+            Reader in = text.reader();
+            StringBuilder out = new StringBuilder();
+            char[] buf = new char[1 + rnd.nextInt(5000)];
+            int n;
+
+            while ((n = in.read(buf, 0, buf.length)) > 0) out.append(buf, 0, n);
+
+            assertEquals(sb.toString(), out.toString());
+            assertEquals(-1, in.read());
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.eryjus.cba.types;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+
+/**
+ * Differential tests of {@link CbaConversion} against assigning the String of the source.  Wherever the String of
+ * the source parses into the target, assigning the element itself must leave the target holding exactly what the
+ * String would have.  The few paths that deliberately differ (a real into an integer, a boolean into a number, a
+ * double into a float and one temporal into another) are checked on their own.
+ */
+public class CbaConversionTest {
+    private static List<Supplier<CbaType>> targets() {
+        List<Supplier<CbaType>> rv = new ArrayList<>();
+
+        rv.add(() -> new CbaTinyInt.Builder().build());
+        rv.add(() -> new CbaSmallInt.Builder().setSize(6).setZeroFill(true).build());
+        rv.add(() -> new CbaBigInt.Builder().build());
+        rv.add(() -> new CbaBoolean.Builder().build());
+        rv.add(() -> new CbaFloat.Builder().setSize(10, 2).build());
+        rv.add(() -> new CbaDouble.Builder().setSize(15, 5).build());
+        rv.add(() -> new CbaDecimal.Builder().setSize(10, 2).build());
+        rv.add(() -> new CbaDecimal.Builder().setSize(30, 8).build());
+        rv.add(() -> new CbaVarchar.Builder().setSize(5).setCharset(StandardCharsets.UTF_8).build());
+        rv.add(() -> new CbaVarchar.Builder().setSize(40).setCharset(StandardCharsets.ISO_8859_1).build());
+        rv.add(() -> new CbaVarchar.Builder().setSize(40).setDictionaryEncoded(true).build());
+        rv.add(() -> new CbaVarchar.Builder().setSize(40).setCharset(Charset.forName("UTF-16")).build());
+        rv.add(() -> new CbaDate.Builder().build());
+        rv.add(() -> new CbaTime.Builder().build());
+        rv.add(() -> new CbaTimestamp.Builder().build());
+        return rv;
+    }
+
+
+    private static List<CbaType> sources() {
+        List<CbaType> rv = new ArrayList<>();
+
+        for (String v : new String[] { "0", "-1", "300", "-40000", "9223372036854775807" }) {
+            rv.add(new CbaTinyInt.Builder().build());
+            rv.add(new CbaSmallInt.Builder().setSize(6).setZeroFill(true).build());
+            rv.add(new CbaBigInt.Builder().build());
+            for (int i = rv.size() - 3; i < rv.size(); i ++) rv.get(i).assign(v);
+        }
+
+        for (String v : new String[] { "0", "0.1", "-3.75", "1e20", "1.5e-7", "99999" }) {
+            rv.add(new CbaFloat.Builder().build());
+            rv.add(new CbaDouble.Builder().setSize(15, 5).build());
+            rv.add(new CbaDecimal.Builder().setSize(10, 2).build());
+            rv.add(new CbaDecimal.Builder().setSize(18, 10).build());
+            rv.add(new CbaDecimal.Builder().setSize(30, 8).build());
+            for (int i = rv.size() - 5; i < rv.size(); i ++) rv.get(i).assign(v);
+        }
+
+        for (String v : new String[] { "123", " 45 ", "abc", "1.5e3", "2024-02-29", "héllo wörld", "10:11:12", "" }) {
+            rv.add(new CbaVarchar.Builder().setSize(40).setCharset(StandardCharsets.UTF_8).build());
+            rv.add(new CbaVarchar.Builder().setSize(40).setCharset(StandardCharsets.ISO_8859_1).build());
+            rv.add(new CbaVarchar.Builder().setSize(40).setDictionaryEncoded(true).build());
+            rv.add(new CbaChar.Builder().setSize(12).build());
+            for (int i = rv.size() - 4; i < rv.size(); i ++) rv.get(i).assign(v);
+        }
+
+        CbaType date = new CbaDate.Builder().build();
+        date.assign("1969-12-31");
+        rv.add(date);
+
+        CbaType time = new CbaTime.Builder().build();
+        time.assign("00:00:00.123456");
+        rv.add(time);
+
+        return rv;
+    }
+
+
+    private static boolean differs(CbaType dst, CbaType src) {
+        if (dst instanceof CbaIntegerType && !(dst instanceof CbaBoolean)) {
+            return src instanceof CbaRealType || src instanceof CbaBoolean;
+        }
+
+        if (dst instanceof CbaRealType && src instanceof CbaBoolean) return true;
+        if (dst instanceof CbaFloat && src instanceof CbaDouble) return true;
+        return dst instanceof CbaTemporalType && src instanceof CbaTemporalType && dst.getClass() != src.getClass();
+    }
+
+
+    @Test
+    public void conversionTest0001() {
+        for (Supplier<CbaType> mk : targets()) {
+            for (CbaType src : sources()) {
+                CbaType ours = mk.get();
+                CbaType jdk = mk.get();
+
+                ours.assign(src);
+                try {
+                    jdk.assign(src.toString());
+                } catch (RuntimeException e) {
+                    // -- the String was rejected, leaving the element unchanged
+                }
+
+                if (differs(ours, src)) continue;
+
+                String msg = ours.getClass().getSimpleName() + " <- " + src.getClass().getSimpleName() + " " + src;
+                assertEquals(msg, jdk.toString(), ours.toString());
+                assertTrue(msg, ours.equals(jdk));
+            }
+        }
+    }
+
+
+    @Test
+    public void conversionTest0002() {
+        CbaInt i = new CbaInt.Builder().build();
+        CbaDecimal d = new CbaDecimal.Builder().setSize(10, 2).build();
+        CbaDouble r = new CbaDouble.Builder().build();
+        CbaBoolean b = new CbaBoolean.Builder().build();
+
+        d.assign("-3.75");
+        assertEquals(CbaType.ParseStatus.TRUNCATED, i.assign(d));
+        assertEquals(-3, i.getValue());
+
+        r.assign(12.0);
+        assertEquals(CbaType.ParseStatus.OK, i.assign(r));
+        assertEquals(12, i.getValue());
+
+        b.assign("TRUE");
+        assertEquals(CbaType.ParseStatus.OK, r.assign(b));
+        assertEquals(1.0, r.getValue(), 0);
+    }
+
+
+    @Test
+    public void conversionTest0003() {
+        CbaDate date = new CbaDate.Builder().build();
+        CbaDateTime dt = new CbaDateTime.Builder().build();
+        CbaTime time = new CbaTime.Builder().build();
+
+        dt.assign("2024-02-29T10:11:12.5");
+        assertEquals(CbaType.ParseStatus.OK, date.assign(dt));
+        assertEquals("2024-02-29", date.toString());
+        assertEquals(CbaType.ParseStatus.OK, time.assign(dt));
+        assertEquals("10:11:12.500", time.toString());
+        assertEquals(CbaType.ParseStatus.INVALID, date.assign(time));
+        assertEquals(CbaType.ParseStatus.OK, dt.assign(date));
+        assertEquals("2024-02-29T00:00", dt.toString());
+    }
+
+
+    @Test
+    public void conversionTest0004() {
+        CbaType[] targets = { new CbaInt.Builder().build(), new CbaDecimal.Builder().build(),
+                new CbaDate.Builder().build(), new CbaVarchar.Builder().setSize(5).build(), };
+
+        assertTrue(targets[0].hasPrimitive(CbaType.Primitive.LONG));
+        assertFalse(targets[0].hasPrimitive(CbaType.Primitive.DOUBLE));
+        assertTrue(targets[1].hasPrimitive(CbaType.Primitive.DECIMAL));
+        assertTrue(targets[2].hasPrimitive(CbaType.Primitive.EPOCH_MICROS));
+        assertTrue(targets[3].hasPrimitive(CbaType.Primitive.BYTES));
+    }
+
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void conversionTest0005() {
+        new CbaDate.Builder().build().asLong();
+    }
+}
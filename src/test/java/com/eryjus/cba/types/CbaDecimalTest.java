@@ -0,0 +1,200 @@
+package com.eryjus.cba.types;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import com.eryjus.cba.types.CbaType.ParseStatus;
+
+
+/**
+ * Differential tests of the compact (scaled long) path of {@link CbaDecimal} against the BigDecimal edit it
+ * replaced: the value takes the remainder by 10<sup>SIZE-DECIMALS</sup> and is then set to DECIMALS places with
+ * {@link RoundingMode#FLOOR}.  Parsing and {@link CbaDecimal#assignUnscaled(long, int)} must leave the element
+ * holding exactly that value, reporting {@link ParseStatus#TRUNCATED} exactly when it differs from what was given,
+ * on either side of the boundary between a compact and a BigDecimal element.  Either way, the elements made by
+ * newInstance() share one descriptor, and clearField() restores the default and leaves the element clean and empty.
+ */
+public class CbaDecimalTest {
+    private static final int[][] SIZES = {
+        { 1, 0 }, { 3, 2 }, { 5, 2 }, { 10, 2 }, { 12, 12 }, { 18, 0 }, { 18, 6 }, { 18, 18 },
+        { 19, 0 }, { 19, 6 }, { 30, 8 },
+    };
+
+
+    private static CbaDecimal field(int[] size) {
+        return new CbaDecimal.Builder().setSize(size[0], size[1]).build();
+    }
+
+
+    private static BigDecimal edited(BigDecimal val, int[] size) {
+        return val.remainder(BigDecimal.TEN.pow(size[0] - size[1])).setScale(size[1], RoundingMode.FLOOR);
+    }
+
+
+    private static void checkParse(String v, int[] size) {
+        CbaDecimal fld = field(size);
+        BigDecimal given = new BigDecimal(v);
+        BigDecimal exp = edited(given, size);
+        String msg = v + " in (" + size[0] + "," + size[1] + ")";
+
+        ParseStatus status = fld.assign(v, 0, v.length());
+
+        assertEquals(msg, exp.toString(), fld.toString());
+        assertEquals(msg, exp, fld.getValue());
+        assertEquals(msg, exp.compareTo(given) == 0 ? ParseStatus.OK : ParseStatus.TRUNCATED, status);
+    }
+
+
+    private static void checkUnscaled(long u, int scale, int[] size) {
+        CbaDecimal fld = field(size);
+        BigDecimal given = BigDecimal.valueOf(u, scale);
+        BigDecimal exp = edited(given, size);
+        String msg = u + "e-" + scale + " in (" + size[0] + "," + size[1] + ")";
+
+        ParseStatus status = fld.assignUnscaled(u, scale);
+
+        assertEquals(msg, exp.toString(), fld.toString());
+        assertEquals(msg, exp.compareTo(given) == 0 ? ParseStatus.OK : ParseStatus.TRUNCATED, status);
+    }
+
+
+    @Test
+    public void decimalTest0001() {
+        assertTrue(field(new int[] { 18, 0 }).isCompact());
+        assertTrue(field(new int[] { 18, 18 }).isCompact());
+        assertFalse(field(new int[] { 19, 0 }).isCompact());
+        assertFalse(field(new int[] { 19, 6 }).isCompact());
+
+        // -- the same digits either side of the boundary
+        CbaDecimal compact = field(new int[] { 18, 6 });
+        CbaDecimal big = field(new int[] { 19, 6 });
+
+        compact.assign("999999999999.999999");
+        big.assign("999999999999.999999");
+        assertEquals("999999999999.999999", compact.toString());
+        assertEquals(big.toString(), compact.toString());
+
+        // -- FLOOR after the remainder carries into a place the field does not have, as the BigDecimal edit did
+        compact.assign("-9999999999999.9999999");
+        big.assign("-9999999999999.9999999");
+        assertEquals("-1000000000000.000000", compact.toString());
+        assertEquals("-10000000000000.000000", big.toString());
+    }
+
+
+    @Test
+    public void decimalTest0002() {
+        // -- values past the integer places of the field, which keep only the remainder
+        String[] values = {
+            "12345.678", "-12345.678", "100", "-100", "99.999", "-99.995", "1000000000000000000000",
+            "123456789012345678901234.5", "-123456789012345678901234.5", "1.5e3", "-1.5E+5", "7e18", "-7e40",
+        };
+
+        for (int[] size : SIZES) {
+            for (String v : values) checkParse(v, size);
+        }
+    }
+
+
+    @Test
+    public void decimalTest0003() {
+        // -- negative values that lose decimal places round away from zero
+        String[] values = {
+            "-0.001", "-0.0001", "-1.001", "-0.5", "-2.25e-3", "-1e-400", "-0.000", "-0", "-12345.0000001",
+            "0.001", "1e-400", "-3.999999999999999999999", "-0.0000000000000000001",
+        };
+
+        for (int[] size : SIZES) {
+            for (String v : values) checkParse(v, size);
+        }
+
+        CbaDecimal fld = field(new int[] { 10, 2 });
+        assertEquals(ParseStatus.TRUNCATED, fld.assign("-0.001", 0, 6));
+        assertEquals("-0.01", fld.toString());
+        assertEquals(ParseStatus.TRUNCATED, fld.assign("-12345678901.234", 0, 16));
+        assertEquals("-45678901.24", fld.toString());
+    }
+
+
+    @Test
+    public void decimalTest0004() {
+        Random rnd = new Random(5);
+
+        for (int n = 0; n < 20000; n ++) {
+            StringBuilder sb = new StringBuilder();
+            int digits = 1 + rnd.nextInt(25);
+            int point = rnd.nextInt(digits + 1);
+
+            if (rnd.nextBoolean()) sb.append('-');
+            for (int i = 0; i < digits; i ++) {
+                if (i == point && i > 0) sb.append('.');
+                sb.append((char)('0' + rnd.nextInt(10)));
+            }
+            if (rnd.nextInt(4) == 0) sb.append('e').append(rnd.nextInt(51) - 25);
+
+            checkParse(sb.toString(), SIZES[n % SIZES.length]);
+        }
+    }
+
+
+    @Test
+    public void decimalTest0005() {
+        Random rnd = new Random(55);
+        long[] edges = { 0, 1, -1, 5, -5, 99999, -99999, Long.MAX_VALUE, Long.MIN_VALUE, 1000000000000000000L };
+
+        for (int[] size : SIZES) {
+            for (int scale = 0; scale <= 20; scale ++) {
+                for (long u : edges) checkUnscaled(u, scale, size);
+            }
+
+            for (int n = 0; n < 2000; n ++) {
+                long u = rnd.nextLong() >> rnd.nextInt(64);
+                checkUnscaled(u, rnd.nextInt(21), size);
+            }
+        }
+
+        try {
+            field(SIZES[0]).assignUnscaled(1, -1);
+            fail("no IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+
+    @Test
+    public void decimalTest0006() {
+        String[][] cols = { { "10", "2", "12.34" }, { "30", "4", "-12345678901234567890.1234" } };
+
+        for (String[] c : cols) {
+            CbaDecimal col = new CbaDecimal.Builder().setSize(Integer.parseInt(c[0]), Integer.parseInt(c[1]))
+                    .setDefaultValue(c[2]).build();
+            CbaDecimal a = col.newInstance();
+            CbaDecimal b = col.newInstance();
+
+            assertSame(col.getDescriptor(), a.getDescriptor());
+            assertSame(a.getDescriptor(), b.getDescriptor());
+
+            a.assign("1.5");
+            assertTrue(a.isDirty());
+
+            a.clearField();
+            b.clearField();
+            assertEquals(c[2], a.toString());
+            assertEquals(new BigDecimal(c[2]), a.getValue());
+            assertFalse(a.isDirty());
+            assertTrue(a.isEmpty());
+            assertEquals(a, b);
+            assertEquals(a.hash64(), b.hash64());
+
+            // -- a value assigned after a clear does not reach the default
+            a.assign("2");
+            b.clearField();
+            assertEquals(c[2], b.toString());
+        }
+    }
+}
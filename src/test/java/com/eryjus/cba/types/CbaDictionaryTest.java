@@ -0,0 +1,89 @@
+package com.eryjus.cba.types;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+
+/**
+ * Tests of {@link CbaDictionary} on its own and as the dictionary of a {@link CbaVarchar} column.  The empty value
+ * takes a code and null does not; a full dictionary refuses new values but keeps coding the ones it has, and a
+ * column whose dictionary is full holds its values itself.  Each column built dictionary-encoded has a dictionary of
+ * its own, shared by the elements of that column only.
+ */
+public class CbaDictionaryTest {
+    @Test
+    public void dictionaryTest0001() {
+        CbaDictionary dict = new CbaDictionary(3);
+
+        assertEquals(0, dict.encode("a"));
+        assertEquals(1, dict.encode(""));
+        assertEquals(0, dict.encode(new String("a")));
+        assertEquals("", dict.decode(1));
+
+        // -- null is no value: it has no code, takes no room and is not an overflow
+        assertEquals(CbaDictionary.NO_CODE, dict.encode(null));
+        assertEquals(2, dict.size());
+        assertEquals(0, dict.getOverflows());
+
+        // -- once full, a new value is refused and counted, while the values held keep their codes
+        assertEquals(2, dict.encode("b"));
+        assertEquals(CbaDictionary.NO_CODE, dict.encode("c"));
+        assertEquals(CbaDictionary.NO_CODE, dict.encode("d"));
+        assertEquals(2, dict.getOverflows());
+        assertEquals(3, dict.size());
+        assertEquals(2, dict.encode("b"));
+        assertEquals("b", dict.decode(2));
+
+        try {
+            dict.decode(3);
+            fail("decoded a code that was never handed out");
+        } catch (IndexOutOfBoundsException e) {
+            // -- expected
+        }
+
+        try {
+            new CbaDictionary(0);
+            fail("built a dictionary that holds nothing");
+        } catch (IllegalArgumentException e) {
+            // -- expected
+        }
+    }
+
+
+    @Test
+    public void dictionaryTest0002() {
+        CbaVarchar wide = new CbaVarchar.Builder().setSize(16).setDictionaryCapacity(4).build();
+        CbaVarchar narrow = new CbaVarchar.Builder().setSize(16).setDictionaryEncoded(true).build();
+        CbaVarchar row = narrow.newInstance();
+
+        // -- each column has its own dictionary, and each element of a column shares it
+        assertNotSame(wide.getDictionary(), narrow.getDictionary());
+        assertSame(narrow.getDictionary(), row.getDictionary());
+        assertEquals(CbaDictionary.DEFAULT_CAPACITY, narrow.getDictionary().getCapacity());
+        assertEquals(4, wide.getDictionary().getCapacity());
+
+        // -- a high-cardinality column fills its own dictionary and then holds its values itself
+        for (int i = 0; i < 10; i ++) {
+            String v = "value " + i;
+
+            wide.assign(v);
+            assertEquals(v, wide.toString());
+            assertEquals(i < 3, wide.getDictionaryCode() != CbaDictionary.NO_CODE);
+        }
+
+        assertEquals(4, wide.getDictionary().size());
+        assertTrue(wide.getDictionary().getOverflows() > 0);
+
+        // -- while the other column is untouched by it
+        narrow.assign("x");
+        row.assign("x");
+        assertTrue(narrow.getDictionaryCode() != CbaDictionary.NO_CODE);
+        assertEquals(narrow.getDictionaryCode(), row.getDictionaryCode());
+        assertEquals(0, narrow.getDictionary().getOverflows());
+
+        // -- the empty value is coded like any other
+        row.assign("");
+        assertEquals("", row.toString());
+        assertTrue(row.getDictionaryCode() != CbaDictionary.NO_CODE);
+    }
+}
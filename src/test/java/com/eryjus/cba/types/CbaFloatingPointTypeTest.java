@@ -0,0 +1,157 @@
+package com.eryjus.cba.types;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+
+/**
+ * Differential tests of the arithmetic trim of {@link CbaFloat} and {@link CbaDouble} against the edit it replaced:
+ * the shortest String form of the value takes the remainder by 10<sup>SIZE-DECIMALS</sup> and is then set to
+ * DECIMALS places with {@link RoundingMode#FLOOR}, as assigning it to a {@link CbaDecimal} of the same size does.
+ * The sizes run from those trimmed entirely in long arithmetic to those with more integer or decimal places than
+ * the power-of-ten table holds.  The elements made by newInstance() share one descriptor, and clearField() restores
+ * the default and leaves the element clean and empty.
+ */
+public class CbaFloatingPointTypeTest {
+    private static final int[][] SIZES = {
+        { 5, 5 }, { 7, 3 }, { 10, 2 }, { 12, 0 }, { 18, 0 }, { 18, 9 }, { 19, 2 }, { 20, 18 }, { 25, 0 },
+        { 30, 2 }, { 40, 20 },
+    };
+
+
+    private static double editedDouble(double v, int[] size) {
+        if (Double.isNaN(v) || Double.isInfinite(v)) return v;
+        return new BigDecimal(Double.toString(v)).remainder(BigDecimal.TEN.pow(size[0] - size[1]))
+                .setScale(size[1], RoundingMode.FLOOR).doubleValue();
+    }
+
+
+    private static float editedFloat(float v, int[] size) {
+        if (Float.isNaN(v) || Float.isInfinite(v)) return v;
+        return new BigDecimal(Float.toString(v)).remainder(BigDecimal.TEN.pow(size[0] - size[1]))
+                .setScale(size[1], RoundingMode.FLOOR).floatValue();
+    }
+
+
+    private static void checkDouble(double v, int[] size) {
+        CbaDouble fld = new CbaDouble.Builder().setSize(size[0], size[1]).build();
+
+        fld.assign(v);
+        assertEquals(v + " in (" + size[0] + "," + size[1] + ")", editedDouble(v, size), fld.getValue(), 0.0);
+    }
+
+
+    private static void checkFloat(float v, int[] size) {
+        CbaFloat fld = new CbaFloat.Builder().setSize(size[0], size[1]).build();
+
+        fld.assign(v);
+        assertEquals(v + " in (" + size[0] + "," + size[1] + ")", editedFloat(v, size), fld.getValue(), 0.0f);
+    }
+
+
+    private static double randomDouble(Random rnd, int i) {
+        switch (i % 4) {
+            case 0:     return Double.longBitsToDouble(rnd.nextLong());
+            case 1:     return (rnd.nextDouble() - 0.5) * Math.pow(10, rnd.nextInt(60) - 20);
+            case 2:     return (rnd.nextInt(2000000) - 1000000) / Math.pow(10, rnd.nextInt(8));
+            default:    return (double)(rnd.nextLong() >> rnd.nextInt(64));
+        }
+    }
+
+
+    @Test
+    public void floatingPointTest0001() {
+        // -- wide enough to need more integer places than the table holds
+        CbaDouble dbl = new CbaDouble.Builder().setSize(30, 2).build();
+        CbaDecimal dec = new CbaDecimal.Builder().setSize(30, 2).build();
+
+        dbl.assign(1.2345e40);
+        dec.assign("1.2345e40");
+        assertEquals(dec.getValue().doubleValue(), dbl.getValue(), 0.0);
+        assertEquals(0.0, dbl.getValue(), 0.0);
+
+        dbl.assign(-1.2345e29);
+        assertEquals(-3.45e27, dbl.getValue(), 0.0);
+
+        dbl.assign(9.5e27);
+        assertEquals(9.5e27, dbl.getValue(), 0.0);
+
+        CbaFloat flt = new CbaFloat.Builder().setSize(30, 2).build();
+        flt.assign(3.0e38f);
+        assertEquals(0.0f, flt.getValue(), 0.0f);
+    }
+
+
+    @Test
+    public void floatingPointTest0002() {
+        double[] values = {
+            0.0, -0.0, 0.1, -0.1, 0.005, -0.005, 1.005, 99999.99, -99999.995, 123456.789, 1e15, -1e15, 1e18,
+            9.999999999999999e22, 1e28, 1e29, -1e30, 1.7976931348623157e308, 4.9e-324, -4.9e-324, Double.NaN,
+            Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+        };
+
+        for (int[] size : SIZES) {
+            for (double v : values) {
+                checkDouble(v, size);
+                checkFloat((float)v, size);
+            }
+        }
+    }
+
+
+    @Test
+    public void floatingPointTest0003() {
+        Random rnd = new Random(7);
+
+        for (int n = 0; n < 40000; n ++) {
+            double v = randomDouble(rnd, n);
+            int[] size = SIZES[n % SIZES.length];
+
+            if (Double.isNaN(v) || Double.isInfinite(v)) continue;
+
+            checkDouble(v, size);
+            if (!Float.isInfinite((float)v)) checkFloat((float)v, size);
+        }
+    }
+
+
+    @Test
+    public void floatingPointTest0004() {
+        CbaDouble fld = new CbaDouble.Builder().setSize(-1, -1).build();
+
+        fld.assign(1.2345e40);
+        assertEquals(1.2345e40, fld.getValue(), 0.0);
+        fld.assign(0.123456789);
+        assertEquals(0.123456789, fld.getValue(), 0.0);
+    }
+
+
+    @Test
+    public void floatingPointTest0005() {
+        CbaFloat f = new CbaFloat.Builder().setDefaultValue("1.25").build();
+        CbaDouble d = new CbaDouble.Builder().setDefaultValue("-2.5").build();
+        CbaFloat fi = f.newInstance();
+        CbaDouble di = d.newInstance();
+
+        assertSame(f.getDescriptor(), fi.getDescriptor());
+        assertSame(d.getDescriptor(), di.getDescriptor());
+
+        fi.assign(3.0f);
+        di.assign(4.0);
+        assertTrue(fi.isDirty());
+        assertTrue(di.isDirty());
+
+        fi.clearField();
+        di.clearField();
+        assertEquals(1.25f, fi.getValue(), 0f);
+        assertEquals(-2.5, di.getValue(), 0.0);
+        assertFalse(fi.isDirty());
+        assertFalse(di.isDirty());
+        assertTrue(fi.isEmpty());
+        assertTrue(di.isEmpty());
+    }
+}
@@ -0,0 +1,366 @@
+package com.eryjus.cba.types;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import com.eryjus.cba.sql.SqlField.UpdateStyle;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import com.eryjus.cba.types.CbaType.OverflowPolicy;
+import com.eryjus.cba.types.CbaType.ParseStatus;
+
+
+/**
+ * Tests of the range engine and the parser of {@link CbaIntegerType}.  Each width is taken to its minimum and
+ * maximum and one past them under each {@link OverflowPolicy}, and the parser is taken to the ends of a
+ * {@code long} and to the inputs that hold no digits at all.  The formatting is checked with and without zero fill,
+ * for negative values, for values wider than the size and for the ends of a {@code long}.  The elements made by
+ * newInstance() share one descriptor, and clearField() restores the default and leaves the element clean, and empty
+ * when it is nullable, for a read-only field as well.
+ */
+public class CbaIntegerTypeTest {
+    private static final long[][] RANGES = {
+        { -128, 127 },
+        { -32768, 32767 },
+        { -8388608, 8388607 },
+        { -2147483648, 2147483647 },
+        { Long.MIN_VALUE, Long.MAX_VALUE },
+    };
+
+
+    private static final List<Function<OverflowPolicy, CbaIntegerType>> WIDTHS = Arrays.asList(
+        p -> new CbaTinyInt.Builder().setOverflowPolicy(p).build(),
+        p -> new CbaSmallInt.Builder().setOverflowPolicy(p).build(),
+        p -> new CbaMediumInt.Builder().setOverflowPolicy(p).build(),
+        p -> new CbaInt.Builder().setOverflowPolicy(p).build(),
+        p -> new CbaBigInt.Builder().setOverflowPolicy(p).build()
+    );
+
+
+    private static ParseStatus parse(CbaIntegerType fld, String val) {
+        return fld.assign(val, 0, val.length());
+    }
+
+
+    @Test
+    public void integerTest0001() {
+        for (int w = 0; w < WIDTHS.size(); w ++) {
+            long min = RANGES[w][0];
+            long max = RANGES[w][1];
+
+            for (OverflowPolicy p : OverflowPolicy.values()) {
+                CbaIntegerType fld = WIDTHS.get(w).apply(p);
+
+                assertEquals(min, fld.getMinValue());
+                assertEquals(max, fld.getMaxValue());
+
+                assertEquals(ParseStatus.OK, parse(fld, Long.toString(min)));
+                assertEquals(min, fld.getValue());
+                assertEquals(Long.toString(min), fld.toString());
+
+                assertEquals(ParseStatus.OK, parse(fld, Long.toString(max)));
+                assertEquals(max, fld.getValue());
+                assertEquals(Long.toString(max), fld.toString());
+
+                fld.assign(min);
+                assertEquals(min, fld.getValue());
+                fld.assign(max);
+                assertEquals(max, fld.getValue());
+            }
+        }
+    }
+
+
+    @Test
+    public void integerTest0002() {
+        // -- one past each end of the narrower widths, from text and from a long
+        for (int w = 0; w < WIDTHS.size() - 1; w ++) {
+            long min = RANGES[w][0];
+            long max = RANGES[w][1];
+
+            CbaIntegerType wrap = WIDTHS.get(w).apply(OverflowPolicy.WRAP);
+            assertEquals(ParseStatus.TRUNCATED, parse(wrap, Long.toString(max + 1)));
+            assertEquals(0, wrap.getValue());
+            assertEquals(ParseStatus.TRUNCATED, parse(wrap, Long.toString(min - 1)));
+            assertEquals(-1, wrap.getValue());
+            wrap.assign(max + 2);
+            assertEquals(1, wrap.getValue());
+
+            CbaIntegerType sat = WIDTHS.get(w).apply(OverflowPolicy.SATURATE);
+            assertEquals(ParseStatus.TRUNCATED, parse(sat, Long.toString(max + 1)));
+            assertEquals(max, sat.getValue());
+            assertEquals(ParseStatus.TRUNCATED, parse(sat, Long.toString(min - 1)));
+            assertEquals(min, sat.getValue());
+            sat.assign(Long.MAX_VALUE);
+            assertEquals(max, sat.getValue());
+            sat.assign(Long.MIN_VALUE);
+            assertEquals(min, sat.getValue());
+
+            CbaIntegerType rej = WIDTHS.get(w).apply(OverflowPolicy.REJECT);
+            assertEquals(ParseStatus.OK, parse(rej, "7"));
+            assertEquals(ParseStatus.OVERFLOW, parse(rej, Long.toString(max + 1)));
+            assertEquals(ParseStatus.OVERFLOW, parse(rej, Long.toString(min - 1)));
+            rej.assign(max + 1);
+            rej.assign(min - 1);
+            assertEquals(7, rej.getValue());
+
+            try {
+                rej.assign(Long.toString(max + 1));
+                fail("no NumberFormatException");
+            } catch (NumberFormatException e) {
+                assertEquals(7, rej.getValue());
+            }
+        }
+    }
+
+
+    @Test
+    public void integerTest0003() {
+        // -- the ends of a long, which only arithmetic can step past
+        for (OverflowPolicy p : OverflowPolicy.values()) {
+            CbaIntegerType fld = WIDTHS.get(WIDTHS.size() - 1).apply(p);
+
+            assertEquals(ParseStatus.OK, parse(fld, "-9223372036854775808"));
+            assertEquals(Long.MIN_VALUE, fld.getValue());
+            assertEquals(ParseStatus.OK, parse(fld, "+9223372036854775807"));
+            assertEquals(Long.MAX_VALUE, fld.getValue());
+
+            assertFalse(fld.add(1));
+            fld.assign(Long.MAX_VALUE);
+            assertFalse(fld.subtract(-1));
+            fld.assign(Long.MAX_VALUE);
+            assertFalse(fld.multiply(2));
+        }
+
+        CbaIntegerType fld = WIDTHS.get(WIDTHS.size() - 1).apply(OverflowPolicy.WRAP);
+        fld.assign(Long.MAX_VALUE);
+        assertFalse(fld.increment());
+        assertEquals(Long.MIN_VALUE, fld.getValue());
+
+        fld = WIDTHS.get(WIDTHS.size() - 1).apply(OverflowPolicy.SATURATE);
+        fld.assign(Long.MIN_VALUE);
+        assertFalse(fld.decrement());
+        assertEquals(Long.MIN_VALUE, fld.getValue());
+        assertFalse(fld.multiply(-1));
+        assertEquals(Long.MAX_VALUE, fld.getValue());
+
+        fld = WIDTHS.get(WIDTHS.size() - 1).apply(OverflowPolicy.REJECT);
+        fld.assign(Long.MIN_VALUE);
+        assertFalse(fld.multiply(-1));
+        assertEquals(Long.MIN_VALUE, fld.getValue());
+        assertTrue(fld.add(Long.MAX_VALUE));
+        assertEquals(-1, fld.getValue());
+    }
+
+
+    @Test
+    public void integerTest0004() {
+        CbaIntegerType fld = WIDTHS.get(3).apply(OverflowPolicy.WRAP);
+
+        fld.assign(42);
+        assertEquals(ParseStatus.EMPTY, parse(fld, ""));
+        assertEquals(ParseStatus.EMPTY, fld.assign(null, 0, 0));
+        assertEquals(ParseStatus.EMPTY, fld.assign("123", 2, 2));
+        assertEquals(ParseStatus.INVALID, parse(fld, "-"));
+        assertEquals(ParseStatus.INVALID, parse(fld, "+"));
+        assertEquals(ParseStatus.INVALID, parse(fld, "--1"));
+        assertEquals(ParseStatus.INVALID, parse(fld, "1-"));
+        assertEquals(ParseStatus.INVALID, parse(fld, " 1"));
+        assertEquals(ParseStatus.INVALID, parse(fld, "1.0"));
+        assertEquals(ParseStatus.INVALID, parse(fld, "1e3"));
+        assertEquals(42, fld.getValue());
+
+        // -- a range within a longer sequence, starting at a sign the range leaves out
+        assertEquals(ParseStatus.OK, fld.assign("x-0012y", 1, 6));
+        assertEquals(-12, fld.getValue());
+        assertEquals(ParseStatus.OK, fld.assign("x-0012y", 2, 6));
+        assertEquals(12, fld.getValue());
+        assertEquals(ParseStatus.INVALID, fld.assign("x-0012y", 1, 7));
+        assertEquals(ParseStatus.OK, parse(fld, "-0"));
+        assertEquals(0, fld.getValue());
+
+        try {
+            fld.assign("-");
+            fail("no NumberFormatException");
+        } catch (NumberFormatException e) {
+            assertEquals(0, fld.getValue());
+        }
+    }
+
+
+    @Test
+    public void integerTest0005() {
+        // -- a range that is not a whole bit width wraps modulo its span
+        CbaIntegerType wrap = new CbaInt.Builder().setMinVal(1).setMaxVal(10).build();
+        CbaIntegerType sat = new CbaInt.Builder().setMinVal(1).setMaxVal(10)
+                .setOverflowPolicy(OverflowPolicy.SATURATE).build();
+        long[][] cases = { { 11, 1, 10 }, { 0, 10, 1 }, { -9, 1, 1 }, { 25, 5, 10 }, { 10, 10, 10 }, };
+
+        for (long[] c : cases) {
+            wrap.assign(c[0]);
+            assertEquals(Long.toString(c[0]), c[1], wrap.getValue());
+            sat.assign(c[0]);
+            assertEquals(Long.toString(c[0]), c[2], sat.getValue());
+        }
+
+        // -- a boolean is normalized to 0 or 1 before the range is enforced
+        CbaBoolean bool = new CbaBoolean.Builder().setOverflowPolicy(OverflowPolicy.REJECT).build();
+        assertEquals(ParseStatus.OK, parse(bool, "-9223372036854775808"));
+        assertEquals(1, bool.getValue());
+        assertEquals(ParseStatus.OK, parse(bool, "0"));
+        assertEquals(0, bool.getValue());
+    }
+
+
+    private static String zeroFilled(long v, int size) {
+        String digits = Long.toString(v).replace("-", "");
+        StringBuilder sb = new StringBuilder(v < 0 ? "-" : "");
+
+        for (int i = digits.length(); i < size; i ++) sb.append('0');
+        return sb.append(digits).toString();
+    }
+
+
+    @Test
+    public void integerTest0006() {
+        // -- zero fill pads the digits after any sign, and never cuts a value wider than the size
+        long[] values = {
+            0, 1, -1, 42, -42, 99999, -99999, 100000, -100000, 1234567890123L, -1234567890123L,
+            Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE + 1,
+        };
+        int[] sizes = { 0, 1, 5, 6, 19, 20, 25 };
+
+        for (int size : sizes) {
+            CbaIntegerType fill = new CbaBigInt.Builder().setSize(size).setZeroFill(true).build();
+            CbaIntegerType plain = new CbaBigInt.Builder().setSize(size).build();
+
+            for (long v : values) {
+                String exp = zeroFilled(v, size);
+                String msg = v + " in " + size;
+
+                fill.assign(v);
+                assertEquals(msg, exp, fill.toString());
+                assertEquals(msg, exp.length(), fill.formattedLength());
+                assertEquals(msg, "<" + exp, fill.appendTo(new StringBuilder("<")).toString());
+
+                char[] buf = new char[exp.length() + 4];
+                Arrays.fill(buf, '#');
+                assertEquals(msg, 3 + exp.length(), fill.writeTo(buf, 3));
+                assertEquals(msg, "###" + exp + "#", new String(buf));
+
+                plain.assign(v);
+                assertEquals(msg, Long.toString(v), plain.toString());
+                assertEquals(msg, Long.toString(v), plain.appendTo(new StringBuilder()).toString());
+            }
+        }
+
+        CbaIntegerType fld = new CbaInt.Builder().setSize(5).setZeroFill(true).build();
+        fld.assign(-42);
+        assertEquals("-00042", fld.toString());
+        fld.assign(Integer.MIN_VALUE);
+        assertEquals("-2147483648", fld.toString());
+    }
+
+
+    @Test
+    public void integerTest0007() {
+        // -- text past the ends of a long is fit by the policy, as arithmetic that overflows is
+        String[] values = {
+            "9223372036854775808", "-9223372036854775809", "18446744073709551617", "-18446744073709551615",
+            "99999999999999999999999", "-99999999999999999999999", "+1000000000000000000000000000000",
+            "-340282366920938463463374607431768211456",
+        };
+        int[] bits = { 8, 16, 24, 32, 64 };
+
+        for (int w = 0; w < WIDTHS.size(); w ++) {
+            long min = RANGES[w][0];
+            long max = RANGES[w][1];
+
+            for (String v : values) {
+                BigInteger big = new BigInteger(v);
+                long low = big.longValue();
+                String msg = v + " in " + bits[w] + " bits";
+
+                CbaIntegerType wrap = WIDTHS.get(w).apply(OverflowPolicy.WRAP);
+                assertEquals(msg, ParseStatus.TRUNCATED, parse(wrap, v));
+                long mag = big.abs().and(BigInteger.valueOf(max)).longValue();
+                assertEquals(msg, (bits[w] == 64 ? low : big.signum() * mag), wrap.getValue());
+
+                CbaIntegerType sat = WIDTHS.get(w).apply(OverflowPolicy.SATURATE);
+                assertEquals(msg, ParseStatus.TRUNCATED, parse(sat, v));
+                assertEquals(msg, (big.signum() < 0 ? min : max), sat.getValue());
+
+                CbaIntegerType rej = WIDTHS.get(w).apply(OverflowPolicy.REJECT);
+                rej.assign(7);
+                assertEquals(msg, ParseStatus.OVERFLOW, parse(rej, v));
+                assertEquals(msg, 7, rej.getValue());
+
+                try {
+                    rej.assign(v);
+                    fail("no NumberFormatException");
+                } catch (NumberFormatException e) {
+                    assertEquals(msg, 7, rej.getValue());
+                }
+
+                sat.assign(v);
+                assertEquals(msg, (big.signum() < 0 ? min : max), sat.getValue());
+            }
+        }
+
+        CbaIntegerType fld = WIDTHS.get(WIDTHS.size() - 1).apply(OverflowPolicy.SATURATE);
+
+        // -- arithmetic past a long keeps the sign of its true result when a narrower width wraps it
+        CbaIntegerType tiny = WIDTHS.get(0).apply(OverflowPolicy.WRAP);
+        tiny.assign(100);
+        assertFalse(tiny.add(Long.MAX_VALUE));
+        assertEquals(99, tiny.getValue());
+        tiny.assign(-100);
+        assertFalse(tiny.subtract(Long.MAX_VALUE));
+        assertEquals(-99, tiny.getValue());
+
+        // -- leading zeros are not an overflow, and a bad character past the overflow is still INVALID
+        assertEquals(ParseStatus.OK, parse(fld, "-000000000000000000000000000042"));
+        assertEquals(-42, fld.getValue());
+        assertEquals(ParseStatus.INVALID, parse(fld, "99999999999999999999999x"));
+        assertEquals(-42, fld.getValue());
+        assertEquals(ParseStatus.TRUNCATED, fld.assign("x-99999999999999999999999y", 1, 25));
+        assertEquals(Long.MIN_VALUE, fld.getValue());
+    }
+
+
+    @Test
+    public void integerTest0008() {
+        CbaInt col = new CbaInt.Builder().setDefaultValue("42").build();
+        CbaInt a = col.newInstance();
+        CbaInt b = a.newInstance();
+
+        assertSame(col.getDescriptor(), a.getDescriptor());
+        assertSame(col.getDescriptor(), b.getDescriptor());
+
+        a.assign(5);
+        assertTrue(a.isDirty());
+        assertFalse(a.isEmpty());
+
+        a.clearField();
+        assertEquals(42, a.getValue());
+        assertFalse(a.isDirty());
+        assertTrue(a.isEmpty());
+        assertEquals(0, b.getValue());
+
+        // -- a read-only field is cleared to its default all the same
+        CbaBigInt stamp = new CbaBigInt.Builder().setUpdateStyle(UpdateStyle.INSERT).setDefaultValue("-7").build();
+        stamp.clearField();
+        assertEquals(-7, stamp.getValue());
+        assertFalse(stamp.isDirty());
+
+        // -- a default that cannot be parsed leaves the initial value
+        CbaTinyInt bad = new CbaTinyInt.Builder().setDefaultValue("x").build();
+        bad.assign(3);
+        bad.clearField();
+        assertEquals(0, bad.getValue());
+    }
+}
@@ -0,0 +1,100 @@
+package com.eryjus.cba.types;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+
+/**
+ * Round-trip tests of {@link CbaLz4}.  Every block must decompress to exactly the bytes compressed, whether they
+ * repeat or not, and repetitive text must actually shrink.
+ */
+public class CbaLz4Test {
+    private static final int COUNT = 2000;
+
+
+    private static byte[] randomBytes(Random rnd) {
+        byte[] b = new byte[rnd.nextInt(3000)];
+        int alphabet = 1 + rnd.nextInt(256);
+
+        for (int i = 0; i < b.length; i ++) {
+            // -- mix in back references of every length and distance, including overlapping ones
+            if (i > 8 && rnd.nextInt(10) == 0) {
+                int dist = 1 + rnd.nextInt(Math.min(i, 300));
+                int n = Math.min(b.length - i, rnd.nextInt(300));
+
+                for (int j = 0; j < n; j ++, i ++) b[i] = b[i - dist];
+                if (i >= b.length) break;
+            }
+
+            b[i] = (byte)rnd.nextInt(alphabet);
+        }
+
+        return b;
+    }
+
+
+    private static byte[] roundTrip(byte[] src) {
+        byte[] packed = CbaLz4.compress(src, 0, src.length);
+        byte[] out = new byte[src.length];
+
+        assertTrue(packed.length <= CbaLz4.maxCompressedLength(src.length));
+        CbaLz4.decompress(packed, out);
+        assertArrayEquals(src, out);
+        return packed;
+    }
+
+
+    @Test
+    public void roundTripTest0001() {
+        Random rnd = new Random(1);
+
+        for (int i = 0; i < COUNT; i ++) roundTrip(randomBytes(rnd));
+    }
+
+
+    @Test
+    public void roundTripTest0002() {
+        for (int n = 0; n < 40; n ++) {
+            roundTrip(new byte[n]);
+        }
+
+        byte[] zeros = new byte[100000];
+        assertTrue(roundTrip(zeros).length < 1000);
+    }
+
+
+    @Test
+    public void ratioTest0001() {
+        StringBuilder sb = new StringBuilder();
+
+        for (int i = 0; i < 500; i ++) {
+            sb.append("{\"id\":").append(i).append(",\"name\":\"element\",\"type\":\"VARCHAR\",\"notNull\":true}");
+        }
+
+        byte[] src = sb.toString().getBytes(StandardCharsets.UTF_8);
+        assertTrue(roundTrip(src).length * 5 < src.length);
+    }
+
+
+    @Test
+    public void deterministicTest0001() {
+        Random rnd = new Random(2);
+        byte[] a = randomBytes(rnd);
+        byte[] b = randomBytes(rnd);
+
+        CbaLz4.compress(b, 0, b.length);
+        assertArrayEquals(CbaLz4.compress(a, 0, a.length), CbaLz4.compress(a.clone(), 0, a.length));
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void malformedTest0001() {
+        byte[] src = new byte[200];
+        byte[] packed = CbaLz4.compress(src, 0, src.length);
+
+        CbaLz4.decompress(packed, new byte[src.length + 1]);
+    }
+}
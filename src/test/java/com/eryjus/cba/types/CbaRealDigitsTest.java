@@ -0,0 +1,204 @@
+package com.eryjus.cba.types;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Random;
+
+
+/**
+ * Differential tests of {@link CbaRealDigits} against the JDK.  Formatting must always read back to the same value,
+ * must never use more digits than the JDK does, and must lay the digits out exactly as the JDK does whenever both
+ * pick the same decimal.  Parsing must produce exactly the bits the JDK produces, including for the inputs the JDK
+ * rejects.  The subnormals are exempt from the digit count, where the shortest form needs two digits to be told
+ * apart from its neighbours and older JDKs print only one.
+ */
+public class CbaRealDigitsTest {
+    private static final int COUNT = 50000;
+
+
+    private static double randomDouble(Random rnd, int i) {
+        switch (i % 5) {
+            case 0:     return Double.longBitsToDouble(rnd.nextLong());
+            case 1:     return rnd.nextDouble() * Math.pow(10, rnd.nextInt(20) - 10);
+            case 2:     return (rnd.nextInt(2000000) - 1000000) / Math.pow(10, rnd.nextInt(8));
+            case 3:     return Double.longBitsToDouble(rnd.nextLong() >>> 12);
+            default:    return Math.scalb(1.0, rnd.nextInt(2100) - 1075);
+        }
+    }
+
+
+    private static void checkDouble(double v) {
+        String ours = CbaRealDigits.toString(v);
+        String jdk = Double.toString(v);
+
+        assertEquals(jdk, Double.doubleToLongBits(v), Double.doubleToLongBits(Double.parseDouble(ours)));
+
+        if (Double.isNaN(v) || Double.isInfinite(v) || v == 0) {
+            assertEquals(jdk, ours);
+            return;
+        }
+
+        BigDecimal o = new BigDecimal(ours);
+        BigDecimal j = new BigDecimal(jdk);
+        if (Math.abs(v) >= Double.MIN_NORMAL) {
+            assertTrue(jdk + " vs " + ours, o.stripTrailingZeros().precision() <= j.stripTrailingZeros().precision());
+        }
+
+        if (o.compareTo(j) == 0) assertEquals(jdk, ours);
+    }
+
+
+    private static void checkFloat(float v) {
+        String ours = CbaRealDigits.toString(v);
+        String jdk = Float.toString(v);
+
+        assertEquals(jdk, Float.floatToIntBits(v), Float.floatToIntBits(Float.parseFloat(ours)));
+
+        if (Float.isNaN(v) || Float.isInfinite(v) || v == 0) {
+            assertEquals(jdk, ours);
+            return;
+        }
+
+        BigDecimal o = new BigDecimal(ours);
+        BigDecimal j = new BigDecimal(jdk);
+        if (Math.abs(v) >= Float.MIN_NORMAL) {
+            assertTrue(jdk + " vs " + ours, o.stripTrailingZeros().precision() <= j.stripTrailingZeros().precision());
+        }
+
+        if (o.compareTo(j) == 0) assertEquals(jdk, ours);
+    }
+
+
+    private static void checkParse(String s) {
+        long expected;
+        try {
+            expected = Double.doubleToRawLongBits(Double.parseDouble(s));
+        } catch (NumberFormatException e) {
+            expected = CbaRealDigits.INVALID_DOUBLE;
+        }
+
+        assertEquals("'" + s + "'", expected, CbaRealDigits.parseDoubleBits(s, 0, s.length()));
+
+        int expectedFloat;
+        try {
+            expectedFloat = Float.floatToRawIntBits(Float.parseFloat(s));
+        } catch (NumberFormatException e) {
+            expectedFloat = CbaRealDigits.INVALID_FLOAT;
+        }
+
+        assertEquals("'" + s + "'", expectedFloat, CbaRealDigits.parseFloatBits(s, 0, s.length()));
+    }
+
+
+    @Test
+    public void doubleFormatTest0001() {
+        assertEquals("0.0", CbaRealDigits.toString(0.0));
+        assertEquals("-0.0", CbaRealDigits.toString(-0.0));
+        assertEquals("1.0", CbaRealDigits.toString(1.0));
+        assertEquals("-1.5", CbaRealDigits.toString(-1.5));
+        assertEquals("100.0", CbaRealDigits.toString(100.0));
+        assertEquals("123.456", CbaRealDigits.toString(123.456));
+        assertEquals("0.1", CbaRealDigits.toString(0.1));
+        assertEquals("0.001", CbaRealDigits.toString(0.001));
+        assertEquals("1.0E-4", CbaRealDigits.toString(0.0001));
+        assertEquals("9999999.0", CbaRealDigits.toString(9999999.0));
+        assertEquals("1.0E7", CbaRealDigits.toString(1e7));
+        assertEquals("2.0E23", CbaRealDigits.toString(2e23));
+        assertEquals("1.7976931348623157E308", CbaRealDigits.toString(Double.MAX_VALUE));
+        assertEquals("2.2250738585072014E-308", CbaRealDigits.toString(Double.MIN_NORMAL));
+        assertEquals("4.9E-324", CbaRealDigits.toString(Double.MIN_VALUE));
+        assertEquals("NaN", CbaRealDigits.toString(Double.NaN));
+        assertEquals("-Infinity", CbaRealDigits.toString(Double.NEGATIVE_INFINITY));
+    }
+
+
+    @Test
+    public void floatFormatTest0001() {
+        assertEquals("0.0", CbaRealDigits.toString(0.0f));
+        assertEquals("0.1", CbaRealDigits.toString(0.1f));
+        assertEquals("3.14159", CbaRealDigits.toString(3.14159f));
+        assertEquals("1.0E10", CbaRealDigits.toString(1e10f));
+        assertEquals("3.4028235E38", CbaRealDigits.toString(Float.MAX_VALUE));
+        assertEquals("1.1754944E-38", CbaRealDigits.toString(Float.MIN_NORMAL));
+        assertEquals("1.4E-45", CbaRealDigits.toString(Float.MIN_VALUE));
+    }
+
+
+    @Test
+    public void doubleFormatTest0002() {
+        Random rnd = new Random(1);
+
+        for (int i = 0; i < COUNT; i ++) {
+            checkDouble(randomDouble(rnd, i));
+        }
+    }
+
+
+    @Test
+    public void floatFormatTest0002() {
+        Random rnd = new Random(2);
+
+        for (int i = 0; i < COUNT; i ++) {
+            checkFloat(Float.intBitsToFloat(rnd.nextInt()));
+            checkFloat((float)randomDouble(rnd, i));
+        }
+    }
+
+
+    @Test
+    public void writeToTest0001() {
+        char[] buf = new char[CbaRealDigits.MAX_DOUBLE_CHARS + 2];
+        Random rnd = new Random(3);
+
+        for (int i = 0; i < COUNT; i ++) {
+            double v = randomDouble(rnd, i);
+            int end = CbaRealDigits.writeDouble(v, buf, 2);
+            assertEquals(CbaRealDigits.toString(v), new String(buf, 2, end - 2));
+        }
+    }
+
+
+    @Test
+    public void parseTest0001() {
+        String[] inputs = { "", " ", "1", "-0", "+0.0", " 1.5 ", "1e", "1e+", ".", ".5", "5.", "1.5f", "2D", "NaN",
+                "-NaN", "-Infinity", "+Infinity", "infinity", "0x1p3", "-0x1.8p1", "1_0", "--1", "1e400", "1e-400",
+                "123456789012345678901234567890", "0.000000000000000000000000000001234567890123456789012",
+                "1e2147483648", "9007199254740993", "1.5 e3", "e5", "1.2.3", "4.9e-324", "2.4703282292062328E-324",
+                "2.4703282292062327E-324", "1.7976931348623158e308", "1.7976931348623159e308",
+                "3.4028235677973366e38", "1.00000017881393432617187499", "18446744073709551615",
+                "9999999999999999999", "0.0000000000000000000000000000000000000000001", };
+
+        for (String s : inputs) checkParse(s);
+    }
+
+
+    @Test
+    public void parseTest0002() {
+        Random rnd = new Random(4);
+
+        for (int i = 0; i < COUNT; i ++) {
+            double v = randomDouble(rnd, i);
+            if (Double.isNaN(v) || Double.isInfinite(v)) continue;
+
+            BigDecimal exact = new BigDecimal(v);
+            checkParse(Double.toString(v));
+            checkParse(Float.toString((float)v));
+            checkParse(exact.round(new MathContext(1 + rnd.nextInt(25), RoundingMode.HALF_EVEN)).toString());
+            checkParse(exact.round(new MathContext(1 + rnd.nextInt(19), RoundingMode.DOWN)).toPlainString());
+        }
+    }
+
+
+    @Test
+    public void parseTest0003() {
+        String str = "x,12.5,-0.001,y";
+
+        assertEquals(Double.doubleToRawLongBits(12.5), CbaRealDigits.parseDoubleBits(str, 2, 6));
+        assertEquals(Double.doubleToRawLongBits(-0.001), CbaRealDigits.parseDoubleBits(str, 7, 13));
+        assertEquals(CbaRealDigits.INVALID_DOUBLE, CbaRealDigits.parseDoubleBits(str, 0, 6));
+    }
+}
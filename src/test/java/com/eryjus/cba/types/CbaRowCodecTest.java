@@ -0,0 +1,253 @@
+package com.eryjus.cba.types;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+
+/**
+ * Round trips through {@link CbaRowCodec} and {@link CbaType#writeTo(ByteBuffer)}.  Whatever a row holds, reading
+ * it back into a new row of the same columns must give elements equal to the originals, with the same text and the
+ * same emptiness, and clean.  A NOT NULL field cleared to its default is written with its value, and a character
+ * value whose lengths do not fit the buffer, the column or each other is refused before anything is allocated.
+ */
+public class CbaRowCodecTest {
+    private static final String BIG = new String(new char[3000]).replace('\0', 'z') + "é";
+
+
+    private static CbaType[] columns() {
+        return new CbaType[] {
+            new CbaTinyInt.Builder().build(),
+            new CbaSmallInt.Builder().setSize(6).setZeroFill(true).build(),
+            new CbaMediumInt.Builder().build(),
+            new CbaInt.Builder().build(),
+            new CbaBigInt.Builder().build(),
+            new CbaBoolean.Builder().build(),
+            new CbaFloat.Builder().build(),
+            new CbaDouble.Builder().setSize(-1, -1).build(),
+            new CbaDecimal.Builder().setSize(10, 2).build(),
+            new CbaDecimal.Builder().setSize(40, 12).build(),
+            new CbaChar.Builder().setSize(8).build(),
+            new CbaVarchar.Builder().setSize(20).setCharset(StandardCharsets.UTF_8).build(),
+            new CbaVarchar.Builder().setSize(20).setCharset(StandardCharsets.ISO_8859_1).build(),
+            new CbaVarchar.Builder().setSize(20).setCharset(Charset.forName("UTF-16")).build(),
+            new CbaVarchar.Builder().setSize(20).setDictionaryEncoded(true).build(),
+            new CbaMediumText.Builder().setCompressThreshold(100).build(),
+            new CbaMediumText.Builder().setCharset(StandardCharsets.UTF_8).setCompressThreshold(100).build(),
+            new CbaDate.Builder().build(),
+            new CbaTime.Builder().build(),
+            new CbaDateTime.Builder().build(),
+            new CbaTimestamp.Builder().build(),
+        };
+    }
+
+
+    private static final String[][] VALUES = {
+        { "-128", "127", "5" },
+        { "-32768", "32767", "42" },
+        { "-8388608", "8388607", "0" },
+        { "-2147483648", "2147483647", "1000" },
+        { "-9223372036854775808", "9223372036854775807", "-1" },
+        { "TRUE", "FALSE", "TRUE" },
+        { "-3.4e38", "1.5", "1.0E-40" },
+        { "-1.7976931348623157E308", "0.1", "4.9E-324" },
+        { "-99999999.99", "12.34", "0" },
+        { "-1234567890123456789012345.123456789012", "1e-12", "7" },
+        { "", "abc", "héllo" },
+        { "héllo wörld", "", "日本語のテキスト" },
+        { "plain", "ÿes", "" },
+        { "𝄞 clef", "x", "" },
+        { "red", "green", "a value for the dictionary" },
+        { "", "short", BIG },
+        { BIG, "tiny", "" },
+        { "2024-02-29", "0001-01-01", "9999-12-31" },
+        { "00:00:00", "23:59:59.999999", "12:34:56.5" },
+        { "2024-02-29T10:11:12.5", "1000-01-01T00:00", "9999-12-31T23:59:59.999999" },
+        { "2024-02-29T10:11:12.5Z", "1970-01-01T00:00:00Z", "1960-06-01T12:00:00Z" },
+    };
+
+
+    private static void checkSame(CbaType[] exp, CbaType[] act) {
+        for (int i = 0; i < exp.length; i ++) {
+            assertEquals("column " + i, exp[i].toString(), act[i].toString());
+            assertTrue("column " + i, exp[i].equals(act[i]));
+            assertEquals("column " + i, exp[i].isEmpty(), act[i].isEmpty());
+            assertFalse("column " + i, act[i].isDirty());
+        }
+    }
+
+
+    @Test
+    public void rowCodecTest0001() {
+        Random rnd = new Random(24);
+        CbaType[] cols = columns();
+        ByteBuffer buf = ByteBuffer.allocate(16384);
+
+        for (int round = 0; round < 200; round ++) {
+            CbaType[] row = new CbaType[cols.length];
+
+            for (int i = 0; i < row.length; i ++) {
+                row[i] = cols[i].newInstance();
+                row[i].clearField();
+
+                int pick = rnd.nextInt(VALUES[i].length + 1);
+                if (pick < VALUES[i].length) row[i].assign(VALUES[i][pick]);
+            }
+
+            CbaType[] back = new CbaType[cols.length];
+            for (int i = 0; i < back.length; i ++) back[i] = cols[i].newInstance();
+
+            buf.clear();
+            CbaRowCodec.write(row, buf);
+            buf.flip();
+            CbaRowCodec.read(back, buf);
+            assertFalse(buf.hasRemaining());
+            checkSame(row, back);
+        }
+    }
+
+
+    @Test
+    public void rowCodecTest0002() {
+        CbaType[] cols = columns();
+        ByteBuffer buf = ByteBuffer.allocateDirect(16384);
+
+        for (int i = 0; i < cols.length; i ++) {
+            for (String v : VALUES[i]) {
+                CbaType src = cols[i].newInstance();
+                CbaType dst = cols[i].newInstance();
+
+                src.assign(v);
+                buf.clear();
+                src.writeTo(buf);
+                buf.flip();
+                dst.readFrom(buf);
+                assertFalse(buf.hasRemaining());
+                checkSame(new CbaType[] { src }, new CbaType[] { dst });
+            }
+        }
+    }
+
+
+    @Test
+    public void rowCodecTest0003() {
+        CbaType[] row = columns();
+        ByteBuffer buf = ByteBuffer.allocate(16);
+
+        buf.put((byte)7);
+        row[12].assign("twenty characters...");
+
+        try {
+            CbaRowCodec.write(row, buf);
+            fail("no overflow");
+        } catch (BufferOverflowException e) {
+            assertEquals(1, buf.position());
+        }
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rowCodecTest0004() {
+        ByteBuffer buf = ByteBuffer.allocate(256);
+
+        CbaRowCodec.write(columns(), buf);
+        buf.flip();
+        CbaRowCodec.read(new CbaType[] { new CbaInt.Builder().build() }, buf);
+    }
+
+
+    @Test
+    public void rowCodecTest0005() {
+        CbaInt fld = new CbaInt.Builder().setField("t", "i").setDefaultValue("7").build();
+        CbaInt back = fld.newInstance();
+        ByteBuffer buf = ByteBuffer.allocate(16);
+
+        fld.clearField();
+        assertTrue(fld.isEmpty());
+        fld.writeTo(buf);
+        assertEquals(1, buf.position());
+
+        fld.assign(300L);
+        assertFalse(fld.isEmpty());
+        back.assign(300L);
+        buf.flip();
+        back.readFrom(buf);
+        assertTrue(back.isEmpty());
+        assertEquals(7, back.getValue());
+    }
+
+
+    private static void checkMalformed(CbaType fld, int... bytes) {
+        ByteBuffer buf = ByteBuffer.allocate(bytes.length + 128);
+
+        // -- 128 bytes follow, so that only the lengths are wrong
+        for (int b : bytes) buf.put((byte)b);
+        buf.position(buf.capacity()).flip();
+
+        try {
+            fld.readFrom(buf);
+            fail("read a malformed value into " + fld.getIndicatedType());
+        } catch (IllegalArgumentException e) {
+            // -- expected
+        }
+    }
+
+
+    @Test
+    public void rowCodecTest0006() {
+        CbaVarchar small = new CbaVarchar.Builder().setSize(20).setCharset(StandardCharsets.UTF_8).build();
+        CbaMediumText packed = new CbaMediumText.Builder().setCompressThreshold(100).build();
+        CbaVarchar coded = new CbaVarchar.Builder().setSize(20).setDictionaryEncoded(true).build();
+
+        // -- a length past the end of the buffer
+        checkMalformed(small, 0, 0x80, 0x04);
+
+        // -- a length past what the column can hold: 4 bytes a code point and a byte-order mark
+        checkMalformed(small, 0, 0xaa, 0x01);
+
+        // -- a compressed value that claims to decompress to 2^40 bytes, and one to 16 MB in a column of 20
+        checkMalformed(packed, 0, 0x05, 0x80, 0x80, 0x80, 0x80, 0x80, 0x20, 1, 2);
+        checkMalformed(coded, 0, 0x05, 0x80, 0x80, 0x80, 0x08, 1, 2);
+
+        // -- a compressed value longer than any compression of the length it decompresses to
+        checkMalformed(coded, 0, 0x51, 0x01);
+
+        // -- and one within the limits is read
+        ByteBuffer buf = ByteBuffer.allocate(16);
+        small.assign("abc");
+        small.writeTo(buf);
+        buf.flip();
+        coded.readFrom(buf);
+        assertEquals("abc", coded.toString());
+    }
+
+
+    @Test
+    public void rowCodecTest0007() {
+        CbaInt fld = new CbaInt.Builder().setNotNull(true).setDefaultValue("7").build();
+        CbaInt back = fld.newInstance();
+        ByteBuffer buf = ByteBuffer.allocate(16);
+
+        // -- a NOT NULL field cleared to its default holds a value, and is clean
+        fld.assign(3);
+        fld.clearField();
+        assertFalse(fld.isEmpty());
+        assertFalse(fld.isDirty());
+        assertEquals(7, fld.getValue());
+
+        fld.writeTo(buf);
+        buf.flip();
+        back.readFrom(buf);
+        assertFalse(back.isEmpty());
+        assertEquals(7, back.getValue());
+
+        CbaInt fresh = fld.newInstance();
+        fresh.clearField();
+        assertFalse(fresh.isEmpty());
+    }
+}
@@ -0,0 +1,93 @@
+package com.eryjus.cba.types;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import java.util.BitSet;
+import java.util.Random;
+
+
+/**
+ * Tests of {@link CbaRowState} against a {@link BitSet} kept alongside.  Whatever the mix of assignments, clears and
+ * marking the row clean, the row and every element must agree with the model about which columns are dirty.
+ */
+public class CbaRowStateTest {
+    private static CbaType[] row(int n) {
+        CbaType[] rv = new CbaType[n];
+
+        for (int i = 0; i < n; i ++) rv[i] = new CbaTinyInt.Builder().build();
+        return rv;
+    }
+
+
+    private static void check(CbaRowState state, CbaType[] row, BitSet model) {
+        for (int i = 0; i < row.length; i ++) assertEquals(model.get(i), row[i].isDirty());
+
+        for (int i = -1; i <= row.length; i ++) {
+            int expect = model.nextSetBit(Math.max(0, i));
+            assertEquals(expect, state.nextDirty(i));
+        }
+
+        assertEquals(!model.isEmpty(), state.isDirty());
+    }
+
+
+    @Test
+    public void rowStateTest0001() {
+        Random rnd = new Random(1);
+
+        for (int n : new int[] { 1, 5, 63, 64, 65, 130 }) {
+            CbaType[] row = row(n);
+            CbaRowState state = new CbaRowState(row);
+            BitSet model = new BitSet();
+
+            for (int op = 0; op < 2000; op ++) {
+                int i = rnd.nextInt(n);
+
+                switch (rnd.nextInt(6)) {
+                    case 0:
+                        state.markClean();
+                        model.clear();
+                        break;
+
+                    case 1:
+                        row[i].clearField();
+                        model.clear(i);
+                        break;
+
+                    default:
+                        ((CbaIntegerType)row[i]).assign((long)rnd.nextInt(100));
+                        model.set(i);
+                        break;
+                }
+
+                check(state, row, model);
+            }
+        }
+    }
+
+
+    @Test
+    public void rowStateTest0002() {
+        CbaType[] row = row(3);
+        ((CbaIntegerType)row[1]).assign(7L);
+
+        CbaRowState state = new CbaRowState(row);
+        assertEquals(1, state.nextDirty(0));
+        assertEquals(0, state.getGeneration());
+
+        state.markClean();
+        assertEquals(1, state.getGeneration());
+        assertFalse(row[1].isDirty());
+        assertEquals(-1, state.nextDirty(0));
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rowStateTest0003() {
+        CbaType[] row = row(2);
+
+        new CbaRowState(row);
+        new CbaRowState(row);
+    }
+}
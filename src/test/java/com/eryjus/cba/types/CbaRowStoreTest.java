@@ -0,0 +1,168 @@
+package com.eryjus.cba.types;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+
+/**
+ * Tests of {@link CbaRowStore} against the rows it was given, kept on the heap alongside.  Whatever is appended or
+ * updated, loading a row must position the cursor on elements equal to the row last stored there, with the same
+ * emptiness, and clean.
+ */
+public class CbaRowStoreTest {
+    private static CbaType[] columns() {
+        return new CbaType[] {
+            new CbaBoolean.Builder().build(),
+            new CbaTinyInt.Builder().build(),
+            new CbaVarchar.Builder().setSize(30).setCharset(StandardCharsets.UTF_8).build(),
+            new CbaSmallInt.Builder().build(),
+            new CbaInt.Builder().build(),
+            new CbaBigInt.Builder().build(),
+            new CbaFloat.Builder().build(),
+            new CbaDouble.Builder().build(),
+            new CbaDecimal.Builder().setSize(12, 3).build(),
+            new CbaDecimal.Builder().setSize(30, 3).build(),
+            new CbaMediumText.Builder().build(),
+            new CbaDate.Builder().build(),
+            new CbaDateTime.Builder().build(),
+        };
+    }
+
+
+    private static final String[][] VALUES = {
+        { "TRUE", "FALSE" },
+        { "-128", "127", "0" },
+        { "", "short", "héllo wörld, a longer value" },
+        { "-32768", "32767" },
+        { "-2147483648", "2147483647", "12" },
+        { "-9223372036854775808", "9223372036854775807" },
+        { "1.5", "-3.4e38" },
+        { "0.1", "-4.9E-324" },
+        { "-999999999.999", "12.5" },
+        { "123456789012345678901234567.891", "-0.001" },
+        { "", "text", "ünïcode" },
+        { "2024-02-29", "0001-01-01" },
+        { "2024-02-29T10:11:12.5", "9999-12-31T23:59:59.999999" },
+    };
+
+
+    private static CbaType[] randomRow(CbaType[] cols, Random rnd) {
+        CbaType[] rv = new CbaType[cols.length];
+
+        for (int i = 0; i < rv.length; i ++) {
+            rv[i] = cols[i].newInstance();
+            rv[i].clearField();
+
+            int pick = rnd.nextInt(VALUES[i].length + 1);
+            if (pick < VALUES[i].length) rv[i].assign(VALUES[i][pick]);
+        }
+
+        return rv;
+    }
+
+
+    private static void checkSame(CbaType[] exp, CbaType[] act) {
+        for (int i = 0; i < exp.length; i ++) {
+            assertEquals("column " + i, exp[i].toString(), act[i].toString());
+            assertTrue("column " + i, exp[i].equals(act[i]));
+            assertEquals("column " + i, exp[i].isEmpty(), act[i].isEmpty());
+            assertFalse("column " + i, act[i].isDirty());
+        }
+    }
+
+
+    @Test
+    public void rowStoreTest0001() {
+        Random rnd = new Random(25);
+        CbaType[] cols = columns();
+        CbaType[] cursor = new CbaType[cols.length];
+        CbaRowStore store = new CbaRowStore(cols);
+        List<CbaType[]> model = new ArrayList<>();
+
+        for (int i = 0; i < cols.length; i ++) cursor[i] = cols[i].newInstance();
+
+        // -- enough rows for several pages of rows and of the out-of-line area
+        for (int n = 0; n < 60000; n ++) {
+            CbaType[] row = randomRow(cols, rnd);
+
+            assertEquals(n, store.append(row));
+            model.add(row);
+        }
+
+        for (int n = 0; n < 5000; n ++) {
+            int index = rnd.nextInt(model.size());
+            CbaType[] row = randomRow(cols, rnd);
+
+            store.update(index, row);
+            model.set(index, row);
+        }
+
+        assertEquals(model.size(), store.size());
+
+        for (int n = 0; n < model.size(); n ++) {
+            store.load(n, cursor);
+            checkSame(model.get(n), cursor);
+        }
+    }
+
+
+    @Test
+    public void rowStoreTest0002() {
+        CbaType[] cols = { new CbaMediumText.Builder().build(), new CbaInt.Builder().build() };
+        CbaRowStore store = new CbaRowStore(cols);
+        String big = new String(new char[3 * CbaRowStore.PAGE_SIZE / 2]).replace('\0', 'q');
+
+        for (int round = 0; round < 2; round ++) {
+            store.clear();
+
+            for (String v : new String[] { "a", big, "b", big + "!" }) {
+                CbaType[] row = { cols[0].newInstance(), cols[1].newInstance() };
+
+                row[0].assign(v);
+                row[1].assign(String.valueOf(v.length()));
+                store.append(row);
+            }
+
+            CbaType[] cursor = { cols[0].newInstance(), cols[1].newInstance() };
+
+            store.load(3, cursor);
+            assertEquals(big + "!", cursor[0].toString());
+            store.load(2, cursor);
+            assertEquals("b", cursor[0].toString());
+            assertEquals("1", cursor[1].toString());
+        }
+    }
+
+
+    @Test
+    public void rowStoreTest0003() {
+        CbaType[] cols = { new CbaDouble.Builder().build(), new CbaBoolean.Builder().build(),
+                new CbaInt.Builder().build(), new CbaTinyInt.Builder().build(), };
+
+        // -- 8 + 4 + 1 + 1, a byte of empty flags, and padding to 8
+        assertEquals(16, new CbaRowStore(cols).getRowWidth());
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rowStoreTest0004() {
+        CbaRowStore store = new CbaRowStore(columns());
+
+        store.append(columns());
+    }
+
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void rowStoreTest0005() {
+        CbaType[] cols = columns();
+        CbaRowStore store = new CbaRowStore(cols);
+
+        store.append(cols);
+        store.load(1, cols);
+    }
+}
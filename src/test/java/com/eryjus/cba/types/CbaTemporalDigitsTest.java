@@ -0,0 +1,313 @@
+package com.eryjus.cba.types;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+
+import com.eryjus.cba.types.CbaType.ParseStatus;
+
+
+/**
+ * Table-driven tests of {@link CbaTemporalDigits} through the temporal types.  Each row is parsed from a String, from
+ * a char[] and from a byte[], each time at a non-zero offset within a longer range, and must give the same status
+ * and the same value every time; the value is then written back into a char[] and a byte[] at an offset.  The rows
+ * cover the calendar, the fraction digits, the negative years, the forms only the JDK accepts and the limits of the
+ * year.  The rows whose answer depends on the JDK in use take their expectation from the JDK itself.  The elements
+ * made by newInstance() share one descriptor, and clearField() restores the default and leaves the element clean
+ * and empty.
+ */
+public class CbaTemporalDigitsTest {
+    private static final String INVALID = "INVALID";
+    private static final String OVERFLOW = "OVERFLOW";
+    private static final String JDK = "JDK";
+
+
+    private static final String[][] DATES = {
+        { "2024-02-29", "2024-02-29" },
+        { "2000-02-29", "2000-02-29" },
+        { "0000-02-29", "0000-02-29" },
+        { "-0004-02-29", "-0004-02-29" },
+        { "-0044-03-15", "-0044-03-15" },
+        { "-9999-01-01", "-9999-01-01" },
+        { "9999-12-31", "9999-12-31" },
+        { "0001-01-01", "0001-01-01" },
+        { "2023-02-29", INVALID },
+        { "1900-02-29", INVALID },
+        { "-0001-02-29", INVALID },
+        { "2024-04-31", INVALID },
+        { "2024-06-31", INVALID },
+        { "2024-01-32", INVALID },
+        { "2024-13-01", INVALID },
+        { "2024-00-10", INVALID },
+        { "2024-01-00", INVALID },
+        { "2024-1-01", INVALID },
+        { "2024/01/01", INVALID },
+        { "2024-01-0a", INVALID },
+        { "+10000-01-01", OVERFLOW },
+        { "-10000-01-01", OVERFLOW },
+        { "+2024-01-01", JDK },
+        { "-0000-01-01", JDK },
+    };
+
+
+    private static final String[][] TIMES = {
+        { "10:11", "10:11" },
+        { "10:11:12", "10:11:12" },
+        { "00:00:00", "00:00" },
+        { "23:59:59", "23:59:59" },
+        { "00:00:00.1", "00:00:00.100" },
+        { "00:00:00.12", "00:00:00.120" },
+        { "00:00:00.123", "00:00:00.123" },
+        { "00:00:00.1234", "00:00:00.123400" },
+        { "00:00:00.12345", "00:00:00.123450" },
+        { "00:00:00.123456", "00:00:00.123456" },
+        { "00:00:00.000", "00:00" },
+        { "00:00:00.123456000", "00:00:00.123456" },
+        { "00:00:00.1234567", "00:00:00.123456", "TRUNCATED" },
+        { "00:00:00.12345678", "00:00:00.123456", "TRUNCATED" },
+        { "23:59:59.999999999", "23:59:59.999999", "TRUNCATED" },
+        { "00:00:00.0000001", "00:00", "TRUNCATED" },
+        { "00:00:00.", JDK },
+        { "00:00:00.1234567890", INVALID },
+        { "24:00", INVALID },
+        { "23:60", INVALID },
+        { "23:59:60", INVALID },
+        { "1:02", INVALID },
+        { "10:11:1", INVALID },
+        { "10-11", INVALID },
+        { "10:11:12,5", JDK },
+    };
+
+
+    private static final String[][] DATE_TIMES = {
+        { "2024-02-29T10:11:12.5", "2024-02-29T10:11:12.500" },
+        { "2024-02-29T10:11", "2024-02-29T10:11" },
+        { "-0001-12-31T23:59:59.999999", "-0001-12-31T23:59:59.999999" },
+        { "-0001-12-31T23:59:59.9999999", "-0001-12-31T23:59:59.999999", "TRUNCATED" },
+        { "9999-12-31T23:59:59.999999", "9999-12-31T23:59:59.999999" },
+        { "-9999-01-01T00:00", "-9999-01-01T00:00" },
+        { "2024-02-29t10:11:12", "2024-02-29T10:11:12" },
+        { "2023-02-29T10:11", INVALID },
+        { "2024-02-29T24:00", INVALID },
+        { "2024-02-29 10:11", INVALID },
+        { "2024-02-29T", INVALID },
+        { "2024-02-29T10:11:12+01:00", INVALID },
+        { "+10000-01-01T00:00", OVERFLOW },
+        { "-10000-12-31T23:59:59", OVERFLOW },
+    };
+
+
+    private static final String[][] TIMESTAMPS = {
+        { "2024-02-29T10:11:12Z", "2024-02-29T10:11:12.000000Z" },
+        { "2024-02-29T10:11:12.5Z", "2024-02-29T10:11:12.500000Z" },
+        { "1970-01-01T00:00:00Z", "1970-01-01T00:00:00.000000Z" },
+        { "1969-12-31T23:59:59.999999Z", "1969-12-31T23:59:59.999999Z" },
+        { "1960-06-01T12:00:00.1234567Z", "1960-06-01T12:00:00.123456Z", "TRUNCATED" },
+        { "-0001-01-01T00:00:00Z", "-0001-01-01T00:00:00.000000Z" },
+        { "2024-02-29t10:11:12z", "2024-02-29T10:11:12.000000Z" },
+        { "2023-02-29T10:11:12Z", INVALID },
+        { "2024-02-29T10:11:12", INVALID },
+        { "+300000-01-01T00:00:00Z", OVERFLOW },
+        { "2024-02-29T10:11:12+01:00", JDK },
+        { "2024-02-29T10:11Z", JDK },
+        { "+10000-01-01T00:00:00Z", JDK },
+    };
+
+
+    private static String[] fromJdk(String[] row, CbaTemporalType fld) {
+        String in = row[0];
+
+        try {
+            if (fld instanceof CbaDate) {
+                return new String[] { in, LocalDate.parse(in).toString() };
+            } else if (fld instanceof CbaTime) {
+                LocalTime v = LocalTime.parse(in);
+                LocalTime t = v.truncatedTo(ChronoUnit.MICROS);
+                return new String[] { in, t.toString(), (t.equals(v) ? "OK" : "TRUNCATED") };
+            } else {
+                Instant v = Instant.parse(in);
+                Instant t = v.truncatedTo(ChronoUnit.MICROS);
+                Math.multiplyExact(t.getEpochSecond(), 1000000L);
+                CbaTimestamp ts = new CbaTimestamp.Builder().build();
+                ts.assign(t);
+                return new String[] { in, ts.toString(), (t.equals(v) ? "OK" : "TRUNCATED") };
+            }
+        } catch (DateTimeParseException e) {
+            return new String[] { in, INVALID };
+        } catch (DateTimeException | ArithmeticException e) {
+            return new String[] { in, OVERFLOW };
+        }
+    }
+
+
+    private static void check(CbaTemporalType proto, String[][] rows) {
+        for (String[] row : rows) {
+            if (JDK.equals(row[1])) row = fromJdk(row, proto);
+
+            String in = row[0];
+            String exp = row[1];
+            ParseStatus status;
+
+            if (INVALID.equals(exp)) status = ParseStatus.INVALID;
+            else if (OVERFLOW.equals(exp)) status = ParseStatus.OVERFLOW;
+            else status = (row.length > 2 ? ParseStatus.valueOf(row[2]) : ParseStatus.OK);
+
+            String text = "xy" + in + "z";
+            char[] chars = ("abc" + in + "de").toCharArray();
+            byte[] bytes = ("é" + in + "!").getBytes(StandardCharsets.UTF_8);
+
+            for (int form = 0; form < 3; form ++) {
+                CbaTemporalType fld = (CbaTemporalType)proto.newInstance();
+                String before = fld.toString();
+                ParseStatus rv;
+
+                switch (form) {
+                    case 0:     rv = fld.assign(text, 2, 2 + in.length());              break;
+                    case 1:     rv = fld.assign(chars, 3, 3 + in.length());             break;
+                    default:    rv = fld.assign(bytes, 2, 2 + in.length());             break;
+                }
+
+                String msg = in + " from form " + form;
+                assertEquals(msg, status, rv);
+
+                if (status != ParseStatus.OK && status != ParseStatus.TRUNCATED) {
+                    assertEquals(msg, before, fld.toString());
+                    continue;
+                }
+
+                assertEquals(msg, exp, fld.toString());
+                assertEquals(msg, exp.length(), fld.formattedLength());
+
+                char[] cbuf = new char[exp.length() + 5];
+                assertEquals(msg, 4 + exp.length(), fld.writeTo(cbuf, 4));
+                assertEquals(msg, exp, new String(cbuf, 4, exp.length()));
+
+                byte[] bbuf = new byte[exp.length() + 5];
+                assertEquals(msg, 1 + exp.length(), fld.writeTo(bbuf, 1));
+                assertEquals(msg, exp, new String(bbuf, 1, exp.length(), StandardCharsets.US_ASCII));
+            }
+        }
+    }
+
+
+    private static int n(String in) {
+        return in.length();
+    }
+
+
+    @Test
+    public void temporalDigitsTest0001() {
+        check(new CbaDate.Builder().build(), DATES);
+    }
+
+
+    @Test
+    public void temporalDigitsTest0002() {
+        check(new CbaTime.Builder().build(), TIMES);
+    }
+
+
+    @Test
+    public void temporalDigitsTest0003() {
+        check(new CbaDateTime.Builder().build(), DATE_TIMES);
+    }
+
+
+    @Test
+    public void temporalDigitsTest0004() {
+        check(new CbaTimestamp.Builder().build(), TIMESTAMPS);
+    }
+
+
+    @Test
+    public void temporalDigitsTest0005() {
+        // -- the fast path leaves the other layouts to the JDK, and rejects what is in no layout on its own
+        for (String in : new String[] { "2024-02-29t10:11", "+10000-01-01T00:00", "2024-02-29T10:11:12,5" }) {
+            assertEquals(in, CbaTemporalDigits.DEFER, CbaTemporalDigits.parseDateTime(in.toCharArray(), 0, n(in)));
+        }
+
+        for (String in : new String[] { "2024-02-29T10:11:12z", "2024-02-29T10:11:12+01:00", "2024-02-29T10:11Z",
+                "-0000-01-01T00:00:00Z", "2024-02-29T10:11:12.Z" }) {
+            assertEquals(in, CbaTemporalDigits.DEFER, CbaTemporalDigits.parseTimestamp(in.toCharArray(), 0, n(in)));
+        }
+
+        for (String in : new String[] { "2024-02-29 10:11:12Z", "2024-02-29T10:11:12Zx", "2024-02-29T10:11:12+1",
+                "2024-02-29T10:11:12", "2024-02-29T10:11:12+01:0a", "+2024-02-32T10:11:12Z", "abc", "" }) {
+            assertEquals(in, CbaTemporalDigits.INVALID, CbaTemporalDigits.parseTimestamp(in.toCharArray(), 0, n(in)));
+        }
+
+        for (String in : new String[] { "+10000-01-01", "-0000-01-01", "+2024-01-01", "-123456789-12-31" }) {
+            assertEquals(in, CbaTemporalDigits.DEFER, CbaTemporalDigits.parseDate(in.toCharArray(), 0, n(in)));
+        }
+
+        for (String in : new String[] { "2024/01/01", "24-01-01", "2024-01-0a", "+10000-13-01", "2024-01-01x", "-" }) {
+            assertEquals(in, CbaTemporalDigits.INVALID, CbaTemporalDigits.parseDate(in.toCharArray(), 0, n(in)));
+        }
+
+        // -- a range longer than any layout is rejected without being read, and assign(String) still throws
+        CbaTimestamp ts = new CbaTimestamp.Builder().build();
+        StringBuilder sb = new StringBuilder("2024-02-29T10:11:12.");
+        while (sb.length() <= CbaTemporalDigits.MAX_PARSE_CHARS) sb.append('0');
+        assertEquals(ParseStatus.INVALID, ts.assign(sb.append('Z'), 0, sb.length()));
+
+        try {
+            ts.assign("2024-02-29T10:11:12Zx");
+            fail("malformed text was assigned");
+        } catch (DateTimeParseException e) {
+            assertEquals("2024-02-29T10:11:12Zx", e.getParsedString());
+        }
+
+        // -- every day of a 400-year cycle either side of year 0, against the JDK's calendar
+        CbaDate date = new CbaDate.Builder().build();
+
+        for (long day = LocalDate.of(-400, 1, 1).toEpochDay(); day <= LocalDate.of(400, 12, 31).toEpochDay();
+                day += 3) {
+            LocalDate exp = LocalDate.ofEpochDay(day);
+            long packed = CbaTemporalDigits.ofEpochDay(day);
+
+            assertEquals(exp.toString(), day, CbaTemporalDigits.toEpochDay(packed));
+            assertEquals(ParseStatus.OK, date.assign(exp.toString(), 0, exp.toString().length()));
+            assertEquals(exp.toString(), date.toString());
+        }
+
+        for (int year = 1896; year <= 2104; year ++) {
+            String text = String.format("%04d-02-29T00:00", year);
+            CbaDateTime dt = new CbaDateTime.Builder().build();
+            ParseStatus exp = (LocalDate.ofYearDay(year, 1).isLeapYear() ? ParseStatus.OK : ParseStatus.INVALID);
+
+            assertEquals(text, exp, dt.assign(text.toCharArray(), 0, text.length()));
+        }
+    }
+
+
+    @Test
+    public void temporalDigitsTest0006() {
+        CbaDate date = new CbaDate.Builder().setDefaultValue("2000-02-29").build();
+        CbaTimestamp ts = new CbaTimestamp.Builder().setDefaultValue("1999-12-31T23:59:59.5Z").build();
+        CbaDate d = date.newInstance();
+        CbaTimestamp t = ts.newInstance();
+
+        assertSame(date.getDescriptor(), d.getDescriptor());
+        assertSame(ts.getDescriptor(), t.getDescriptor());
+
+        d.assign("2024-01-01");
+        t.assign("2024-01-01T00:00:00Z");
+        assertTrue(d.isDirty());
+
+        d.clearField();
+        t.clearField();
+        assertEquals("2000-02-29", d.toString());
+        assertEquals("1999-12-31T23:59:59.500000Z", t.toString());
+        assertFalse(d.isDirty());
+        assertFalse(t.isDirty());
+        assertTrue(d.isEmpty());
+        assertTrue(t.isEmpty());
+    }
+}
@@ -0,0 +1,135 @@
+package com.eryjus.cba.types;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+
+/**
+ * Differential tests of {@link CbaUtf8} against {@link String#getBytes(java.nio.charset.Charset)}.  Measuring and
+ * encoding must produce exactly the JDK's bytes, including the '?' for a lone surrogate, and a limit must never split
+ * a code point.
+ */
+public class CbaUtf8Test {
+    private static final int COUNT = 20000;
+
+
+    private static String randomString(Random rnd) {
+        StringBuilder sb = new StringBuilder();
+        int n = rnd.nextInt(80);
+
+        for (int i = 0; i < n; i ++) {
+            switch (rnd.nextInt(5)) {
+                case 0:     sb.append((char)(0x20 + rnd.nextInt(0x5f)));            break;
+                case 1:     sb.append((char)(0x80 + rnd.nextInt(0x780)));           break;
+                case 2:     sb.append((char)(0x800 + rnd.nextInt(0xd000)));         break;
+                case 3:     sb.appendCodePoint(0x10000 + rnd.nextInt(0x100000));    break;
+                default:    sb.append((char)(0xd800 + rnd.nextInt(0x800)));         break;
+            }
+        }
+
+        return sb.toString();
+    }
+
+
+    @Test
+    public void encodeTest0001() {
+        Random rnd = new Random(1);
+
+        for (int i = 0; i < COUNT; i ++) {
+            String s = randomString(rnd);
+            byte[] jdk = s.getBytes(StandardCharsets.UTF_8);
+            long measured = CbaUtf8.measure(s, 0, s.length(), Integer.MAX_VALUE, Integer.MAX_VALUE);
+            byte[] ours = new byte[CbaUtf8.bytesOf(measured)];
+
+            assertEquals(s.length(), CbaUtf8.endOf(measured));
+            assertEquals(jdk.length, CbaUtf8.encode(s, 0, s.length(), ours, 0));
+            assertArrayEquals(jdk, ours);
+        }
+    }
+
+
+    @Test
+    public void measureTest0001() {
+        Random rnd = new Random(2);
+
+        for (int i = 0; i < COUNT; i ++) {
+            String s = randomString(rnd);
+            int maxBytes = rnd.nextInt(100);
+            int maxCodePoints = rnd.nextInt(60);
+            long measured = CbaUtf8.measure(s, 0, s.length(), maxCodePoints, maxBytes);
+            int end = CbaUtf8.endOf(measured);
+            String fit = s.substring(0, end);
+            int n = fit.getBytes(StandardCharsets.UTF_8).length;
+
+            assertEquals(n, CbaUtf8.bytesOf(measured));
+            assertTrue(n <= maxBytes);
+            assertTrue(fit.codePointCount(0, end) <= maxCodePoints);
+            assertFalse(end > 0 && end < s.length() && Character.isHighSurrogate(s.charAt(end - 1)) 
+                    && Character.isLowSurrogate(s.charAt(end)));
+
+            if (end < s.length()) {
+                String more = s.substring(0, s.offsetByCodePoints(end, 1));
+                assertTrue(more.getBytes(StandardCharsets.UTF_8).length > maxBytes 
+                        || more.codePointCount(0, more.length()) > maxCodePoints);
+            }
+        }
+    }
+
+
+    @Test
+    public void fitTest0001() {
+        Random rnd = new Random(3);
+
+        for (int i = 0; i < COUNT; i ++) {
+            String s = randomString(rnd);
+            byte[] src = s.getBytes(StandardCharsets.UTF_8);
+            int maxBytes = rnd.nextInt(100);
+            int maxCodePoints = (i % 2 == 0 ? Integer.MAX_VALUE : rnd.nextInt(60));
+            long measured = CbaUtf8.measure(s, 0, s.length(), maxCodePoints, maxBytes);
+
+            assertEquals(CbaUtf8.bytesOf(measured), CbaUtf8.fit(src, 0, src.length, maxCodePoints, maxBytes));
+        }
+    }
+
+
+    @Test
+    public void fitTest0002() {
+        byte[] src = "xaé€😀y".getBytes(StandardCharsets.UTF_8);
+
+        assertEquals(1, CbaUtf8.fit(src, 1, src.length, Integer.MAX_VALUE, 0));
+        assertEquals(2, CbaUtf8.fit(src, 1, src.length, Integer.MAX_VALUE, 2));
+        assertEquals(4, CbaUtf8.fit(src, 1, src.length, Integer.MAX_VALUE, 3));
+        assertEquals(7, CbaUtf8.fit(src, 1, src.length, Integer.MAX_VALUE, 9));
+        assertEquals(11, CbaUtf8.fit(src, 1, src.length, 4, 100));
+        assertEquals(src.length, CbaUtf8.fit(src, 1, src.length, 5, 100));
+    }
+
+
+    @Test
+    public void isValidTest0001() {
+        Random rnd = new Random(4);
+
+        for (int i = 0; i < COUNT; i ++) {
+            byte[] src = randomString(rnd).getBytes(StandardCharsets.UTF_8);
+
+            // -- corrupt some of them; a valid sequence is exactly one the JDK decodes and encodes back unchanged
+            if (src.length > 0 && rnd.nextBoolean()) src[rnd.nextInt(src.length)] = (byte)rnd.nextInt(256);
+
+            byte[] jdk = new String(src, StandardCharsets.UTF_8).getBytes(StandardCharsets.UTF_8);
+            assertEquals(java.util.Arrays.equals(src, jdk), CbaUtf8.isValid(src, 0, src.length));
+        }
+    }
+
+
+    @Test
+    public void isValidTest0002() {
+        assertTrue(CbaUtf8.isValid("aé€😀".getBytes(StandardCharsets.UTF_8), 0, 10));
+        assertFalse(CbaUtf8.isValid(new byte[] { (byte)0xc0, (byte)0x80 }, 0, 2));
+        assertFalse(CbaUtf8.isValid(new byte[] { (byte)0xed, (byte)0xa0, (byte)0x80 }, 0, 3));
+        assertFalse(CbaUtf8.isValid(new byte[] { (byte)0xf4, (byte)0x90, (byte)0x80, (byte)0x80 }, 0, 4));
+        assertFalse(CbaUtf8.isValid(new byte[] { (byte)0xe2, (byte)0x82 }, 0, 2));
+    }
+}
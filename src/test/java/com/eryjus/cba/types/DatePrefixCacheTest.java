@@ -0,0 +1,158 @@
+package com.eryjus.cba.types;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.eryjus.cba.types.CbaType.ParseStatus;
+
+
+/**
+ * Tests of {@link DatePrefixCache} through the temporal types that write with it.  A date written twice is rendered
+ * once and then copied, a date that lands in an occupied slot replaces the entry there, and the hit and miss counters
+ * count every write until they are reset.  Several threads writing the same few days at once must each get the
+ * right text, and every write must be counted once.
+ */
+public class DatePrefixCacheTest {
+    @Before
+    public void setUp() {
+        DatePrefixCache.clear();
+        DatePrefixCache.resetCounters();
+    }
+
+
+    private static void assertCounts(long hits, long misses) {
+        assertEquals("hits", hits, DatePrefixCache.getHits());
+        assertEquals("misses", misses, DatePrefixCache.getMisses());
+    }
+
+
+    private static CbaDate date(String text) {
+        CbaDate rv = new CbaDate.Builder().build();
+        assertEquals(ParseStatus.OK, rv.assign(text, 0, text.length()));
+        return rv;
+    }
+
+
+    @Test
+    public void prefixCacheTest0001() {
+        CbaDate jan = date("2024-01-15");
+        CbaDate mar = date("2024-03-15");
+        CbaDate next = date("2024-01-16");
+
+        // -- the two 15ths share a slot, and the 16th is in the slot beside it
+        assertEquals(CbaTemporalType.packDate(2024, 1, 15) & (DatePrefixCache.SIZE - 1),
+                CbaTemporalType.packDate(2024, 3, 15) & (DatePrefixCache.SIZE - 1));
+        assertCounts(0, 0);
+
+        assertEquals("2024-01-15", jan.toString());
+        assertCounts(0, 1);
+        assertEquals("2024-01-15", jan.toString());
+        assertEquals("2024-01-16", next.toString());
+        assertCounts(1, 2);
+
+        // -- a date in an occupied slot replaces its entry, and the first date must then be rendered again
+        assertEquals("2024-03-15", mar.toString());
+        assertEquals("2024-01-15", jan.toString());
+        assertEquals("2024-01-16", next.toString());
+        assertCounts(2, 4);
+
+        // -- a date and time writes its date through the same table
+        CbaDateTime dt = new CbaDateTime.Builder().build();
+        dt.assign("2024-01-15T10:11:12");
+        assertEquals("2024-01-15T10:11:12", dt.toString());
+        assertCounts(3, 4);
+
+        // -- clear() empties the table but keeps the counts, and resetCounters() keeps the table
+        DatePrefixCache.clear();
+        assertEquals("2024-01-15", jan.toString());
+        assertCounts(3, 5);
+
+        DatePrefixCache.resetCounters();
+        assertCounts(0, 0);
+        assertEquals("2024-01-15", jan.toString());
+        assertCounts(1, 0);
+    }
+
+
+    @Test
+    public void prefixCacheTest0002() {
+        CbaTimestamp ts = new CbaTimestamp.Builder().build();
+        long day = LocalDate.of(2024, 2, 29).toEpochDay();
+        char[] buf = new char[CbaTemporalDigits.MAX_TIMESTAMP_CHARS];
+
+        // -- the timestamps are keyed by epoch day, apart from the packed dates
+        date("2024-02-29").toString();
+        assertCounts(0, 1);
+
+        ts.assign("2024-02-29T23:59:59Z");
+        assertEquals("2024-02-29T23:59:59.000000Z", ts.toString());
+        ts.assign("2024-02-29T00:00:00.5Z");
+        assertEquals("2024-02-29T00:00:00.500000Z", new String(buf, 0, ts.writeTo(buf, 0)));
+        assertCounts(1, 2);
+
+        // -- the day a whole table later takes the same slot
+        ts.assign(Instant.ofEpochSecond((day + DatePrefixCache.SIZE) * 86400));
+        assertEquals(LocalDate.ofEpochDay(day + DatePrefixCache.SIZE) + "T00:00:00.000000Z", ts.toString());
+        ts.assign("2024-02-29T12:00:00Z");
+        assertEquals("2024-02-29T12:00:00.000000Z", ts.appendTo(new StringBuilder()).toString());
+        assertCounts(1, 4);
+
+        // -- the days before the epoch and past year 9999 are cached as well
+        ts.assign("1969-12-31T23:59:59.999999Z");
+        assertEquals("1969-12-31T23:59:59.999999Z", ts.toString());
+        assertEquals("1969-12-31T23:59:59.999999Z", ts.toString());
+        ts.setPacked(Long.MIN_VALUE);
+        assertEquals("-290308-12-21T19:59:05.224192Z", ts.toString());
+        assertCounts(2, 6);
+    }
+
+
+    @Test
+    public void prefixCacheTest0003() throws Exception {
+        final int threads = 8;
+        final int writes = 20000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> done = new ArrayList<>();
+
+        try {
+            for (int t = 0; t < threads; t ++) {
+                final int seed = t;
+
+                done.add(pool.submit(() -> {
+                    CbaDate date = new CbaDate.Builder().build();
+                    CbaTimestamp ts = new CbaTimestamp.Builder().build();
+                    long first = LocalDate.of(2024, 1, 1).toEpochDay();
+
+                    for (int i = 0; i < writes; i ++) {
+                        // -- 100 days over 64 slots, so the threads keep replacing each other's entries
+                        LocalDate exp = LocalDate.ofEpochDay(first + (i * 7 + seed) % 100);
+
+                        date.assign(exp);
+                        assertEquals(exp.toString(), date.toString());
+
+                        ts.assign(Instant.ofEpochSecond(exp.toEpochDay() * 86400));
+                        assertEquals(exp + "T00:00:00.000000Z", ts.toString());
+                    }
+
+                    return null;
+                }));
+            }
+
+            for (Future<?> f : done) f.get();
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(2L * threads * writes, DatePrefixCache.getHits() + DatePrefixCache.getMisses());
+        assertTrue(DatePrefixCache.getHits() > 0);
+        assertTrue(DatePrefixCache.getMisses() > 0);
+    }
+}
@@ -0,0 +1,222 @@
+package com.eryjus.cba.types;
+
+import static org.junit.Assert.*;
+import org.junit.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import com.eryjus.cba.types.CbaType.ParseStatus;
+
+
+/**
+ * Tests of {@link DecimalAccumulator} against a BigDecimal total of the same values, each brought to the
+ * accumulator's scale with {@link RoundingMode#FLOOR}.  An empty (NULL) field adds nothing and is not counted, a
+ * total that outgrows a long carries on exactly as a BigDecimal, and accumulators merged together give the same
+ * total and count as one accumulator over all the values.
+ */
+public class DecimalAccumulatorTest {
+    private static BigDecimal floor(long u, int scale, int to) {
+        return BigDecimal.valueOf(u, scale).setScale(to, RoundingMode.FLOOR);
+    }
+
+
+    private static CbaDecimal decimal(int size, int dec) {
+        return new CbaDecimal.Builder().setSize(size, dec).build();
+    }
+
+
+    @Test
+    public void accumulatorTest0001() {
+        CbaDecimal amt = decimal(10, 2);
+        CbaInt qty = new CbaInt.Builder().build();
+        DecimalAccumulator acc = new DecimalAccumulator(amt);
+        DecimalAccumulator qtys = new DecimalAccumulator(0);
+
+        assertTrue(amt.isNullable());
+        assertTrue(qty.isNullable());
+
+        amt.assign("1.50");
+        qty.assign(3);
+        acc.add(amt);
+        qtys.add(qty);
+
+        // -- a cleared nullable field is NULL: neither summed nor counted
+        amt.clearField();
+        qty.clearField();
+        assertTrue(amt.isEmpty());
+        assertTrue(qty.isEmpty());
+        acc.add(amt);
+        qtys.add(qty);
+        assertEquals(1, acc.getCount());
+        assertEquals(1, qtys.getCount());
+
+        // -- and once assigned again it holds a value
+        amt.assign("2.25");
+        qty.assign(4);
+        assertFalse(amt.isEmpty());
+        acc.add(amt);
+        qtys.add(qty);
+
+        assertEquals("3.75", acc.toString());
+        assertEquals(2, acc.getCount());
+        assertEquals("7", qtys.toString());
+        assertEquals(2, qtys.getCount());
+
+        CbaDecimal avg = decimal(10, 2);
+        assertEquals(ParseStatus.OK, acc.averageTo(avg));
+        assertEquals("1.87", avg.toString());
+        assertEquals(ParseStatus.OK, qtys.averageTo(avg));
+        assertEquals("3.00", avg.toString());
+
+        // -- nothing but NULLs has no average, and leaves the target alone
+        DecimalAccumulator none = new DecimalAccumulator(amt);
+        amt.clearField();
+        none.add(amt);
+        assertEquals(0, none.getCount());
+        assertEquals(ParseStatus.EMPTY, none.averageTo(avg));
+        assertEquals("3.00", avg.toString());
+    }
+
+
+    @Test
+    public void accumulatorTest0002() {
+        DecimalAccumulator acc = new DecimalAccumulator(2);
+        BigDecimal exp = BigDecimal.valueOf(Long.MAX_VALUE, 2);
+
+        acc.addUnscaled(Long.MAX_VALUE, 2);
+        assertFalse(acc.isPromoted());
+
+        // -- one more cent overflows the long, and the total carries on as a BigDecimal
+        acc.addUnscaled(1, 2);
+        exp = exp.add(BigDecimal.valueOf(1, 2));
+        assertTrue(acc.isPromoted());
+        assertEquals(exp, acc.getSum());
+
+        acc.add(new BigDecimal("-0.125"));
+        exp = exp.add(new BigDecimal("-0.13"));
+        acc.addUnscaled(7, 0);
+        exp = exp.add(BigDecimal.valueOf(700, 2));
+        assertEquals(exp, acc.getSum());
+        assertEquals(4, acc.getCount());
+
+        CbaDecimal tot = decimal(30, 2);
+        assertEquals(ParseStatus.OK, acc.sumTo(tot));
+        assertEquals(exp, tot.getValue());
+        assertEquals(ParseStatus.OK, acc.averageTo(tot));
+        assertEquals(exp.divide(BigDecimal.valueOf(4), 2, RoundingMode.FLOOR), tot.getValue());
+
+        // -- rescaling a value can overflow on its own, as can a negative total
+        DecimalAccumulator wide = new DecimalAccumulator(6);
+        wide.addUnscaled(Long.MAX_VALUE, 0);
+        assertTrue(wide.isPromoted());
+        assertEquals(floor(Long.MAX_VALUE, 0, 6), wide.getSum());
+
+        DecimalAccumulator neg = new DecimalAccumulator(0);
+        neg.addUnscaled(Long.MIN_VALUE, 0);
+        neg.addUnscaled(-1, 0);
+        assertTrue(neg.isPromoted());
+        assertEquals(BigDecimal.valueOf(Long.MIN_VALUE).subtract(BigDecimal.ONE), neg.getSum());
+
+        // -- a wide field is added through BigDecimal, and FLOOR moves a negative value away from zero
+        CbaDecimal big = decimal(30, 4);
+        DecimalAccumulator floor = new DecimalAccumulator(1);
+        big.assign("-0.0501");
+        floor.add(big);
+        floor.addUnscaled(-15, 2);
+        assertEquals("-0.3", floor.toString());
+        assertFalse(floor.isPromoted());
+
+        acc.reset();
+        assertFalse(acc.isPromoted());
+        assertEquals(0, acc.getCount());
+        assertEquals("0.00", acc.toString());
+    }
+
+
+    @Test
+    public void accumulatorTest0003() {
+        Random rnd = new Random(24);
+        DecimalAccumulator all = new DecimalAccumulator(2);
+        DecimalAccumulator[] parts = new DecimalAccumulator[4];
+        BigDecimal exp = BigDecimal.ZERO.setScale(2);
+
+        for (int i = 0; i < parts.length; i ++) parts[i] = new DecimalAccumulator(2);
+
+        for (int n = 0; n < 20000; n ++) {
+            long u = rnd.nextLong() >> (8 + rnd.nextInt(56));
+            int scale = rnd.nextInt(5);
+
+            // -- one partial total is pushed past a long, so merges both ways between long and BigDecimal are seen
+            if (n == 100) u = Long.MAX_VALUE;
+
+            all.addUnscaled(u, scale);
+            parts[(n == 100 ? 1 : n % parts.length)].addUnscaled(u, scale);
+            exp = exp.add(floor(u, scale, 2));
+        }
+
+        assertTrue(parts[1].isPromoted());
+        assertFalse(parts[0].isPromoted());
+
+        DecimalAccumulator merged = new DecimalAccumulator(2);
+        for (DecimalAccumulator p : parts) merged.add(p);
+
+        assertEquals(exp, all.getSum());
+        assertEquals(exp, merged.getSum());
+        assertEquals(20000, merged.getCount());
+
+        // -- merging into a promoted total, and merging leaves the other accumulator as it was
+        BigDecimal one = parts[1].getSum();
+        long count = parts[0].getCount();
+        parts[1].add(parts[0]);
+        assertEquals(one.add(parts[0].getSum()), parts[1].getSum());
+        assertEquals(count, parts[0].getCount());
+
+        // -- a finer-scaled partial is brought to this scale with FLOOR
+        DecimalAccumulator fine = new DecimalAccumulator(4);
+        DecimalAccumulator coarse = new DecimalAccumulator(2);
+        fine.addUnscaled(-12345, 4);
+        fine.addUnscaled(1, 4);
+        coarse.addUnscaled(100, 2);
+        coarse.add(fine);
+        assertEquals("-0.24", coarse.toString());
+        assertEquals(3, coarse.getCount());
+
+        // -- an empty accumulator adds nothing
+        coarse.add(new DecimalAccumulator(2));
+        assertEquals("-0.24", coarse.toString());
+        assertEquals(3, coarse.getCount());
+    }
+
+
+    @Test
+    public void accumulatorTest0004() {
+        CbaDecimal amt = new CbaDecimal.Builder().setSize(10, 2).setNotNull(true).setDefaultValue("5.00").build();
+        CbaInt qty = new CbaInt.Builder().setNotNull(true).setDefaultValue("2").build();
+        DecimalAccumulator acc = new DecimalAccumulator(amt);
+        DecimalAccumulator qtys = new DecimalAccumulator(0);
+
+        // -- a NOT NULL field cleared to its default still holds a value, and is counted
+        for (int i = 0; i < 3; i ++) {
+            amt.clearField();
+            qty.clearField();
+            acc.add(amt);
+            qtys.add(qty);
+        }
+
+        amt.assign("1.25");
+        acc.add(amt);
+
+        assertEquals("16.25", acc.toString());
+        assertEquals(4, acc.getCount());
+        assertEquals("6", qtys.toString());
+        assertEquals(3, qtys.getCount());
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void accumulatorTest0005() {
+        new DecimalAccumulator(CbaDecimal.MAX_COMPACT_PRECISION + 1);
+    }
+}